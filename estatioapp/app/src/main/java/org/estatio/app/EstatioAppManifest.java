@@ -22,6 +22,8 @@ import org.estatio.domsettings.EstatioDomainSettingsModule;
 import org.estatio.fixture.EstatioFixtureModule;
 import org.estatio.fixturescripts.EstatioFixtureScriptsModule;
 import org.estatio.services.calendar.CalendarService;
+import org.estatio.services.instrumentation.QueryInstrumentation;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 public class EstatioAppManifest implements AppManifest {
 
@@ -91,6 +93,7 @@ public class EstatioAppManifest implements AppManifest {
     public List<Class<?>> getAdditionalServices() {
         List<Class<?>> additionalServices = Lists.newArrayList();
         appendEstatioCalendarService(additionalServices);
+        appendUdoBaseServices(additionalServices);
         appendOptionalServicesForSecurityModule(additionalServices);
         return additionalServices;
     }
@@ -104,6 +107,16 @@ public class EstatioAppManifest implements AppManifest {
         );
     }
 
+    protected void appendUdoBaseServices(final List<Class<?>> additionalServices) {
+        // these live in org.estatio.services, outside of the packages of any module
+        additionalServices.addAll(
+                Arrays.asList(
+                        ReferenceDataCache.class,
+                        QueryInstrumentation.class
+                )
+        );
+    }
+
     protected void appendOptionalServicesForSecurityModule(final List<Class<?>> additionalServices) {
         additionalServices.addAll(
                 Arrays.asList(
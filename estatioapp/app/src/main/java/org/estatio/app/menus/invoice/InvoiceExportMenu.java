@@ -0,0 +1,101 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.menus.invoice;
+
+import java.io.ByteArrayOutputStream;
+
+import javax.inject.Inject;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.DomainServiceLayout;
+import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.ParameterLayout;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.value.Blob;
+
+import org.estatio.app.services.invoiceexport.InvoiceExportService;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.invoice.InvoiceStatus;
+
+/**
+ * Exports invoices in bulk as canonical (v1) XML, for downstream accounting systems that would otherwise have to
+ * retrieve them one by one.
+ *
+ * <p>
+ * Action results are delivered as a whole, so the XML is buffered; systems exporting large runs should rather use the
+ * <tt>/export/invoices</tt> servlet of the webapp, which writes the same document straight to the response.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.VIEW_MENU_ONLY
+)
+@DomainServiceLayout(
+        named = "Invoices",
+        menuBar = DomainServiceLayout.MenuBar.PRIMARY,
+        menuOrder = "50.4")
+public class InvoiceExportMenu {
+
+    private static final String MIME_TYPE = "application/xml";
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @MemberOrder(sequence = "90")
+    public Blob exportInvoicesOfRun(
+            @ParameterLayout(named = "Run id") final String runId) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        invoiceExportService.exportInvoicesOfRun(runId, bytes);
+        return new Blob("Invoices-" + runId + ".xml", MIME_TYPE, bytes.toByteArray());
+    }
+
+    public String validateExportInvoicesOfRun(final String runId) {
+        return invoiceExportService.validateTenancyOfRun(runId);
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @MemberOrder(sequence = "91")
+    public Blob exportInvoices(
+            final Property property,
+            @ParameterLayout(named = "Due date") final LocalDate dueDate,
+            final InvoiceStatus status) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        invoiceExportService.exportInvoices(property, dueDate, status, bytes);
+        return new Blob(
+                "Invoices-" + property.getReference() + "-" + dueDate + "-" + status + ".xml", MIME_TYPE, bytes.toByteArray());
+    }
+
+    public InvoiceStatus default2ExportInvoices() {
+        return InvoiceStatus.APPROVED;
+    }
+
+    public String validateExportInvoices(
+            final Property property,
+            final LocalDate dueDate,
+            final InvoiceStatus status) {
+        return invoiceExportService.validateTenancyOf(property);
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    private InvoiceExportService invoiceExportService;
+
+}
@@ -20,7 +20,9 @@ package org.estatio.app.menus.link;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.isis.applib.annotation.Action;
 import org.apache.isis.applib.annotation.Mixin;
@@ -31,6 +33,7 @@ import org.isisaddons.module.stringinterpolator.dom.StringInterpolatorService.Ro
 
 import org.estatio.domlink.Link;
 import org.estatio.domlink.LinkRepository;
+import org.estatio.domlink.LinkUrlTemplate;
 import org.estatio.dom.appsettings.EstatioSettingsService;
 
 @Mixin
@@ -47,13 +50,20 @@ public class Object_links {
 
     @Action(semantics = SemanticsOf.SAFE)
     public URL $$(final Link link) throws MalformedURLException {
-        final Root root = new Root(domainObject){
-            @SuppressWarnings("unused")
-            public String getReportServerBaseUrl() {
-                return estatioSettingsService.fetchReportServerBaseUrl();
-            }
-        };
-        final String urlStr = stringInterpolator.interpolate(root, link.getUrlTemplate());
+        final String reportServerBaseUrl = estatioSettingsService.fetchReportServerBaseUrl();
+        final Map<String, Object> variables = new HashMap<>();
+        variables.put("this", domainObject);
+        variables.put("reportServerBaseUrl", reportServerBaseUrl);
+        String urlStr = LinkUrlTemplate.of(link.getUrlTemplate()).expand(variables);
+        if (urlStr == null) {
+            final Root root = new Root(domainObject){
+                @SuppressWarnings("unused")
+                public String getReportServerBaseUrl() {
+                    return reportServerBaseUrl;
+                }
+            };
+            urlStr = stringInterpolator.interpolate(root, link.getUrlTemplate());
+        }
         return new URL(urlStr);
     }
     
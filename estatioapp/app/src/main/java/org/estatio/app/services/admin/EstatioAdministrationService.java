@@ -32,13 +32,16 @@ import org.apache.isis.applib.annotation.Optionality;
 import org.apache.isis.applib.annotation.Parameter;
 import org.apache.isis.applib.annotation.ParameterLayout;
 import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.value.Clob;
 
 import org.isisaddons.module.settings.dom.ApplicationSetting;
 
+import org.estatio.app.services.dashboard.DashboardService;
 import org.estatio.dom.UdoDomainService;
 import org.estatio.domsettings.ApplicationSettingForEstatio;
 import org.estatio.domsettings.ApplicationSettingsServiceForEstatio;
 import org.estatio.dom.appsettings.EstatioSettingsService;
+import org.estatio.services.instrumentation.QueryInstrumentation;
 
 @DomainService()
 @DomainServiceLayout(
@@ -80,6 +83,44 @@ public class EstatioAdministrationService extends UdoDomainService<EstatioAdmini
     }
     //endregion
 
+    //region > refreshDashboard (action)
+
+    /**
+     * Recalculates the summaries of the home page; intended to be invoked through the REST API by a scheduler,
+     * before the first users open it in the morning.
+     */
+    @Action(
+            semantics = SemanticsOf.IDEMPOTENT
+    )
+    @MemberOrder(sequence = "3")
+    public void refreshDashboard() {
+        dashboardService.refresh();
+    }
+    //endregion
+
+    //region > downloadQueryMetrics, resetQueryMetrics (actions)
+
+    /**
+     * The finder calls, queries and timings recorded since startup or the last reset, per request, action and
+     * finder; also available through JMX.
+     */
+    @Action(
+            semantics = SemanticsOf.SAFE
+    )
+    @MemberOrder(sequence = "4")
+    public Clob downloadQueryMetrics() {
+        return new Clob("query-metrics.txt", "text/plain", queryInstrumentation.report());
+    }
+
+    @Action(
+            semantics = SemanticsOf.IDEMPOTENT
+    )
+    @MemberOrder(sequence = "5")
+    public void resetQueryMetrics() {
+        queryInstrumentation.reset();
+    }
+    //endregion
+
     //region > injected dependencies
 
     @Inject
@@ -88,6 +129,12 @@ public class EstatioAdministrationService extends UdoDomainService<EstatioAdmini
     @Inject
     ApplicationSettingsServiceForEstatio applicationSettingsService;
 
+    @Inject
+    DashboardService dashboardService;
+
+    @Inject
+    QueryInstrumentation queryInstrumentation;
+
     //endregion
 
         }
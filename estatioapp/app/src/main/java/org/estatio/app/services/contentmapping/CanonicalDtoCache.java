@@ -0,0 +1,236 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.services.contentmapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.jdo.JDOHelper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.hash.Hashing;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.eventbus.AbstractLifecycleEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.eventbus.ObjectRemovingEvent;
+import org.apache.isis.applib.services.eventbus.ObjectUpdatedEvent;
+import org.apache.isis.applib.services.jaxb.JaxbService;
+
+/**
+ * Holds the canonical DTOs built by the DTO factories, keyed by the bookmark of the domain object and the requested
+ * DTO type, shared across requests.
+ *
+ * <p>
+ *     Each entry remembers the JDO version of the object it was built from, as held by the object itself, so an
+ *     entry whose version no longer matches is rebuilt.  Entries are also dropped as soon as the object is updated or
+ *     removed on this instance, and expire after {@link #TIME_TO_LIVE_MILLIS} so that changes made on another node
+ *     (which the level 2 cache of this node may not know of yet), and changes to related objects that a DTO embeds
+ *     (eg the legal address of a party), are picked up eventually.  At most {@link #MAX_ENTRIES} entries are held,
+ *     the least recently used being dropped first.
+ * </p>
+ *
+ * <p>
+ *     The (weak) ETag of each entry is a hash of the serialized DTO, rather than of the version of the object, so
+ *     that it changes whenever anything the DTO embeds changes; see {@link #getLastETag()}, used to answer
+ *     conditional requests.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class CanonicalDtoCache {
+
+    static final long TIME_TO_LIVE_MILLIS = 10 * 60 * 1000L;
+
+    static final int MAX_ENTRIES = 10000;
+
+    private static final ThreadLocal<String> LAST_ETAG = new ThreadLocal<>();
+
+    private final Cache<String, Entry> entries = CacheBuilder.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+    @PostConstruct
+    @Programmatic
+    public void init() {
+        eventBusService.register(this);
+    }
+
+    @PreDestroy
+    @Programmatic
+    public void shutdown() {
+        eventBusService.unregister(this);
+        entries.invalidateAll();
+    }
+
+    /**
+     * Returns the cached DTO for the domain object if it was built from the current version, otherwise builds it
+     * using the factory.  Objects that are not versioned are never cached.
+     *
+     * <p>
+     *     Also records the ETag of the object for the current thread, see {@link #getLastETag()}.
+     * </p>
+     */
+    @Programmatic
+    public Object get(final Object domainObject, final String domainType, final Supplier<Object> factory) {
+        LAST_ETAG.remove();
+        final Object version = versionOf(domainObject);
+        if (version == null) {
+            return factory.get();
+        }
+        final Bookmark bookmark = bookmarkService.bookmarkFor(domainObject);
+        final String key = keyFor(bookmark, domainType);
+        final long now = clockService.nowAsMillis();
+
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null || !entry.version.equals(version) || entry.isExpired(now)) {
+            final Object dto = factory.get();
+            entry = new Entry(domainObject.getClass(), version, dto, eTagFor(bookmark, jaxbService.toXml(dto)), now);
+            entries.put(key, entry);
+        }
+        LAST_ETAG.set(entry.eTag);
+        return entry.dto;
+    }
+
+    /**
+     * The ETag of the last DTO returned by {@link #get(Object, String, Supplier)} on this thread, if it was cachable.
+     */
+    public static String getLastETag() {
+        return LAST_ETAG.get();
+    }
+
+    public static void clearLastETag() {
+        LAST_ETAG.remove();
+    }
+
+    @Programmatic
+    public void invalidate(final Bookmark bookmark) {
+        final String prefix = bookmark.toString() + "|";
+        for (String key : entries.asMap().keySet()) {
+            if (key.startsWith(prefix)) {
+                entries.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Drops the DTOs of all objects of (a subtype of) the type.
+     */
+    @Programmatic
+    public void invalidate(final Class<?> type) {
+        for (Map.Entry<String, Entry> each : entries.asMap().entrySet()) {
+            if (type.isAssignableFrom(each.getValue().type)) {
+                entries.asMap().remove(each.getKey(), each.getValue());
+            }
+        }
+    }
+
+    @Programmatic
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    long size() {
+        return entries.size();
+    }
+
+    /**
+     * The version of the object as already loaded; no query is run.
+     */
+    Object versionOf(final Object domainObject) {
+        return JDOHelper.getVersion(domainObject);
+    }
+
+    static String keyFor(final Bookmark bookmark, final String domainType) {
+        return bookmark.toString() + "|" + domainType;
+    }
+
+    static String eTagFor(final Bookmark bookmark, final String xml) {
+        final String hash = Hashing.sha1().hashString(xml, StandardCharsets.UTF_8).toString();
+        return "W/\"" + bookmark.getObjectType() + "-" + bookmark.getIdentifier() + "-" + hash + "\"";
+    }
+
+    private static class Entry {
+        private final Class<?> type;
+        private final Object version;
+        private final Object dto;
+        private final String eTag;
+        private final long createdAt;
+
+        Entry(final Class<?> type, final Object version, final Object dto, final String eTag, final long createdAt) {
+            this.type = type;
+            this.version = version;
+            this.dto = dto;
+            this.eTag = eTag;
+            this.createdAt = createdAt;
+        }
+
+        boolean isExpired(final long now) {
+            return now - createdAt > TIME_TO_LIVE_MILLIS;
+        }
+    }
+
+    //region > lifecycle events
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectUpdatedEvent<?> ev) {
+        invalidateIfCached(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectRemovingEvent<?> ev) {
+        invalidateIfCached(ev);
+    }
+
+    private void invalidateIfCached(final AbstractLifecycleEvent<?> ev) {
+        final Object source = ev.getSource();
+        if (source != null && entries.size() > 0) {
+            invalidate(bookmarkService.bookmarkFor(source));
+        }
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @Inject
+    BookmarkService bookmarkService;
+
+    @Inject
+    ClockService clockService;
+
+    @Inject
+    JaxbService jaxbService;
+
+    @Inject
+    EventBusService eventBusService;
+
+    //endregion
+
+}
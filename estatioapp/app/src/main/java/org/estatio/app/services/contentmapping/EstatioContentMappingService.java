@@ -18,17 +18,26 @@
  */
 package org.estatio.app.services.contentmapping;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.MediaType;
 
 import com.google.common.base.Joiner;
+import com.google.common.eventbus.Subscribe;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.conmap.ContentMappingService;
+import org.apache.isis.applib.services.eventbus.AbstractLifecycleEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.eventbus.ObjectPersistedEvent;
+import org.apache.isis.applib.services.eventbus.ObjectRemovingEvent;
+import org.apache.isis.applib.services.eventbus.ObjectUpdatedEvent;
 
 import org.estatio.canonical.bankmandate.v1.BankAccountsAndMandatesDto;
 import org.estatio.canonical.bankmandate.v1.BankMandateDtoFactory;
@@ -39,7 +48,10 @@ import org.estatio.canonical.invoice.InvoiceDtoFactory;
 import org.estatio.canonical.party.PartyDtoFactory;
 import org.estatio.canonical.party.v1.PartyDto;
 import org.estatio.dom.bankmandate.BankMandate;
+import org.estatio.dom.communicationchannel.CommunicationChannel;
 import org.estatio.dom.communicationchannel.PostalAddress;
+import org.estatio.dom.fetchprofile.FetchProfile;
+import org.estatio.dom.fetchprofile.FetchProfileService;
 import org.estatio.dom.financial.bankaccount.BankAccount;
 import org.estatio.dom.invoice.Invoice;
 import org.estatio.dom.party.Party;
@@ -49,6 +61,18 @@ import org.estatio.dom.party.Party;
 )
 public class EstatioContentMappingService implements ContentMappingService {
 
+    @Programmatic
+    @PostConstruct
+    public void postConstruct() {
+        eventBusService.register(this);
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void preDestroy() {
+        eventBusService.unregister(this);
+    }
+
     @Programmatic
     @Override
     public Object map(
@@ -60,7 +84,7 @@ public class EstatioContentMappingService implements ContentMappingService {
         if(object instanceof Party) {
             final Party party = (Party) object;
             if(domainType.equals(PartyDto.class.getName())) {
-                return partyDtoFactory.newDto(party);
+                return canonicalDtoCache.get(party, domainType, () -> partyDtoFactory.newDto(party));
             }
             if(domainType.equals(BankAccountsAndMandatesDto.class.getName())) {
                 return partyBankAccountsAndMandatesDtoFactory.newDto(party);
@@ -68,16 +92,18 @@ public class EstatioContentMappingService implements ContentMappingService {
         }
 
         if(object instanceof BankAccount) {
-            return bankAccountDtoFactory.newDto((BankAccount)object);
+            return canonicalDtoCache.get(object, domainType, () -> bankAccountDtoFactory.newDto((BankAccount)object));
         }
         if(object instanceof BankMandate) {
-            return bankMandateDtoFactory.newDto((BankMandate)object);
+            return canonicalDtoCache.get(object, domainType, () -> bankMandateDtoFactory.newDto((BankMandate)object));
         }
         if(object instanceof Invoice) {
-            return invoiceDtoFactory.newDto((Invoice)object);
+            final Invoice invoice = (Invoice) object;
+            fetchProfileService.prefetch(FetchProfile.INVOICE_DTO, Invoice.class, Collections.singletonList(invoice));
+            return invoiceDtoFactory.newDto(invoice);
         }
         if(object instanceof PostalAddress) {
-            return postalAddressDtoFactory.newDto((PostalAddress)object);
+            return canonicalDtoCache.get(object, domainType, () -> postalAddressDtoFactory.newDto((PostalAddress)object));
         }
 
         return null;
@@ -95,6 +121,41 @@ public class EstatioContentMappingService implements ContentMappingService {
                 "Could not locate x-ro-domain-type parameter in any of the provided media types; got: " + Joiner.on(", ").join(acceptableMediaTypes));
     }
 
+    //region > lifecycle events
+
+    /**
+     * The {@link PartyDto} refers to the party's legal postal address, so is stale once any communication channel
+     * changes.
+     */
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectPersistedEvent<?> ev) {
+        invalidatePartiesIfCommunicationChannel(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectUpdatedEvent<?> ev) {
+        invalidatePartiesIfCommunicationChannel(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectRemovingEvent<?> ev) {
+        invalidatePartiesIfCommunicationChannel(ev);
+    }
+
+    private void invalidatePartiesIfCommunicationChannel(final AbstractLifecycleEvent<?> ev) {
+        if (ev.getSource() instanceof CommunicationChannel) {
+            canonicalDtoCache.invalidate(Party.class);
+        }
+    }
+
+    //endregion
+
+    @javax.inject.Inject
+    CanonicalDtoCache canonicalDtoCache;
+
     @javax.inject.Inject
     BankAccountDtoFactory bankAccountDtoFactory;
 
@@ -113,4 +174,10 @@ public class EstatioContentMappingService implements ContentMappingService {
     @javax.inject.Inject
     PostalAddressDtoFactory postalAddressDtoFactory;
 
+    @javax.inject.Inject
+    FetchProfileService fetchProfileService;
+
+    @javax.inject.Inject
+    EventBusService eventBusService;
+
 }
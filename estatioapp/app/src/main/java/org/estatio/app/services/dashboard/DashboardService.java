@@ -0,0 +1,441 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.services.dashboard;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.eventbus.Subscribe;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.eventbus.AbstractLifecycleEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.eventbus.ObjectPersistedEvent;
+import org.apache.isis.applib.services.eventbus.ObjectRemovingEvent;
+import org.apache.isis.applib.services.eventbus.ObjectUpdatedEvent;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
+
+import org.estatio.dom.event.Event;
+import org.estatio.dom.event.EventSource;
+import org.estatio.dom.event.EventSourceLink;
+import org.estatio.dom.event.EventSourceLinkRepository;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.valuetypes.ApplicationTenancyLevel;
+
+/**
+ * Holds {@link DashboardSummary summaries} of the leases about to expire and the upcoming events (within the next
+ * {@link #MONTHS} months) per application tenancy, shared across requests, so that the
+ * {@link EstatioAppHomePage home page} does not query (and materialise) all of them on every load.
+ *
+ * <p>
+ *     The summaries are recalculated in full once the date has moved on, once they are older than the refresh
+ *     interval ({@value #REFRESH_INTERVAL_KEY}, in minutes), or when {@link #refresh()} is invoked (eg by a
+ *     scheduler calling the <i>Refresh Dashboard</i> action through the REST API, early in the morning).  Changes to
+ *     leases only mark the summary of the application tenancy of the lease as stale, and changes to events those of
+ *     events; stale summaries are recalculated the next time the dashboard is read, rather than inside the lifecycle
+ *     callback of the change itself.
+ * </p>
+ *
+ * <p>
+ *     Only one request recalculates at a time, reading the leases and events a page at a time; other requests are
+ *     not held up but served the summaries as they were, unless there are none yet.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class DashboardService {
+
+    public static final String REFRESH_INTERVAL_KEY = "estatio.dashboard.refreshIntervalMinutes";
+
+    static final int DEFAULT_REFRESH_INTERVAL_MINUTES = 15;
+
+    static final int MONTHS = 3;
+
+    static final int TOP = 10;
+
+    static final int PAGE_SIZE = 500;
+
+    private volatile Map<String, DashboardSummary> leaseSummariesByPath = Collections.emptyMap();
+    private volatile Map<String, DashboardSummary> eventSummariesByPath = Collections.emptyMap();
+
+    private final Set<String> staleLeasePaths = ConcurrentHashMap.newKeySet();
+    private volatile boolean eventsStale;
+
+    private volatile LocalDate refreshedFor;
+    private volatile long refreshedAt;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private long refreshIntervalMillis = DEFAULT_REFRESH_INTERVAL_MINUTES * 60 * 1000L;
+
+    @PostConstruct
+    @Programmatic
+    public void init(final Map<String, String> properties) {
+        final String refreshInterval = properties.get(REFRESH_INTERVAL_KEY);
+        if (refreshInterval != null) {
+            refreshIntervalMillis = Long.parseLong(refreshInterval.trim()) * 60 * 1000L;
+        }
+        eventBusService.register(this);
+    }
+
+    @PreDestroy
+    @Programmatic
+    public void preDestroy() {
+        eventBusService.unregister(this);
+    }
+
+    //region > reads
+
+    /**
+     * @param atPath - the application tenancy path of the user; summaries of this tenancy and those below it are
+     *               added up.
+     */
+    @Programmatic
+    public DashboardSummary leasesAboutToExpire(final String atPath) {
+        refreshIfRequired();
+        return DashboardSummary.merge(summariesAtOrBelow(leaseSummariesByPath, atPath));
+    }
+
+    /**
+     * @see #leasesAboutToExpire(String)
+     */
+    @Programmatic
+    public DashboardSummary upcomingEvents(final String atPath) {
+        refreshIfRequired();
+        return DashboardSummary.merge(summariesAtOrBelow(eventSummariesByPath, atPath));
+    }
+
+    /**
+     * A page of the upcoming events of the application tenancy and those below it, in order of date; the events
+     * counted by {@link #upcomingEvents(String)}.
+     */
+    @Programmatic
+    public List<Event> upcomingEvents(final String atPath, final int first, final int pageSize) {
+        final ApplicationTenancyLevel level = ApplicationTenancyLevel.of(atPath);
+        final List<Event> events = Lists.newArrayList();
+        int toSkip = first;
+        List<EventSourceLink> links;
+        int linksFirst = 0;
+        do {
+            links = eventSourceLinkRepository.findByEventDateRange(startDate(), endDate(), linksFirst, PAGE_SIZE);
+            for (EventSourceLink link : links) {
+                if (!atOrBelow(level, applicationTenancyPathOf(link))) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                    continue;
+                }
+                events.add(link.getEvent());
+                if (events.size() == pageSize) {
+                    return events;
+                }
+            }
+            linksFirst += PAGE_SIZE;
+        } while (links.size() == PAGE_SIZE);
+        return events;
+    }
+
+    @Programmatic
+    public LocalDate startDate() {
+        return clockService.now();
+    }
+
+    @Programmatic
+    public LocalDate endDate() {
+        return startDate().plusMonths(MONTHS);
+    }
+
+    static List<DashboardSummary> summariesAtOrBelow(
+            final Map<String, DashboardSummary> summariesByPath,
+            final String atPath) {
+        final ApplicationTenancyLevel level = ApplicationTenancyLevel.of(atPath);
+        final List<DashboardSummary> summaries = Lists.newArrayList();
+        for (Map.Entry<String, DashboardSummary> entry : summariesByPath.entrySet()) {
+            if (atOrBelow(level, entry.getKey())) {
+                summaries.add(entry.getValue());
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Compares the parts of the paths, so that (for example) "/it" does not include "/itx".
+     */
+    private static boolean atOrBelow(final ApplicationTenancyLevel level, final String path) {
+        if (path == null) {
+            return false;
+        }
+        if (level == null) {
+            return true;
+        }
+        final ApplicationTenancyLevel pathLevel = ApplicationTenancyLevel.of(path);
+        return level.equals(pathLevel) || level.parentOf(pathLevel);
+    }
+
+    //endregion
+
+    //region > refresh
+
+    private void refreshIfRequired() {
+        if (refreshedFor == null) {
+            // nothing to serve yet, so wait for the first refresh
+            refreshLock.lock();
+            try {
+                if (refreshedFor == null) {
+                    doRefresh();
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+            return;
+        }
+        if (isCurrent() && !eventsStale && staleLeasePaths.isEmpty()) {
+            return;
+        }
+        if (!refreshLock.tryLock()) {
+            // another request is refreshing; serve the summaries as they are
+            return;
+        }
+        try {
+            if (!isCurrent()) {
+                doRefresh();
+            } else {
+                refreshStale();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean isCurrent() {
+        return startDate().equals(refreshedFor)
+                && clockService.nowAsMillis() < refreshedAt + refreshIntervalMillis;
+    }
+
+    /**
+     * Recalculates all summaries.
+     */
+    @Programmatic
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            doRefresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void doRefresh() {
+        final LocalDate startDate = startDate();
+        final LocalDate endDate = endDate();
+        staleLeasePaths.clear();
+        eventsStale = false;
+
+        leaseSummariesByPath = leaseSummaries(startDate, endDate);
+        eventSummariesByPath = eventSummaries(startDate, endDate);
+
+        refreshedFor = startDate;
+        refreshedAt = clockService.nowAsMillis();
+    }
+
+    /**
+     * Recalculates the summaries of the application tenancies of changed leases, and of events if any changed.
+     */
+    private void refreshStale() {
+        final LocalDate startDate = refreshedFor;
+        final LocalDate endDate = startDate.plusMonths(MONTHS);
+        for (String path : Lists.newArrayList(staleLeasePaths)) {
+            if (!staleLeasePaths.remove(path)) {
+                continue;
+            }
+            final List<DashboardSummary.Entry> entries = Lists.newArrayList();
+            for (Lease lease : leaseRepository.findExpireInDateRange(startDate, endDate, path)) {
+                entries.add(entryFor(lease));
+            }
+            final Map<String, DashboardSummary> summariesByPath = Maps.newHashMap(leaseSummariesByPath);
+            if (entries.isEmpty()) {
+                summariesByPath.remove(path);
+            } else {
+                summariesByPath.put(path, DashboardSummary.of(entries));
+            }
+            leaseSummariesByPath = ImmutableMap.copyOf(summariesByPath);
+        }
+        if (eventsStale) {
+            eventsStale = false;
+            eventSummariesByPath = eventSummaries(startDate, endDate);
+        }
+    }
+
+    /**
+     * Leases are read a page at a time (in order of end date) and evicted once counted.
+     */
+    private Map<String, DashboardSummary> leaseSummaries(final LocalDate startDate, final LocalDate endDate) {
+        final Map<String, DashboardSummary.Builder> buildersByPath = Maps.newHashMap();
+        List<Lease> leases;
+        int first = 0;
+        do {
+            leases = leaseRepository.findExpireInDateRange(startDate, endDate, "/", first, PAGE_SIZE);
+            for (Lease lease : leases) {
+                builderFor(buildersByPath, lease.getApplicationTenancyPath()).add(entryFor(lease));
+            }
+            isisJdoSupport.getJdoPersistenceManager().evictAll(leases);
+            first += PAGE_SIZE;
+        } while (leases.size() == PAGE_SIZE);
+        return summariesOf(buildersByPath);
+    }
+
+    /**
+     * Events are attributed to the application tenancy of their source, using the links of the events in the range
+     * (a page at a time, in order of date) rather than looking up the link of each event in turn.
+     */
+    private Map<String, DashboardSummary> eventSummaries(final LocalDate startDate, final LocalDate endDate) {
+        final Map<String, DashboardSummary.Builder> buildersByPath = Maps.newHashMap();
+        List<EventSourceLink> links;
+        int first = 0;
+        do {
+            links = eventSourceLinkRepository.findByEventDateRange(startDate, endDate, first, PAGE_SIZE);
+            for (EventSourceLink link : links) {
+                final String path = applicationTenancyPathOf(link);
+                if (path == null) {
+                    continue;
+                }
+                final Event event = link.getEvent();
+                builderFor(buildersByPath, path).add(
+                        new DashboardSummary.Entry(event.getDate(), bookmarkService.bookmarkFor(event)));
+            }
+            isisJdoSupport.getJdoPersistenceManager().evictAll(links);
+            first += PAGE_SIZE;
+        } while (links.size() == PAGE_SIZE);
+        return summariesOf(buildersByPath);
+    }
+
+    private static String applicationTenancyPathOf(final EventSourceLink link) {
+        final EventSource source = link.getPolymorphicReference();
+        final ApplicationTenancy applicationTenancy = source != null ? source.getApplicationTenancy() : null;
+        return applicationTenancy != null ? applicationTenancy.getPath() : null;
+    }
+
+    private DashboardSummary.Entry entryFor(final Lease lease) {
+        return new DashboardSummary.Entry(lease.getEndDate(), bookmarkService.bookmarkFor(lease));
+    }
+
+    private static DashboardSummary.Builder builderFor(
+            final Map<String, DashboardSummary.Builder> buildersByPath,
+            final String path) {
+        DashboardSummary.Builder builder = buildersByPath.get(path);
+        if (builder == null) {
+            builder = new DashboardSummary.Builder();
+            buildersByPath.put(path, builder);
+        }
+        return builder;
+    }
+
+    private static Map<String, DashboardSummary> summariesOf(final Map<String, DashboardSummary.Builder> buildersByPath) {
+        final ImmutableMap.Builder<String, DashboardSummary> summaries = ImmutableMap.builder();
+        for (Map.Entry<String, DashboardSummary.Builder> entry : buildersByPath.entrySet()) {
+            if (entry.getKey() != null) {
+                summaries.put(entry.getKey(), entry.getValue().build());
+            }
+        }
+        return summaries.build();
+    }
+
+    //endregion
+
+    //region > lifecycle events
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectPersistedEvent<?> ev) {
+        markStaleIfDashboardRelated(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectUpdatedEvent<?> ev) {
+        markStaleIfDashboardRelated(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectRemovingEvent<?> ev) {
+        markStaleIfDashboardRelated(ev);
+    }
+
+    /**
+     * Lease (end) date changes, through whichever action, update the lease; new events are persisted along with
+     * their link to the source, so either marks the events as stale.
+     */
+    private void markStaleIfDashboardRelated(final AbstractLifecycleEvent<?> ev) {
+        final Object source = ev.getSource();
+        if (source instanceof Lease) {
+            final String path = ((Lease) source).getApplicationTenancyPath();
+            if (path != null) {
+                staleLeasePaths.add(path);
+            }
+        } else if (source instanceof Event || source instanceof EventSourceLink) {
+            eventsStale = true;
+        }
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @Inject
+    LeaseRepository leaseRepository;
+
+    @Inject
+    EventSourceLinkRepository eventSourceLinkRepository;
+
+    @Inject
+    BookmarkService bookmarkService;
+
+    @Inject
+    ClockService clockService;
+
+    @Inject
+    IsisJdoSupport isisJdoSupport;
+
+    @Inject
+    EventBusService eventBusService;
+
+    //endregion
+
+}
@@ -0,0 +1,121 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.services.dashboard;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+import lombok.Getter;
+
+/**
+ * The number of objects (leases about to expire, upcoming events) of one or more application tenancies, along with
+ * the first few of them in order of date.  Immutable, and held by reference only, so it can be shared across
+ * requests.
+ */
+public class DashboardSummary {
+
+    /**
+     * The date and bookmark of one of the first few objects.
+     */
+    public static class Entry {
+
+        public static final Comparator<Entry> BY_DATE = new Comparator<Entry>() {
+            @Override
+            public int compare(final Entry o1, final Entry o2) {
+                return o1.getDate().compareTo(o2.getDate());
+            }
+        };
+
+        @Getter
+        private final LocalDate date;
+
+        @Getter
+        private final Bookmark bookmark;
+
+        public Entry(final LocalDate date, final Bookmark bookmark) {
+            this.date = date;
+            this.bookmark = bookmark;
+        }
+    }
+
+    /**
+     * Counts entries added in order of date, keeping only the first few of them.
+     */
+    static class Builder {
+
+        private int count;
+
+        private final List<Entry> top = Lists.newArrayList();
+
+        void add(final Entry entry) {
+            count++;
+            if (top.size() < DashboardService.TOP) {
+                top.add(entry);
+            }
+        }
+
+        DashboardSummary build() {
+            return new DashboardSummary(count, top);
+        }
+    }
+
+    @Getter
+    private final int count;
+
+    /**
+     * In order of date; at most {@link DashboardService#TOP} of them.
+     */
+    @Getter
+    private final List<Entry> top;
+
+    DashboardSummary(final int count, final List<Entry> top) {
+        this.count = count;
+        this.top = ImmutableList.copyOf(top);
+    }
+
+    /**
+     * @param entries - in order of date.
+     */
+    static DashboardSummary of(final List<Entry> entries) {
+        return new DashboardSummary(entries.size(), entries.subList(0, Math.min(entries.size(), DashboardService.TOP)));
+    }
+
+    /**
+     * Adds up the counts and keeps the first few entries of all of the summaries.
+     */
+    static DashboardSummary merge(final Iterable<DashboardSummary> summaries) {
+        int count = 0;
+        final List<Entry> entries = Lists.newArrayList();
+        for (DashboardSummary summary : summaries) {
+            count += summary.getCount();
+            entries.addAll(summary.getTop());
+        }
+        Collections.sort(entries, Entry.BY_DATE);
+        return new DashboardSummary(count, entries.subList(0, Math.min(entries.size(), DashboardService.TOP)));
+    }
+
+}
@@ -22,19 +22,33 @@ import java.util.List;
 
 import javax.inject.Inject;
 
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.annotation.Action;
 import org.apache.isis.applib.annotation.DomainObject;
 import org.apache.isis.applib.annotation.Nature;
-import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.annotation.ParameterLayout;
+import org.apache.isis.applib.annotation.Property;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+
+import org.isisaddons.module.security.app.user.MeService;
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
 
 import org.estatio.dom.event.Event;
-import org.estatio.dom.event.EventRepository;
 import org.estatio.dom.lease.Lease;
 import org.estatio.dom.lease.LeaseRepository;
 
+/**
+ * Shows the first few {@link #getLeasesAboutToExpire() leases about to expire} and
+ * {@link #getUpcomingEvents() upcoming events} of the application tenancy of the current user, along with how many
+ * there are in total, from the {@link DashboardService}; all of them can be paged through with
+ * {@link #allLeasesAboutToExpire(int)} and {@link #allUpcomingEvents(int)}.
+ */
 @DomainObject(nature = Nature.VIEW_MODEL)
 public class EstatioAppHomePage {
 
-    private static final int MONTHS = 3;
+    static final int PAGE_SIZE = 50;
 
     //region > title
     public String title() {
@@ -42,23 +56,92 @@ public class EstatioAppHomePage {
     }
     //endregion
 
+    @Property(notPersisted = true)
+    public int getNumberOfLeasesAboutToExpire() {
+        return dashboardService.leasesAboutToExpire(atPath()).getCount();
+    }
+
     public List<Lease> getLeasesAboutToExpire() {
-        return leaseRepository.findExpireInDateRange(clockService.now(), clockService.now().plusMonths(MONTHS));
+        return lookup(dashboardService.leasesAboutToExpire(atPath()), Lease.class);
+    }
+
+    @Property(notPersisted = true)
+    public int getNumberOfUpcomingEvents() {
+        return dashboardService.upcomingEvents(atPath()).getCount();
     }
 
     public List<Event> getUpcomingEvents() {
-        return eventRepository.findEventsInDateRange(clockService.now(), clockService.now().plusMonths(MONTHS));
+        return lookup(dashboardService.upcomingEvents(atPath()), Event.class);
+    }
+
+    //region > allLeasesAboutToExpire (action)
+    @Action(semantics = SemanticsOf.SAFE)
+    public List<Lease> allLeasesAboutToExpire(
+            @ParameterLayout(named = "Page") final int page) {
+        return leaseRepository.findExpireInDateRange(
+                dashboardService.startDate(), dashboardService.endDate(), atPathOrRoot(), (page - 1) * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    public int default0AllLeasesAboutToExpire() {
+        return 1;
+    }
+
+    public String validateAllLeasesAboutToExpire(final int page) {
+        return page < 1 ? "Pages are numbered from 1" : null;
+    }
+    //endregion
+
+    //region > allUpcomingEvents (action)
+    @Action(semantics = SemanticsOf.SAFE)
+    public List<Event> allUpcomingEvents(
+            @ParameterLayout(named = "Page") final int page) {
+        return dashboardService.upcomingEvents(atPath(), (page - 1) * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    public int default0AllUpcomingEvents() {
+        return 1;
+    }
+
+    public String validateAllUpcomingEvents(final int page) {
+        return page < 1 ? "Pages are numbered from 1" : null;
+    }
+    //endregion
+
+    //region > helpers
+    private String atPath() {
+        final ApplicationTenancy tenancy = meService.me().getTenancy();
+        return tenancy != null ? tenancy.getPath() : null;
     }
 
+    private String atPathOrRoot() {
+        final String atPath = atPath();
+        return atPath != null ? atPath : "/";
+    }
+
+    private <T> List<T> lookup(final DashboardSummary summary, final Class<T> type) {
+        final List<T> objects = Lists.newArrayList();
+        for (DashboardSummary.Entry entry : summary.getTop()) {
+            final Object object = bookmarkService.lookup(entry.getBookmark());
+            if (type.isInstance(object)) {
+                objects.add(type.cast(object));
+            }
+        }
+        return objects;
+    }
+    //endregion
+
     //region > injected services
+    @Inject
+    private DashboardService dashboardService;
+
     @Inject
     private LeaseRepository leaseRepository;
 
     @Inject
-    private EventRepository eventRepository;
+    private BookmarkService bookmarkService;
 
     @Inject
-    private ClockService clockService;
+    private MeService meService;
     //endregion
 
 }
@@ -0,0 +1,170 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.services.invoiceexport;
+
+import java.io.OutputStream;
+
+import javax.inject.Inject;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.wrapper.InteractionException;
+import org.apache.isis.applib.services.wrapper.WrapperFactory;
+
+import org.isisaddons.module.security.app.user.MeService;
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
+
+import org.estatio.app.menus.invoice.InvoiceExportMenu;
+import org.estatio.canonical.invoice.InvoiceDtoExportService;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.asset.PropertyRepository;
+import org.estatio.dom.invoice.InvoiceRepository;
+import org.estatio.dom.invoice.InvoiceStatus;
+import org.estatio.dom.valuetypes.ApplicationTenancyLevel;
+
+/**
+ * Writes the invoices of a run, or of a property, due date and status, as a canonical (v1) XML document to an
+ * output stream; the invoices are looked up by id and loaded a batch at a time by the
+ * {@link InvoiceDtoExportService}.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class InvoiceExportService {
+
+    /**
+     * @return the number of invoices written.
+     */
+    @Programmatic
+    public int exportInvoicesOfRun(final String runId, final OutputStream outputStream) {
+        return invoiceDtoExportService.export(invoiceRepository.findIdsByRunId(runId), outputStream);
+    }
+
+    /**
+     * @return the number of invoices written.
+     */
+    @Programmatic
+    public int exportInvoices(
+            final Property property,
+            final LocalDate dueDate,
+            final InvoiceStatus status,
+            final OutputStream outputStream) {
+        return invoiceDtoExportService.export(
+                invoiceRepository.findIdsByFixedAssetAndDueDateAndStatus(property, dueDate, status), outputStream);
+    }
+
+    /**
+     * @return the property, or <tt>null</tt> if there is none with the reference.
+     */
+    @Programmatic
+    public Property findProperty(final String propertyReference) {
+        return propertyRepository.findPropertyByReference(propertyReference);
+    }
+
+    // //////////////////////////////////////
+
+    /**
+     * Why the current user may not export the invoices of the run, or <tt>null</tt> if they may: as for
+     * {@link InvoiceExportMenu#exportInvoicesOfRun(String) the action}, checking the user's permissions and
+     * application tenancy; for callers (such as the export servlet of the webapp) that write to a stream rather
+     * than invoke the action.
+     */
+    @Programmatic
+    public String whyNotExportInvoicesOfRun(final String runId) {
+        try {
+            wrapperFactory.wrapNoExecute(invoiceExportMenu).exportInvoicesOfRun(runId);
+            return null;
+        } catch (InteractionException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    /**
+     * As {@link #whyNotExportInvoicesOfRun(String)}, for
+     * {@link InvoiceExportMenu#exportInvoices(Property, LocalDate, InvoiceStatus) the action} exporting the invoices of
+     * a property.
+     */
+    @Programmatic
+    public String whyNotExportInvoices(final Property property, final LocalDate dueDate, final InvoiceStatus status) {
+        try {
+            wrapperFactory.wrapNoExecute(invoiceExportMenu).exportInvoices(property, dueDate, status);
+            return null;
+        } catch (InteractionException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    /**
+     * Why the current user may not see all invoices of the run, or <tt>null</tt> if they may.
+     */
+    @Programmatic
+    public String validateTenancyOfRun(final String runId) {
+        for (String path : invoiceRepository.findApplicationTenancyPathsByRunId(runId)) {
+            if (!isVisibleToCurrentUser(path)) {
+                return "Run includes invoices of " + path + ", which you may not see";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Why the current user may not see the invoices of the property, or <tt>null</tt> if they may.
+     */
+    @Programmatic
+    public String validateTenancyOf(final Property property) {
+        return isVisibleToCurrentUser(property.getApplicationTenancyPath())
+                ? null
+                : "You may not see the invoices of " + property.getReference();
+    }
+
+    /**
+     * Objects at, below or above the tenancy of the user are visible to them; those in other branches are not.
+     */
+    private boolean isVisibleToCurrentUser(final String path) {
+        final ApplicationTenancy userTenancy = meService.me().getTenancy();
+        if (userTenancy == null) {
+            return false;
+        }
+        final ApplicationTenancyLevel userLevel = ApplicationTenancyLevel.of(userTenancy);
+        final ApplicationTenancyLevel level = ApplicationTenancyLevel.of(path);
+        return level.equals(userLevel) || level.childOf(userLevel) || level.parentOf(userLevel);
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    InvoiceRepository invoiceRepository;
+
+    @Inject
+    PropertyRepository propertyRepository;
+
+    @Inject
+    InvoiceDtoExportService invoiceDtoExportService;
+
+    @Inject
+    InvoiceExportMenu invoiceExportMenu;
+
+    @Inject
+    WrapperFactory wrapperFactory;
+
+    @Inject
+    MeService meService;
+
+}
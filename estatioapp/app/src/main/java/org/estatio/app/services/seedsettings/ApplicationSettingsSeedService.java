@@ -32,9 +32,11 @@ import org.estatio.dom.UdoDomainService;
 import org.estatio.domsettings.ApplicationSettingCreator;
 import org.estatio.dom.appsettings.ApplicationSettingKey;
 import org.estatio.domsettings.ApplicationSettingsServiceForEstatio;
+import org.estatio.domsettings.SettingsCache;
 
 /**
- *Installs default settings on  {@link #init(Map) initialization}.
+ *Installs default settings on  {@link #init(Map) initialization}, and then preloads them into the
+ * {@link SettingsCache}.
  */
 @DomainService(nature = NatureOfService.DOMAIN, menuOrder = "99")
 public class ApplicationSettingsSeedService extends UdoDomainService<ApplicationSettingsSeedService> {
@@ -48,6 +50,7 @@ public class ApplicationSettingsSeedService extends UdoDomainService<Application
     public void init(final Map<String,String> props) {
         super.init(props);
         installDefaultsIfRequired();
+        settingsCache.preload();
     }
 
     private void installDefaultsIfRequired() {
@@ -72,5 +75,8 @@ public class ApplicationSettingsSeedService extends UdoDomainService<Application
     @Inject
     ApplicationSettingsServiceForEstatio applicationSettingsServiceForEstatio;
 
+    @Inject
+    SettingsCache settingsCache;
+
 }
 
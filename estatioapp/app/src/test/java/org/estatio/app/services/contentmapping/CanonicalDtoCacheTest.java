@@ -0,0 +1,193 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.services.contentmapping;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.jaxb.JaxbService;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CanonicalDtoCacheTest {
+
+    private static final String DOMAIN_TYPE = "SomeDto";
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private BookmarkService mockBookmarkService;
+
+    @Mock
+    private ClockService mockClockService;
+
+    @Mock
+    private EventBusService mockEventBusService;
+
+    @Mock
+    private JaxbService mockJaxbService;
+
+    private CanonicalDtoCache cache;
+
+    private final Object someObject = new Object();
+
+    private final Bookmark bookmark = new Bookmark("SOME", "1");
+
+    private Long version;
+
+    private long now;
+
+    private AtomicInteger builds;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new CanonicalDtoCache() {
+            @Override
+            Object versionOf(final Object domainObject) {
+                return version;
+            }
+        };
+        cache.bookmarkService = mockBookmarkService;
+        cache.clockService = mockClockService;
+        cache.eventBusService = mockEventBusService;
+        cache.jaxbService = mockJaxbService;
+        builds = new AtomicInteger();
+        version = 1L;
+
+        context.checking(new Expectations() {
+            {
+                allowing(mockBookmarkService).bookmarkFor(someObject);
+                will(returnValue(bookmark));
+                allowing(mockClockService).nowAsMillis();
+                will(new CustomAction("now") {
+                    @Override
+                    public Object invoke(final Invocation invocation) throws Throwable {
+                        return now;
+                    }
+                });
+                allowing(mockJaxbService).toXml(with(any(Object.class)));
+                will(new CustomAction("toXml") {
+                    @Override
+                    public Object invoke(final Invocation invocation) throws Throwable {
+                        return "<" + invocation.getParameter(0) + "/>";
+                    }
+                });
+            }
+        });
+    }
+
+    private Object get() {
+        return cache.get(someObject, DOMAIN_TYPE, () -> "dto" + builds.incrementAndGet());
+    }
+
+    @Test
+    public void same_version_is_built_once() throws Exception {
+        assertThat(get()).isEqualTo("dto1");
+        assertThat(get()).isEqualTo("dto1");
+        assertThat(builds.get()).isEqualTo(1);
+        assertThat(CanonicalDtoCache.getLastETag()).isEqualTo(CanonicalDtoCache.eTagFor(bookmark, "<dto1/>"));
+    }
+
+    @Test
+    public void new_version_is_rebuilt() throws Exception {
+        get();
+        version = 2L;
+        assertThat(get()).isEqualTo("dto2");
+        assertThat(CanonicalDtoCache.getLastETag()).isEqualTo(CanonicalDtoCache.eTagFor(bookmark, "<dto2/>"));
+    }
+
+    @Test
+    public void etag_follows_the_content_not_the_version() throws Exception {
+        cache.get(someObject, DOMAIN_TYPE, () -> "dto");
+        final String eTag = CanonicalDtoCache.getLastETag();
+
+        // eg the legal address of a party changed, but the party itself did not
+        cache.invalidate(bookmark);
+        cache.get(someObject, DOMAIN_TYPE, () -> "dto with other address");
+        assertThat(CanonicalDtoCache.getLastETag()).isNotEqualTo(eTag);
+
+        // a new version with the same content
+        version = 2L;
+        cache.get(someObject, DOMAIN_TYPE, () -> "dto with other address");
+        final String sameContentETag = CanonicalDtoCache.getLastETag();
+        cache.invalidate(bookmark);
+        cache.get(someObject, DOMAIN_TYPE, () -> "dto with other address");
+        assertThat(CanonicalDtoCache.getLastETag()).isEqualTo(sameContentETag);
+    }
+
+    @Test
+    public void unversioned_is_not_cached() throws Exception {
+        version = null;
+        get();
+        get();
+        assertThat(builds.get()).isEqualTo(2);
+        assertThat(CanonicalDtoCache.getLastETag()).isNull();
+    }
+
+    @Test
+    public void expires() throws Exception {
+        get();
+        now += CanonicalDtoCache.TIME_TO_LIVE_MILLIS + 1;
+        assertThat(get()).isEqualTo("dto2");
+    }
+
+    @Test
+    public void invalidate_by_bookmark_and_by_type() throws Exception {
+        get();
+        cache.invalidate(bookmark);
+        assertThat(get()).isEqualTo("dto2");
+        cache.invalidate(Object.class);
+        assertThat(get()).isEqualTo("dto3");
+    }
+
+    @Test
+    public void holds_at_most_max_entries() throws Exception {
+        for (int i = 0; i < 2 * CanonicalDtoCache.MAX_ENTRIES; i++) {
+            cache.get(someObject, DOMAIN_TYPE + i, () -> "dto" + builds.incrementAndGet());
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(CanonicalDtoCache.MAX_ENTRIES);
+    }
+
+    @Test
+    public void registers_for_lifecycle_events() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockEventBusService).register(cache);
+                oneOf(mockEventBusService).unregister(cache);
+            }
+        });
+
+        cache.init();
+        cache.shutdown();
+    }
+
+}
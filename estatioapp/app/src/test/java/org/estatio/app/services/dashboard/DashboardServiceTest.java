@@ -0,0 +1,85 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.services.dashboard;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.joda.time.LocalDate;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DashboardServiceTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    EventBusService mockEventBusService;
+
+    private static DashboardSummary summary(final String id, final int count) {
+        return new DashboardSummary(count, Collections.singletonList(
+                new DashboardSummary.Entry(new LocalDate(2016, 1, 1), new Bookmark("lease.Lease", id))));
+    }
+
+    @Test
+    public void registers_for_lifecycle_events() throws Exception {
+        final DashboardService service = new DashboardService();
+        service.eventBusService = mockEventBusService;
+
+        context.checking(new Expectations() {
+            {
+                oneOf(mockEventBusService).register(service);
+                oneOf(mockEventBusService).unregister(service);
+            }
+        });
+
+        service.init(Collections.<String, String>emptyMap());
+        service.preDestroy();
+    }
+
+    @Test
+    public void summaries_at_or_below_compare_parts_of_the_path() throws Exception {
+        final Map<String, DashboardSummary> summariesByPath = ImmutableMap.of(
+                "/it", summary("IT", 1),
+                "/it/CAR/_", summary("CAR", 2),
+                "/itx/FOO/_", summary("FOO", 4),
+                "/nl/KAL/_", summary("KAL", 8));
+
+        assertThat(DashboardSummary.merge(DashboardService.summariesAtOrBelow(summariesByPath, "/it")).getCount())
+                .isEqualTo(3);
+        assertThat(DashboardSummary.merge(DashboardService.summariesAtOrBelow(summariesByPath, "/it/CAR")).getCount())
+                .isEqualTo(2);
+        assertThat(DashboardSummary.merge(DashboardService.summariesAtOrBelow(summariesByPath, "/")).getCount())
+                .isEqualTo(15);
+        assertThat(DashboardSummary.merge(DashboardService.summariesAtOrBelow(summariesByPath, null)).getCount())
+                .isEqualTo(15);
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.services.dashboard;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DashboardSummaryTest {
+
+    private static List<DashboardSummary.Entry> entries(final String id, final LocalDate from, final int number) {
+        final List<DashboardSummary.Entry> entries = Lists.newArrayList();
+        for (int i = 0; i < number; i++) {
+            entries.add(new DashboardSummary.Entry(from.plusDays(i), new Bookmark("lease.Lease", id + i)));
+        }
+        return entries;
+    }
+
+    @Test
+    public void of_keeps_first_entries_and_counts_all() throws Exception {
+        final DashboardSummary summary = DashboardSummary.of(entries("A", new LocalDate(2016, 1, 1), 25));
+
+        assertThat(summary.getCount()).isEqualTo(25);
+        assertThat(summary.getTop()).hasSize(DashboardService.TOP);
+        assertThat(summary.getTop().get(0).getDate()).isEqualTo(new LocalDate(2016, 1, 1));
+    }
+
+    @Test
+    public void merge_adds_up_counts_and_keeps_earliest_entries() throws Exception {
+        final DashboardSummary first = DashboardSummary.of(entries("A", new LocalDate(2016, 1, 10), 12));
+        final DashboardSummary second = DashboardSummary.of(entries("B", new LocalDate(2016, 1, 1), 3));
+
+        final DashboardSummary merged = DashboardSummary.merge(Arrays.asList(first, second));
+
+        assertThat(merged.getCount()).isEqualTo(15);
+        assertThat(merged.getTop()).hasSize(DashboardService.TOP);
+        assertThat(merged.getTop().get(0).getBookmark().getIdentifier()).isEqualTo("B0");
+        assertThat(merged.getTop().get(3).getBookmark().getIdentifier()).isEqualTo("A0");
+    }
+
+    @Test
+    public void merge_nothing() throws Exception {
+        final DashboardSummary merged = DashboardSummary.merge(Lists.<DashboardSummary>newArrayList());
+
+        assertThat(merged.getCount()).isEqualTo(0);
+        assertThat(merged.getTop()).isEmpty();
+    }
+
+}
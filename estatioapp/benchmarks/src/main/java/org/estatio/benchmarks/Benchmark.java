@@ -0,0 +1,65 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks;
+
+import java.util.List;
+
+/**
+ * A single end-to-end benchmark, run by the {@link BenchmarkRunner}.
+ *
+ * <p>
+ * Domain services are injected before {@link #setUp()} is called. Each {@link #iteration(int) iteration} runs in
+ * its own transaction, which is committed (and so flushed) as part of the measured time.
+ * </p>
+ */
+public abstract class Benchmark {
+
+    private final String name;
+
+    protected Benchmark(final String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Called once, in its own transaction, before the warm-up iterations.
+     */
+    public void setUp() {
+    }
+
+    /**
+     * Performs a single iteration.
+     *
+     * @param iterationNum - zero-based, counting the warm-up iterations, so that implementations can cycle through
+     *                     their subjects (properties, leases, budgets) rather than repeat the same one.
+     * @return the number of operations (leases, terms, calculations...) processed, used for the throughput.
+     */
+    public abstract int iteration(final int iterationNum);
+
+    protected static <T> T cycle(final List<T> subjects, final int iterationNum) {
+        if (subjects.isEmpty()) {
+            throw new IllegalStateException("Nothing to benchmark; is the portfolio fixture installed?");
+        }
+        return subjects.get(iterationNum % subjects.size());
+    }
+
+}
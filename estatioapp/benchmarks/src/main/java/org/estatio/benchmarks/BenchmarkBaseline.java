@@ -0,0 +1,113 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+import java.util.Properties;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Stored {@link BenchmarkResult results} that later runs are compared against.
+ *
+ * <p>
+ * A result regresses if its throughput drops, or its p90 latency rises, by more than the tolerance, or if it
+ * performs more queries per operation than the baseline (query counts do not vary from run to run, so no
+ * tolerance is applied to them).
+ * </p>
+ */
+public class BenchmarkBaseline {
+
+    private final Properties properties;
+    private final double tolerance;
+
+    BenchmarkBaseline(final Properties properties, final double tolerance) {
+        this.properties = properties;
+        this.tolerance = tolerance;
+    }
+
+    public static BenchmarkBaseline load(final File file, final double tolerance) throws IOException {
+        final Properties properties = new Properties();
+        if (file.exists()) {
+            try (Reader reader = new FileReader(file)) {
+                properties.load(reader);
+            }
+        }
+        return new BenchmarkBaseline(properties, tolerance);
+    }
+
+    public static void store(final List<BenchmarkResult> results, final File file) throws IOException {
+        final Properties properties = new Properties();
+        for (BenchmarkResult result : results) {
+            result.storeIn(properties);
+        }
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        try (Writer writer = new FileWriter(file)) {
+            properties.store(writer, "Estatio benchmark results");
+        }
+    }
+
+    /**
+     * Whether there is a baseline for any measure of the result.
+     */
+    public boolean covers(final BenchmarkResult result) {
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(result.getName() + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return a description of each regression, empty if none (or if there is no baseline for the result).
+     */
+    public List<String> regressionsOf(final BenchmarkResult result) {
+        final List<String> regressions = Lists.newArrayList();
+        final Double throughput = baselineOf(result, BenchmarkResult.THROUGHPUT);
+        if (throughput != null && result.getThroughput() < throughput * (1 - tolerance)) {
+            regressions.add(describe(result, BenchmarkResult.THROUGHPUT, throughput));
+        }
+        final Double p90 = baselineOf(result, BenchmarkResult.P90);
+        if (p90 != null && result.percentile(90) > p90 * (1 + tolerance)) {
+            regressions.add(describe(result, BenchmarkResult.P90, p90));
+        }
+        final Double queriesPerOperation = baselineOf(result, BenchmarkResult.QUERIES_PER_OPERATION);
+        if (queriesPerOperation != null && result.getQueriesPerOperation() > queriesPerOperation + 0.001) {
+            regressions.add(describe(result, BenchmarkResult.QUERIES_PER_OPERATION, queriesPerOperation));
+        }
+        return regressions;
+    }
+
+    private Double baselineOf(final BenchmarkResult result, final String measure) {
+        final String value = properties.getProperty(result.getName() + "." + measure);
+        return value != null ? Double.valueOf(value) : null;
+    }
+
+    private static String describe(final BenchmarkResult result, final String measure, final double baseline) {
+        return String.format("%s: %s was %.3f, baseline %.3f", result.getName(), measure, result.valueOf(measure), baseline);
+    }
+
+}
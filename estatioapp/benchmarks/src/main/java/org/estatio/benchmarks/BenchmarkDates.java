@@ -0,0 +1,43 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks;
+
+import org.joda.time.LocalDate;
+
+/**
+ * The dates the benchmarks run against, relative to the start of the generated portfolio (whose leases start in
+ * its first three years).
+ */
+public final class BenchmarkDates {
+
+    private BenchmarkDates() {
+    }
+
+    public static final LocalDate PORTFOLIO_START_DATE = new LocalDate(2010, 1, 1);
+
+    /**
+     * The due date of a normal invoice run, when all leases have started.
+     */
+    public static final LocalDate INVOICE_DUE_DATE = new LocalDate(2014, 4, 1);
+
+    public static final LocalDate RETRO_START_DUE_DATE = new LocalDate(2013, 1, 1);
+
+    public static final LocalDate RETRO_NEXT_DUE_DATE = new LocalDate(2014, 1, 1);
+
+}
@@ -0,0 +1,144 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * The measurements of a single {@link Benchmark}: throughput, latency percentiles, allocation rate and query counts.
+ */
+public class BenchmarkResult {
+
+    static final String THROUGHPUT = "throughput";
+    static final String P50 = "p50";
+    static final String P90 = "p90";
+    static final String P99 = "p99";
+    static final String QUERIES_PER_OPERATION = "queriesPerOperation";
+
+    private final String name;
+    private final long[] sortedLatencies;
+    private final long totalNanos;
+    private final long operations;
+    private final long allocatedBytes;
+    private final long queries;
+    private final long datastoreReads;
+
+    public BenchmarkResult(
+            final String name,
+            final long[] latencies,
+            final long operations,
+            final long allocatedBytes,
+            final long queries,
+            final long datastoreReads) {
+        this.name = name;
+        this.sortedLatencies = latencies.clone();
+        Arrays.sort(this.sortedLatencies);
+        long total = 0;
+        for (long latency : latencies) {
+            total += latency;
+        }
+        this.totalNanos = total;
+        this.operations = operations;
+        this.allocatedBytes = allocatedBytes;
+        this.queries = queries;
+        this.datastoreReads = datastoreReads;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getIterations() {
+        return sortedLatencies.length;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    /**
+     * Operations per second.
+     */
+    public double getThroughput() {
+        return totalNanos == 0 ? 0 : operations * 1e9 / totalNanos;
+    }
+
+    /**
+     * The latency of an iteration, in milliseconds, using the nearest-rank method.
+     */
+    public double percentile(final double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+        return sortedLatencies[Math.max(rank, 1) - 1] / 1e6;
+    }
+
+    /**
+     * Megabytes allocated per second, by the benchmarking thread.
+     */
+    public double getAllocationRate() {
+        return totalNanos == 0 ? 0 : allocatedBytes * 1e9 / totalNanos / (1024 * 1024);
+    }
+
+    public double getQueriesPerOperation() {
+        return operations == 0 ? 0 : (double) queries / operations;
+    }
+
+    public double getDatastoreReadsPerOperation() {
+        return operations == 0 ? 0 : (double) datastoreReads / operations;
+    }
+
+    double valueOf(final String measure) {
+        switch (measure) {
+        case THROUGHPUT:
+            return getThroughput();
+        case P50:
+            return percentile(50);
+        case P90:
+            return percentile(90);
+        case P99:
+            return percentile(99);
+        case QUERIES_PER_OPERATION:
+            return getQueriesPerOperation();
+        default:
+            throw new IllegalArgumentException("Unknown measure: " + measure);
+        }
+    }
+
+    void storeIn(final Properties properties) {
+        for (String measure : new String[] { THROUGHPUT, P50, P90, P99, QUERIES_PER_OPERATION }) {
+            properties.setProperty(name + "." + measure, String.format("%.3f", valueOf(measure)));
+        }
+    }
+
+    static String header() {
+        return String.format("%-32s %8s %12s %10s %10s %10s %12s %10s %10s",
+                "benchmark", "iters", "ops/s", "p50 ms", "p90 ms", "p99 ms", "alloc MB/s", "queries/op", "reads/op");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-32s %8d %12.1f %10.1f %10.1f %10.1f %12.1f %10.1f %10.1f",
+                name, getIterations(), getThroughput(), percentile(50), percentile(90), percentile(99),
+                getAllocationRate(), getQueriesPerOperation(), getDatastoreReadsPerOperation());
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+import org.apache.isis.applib.services.xactn.TransactionService;
+
+/**
+ * Runs a {@link Benchmark}: set up, a number of warm-up iterations, then the measured iterations, each in its own
+ * transaction and with an empty persistence manager (as for separate requests).
+ */
+public class BenchmarkRunner {
+
+    private final int warmupIterations;
+    private final int measuredIterations;
+    private final TransactionService transactionService;
+    private final IsisJdoSupport isisJdoSupport;
+
+    public BenchmarkRunner(
+            final int warmupIterations,
+            final int measuredIterations,
+            final TransactionService transactionService,
+            final IsisJdoSupport isisJdoSupport) {
+        this.warmupIterations = warmupIterations;
+        this.measuredIterations = measuredIterations;
+        this.transactionService = transactionService;
+        this.isisJdoSupport = isisJdoSupport;
+    }
+
+    public BenchmarkResult run(final Benchmark benchmark) {
+        benchmark.setUp();
+        commit();
+
+        for (int i = 0; i < warmupIterations; i++) {
+            benchmark.iteration(i);
+            commit();
+        }
+
+        final DatastoreStatistics statistics = DatastoreStatistics.of(isisJdoSupport);
+        final long queriesBefore = statistics.queries();
+        final long datastoreReadsBefore = statistics.datastoreReads();
+
+        final long[] latencies = new long[measuredIterations];
+        long operations = 0;
+        long allocatedBytes = 0;
+        for (int i = 0; i < measuredIterations; i++) {
+            final long allocatedBefore = allocatedBytes();
+            final long start = System.nanoTime();
+
+            operations += benchmark.iteration(warmupIterations + i);
+            commit();
+
+            latencies[i] = System.nanoTime() - start;
+            allocatedBytes += allocatedBytes() - allocatedBefore;
+        }
+
+        return new BenchmarkResult(
+                benchmark.getName(),
+                latencies,
+                operations,
+                allocatedBytes,
+                statistics.queries() - queriesBefore,
+                statistics.datastoreReads() - datastoreReadsBefore);
+    }
+
+    private void commit() {
+        transactionService.nextTransaction();
+        isisJdoSupport.getJdoPersistenceManager().evictAll();
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, if the JVM supports it (HotSpot does).
+     */
+    private static long allocatedBytes() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+}
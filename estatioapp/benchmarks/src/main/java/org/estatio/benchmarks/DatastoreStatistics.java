@@ -0,0 +1,61 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks;
+
+import javax.jdo.PersistenceManagerFactory;
+
+import org.datanucleus.api.jdo.JDOPersistenceManagerFactory;
+import org.datanucleus.management.FactoryStatistics;
+
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+
+/**
+ * Reads the DataNucleus statistics (enabled by the {@link BenchmarkSystemInitializer}), to count the queries and
+ * datastore reads of a benchmark.
+ */
+class DatastoreStatistics {
+
+    private final FactoryStatistics statistics;
+
+    private DatastoreStatistics(final FactoryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    static DatastoreStatistics of(final IsisJdoSupport isisJdoSupport) {
+        final PersistenceManagerFactory pmf = isisJdoSupport.getJdoPersistenceManager().getPersistenceManagerFactory();
+        final FactoryStatistics statistics =
+                pmf instanceof JDOPersistenceManagerFactory
+                        ? ((JDOPersistenceManagerFactory) pmf).getNucleusContext().getStatistics()
+                        : null;
+        return new DatastoreStatistics(statistics);
+    }
+
+    boolean isEnabled() {
+        return statistics != null;
+    }
+
+    long queries() {
+        return isEnabled() ? statistics.getQueryExecutionTotalCount() : 0;
+    }
+
+    long datastoreReads() {
+        return isEnabled() ? statistics.getNumberOfDatastoreReads() : 0;
+    }
+
+}
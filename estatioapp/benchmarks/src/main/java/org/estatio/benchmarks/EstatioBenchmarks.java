@@ -0,0 +1,161 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks;
+
+import java.io.File;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Lists;
+
+import org.apache.log4j.PropertyConfigurator;
+
+import org.apache.isis.applib.DomainObjectContainer;
+import org.apache.isis.applib.fixturescripts.FixtureScripts;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.integtestsupport.IsisSystemForTest;
+
+import org.estatio.benchmarks.budget.AssignBudgetCalculationsBenchmark;
+import org.estatio.benchmarks.budget.BudgetCalculationBenchmark;
+import org.estatio.benchmarks.budget.KeyTableGenerateItemsBenchmark;
+import org.estatio.benchmarks.invoice.InvoiceCalculationBenchmark;
+import org.estatio.benchmarks.invoice.RetroInvoicesBenchmark;
+import org.estatio.benchmarks.lease.IndexationBenchmark;
+import org.estatio.fixturescripts.LargePortfolioFixture;
+
+/**
+ * Boots Estatio against an in-memory database, installs the {@link LargePortfolioFixture}, runs each
+ * {@link Benchmark} and compares the results against the stored {@link BenchmarkBaseline baseline}.
+ *
+ * <p>
+ * Configured using system properties:
+ * </p>
+ * <ul>
+ *     <li><tt>benchmark.seed</tt>, <tt>benchmark.countries</tt>, <tt>benchmark.properties</tt>,
+ *     <tt>benchmark.units</tt> - the size of the portfolio (per country and per property)</li>
+ *     <li><tt>benchmark.warmup</tt>, <tt>benchmark.iterations</tt> - the iterations per benchmark</li>
+ *     <li><tt>benchmark.include</tt> - a regex; only the benchmarks whose name matches are run</li>
+ *     <li><tt>benchmark.baseline</tt> - the baseline file, <tt>baseline.properties</tt> by default</li>
+ *     <li><tt>benchmark.tolerance</tt> - the relative tolerance for throughput and latency, 0.2 by default</li>
+ *     <li><tt>benchmark.rebaseline</tt> - if <tt>true</tt>, the results are written to the baseline file rather than
+ *     compared against it (run on the reference machine)</li>
+ * </ul>
+ *
+ * <p>
+ * The results are written to <tt>target/benchmarks/results.properties</tt>; the process exits with a non-zero
+ * status if any benchmark regressed.
+ * </p>
+ */
+public class EstatioBenchmarks {
+
+    public static void main(final String[] args) throws Exception {
+        PropertyConfigurator.configure("logging.properties");
+
+        final IsisSystemForTest isft = BenchmarkSystemInitializer.initIsft();
+        final EstatioBenchmarks benchmarks = new EstatioBenchmarks();
+        isft.getService(DomainObjectContainer.class).injectServicesInto(benchmarks);
+
+        isft.beginTran();
+        final List<String> regressions = benchmarks.run();
+        isft.commitTran();
+
+        for (String regression : regressions) {
+            System.out.println("REGRESSION " + regression);
+        }
+        System.exit(regressions.isEmpty() ? 0 : 1);
+    }
+
+    List<String> run() throws Exception {
+        installPortfolio();
+
+        final BenchmarkRunner runner = new BenchmarkRunner(
+                Integer.getInteger("benchmark.warmup", 5),
+                Integer.getInteger("benchmark.iterations", 20),
+                transactionService,
+                isisJdoSupport);
+        final String include = System.getProperty("benchmark.include", ".*");
+
+        final List<BenchmarkResult> results = Lists.newArrayList();
+        System.out.println(BenchmarkResult.header());
+        for (Benchmark benchmark : benchmarks()) {
+            if (!benchmark.getName().matches(include)) {
+                continue;
+            }
+            container.injectServicesInto(benchmark);
+            final BenchmarkResult result = runner.run(benchmark);
+            System.out.println(result);
+            results.add(result);
+        }
+
+        BenchmarkBaseline.store(results, new File("target/benchmarks/results.properties"));
+
+        final File baselineFile = new File(System.getProperty("benchmark.baseline", "baseline.properties"));
+        if (Boolean.getBoolean("benchmark.rebaseline")) {
+            BenchmarkBaseline.store(results, baselineFile);
+            return Lists.newArrayList();
+        }
+        final BenchmarkBaseline baseline = BenchmarkBaseline.load(
+                baselineFile,
+                Double.parseDouble(System.getProperty("benchmark.tolerance", "0.2")));
+        final List<String> regressions = Lists.newArrayList();
+        for (BenchmarkResult result : results) {
+            if (!baseline.covers(result)) {
+                System.out.println("NO BASELINE " + result.getName() + ": record one with -Dbenchmark.rebaseline=true");
+            }
+            regressions.addAll(baseline.regressionsOf(result));
+        }
+        return regressions;
+    }
+
+    private void installPortfolio() {
+        final LargePortfolioFixture fixture = new LargePortfolioFixture();
+        fixture.setSeed(Long.getLong("benchmark.seed", 1L));
+        fixture.setNumberOfCountries(Integer.getInteger("benchmark.countries", 2));
+        fixture.setNumberOfProperties(Integer.getInteger("benchmark.properties", 10));
+        fixture.setNumberOfUnits(Integer.getInteger("benchmark.units", 50));
+        fixture.setStartDate(BenchmarkDates.PORTFOLIO_START_DATE);
+        fixtureScripts.runFixtureScript(fixture, null);
+        transactionService.nextTransaction();
+    }
+
+    static List<Benchmark> benchmarks() {
+        return Lists.<Benchmark>newArrayList(
+                new InvoiceCalculationBenchmark(),
+                new RetroInvoicesBenchmark(),
+                new IndexationBenchmark(),
+                new KeyTableGenerateItemsBenchmark(),
+                new BudgetCalculationBenchmark(),
+                new AssignBudgetCalculationsBenchmark());
+    }
+
+    @Inject
+    private DomainObjectContainer container;
+
+    @Inject
+    private FixtureScripts fixtureScripts;
+
+    @Inject
+    private TransactionService transactionService;
+
+    @Inject
+    private IsisJdoSupport isisJdoSupport;
+
+}
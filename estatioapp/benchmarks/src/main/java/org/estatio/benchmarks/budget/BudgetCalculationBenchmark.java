@@ -0,0 +1,66 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks.budget;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.estatio.benchmarks.Benchmark;
+import org.estatio.dom.budgeting.budget.Budget;
+import org.estatio.dom.budgeting.budget.BudgetRepository;
+import org.estatio.dom.budgeting.budgetcalculation.BudgetCalculationRepository;
+import org.estatio.dom.budgeting.budgetcalculation.BudgetCalculationResult;
+import org.estatio.dom.budgeting.budgetcalculation.BudgetCalculationService;
+
+/**
+ * Calculates (and persists the calculations of) one budget per iteration, as the <tt>calculate</tt> action does;
+ * an operation is a calculation.
+ */
+public class BudgetCalculationBenchmark extends Benchmark {
+
+    private List<Budget> budgets;
+
+    public BudgetCalculationBenchmark() {
+        super("budget.calculate");
+    }
+
+    @Override
+    public void setUp() {
+        budgets = budgetRepository.allBudgets();
+    }
+
+    @Override
+    public int iteration(final int iterationNum) {
+        final Budget budget = cycle(budgets, iterationNum);
+        final List<BudgetCalculationResult> results = budgetCalculationService.calculate(budget);
+        budgetCalculationRepository.resetAndUpdateOrCreateBudgetCalculations(budget, results);
+        return results.size();
+    }
+
+    @Inject
+    private BudgetRepository budgetRepository;
+
+    @Inject
+    private BudgetCalculationService budgetCalculationService;
+
+    @Inject
+    private BudgetCalculationRepository budgetCalculationRepository;
+
+}
@@ -0,0 +1,53 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks.budget;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.estatio.benchmarks.Benchmark;
+import org.estatio.dom.budgeting.keytable.KeyTable;
+import org.estatio.dom.budgeting.keytable.KeyTableRepository;
+
+/**
+ * Regenerates the items of one key table per iteration; an operation is a key item (a unit).
+ */
+public class KeyTableGenerateItemsBenchmark extends Benchmark {
+
+    private List<KeyTable> keyTables;
+
+    public KeyTableGenerateItemsBenchmark() {
+        super("budget.keyTableGenerateItems");
+    }
+
+    @Override
+    public void setUp() {
+        keyTables = keyTableRepository.allKeyTables();
+    }
+
+    @Override
+    public int iteration(final int iterationNum) {
+        return cycle(keyTables, iterationNum).generateItems().getItems().size();
+    }
+
+    @Inject
+    private KeyTableRepository keyTableRepository;
+
+}
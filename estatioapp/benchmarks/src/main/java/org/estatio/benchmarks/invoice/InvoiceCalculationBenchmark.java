@@ -0,0 +1,74 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks.invoice;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.estatio.benchmarks.Benchmark;
+import org.estatio.benchmarks.BenchmarkDates;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.asset.PropertyRepository;
+import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.lease.invoicing.InvoiceCalculationParameters;
+import org.estatio.dom.lease.invoicing.InvoiceCalculationSelection;
+import org.estatio.dom.lease.invoicing.InvoiceCalculationService;
+import org.estatio.dom.lease.invoicing.InvoiceRunType;
+
+/**
+ * A normal invoice run of all rent and service charge items, one property per iteration; an operation is a lease.
+ */
+public class InvoiceCalculationBenchmark extends Benchmark {
+
+    private List<Property> properties;
+
+    public InvoiceCalculationBenchmark() {
+        super("invoice.calculateAndInvoice");
+    }
+
+    @Override
+    public void setUp() {
+        properties = propertyRepository.allProperties();
+    }
+
+    @Override
+    public int iteration(final int iterationNum) {
+        final Property property = cycle(properties, iterationNum);
+        invoiceCalculationService.calculateAndInvoice(
+                new InvoiceCalculationParameters(
+                        property,
+                        InvoiceCalculationSelection.ALL_RENT_AND_SERVICE_CHARGE.selectedTypes(),
+                        InvoiceRunType.NORMAL_RUN,
+                        BenchmarkDates.INVOICE_DUE_DATE,
+                        BenchmarkDates.INVOICE_DUE_DATE,
+                        BenchmarkDates.INVOICE_DUE_DATE.plusDays(1)));
+        return leaseRepository.findLeasesByProperty(property).size();
+    }
+
+    @Inject
+    private PropertyRepository propertyRepository;
+
+    @Inject
+    private LeaseRepository leaseRepository;
+
+    @Inject
+    private InvoiceCalculationService invoiceCalculationService;
+
+}
@@ -0,0 +1,65 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks.invoice;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.estatio.benchmarks.Benchmark;
+import org.estatio.benchmarks.BenchmarkDates;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.lease.invoicing.InvoiceCalculationSelection;
+import org.estatio.dom.lease.invoicing.InvoiceService;
+
+/**
+ * A year of retro invoices, one lease per iteration (as the retro invoices batch job does); an operation is a
+ * lease.
+ */
+public class RetroInvoicesBenchmark extends Benchmark {
+
+    private List<Lease> leases;
+
+    public RetroInvoicesBenchmark() {
+        super("invoice.retroInvoices");
+    }
+
+    @Override
+    public void setUp() {
+        leases = leaseRepository.allLeases();
+    }
+
+    @Override
+    public int iteration(final int iterationNum) {
+        invoiceService.calculateRetroInvoicesForLease(
+                cycle(leases, iterationNum),
+                InvoiceCalculationSelection.ALL_ITEMS,
+                BenchmarkDates.RETRO_START_DUE_DATE,
+                BenchmarkDates.RETRO_NEXT_DUE_DATE);
+        return 1;
+    }
+
+    @Inject
+    private LeaseRepository leaseRepository;
+
+    @Inject
+    private InvoiceService invoiceService;
+
+}
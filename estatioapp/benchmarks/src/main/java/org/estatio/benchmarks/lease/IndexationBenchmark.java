@@ -0,0 +1,76 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks.lease;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.estatio.benchmarks.Benchmark;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.asset.PropertyRepository;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.lease.LeaseTerm;
+import org.estatio.dom.lease.LeaseTermForIndexable;
+import org.estatio.dom.lease.indexation.IndexationService;
+
+/**
+ * Indexation of all indexable terms of a property per iteration; an operation is a term.
+ */
+public class IndexationBenchmark extends Benchmark {
+
+    private List<Property> properties;
+
+    public IndexationBenchmark() {
+        super("lease.indexation");
+    }
+
+    @Override
+    public void setUp() {
+        properties = propertyRepository.allProperties();
+    }
+
+    @Override
+    public int iteration(final int iterationNum) {
+        int terms = 0;
+        for (Lease lease : leaseRepository.findLeasesByProperty(cycle(properties, iterationNum))) {
+            for (LeaseItem leaseItem : lease.getItems()) {
+                for (LeaseTerm leaseTerm : leaseItem.getTerms()) {
+                    if (leaseTerm instanceof LeaseTermForIndexable) {
+                        indexationService.indexate((LeaseTermForIndexable) leaseTerm);
+                        terms++;
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    @Inject
+    private PropertyRepository propertyRepository;
+
+    @Inject
+    private LeaseRepository leaseRepository;
+
+    @Inject
+    private IndexationService indexationService;
+
+}
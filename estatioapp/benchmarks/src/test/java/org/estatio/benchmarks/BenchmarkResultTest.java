@@ -0,0 +1,128 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.benchmarks;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.List;
+import java.util.Properties;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+public class BenchmarkResultTest {
+
+    private static final long MS = 1000000;
+
+    // 10 iterations of 1..10 ms, 100 operations in total
+    private final BenchmarkResult result = new BenchmarkResult(
+            "lease.indexation",
+            new long[] { 10 * MS, 1 * MS, 9 * MS, 2 * MS, 8 * MS, 3 * MS, 7 * MS, 4 * MS, 6 * MS, 5 * MS },
+            100,
+            55 * 1024 * 1024,
+            250,
+            500);
+
+    public static class Percentile extends BenchmarkResultTest {
+
+        @Test
+        public void nearest_rank() throws Exception {
+            assertThat(result.percentile(50)).isEqualTo(5.0);
+            assertThat(result.percentile(90)).isEqualTo(9.0);
+            assertThat(result.percentile(99)).isEqualTo(10.0);
+            assertThat(result.percentile(0)).isEqualTo(1.0);
+        }
+    }
+
+    public static class Rates extends BenchmarkResultTest {
+
+        @Test
+        public void per_second_and_per_operation() throws Exception {
+            // 100 operations and 55MB in 55ms
+            assertThat(result.getThroughput()).isCloseTo(1818.18, offset(0.01));
+            assertThat(result.getAllocationRate()).isCloseTo(1000.0, offset(0.01));
+            assertThat(result.getQueriesPerOperation()).isEqualTo(2.5);
+            assertThat(result.getDatastoreReadsPerOperation()).isEqualTo(5.0);
+        }
+    }
+
+    public static class Regressions extends BenchmarkResultTest {
+
+        @Test
+        public void none_when_no_baseline() throws Exception {
+            final BenchmarkBaseline baseline = new BenchmarkBaseline(new Properties(), 0.2);
+
+            assertThat(baseline.regressionsOf(result)).isEmpty();
+            assertThat(baseline.covers(result)).isFalse();
+        }
+
+        @Test
+        public void none_when_within_tolerance() throws Exception {
+            final Properties properties = new Properties();
+            properties.setProperty("lease.indexation.throughput", "2000");
+            properties.setProperty("lease.indexation.p90", "8");
+            properties.setProperty("lease.indexation.queriesPerOperation", "2.5");
+            final BenchmarkBaseline baseline = new BenchmarkBaseline(properties, 0.2);
+
+            assertThat(baseline.regressionsOf(result)).isEmpty();
+        }
+
+        @Test
+        public void slower_and_more_queries() throws Exception {
+            final Properties properties = new Properties();
+            properties.setProperty("lease.indexation.throughput", "3000");
+            properties.setProperty("lease.indexation.p90", "5");
+            properties.setProperty("lease.indexation.queriesPerOperation", "2");
+            final BenchmarkBaseline baseline = new BenchmarkBaseline(properties, 0.2);
+
+            assertThat(baseline.regressionsOf(result)).hasSize(3);
+            assertThat(baseline.covers(result)).isTrue();
+        }
+    }
+
+    public static class CommittedBaseline extends BenchmarkResultTest {
+
+        @Test
+        public void only_has_measures_of_the_benchmarks() throws Exception {
+            final Properties properties = new Properties();
+            try (Reader reader = new FileReader(new File("baseline.properties"))) {
+                properties.load(reader);
+            }
+
+            final List<String> keys = Lists.newArrayList();
+            for (Benchmark benchmark : EstatioBenchmarks.benchmarks()) {
+                for (String measure : new String[] {
+                        BenchmarkResult.THROUGHPUT, BenchmarkResult.P50, BenchmarkResult.P90, BenchmarkResult.P99,
+                        BenchmarkResult.QUERIES_PER_OPERATION }) {
+                    keys.add(benchmark.getName() + "." + measure);
+                }
+            }
+            assertThat(keys).containsAll(properties.stringPropertyNames());
+            for (String key : properties.stringPropertyNames()) {
+                assertThat(Double.valueOf(properties.getProperty(key))).as(key).isGreaterThan(0.0);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.estatio.canonical.invoice.v1;
+
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import com.google.common.collect.Lists;
+
+import org.estatio.canonical.VersionedDto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A bulk export of invoices, eg all invoices of an invoicing run.
+ *
+ * <p>
+ * Documents of this type are normally written incrementally (one {@link InvoiceDto} at a time) rather than by
+ * marshalling an instance of this class, but can be unmarshalled as a whole.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {
+        "majorVersion",
+        "minorVersion",
+        "invoices"
+})
+@XmlRootElement(name = "invoicesDto")
+public class InvoicesDto implements VersionedDto {
+
+    @XmlElement(required = true, defaultValue = "1")
+    public final String getMajorVersion() {
+        return "1";
+    }
+
+    @XmlElement(required = true, defaultValue = "0")
+    public String getMinorVersion() {
+        return "0";
+    }
+
+    @XmlElement(name = "invoiceDto")
+    @Getter @Setter
+    protected List<InvoiceDto> invoices = Lists.newArrayList();
+
+}
@@ -0,0 +1,82 @@
+package org.estatio.canonical.invoice;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.jdo.PersistenceManager;
+
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+
+import org.estatio.dom.fetchprofile.FetchProfile;
+import org.estatio.dom.fetchprofile.FetchProfileService;
+import org.estatio.dom.invoice.Invoice;
+
+/**
+ * Writes many invoices as a single {@link org.estatio.canonical.invoice.v1.InvoicesDto} document.
+ *
+ * <p>
+ * The invoices are identified by their object ids and processed in batches: each batch is loaded with a single
+ * query whose fetch profile pulls in the items, parties, lease (with its mandate and occupancies), charges and taxes,
+ * so that mapping an invoice does not hit the database for each relationship. Once written (and flushed to the output
+ * stream) the batch is evicted, so memory use is bounded by the batch size rather than by the number of invoices.
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN
+)
+public class InvoiceDtoExportService {
+
+    public static final int BATCH_SIZE = 250;
+
+    /**
+     * Note that all objects are evicted from the persistence manager after each batch.
+     *
+     * @param invoiceIds - the object ids of the invoices, eg as returned by
+     *                   {@link org.estatio.dom.invoice.InvoiceRepository#findIdsByRunId(String)}.
+     * @return the number of invoices written.
+     */
+    @Programmatic
+    public int export(final List<?> invoiceIds, final OutputStream outputStream) {
+        final PersistenceManager persistenceManager = isisJdoSupport.getJdoPersistenceManager();
+        try (InvoicesDtoWriter writer = new InvoicesDtoWriter(outputStream)) {
+            for (List<?> batchIds : Lists.partition(invoiceIds, BATCH_SIZE)) {
+                // hollow instances, resolved by the prefetch
+                final List<Invoice> batch = Lists.newArrayList();
+                for (Object invoice : persistenceManager.getObjectsById(false, batchIds.toArray())) {
+                    batch.add((Invoice) invoice);
+                }
+                prefetch(batch);
+                for (Invoice invoice : batch) {
+                    writer.write(invoiceDtoFactory.newDto(invoice));
+                }
+                writer.flush();
+                persistenceManager.evictAll();
+            }
+            return writer.getCount();
+        }
+    }
+
+    /**
+     * Loads the batch with the {@link FetchProfile#INVOICE_DTO fetch profile} covering everything that the
+     * {@link InvoiceDtoFactory} navigates; the persistence manager hands out the same instances, so the invoices in
+     * the batch are then fully resolved.
+     */
+    private void prefetch(final List<Invoice> batch) {
+        fetchProfileService.prefetch(FetchProfile.INVOICE_DTO, Invoice.class, batch);
+    }
+
+    @Inject
+    InvoiceDtoFactory invoiceDtoFactory;
+
+    @Inject
+    FetchProfileService fetchProfileService;
+
+    @Inject
+    IsisJdoSupport isisJdoSupport;
+
+}
@@ -0,0 +1,101 @@
+package org.estatio.canonical.invoice;
+
+import java.io.OutputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.isis.applib.NonRecoverableException;
+
+import org.estatio.canonical.invoice.v1.InvoiceDto;
+import org.estatio.canonical.invoice.v1.InvoicesDto;
+
+/**
+ * Writes an {@link InvoicesDto} document one {@link InvoiceDto} at a time, so that only the invoice currently being
+ * written needs to be held in memory.
+ */
+public class InvoicesDtoWriter implements AutoCloseable {
+
+    static final String NAMESPACE = "http://canonical.estatio.org/invoice/v1/invoice.xsd";
+
+    private static final JAXBContext JAXB_CONTEXT = newJaxbContext();
+
+    private static JAXBContext newJaxbContext() {
+        try {
+            return JAXBContext.newInstance(InvoicesDto.class);
+        } catch (JAXBException ex) {
+            throw new NonRecoverableException("Could not create JAXB context for " + InvoicesDto.class.getName(), ex);
+        }
+    }
+
+    private final XMLStreamWriter writer;
+    private final Marshaller marshaller;
+
+    private int count;
+
+    public InvoicesDtoWriter(final OutputStream outputStream) {
+        try {
+            writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, "UTF-8");
+            marshaller = JAXB_CONTEXT.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.setDefaultNamespace(NAMESPACE);
+            writer.writeStartElement(NAMESPACE, "invoicesDto");
+            writer.writeDefaultNamespace(NAMESPACE);
+            writeElement("majorVersion", "1");
+            writeElement("minorVersion", "0");
+        } catch (XMLStreamException | JAXBException ex) {
+            throw new NonRecoverableException("Could not start invoices document", ex);
+        }
+    }
+
+    private void writeElement(final String localName, final String text) throws XMLStreamException {
+        writer.writeStartElement(NAMESPACE, localName);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+
+    public void write(final InvoiceDto invoiceDto) {
+        try {
+            marshaller.marshal(invoiceDto, writer);
+            count++;
+        } catch (JAXBException ex) {
+            throw new NonRecoverableException("Could not write invoice " + invoiceDto.getInvoiceNumber(), ex);
+        }
+    }
+
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (XMLStreamException ex) {
+            throw new NonRecoverableException("Could not flush invoices document", ex);
+        }
+    }
+
+    /**
+     * The number of invoices written so far.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Ends the document; does not close the underlying stream.
+     */
+    @Override
+    public void close() {
+        try {
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException ex) {
+            throw new NonRecoverableException("Could not end invoices document", ex);
+        }
+    }
+
+}
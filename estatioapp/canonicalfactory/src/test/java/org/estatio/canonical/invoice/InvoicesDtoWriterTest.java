@@ -0,0 +1,68 @@
+package org.estatio.canonical.invoice;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+
+import javax.xml.bind.JAXBContext;
+
+import org.junit.Test;
+
+import org.estatio.canonical.invoice.v1.InvoiceDto;
+import org.estatio.canonical.invoice.v1.InvoiceItemDto;
+import org.estatio.canonical.invoice.v1.InvoicesDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvoicesDtoWriterTest {
+
+    @Test
+    public void written_document_can_be_unmarshalled() throws Exception {
+
+        // given
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // when
+        try (InvoicesDtoWriter writer = new InvoicesDtoWriter(bytes)) {
+            writer.write(newInvoiceDto("INV-0001", "100.00"));
+            writer.write(newInvoiceDto("INV-0002", "200.00"));
+            assertThat(writer.getCount()).isEqualTo(2);
+        }
+
+        // then
+        final InvoicesDto invoicesDto = (InvoicesDto) JAXBContext.newInstance(InvoicesDto.class)
+                .createUnmarshaller()
+                .unmarshal(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(invoicesDto.getInvoices()).hasSize(2);
+        assertThat(invoicesDto.getInvoices().get(0).getInvoiceNumber()).isEqualTo("INV-0001");
+        assertThat(invoicesDto.getInvoices().get(1).getItems()).hasSize(1);
+        assertThat(invoicesDto.getInvoices().get(1).getItems().get(0).getNetAmount()).isEqualTo(new BigDecimal("200.00"));
+    }
+
+    @Test
+    public void empty_document() throws Exception {
+
+        // given
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // when
+        new InvoicesDtoWriter(bytes).close();
+
+        // then
+        final InvoicesDto invoicesDto = (InvoicesDto) JAXBContext.newInstance(InvoicesDto.class)
+                .createUnmarshaller()
+                .unmarshal(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(invoicesDto.getInvoices()).isEmpty();
+    }
+
+    private static InvoiceDto newInvoiceDto(final String invoiceNumber, final String netAmount) {
+        final InvoiceDto invoiceDto = new InvoiceDto();
+        invoiceDto.setInvoiceNumber(invoiceNumber);
+        final InvoiceItemDto itemDto = new InvoiceItemDto();
+        itemDto.setNetAmount(new BigDecimal(netAmount));
+        invoiceDto.getItems().add(itemDto);
+        invoiceDto.setNetAmount(new BigDecimal(netAmount));
+        return invoiceDto;
+    }
+
+}
@@ -28,11 +28,9 @@ import javax.jdo.annotations.IdGeneratorStrategy;
 import javax.jdo.annotations.IdentityType;
 import javax.jdo.annotations.InheritanceStrategy;
 import javax.jdo.annotations.VersionStrategy;
+import javax.jdo.listener.ClearCallback;
 
 import com.google.common.base.Objects;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
 
 import org.joda.time.LocalDate;
@@ -58,13 +56,11 @@ import org.estatio.dom.Chained;
 import org.estatio.dom.UdoDomainObject2;
 import org.estatio.dom.JdoColumnLength;
 import org.estatio.dom.RegexValidation;
-import org.estatio.dom.WithInterval;
 import org.estatio.dom.WithIntervalMutable;
 import org.estatio.dom.WithNameGetter;
 import org.estatio.dom.WithReferenceGetter;
 import org.estatio.dom.party.Party;
 import org.estatio.dom.utils.TitleBuilder;
-import org.estatio.dom.utils.ValueUtils;
 import org.estatio.dom.valuetypes.LocalDateInterval;
 
 import lombok.Getter;
@@ -130,7 +126,8 @@ public abstract class Agreement
         //WithReferenceComparable<Agreement>,
         WithIntervalMutable<Agreement>,
         Chained<Agreement>,
-        WithNameGetter {
+        WithNameGetter,
+        ClearCallback {
 
     protected final String primaryRoleTypeTitle;
     protected final String secondaryRoleTypeTitle;
@@ -204,31 +201,44 @@ public abstract class Agreement
     }
 
     private AgreementRole findCurrentOrMostRecentAgreementRole(final AgreementRoleType agreementRoleType) {
-        // all available roles
-        final Iterable<AgreementRole> rolesOfType =
-                Iterables.filter(getRoles(), AgreementRole.Predicates.whetherTypeIs(agreementRoleType));
-
-        // try to find the one that is current...
-        Iterable<AgreementRole> roles =
-                Iterables.filter(rolesOfType, WithInterval.Predicates.<AgreementRole>whetherCurrentIs(true));
-
-        // ... else the most recently ended one
-        if (Iterables.isEmpty(roles)) {
-            final List<AgreementRole> rolesInList = Lists.newArrayList(rolesOfType);
-            roles = orderRolesByEffectiveEndDateReverseNullsFirst().leastOf(rolesInList, 1);
-        }
-
-        // and return the party
-        final AgreementRole currentOrMostRecentRole = ValueUtils.firstElseNull(roles);
-        return currentOrMostRecentRole;
+        return getRoleTimeline().currentOrMostRecent(agreementRoleType);
     }
 
     protected Party partyOf(final AgreementRole agreementRole) {
         return AgreementRole.Functions.partyOf().apply(agreementRole);
     }
 
-    private static Ordering<AgreementRole> orderRolesByEffectiveEndDateReverseNullsFirst() {
-        return Ordering.natural().onResultOf(AgreementRole.Functions.effectiveEndDateOf()).reverse().nullsFirst();
+    // //////////////////////////////////////
+
+    /**
+     * The {@link #getRoles() roles} indexed by type, for resolving the current parties (as used in titles and table
+     * columns) without filtering all roles on every lookup.
+     */
+    @javax.jdo.annotations.NotPersistent
+    private AgreementRoleTimeline roleTimeline;
+
+    /**
+     * Rebuilt when a role is added or removed, when a role is given another
+     * {@link AgreementRole#setType(AgreementRoleType) type}, and when the persistence manager clears this agreement
+     * (on commit, rollback, refresh or eviction), so that it never outlives the roles it was built from.
+     */
+    AgreementRoleTimeline getRoleTimeline() {
+        final SortedSet<AgreementRole> roles = getRoles();
+        if (roleTimeline == null || !roleTimeline.isOf(roles)) {
+            roleTimeline = AgreementRoleTimeline.of(roles);
+        }
+        return roleTimeline;
+    }
+
+    @Programmatic
+    public void invalidateRoleTimeline() {
+        roleTimeline = null;
+    }
+
+    @Programmatic
+    @Override
+    public void jdoPreClear() {
+        invalidateRoleTimeline();
     }
 
     // //////////////////////////////////////
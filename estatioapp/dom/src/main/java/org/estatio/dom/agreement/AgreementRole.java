@@ -167,9 +167,17 @@ public class AgreementRole
 
     @javax.jdo.annotations.Persistent(defaultFetchGroup = "true")
     @javax.jdo.annotations.Column(name = "typeId", allowsNull = "false")
-    @Getter @Setter
+    @Getter
     private AgreementRoleType type;
 
+    public void setType(final AgreementRoleType type) {
+        this.type = type;
+        if (getAgreement() != null) {
+            // the agreement indexes its roles by type
+            getAgreement().invalidateRoleTimeline();
+        }
+    }
+
     @javax.jdo.annotations.Column(length = JdoColumnLength.NAME, allowsNull = "true")
     @Getter @Setter
     private String externalReference;
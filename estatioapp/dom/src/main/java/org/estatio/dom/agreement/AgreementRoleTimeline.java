@@ -0,0 +1,101 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.agreement;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+
+import org.estatio.dom.utils.ValueUtils;
+
+/**
+ * The {@link AgreementRole}s of an {@link Agreement}, grouped by {@link AgreementRoleType type}, so that the current
+ * or most recent role of a type is resolved from the roles of that type only.
+ *
+ * <p>
+ *     Only the grouping is held; whether a role is current is evaluated on every lookup, so the timeline does not go
+ *     stale as time passes.  Within each type, roles are kept in the order of {@link Agreement#getRoles()}.
+ * </p>
+ */
+class AgreementRoleTimeline {
+
+    private static final Ordering<AgreementRole> BY_EFFECTIVE_END_DATE_REVERSE_NULLS_FIRST =
+            Ordering.natural().onResultOf(AgreementRole.Functions.effectiveEndDateOf()).reverse().nullsFirst();
+
+    static AgreementRoleTimeline of(final Collection<AgreementRole> roles) {
+        // types are compared by identity, as AgreementRole.Predicates#whetherTypeIs does
+        final Map<AgreementRoleType, List<AgreementRole>> rolesByType = Maps.newIdentityHashMap();
+        for (AgreementRole role : roles) {
+            List<AgreementRole> rolesOfType = rolesByType.get(role.getType());
+            if (rolesOfType == null) {
+                rolesOfType = Lists.newArrayList();
+                rolesByType.put(role.getType(), rolesOfType);
+            }
+            rolesOfType.add(role);
+        }
+        return new AgreementRoleTimeline(roles, roles.size(), rolesByType);
+    }
+
+    private final Collection<AgreementRole> roles;
+    private final int size;
+    private final Map<AgreementRoleType, List<AgreementRole>> rolesByType;
+
+    private AgreementRoleTimeline(
+            final Collection<AgreementRole> roles,
+            final int size,
+            final Map<AgreementRoleType, List<AgreementRole>> rolesByType) {
+        this.roles = roles;
+        this.size = size;
+        this.rolesByType = rolesByType;
+    }
+
+    /**
+     * Whether the timeline was built from this collection of roles, and no role has been added to or removed from it
+     * since.
+     */
+    boolean isOf(final Collection<AgreementRole> roles) {
+        return this.roles == roles && size == roles.size();
+    }
+
+    List<AgreementRole> rolesOf(final AgreementRoleType type) {
+        final List<AgreementRole> rolesOfType = rolesByType.get(type);
+        return rolesOfType != null ? rolesOfType : Collections.<AgreementRole>emptyList();
+    }
+
+    /**
+     * The first role of the type that is {@link AgreementRole#isCurrent() current}, else the one that ended most
+     * recently (a role without an effective end date counting as most recent); <tt>null</tt> if there is no role of
+     * the type.
+     */
+    AgreementRole currentOrMostRecent(final AgreementRoleType type) {
+        final List<AgreementRole> rolesOfType = rolesOf(type);
+        for (AgreementRole role : rolesOfType) {
+            if (role.isCurrent()) {
+                return role;
+            }
+        }
+        return ValueUtils.firstElseNull(BY_EFFECTIVE_END_DATE_REVERSE_NULLS_FIRST.leastOf(rolesOfType, 1));
+    }
+
+}
@@ -20,6 +20,8 @@ package org.estatio.dom.agreement;
 
 import java.util.List;
 
+import javax.inject.Inject;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.Hidden;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -27,6 +29,7 @@ import org.apache.isis.applib.annotation.NotContributed;
 import org.apache.isis.applib.annotation.Programmatic;
 
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 @DomainService(
         nature = NatureOfService.DOMAIN,
@@ -40,8 +43,13 @@ public class AgreementRoleTypeRepository extends UdoDomainRepositoryAndFactory<A
 
     // //////////////////////////////////////
 
+    /**
+     * Cached across requests, as this is called for every agreement whose primary or secondary party is rendered.
+     */
     public AgreementRoleType findByTitle(final String title) {
-        return firstMatch("findByTitle", "title", title);
+        return referenceDataCache.find(
+                AgreementRoleType.class, title,
+                () -> firstMatch("findByTitle", "title", title));
     }
 
     public List<AgreementRoleType> findApplicableTo(final AgreementType agreementType) {
@@ -63,4 +71,7 @@ public class AgreementRoleTypeRepository extends UdoDomainRepositoryAndFactory<A
         return agreementRoleType;
     }
 
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
 }
@@ -18,6 +18,8 @@
  */
 package org.estatio.dom.agreement;
 
+import javax.inject.Inject;
+
 import org.apache.isis.applib.annotation.Action;
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.Hidden;
@@ -26,6 +28,7 @@ import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.annotation.SemanticsOf;
 
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 @DomainService(
         nature = NatureOfService.DOMAIN,
@@ -40,7 +43,9 @@ public class AgreementTypeRepository extends UdoDomainRepositoryAndFactory<Agree
     // //////////////////////////////////////
 
     public AgreementType find(final String title) {
-        return firstMatch("findByTitle", "title", title);
+        return referenceDataCache.find(
+                AgreementType.class, title,
+                () -> firstMatch("findByTitle", "title", title));
     }
 
     public AgreementType findOrCreate(final String title) {
@@ -53,4 +58,7 @@ public class AgreementTypeRepository extends UdoDomainRepositoryAndFactory<Agree
         return agreementType;
     }
 
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
 }
@@ -26,14 +26,13 @@ import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 
-import org.isisaddons.module.settings.dom.ApplicationSetting;
-
 import org.estatio.dom.UdoDomainService;
 import org.estatio.dom.currency.Currency;
 import org.estatio.dom.currency.CurrencyRepository;
 import org.estatio.domsettings.ApplicationSettingCreator;
 import org.estatio.domsettings.ApplicationSettingForEstatio;
 import org.estatio.domsettings.ApplicationSettingsServiceForEstatio;
+import org.estatio.domsettings.SettingsCache;
 
 /**
  * Estatio-specific settings (eg {@link ApplicationSettingKey#epochDate epoch
@@ -44,6 +43,9 @@ import org.estatio.domsettings.ApplicationSettingsServiceForEstatio;
  * settings service} to actually do the persistence. Also ensures that any
  * {@link ApplicationSettingKey defaults for keys} have been installed if
  * required.
+ * <p/>
+ * Values are read through the {@link SettingsCache}, so that eg the epoch date
+ * can be asked for once per lease term while calculating invoices.
  */
 @DomainService(nature = NatureOfService.VIEW)
 public class EstatioSettingsService extends UdoDomainService<EstatioSettingsService> {
@@ -57,31 +59,28 @@ public class EstatioSettingsService extends UdoDomainService<EstatioSettingsServ
      */
     public final static String REPORT_SERVER_BASE_URL_KEY = ApplicationSettingCreator.Helper.getKey(ApplicationSettingKey.reportServerBaseUrl);
 
+    private final static String SYSTEM_CURRENCY_REFERENCE = "EUR";
+
     // //////////////////////////////////////
 
+    /**
+     * Resolved through the {@link org.estatio.services.referencedata.ReferenceDataCache reference data cache}
+     * of {@link CurrencyRepository#findCurrency(String)}, so does not query on every call.
+     */
     @Programmatic
     public Currency systemCurrency() {
         //TODO: Make system default currency configurable
-        return currencyRepository.findCurrency("EUR");
+        return currencyRepository.findCurrency(SYSTEM_CURRENCY_REFERENCE);
     }
 
     // //////////////////////////////////////
 
-    private LocalDate cachedEpochDate;
-
     /**
      * @see ApplicationSettingKey#epochDate
      */
     @Programmatic
     public LocalDate fetchEpochDate() {
-        if (cachedEpochDate == null) {
-            // getApplicationSettings().installDefaultsIfRequired();
-            final ApplicationSetting epochDate = applicationSettingsService.find(ApplicationSettingKey.epochDate);
-            if (epochDate != null) {
-                cachedEpochDate = epochDate.valueAsLocalDate();
-            }
-        }
-        return cachedEpochDate;
+        return settingsCache.get(ApplicationSettingKey.epochDate, LocalDate.class);
     }
 
     /**
@@ -103,27 +102,19 @@ public class EstatioSettingsService extends UdoDomainService<EstatioSettingsServ
                 applicationSettingsService.newLocalDate(ApplicationSettingCreator.Helper.getKey(ApplicationSettingKey.epochDate), "Cutover date to Estatio", newEpochDate);
             } // else no-op
         }
-        cachedEpochDate = null;
     }
 
     // //////////////////////////////////////
 
-    private String cachedReportServerBaseUrl;
-
     /**
      * @see ApplicationSettingKey#reportServerBaseUrl
      */
     @Programmatic
     public String fetchReportServerBaseUrl() {
-        if (cachedReportServerBaseUrl == null) {
-            final ApplicationSetting reportServerBaseUrl = applicationSettingsService.find(REPORT_SERVER_BASE_URL_KEY);
-            if (reportServerBaseUrl != null) {
-                cachedReportServerBaseUrl = reportServerBaseUrl.valueAsString();
-            } else {
-                return (String) ApplicationSettingKey.reportServerBaseUrl.getDefaultValue();
-            }
-        }
-        return cachedReportServerBaseUrl;
+        final String reportServerBaseUrl = settingsCache.get(REPORT_SERVER_BASE_URL_KEY, String.class);
+        return reportServerBaseUrl != null
+                ? reportServerBaseUrl
+                : (String) ApplicationSettingKey.reportServerBaseUrl.getDefaultValue();
     }
 
     // //////////////////////////////////////
@@ -134,4 +125,7 @@ public class EstatioSettingsService extends UdoDomainService<EstatioSettingsServ
     @Inject
     CurrencyRepository currencyRepository;
 
+    @Inject
+    SettingsCache settingsCache;
+
 }
@@ -180,7 +180,7 @@ public class Property
     // //////////////////////////////////////
 
     @javax.jdo.annotations.Persistent(mappedBy = "property")
-    @CollectionLayout(render = RenderType.EAGERLY)
+    @CollectionLayout(render = RenderType.LAZILY)
     @Deprecated
     @Getter @Setter
     private SortedSet<Unit> units = new TreeSet<>();
@@ -21,12 +21,17 @@ package org.estatio.dom.asset;
 import java.util.List;
 
 import javax.inject.Inject;
+import javax.jdo.Query;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 
 import org.joda.time.LocalDate;
 
 import org.apache.isis.applib.annotation.DomainObject;
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.clock.ClockService;
 
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
@@ -82,6 +87,26 @@ public class UnitRepository extends UdoDomainRepositoryAndFactory<Unit> {
         return allMatches("findByProperty", "property", property);
     }
 
+    /**
+     * A page of the units of the property, in the order of the database query; along with
+     * {@link #countByProperty(Property)}, for paging through the units of the property without loading them all.
+     */
+    @Programmatic
+    public List<Unit> findByProperty(final Property property, final int first, final int count) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.asset.Unit "
+                + "WHERE property == :property "
+                + "ORDER BY name");
+        query.setRange(first, first + count);
+        return Lists.newArrayList((List<Unit>) query.executeWithMap(ImmutableMap.of("property", property)));
+    }
+
+    @Programmatic
+    public long countByProperty(final Property property) {
+        final Query query = newQuery("SELECT count(this) FROM org.estatio.dom.asset.Unit "
+                + "WHERE property == :property");
+        return (Long) query.executeWithMap(ImmutableMap.of("property", property));
+    }
+
     public List<Unit> findByActiveOnDate(LocalDate date) {
         return allMatches("findByActiveOnDate", "startDate", date, "endDate", LocalDateInterval.endDateFromStartDate(date));
     }
@@ -39,6 +39,7 @@ import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
 import org.estatio.dom.agreement.Agreement;
 import org.estatio.dom.apptenancy.WithApplicationTenancyPathPersisted;
 import org.estatio.dom.apptenancy.WithApplicationTenancyProperty;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.financial.FinancialAccount;
 import org.estatio.dom.financial.bankaccount.BankAccount;
 import org.estatio.dom.financial.bankaccount.BankAccountRepository;
@@ -58,6 +59,10 @@ import lombok.Setter;
                         + "FROM org.estatio.dom.bankmandate.BankMandate "
                         + "WHERE bankAccount == :bankAccount")
 })
+@javax.jdo.annotations.FetchGroup(
+        name = FetchProfile.Names.INVOICE_DTO,
+        members = {
+                @javax.jdo.annotations.Persistent(name = "bankAccount") })
 @DomainObject(editing = Editing.DISABLED)
 public class BankMandate
         extends Agreement
@@ -0,0 +1,219 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.batch;
+
+import java.sql.Timestamp;
+
+import javax.inject.Inject;
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.IdentityType;
+import javax.jdo.annotations.Index;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.DomainObject;
+import org.apache.isis.applib.annotation.Editing;
+import org.apache.isis.applib.annotation.Property;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.annotation.Where;
+
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
+
+import org.estatio.dom.JdoColumnLength;
+import org.estatio.dom.UdoDomainObject2;
+import org.estatio.dom.apptenancy.WithApplicationTenancyPathPersisted;
+import org.estatio.dom.apptenancy.WithApplicationTenancyProperty;
+import org.estatio.dom.utils.TitleBuilder;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A portfolio-wide maintenance job that is processed in chunks, each committed in its own transaction.
+ *
+ * <p>
+ *     {@link #getProcessed()} is the checkpoint: the number of keys returned by the {@link BatchJobHandler} that have
+ *     been committed.  If a chunk fails only that chunk is rolled back, the job is marked as {@link BatchJobStatus#FAILED
+ *     failed}, and it can be resumed from the checkpoint.
+ * </p>
+ *
+ * <p>
+ *     {@link #getHeartbeatAt()} is renewed whenever the job is started, resumed or checkpointed; a job that is still
+ *     in progress but whose heartbeat is older than the configured lease was abandoned (for example by a node that
+ *     went down), and can be resumed or cancelled from any node.
+ * </p>
+ */
+@javax.jdo.annotations.PersistenceCapable(identityType = IdentityType.DATASTORE)
+@javax.jdo.annotations.DatastoreIdentity(
+        strategy = IdGeneratorStrategy.NATIVE,
+        column = "id")
+@javax.jdo.annotations.Queries({
+        @javax.jdo.annotations.Query(
+                name = "findByReference", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.dom.batch.BatchJob "
+                        + "WHERE reference == :reference"),
+        @javax.jdo.annotations.Query(
+                name = "findByStatus", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.dom.batch.BatchJob "
+                        + "WHERE status == :status "
+                        + "ORDER BY startedAt DESC")
+})
+@javax.jdo.annotations.Indices({
+        @Index(name = "BatchJob_status_startedAt_IDX", members = { "status", "startedAt" })
+})
+@javax.jdo.annotations.Unique(name = "BatchJob_reference_UNQ", members = "reference")
+@DomainObject(editing = Editing.DISABLED)
+public class BatchJob
+        extends UdoDomainObject2<BatchJob>
+        implements WithApplicationTenancyProperty, WithApplicationTenancyPathPersisted {
+
+    public BatchJob() {
+        super("startedAt desc, reference");
+    }
+
+    public String title() {
+        return TitleBuilder.start()
+                .withName(getName())
+                .withReference(getReference())
+                .toString();
+    }
+
+    // //////////////////////////////////////
+
+    @javax.jdo.annotations.Column(
+            length = ApplicationTenancy.MAX_LENGTH_PATH,
+            allowsNull = "false",
+            name = "atPath"
+    )
+    @Property(hidden = Where.EVERYWHERE)
+    @Getter @Setter
+    private String applicationTenancyPath;
+
+    @Property(hidden = Where.EVERYWHERE)
+    public ApplicationTenancy getApplicationTenancy() {
+        return securityApplicationTenancyRepository.findByPathCached(getApplicationTenancyPath());
+    }
+
+    // //////////////////////////////////////
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.NAME)
+    @Getter @Setter
+    private String reference;
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.NAME)
+    @Getter @Setter
+    private String name;
+
+    @javax.jdo.annotations.Column(allowsNull = "true", length = JdoColumnLength.DESCRIPTION)
+    @Getter @Setter
+    private String parameters;
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.STATUS_ENUM)
+    @Getter @Setter
+    private BatchJobStatus status;
+
+    @Property(hidden = Where.ALL_TABLES)
+    @Getter @Setter
+    private int chunkSize;
+
+    @Getter @Setter
+    private int total;
+
+    @Getter @Setter
+    private int processed;
+
+    @javax.jdo.annotations.Column(allowsNull = "true", length = JdoColumnLength.NAME)
+    @Property(hidden = Where.ALL_TABLES)
+    @Getter @Setter
+    private String lastKey;
+
+    @javax.jdo.annotations.Column(allowsNull = "false")
+    @Getter @Setter
+    private Timestamp startedAt;
+
+    @javax.jdo.annotations.Column(allowsNull = "true")
+    @Getter @Setter
+    private Timestamp checkpointAt;
+
+    @javax.jdo.annotations.Column(allowsNull = "true")
+    @Getter @Setter
+    private Timestamp completedAt;
+
+    @javax.jdo.annotations.Column(allowsNull = "true")
+    @Property(hidden = Where.ALL_TABLES)
+    @Getter @Setter
+    private Timestamp heartbeatAt;
+
+    @javax.jdo.annotations.Column(allowsNull = "true", length = JdoColumnLength.DESCRIPTION)
+    @Getter @Setter
+    private String errorMessage;
+
+    // //////////////////////////////////////
+
+    /**
+     * Whether a chunk of this job is being processed by this instance of the application right now.
+     */
+    public boolean isRunning() {
+        return batchJobService.isRunning(this);
+    }
+
+    // //////////////////////////////////////
+
+    @Action(semantics = SemanticsOf.IDEMPOTENT)
+    public BatchJob resume() {
+        return batchJobService.resume(this);
+    }
+
+    public String disableResume() {
+        switch (getStatus()) {
+        case FAILED:
+            return isRunning() ? "Job is running" : null;
+        case IN_PROGRESS:
+            if (isRunning()) {
+                return "Job is running";
+            }
+            return batchJobService.isStale(this) ? null : "Job is running on another node";
+        default:
+            return "Job is " + getStatus().name().toLowerCase();
+        }
+    }
+
+    /**
+     * Also abandons a failed job, or one whose heartbeat has gone stale; a job running on another node stops after
+     * its current chunk.
+     */
+    @Action(semantics = SemanticsOf.IDEMPOTENT)
+    public BatchJob cancel() {
+        setStatus(BatchJobStatus.CANCELLED);
+        return this;
+    }
+
+    public String disableCancel() {
+        return getStatus() != BatchJobStatus.IN_PROGRESS && getStatus() != BatchJobStatus.FAILED
+                ? "Job is " + getStatus().name().toLowerCase()
+                : null;
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    BatchJobService batchJobService;
+
+}
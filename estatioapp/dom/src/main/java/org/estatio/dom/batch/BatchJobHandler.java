@@ -0,0 +1,45 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.batch;
+
+import java.util.List;
+
+/**
+ * The work of a {@link BatchJob}, split into aggregates that can each be processed independently.
+ *
+ * <p>
+ *     Implementations are domain services; {@link BatchJobService} finds them by {@link #name()}.
+ * </p>
+ */
+public interface BatchJobHandler {
+
+    String name();
+
+    /**
+     * The keys (typically references) of all aggregates to process, in a stable order, so that a job can be resumed
+     * from a position in the list.
+     */
+    List<String> keys(String parameters);
+
+    /**
+     * Processes a single aggregate; called in the transaction of the chunk the key belongs to.
+     */
+    void process(String key, String parameters);
+
+}
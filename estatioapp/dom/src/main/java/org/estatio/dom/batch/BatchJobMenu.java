@@ -0,0 +1,74 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.batch;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.DomainServiceLayout;
+import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Optionality;
+import org.apache.isis.applib.annotation.Parameter;
+import org.apache.isis.applib.annotation.ParameterLayout;
+import org.apache.isis.applib.annotation.SemanticsOf;
+
+@DomainService(nature = NatureOfService.VIEW_MENU_ONLY)
+@DomainServiceLayout(named = "Administration", menuBar = DomainServiceLayout.MenuBar.SECONDARY)
+public class BatchJobMenu {
+
+    @Action(semantics = SemanticsOf.NON_IDEMPOTENT)
+    @MemberOrder(sequence = "10")
+    public BatchJob startBatchJob(
+            @ParameterLayout(named = "Job") final String name,
+            @Parameter(optionality = Optionality.OPTIONAL) final String parameters,
+            @Parameter(optionality = Optionality.OPTIONAL) @ParameterLayout(named = "Chunk size") final Integer chunkSize) {
+        return batchJobService.start(name, parameters, chunkSize);
+    }
+
+    public List<String> choices0StartBatchJob() {
+        return batchJobService.handlerNames();
+    }
+
+    public Integer default2StartBatchJob() {
+        return BatchJobService.DEFAULT_CHUNK_SIZE;
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @MemberOrder(sequence = "11")
+    public List<BatchJob> batchJobsInProgress() {
+        return batchJobRepository.findByStatus(BatchJobStatus.IN_PROGRESS);
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @MemberOrder(sequence = "12")
+    public List<BatchJob> recentBatchJobs() {
+        return batchJobRepository.findRecent();
+    }
+
+    @Inject
+    private BatchJobService batchJobService;
+
+    @Inject
+    private BatchJobRepository batchJobRepository;
+
+}
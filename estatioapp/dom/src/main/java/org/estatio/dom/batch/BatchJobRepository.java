@@ -0,0 +1,71 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.batch;
+
+import java.util.List;
+
+import javax.jdo.Query;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+
+import org.estatio.dom.UdoDomainRepositoryAndFactory;
+
+@DomainService(nature = NatureOfService.DOMAIN, repositoryFor = BatchJob.class)
+public class BatchJobRepository extends UdoDomainRepositoryAndFactory<BatchJob> {
+
+    public static final int RECENT = 50;
+
+    public BatchJobRepository() {
+        super(BatchJobRepository.class, BatchJob.class);
+    }
+
+    @Programmatic
+    public BatchJob newBatchJob(final String name, final String parameters, final int chunkSize) {
+        final BatchJob job = newTransientInstance();
+        job.setApplicationTenancyPath("/");
+        job.setName(name);
+        job.setParameters(parameters);
+        job.setChunkSize(chunkSize);
+        job.setStatus(BatchJobStatus.IN_PROGRESS);
+        job.setStartedAt(getClockService().nowAsJavaSqlTimestamp());
+        job.setReference(name + "-" + job.getStartedAt().getTime());
+        persistIfNotAlready(job);
+        return job;
+    }
+
+    @Programmatic
+    public BatchJob findByReference(final String reference) {
+        return uniqueMatch("findByReference", "reference", reference);
+    }
+
+    @Programmatic
+    public List<BatchJob> findByStatus(final BatchJobStatus status) {
+        return allMatches("findByStatus", "status", status);
+    }
+
+    @Programmatic
+    public List<BatchJob> findRecent() {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.batch.BatchJob ORDER BY startedAt DESC");
+        query.setRange(0, RECENT);
+        return (List<BatchJob>) query.execute();
+    }
+
+}
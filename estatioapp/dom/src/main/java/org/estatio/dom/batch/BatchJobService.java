@@ -0,0 +1,265 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.batch;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.jdo.JDOHelper;
+import javax.jdo.PersistenceManager;
+
+import com.google.common.collect.Lists;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import org.apache.isis.applib.ApplicationException;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+import org.apache.isis.applib.services.registry.ServiceRegistry;
+import org.apache.isis.applib.services.xactn.TransactionService;
+
+import org.estatio.dom.JdoColumnLength;
+import org.estatio.dom.UdoDomainService;
+
+/**
+ * Runs {@link BatchJob}s: the keys returned by the job's {@link BatchJobHandler} are processed in chunks, and after
+ * each chunk the checkpoint is updated and the transaction committed.
+ *
+ * <p>
+ *     A job runs in the request that starts or resumes it; the number of jobs that may run at the same time on this
+ *     instance is limited by the <tt>estatio.batch.maxConcurrentJobs</tt> configuration property.
+ * </p>
+ *
+ * <p>
+ *     While it runs, the job's heartbeat is renewed with every checkpoint.  If the heartbeat of a job in progress is
+ *     older than <tt>estatio.batch.leaseMinutes</tt>, the job is {@link #isStale(BatchJob) stale} and another node may
+ *     take it over.  If a chunk fails, the job is marked as failed, with the error message, in a transaction of its
+ *     own; the chunk itself is rolled back with the request.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class BatchJobService extends UdoDomainService<BatchJobService> {
+
+    public static final String MAX_CONCURRENT_JOBS_KEY = "estatio.batch.maxConcurrentJobs";
+    public static final int DEFAULT_MAX_CONCURRENT_JOBS = 2;
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+    public static final String LEASE_MINUTES_KEY = "estatio.batch.leaseMinutes";
+    public static final int DEFAULT_LEASE_MINUTES = 30;
+
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    private Semaphore permits = new Semaphore(DEFAULT_MAX_CONCURRENT_JOBS);
+
+    private long leaseMillis = TimeUnit.MINUTES.toMillis(DEFAULT_LEASE_MINUTES);
+
+    public BatchJobService() {
+        super(BatchJobService.class);
+    }
+
+    @Override
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        super.init(properties);
+        final String maxConcurrentJobs = properties.get(MAX_CONCURRENT_JOBS_KEY);
+        if (maxConcurrentJobs != null) {
+            permits = new Semaphore(Integer.parseInt(maxConcurrentJobs));
+        }
+        final String leaseMinutes = properties.get(LEASE_MINUTES_KEY);
+        if (leaseMinutes != null) {
+            leaseMillis = TimeUnit.MINUTES.toMillis(Integer.parseInt(leaseMinutes));
+        }
+    }
+
+    @Programmatic
+    public BatchJob start(final String name, final String parameters, final Integer chunkSize) {
+        handlerFor(name);
+        final BatchJob job = batchJobRepository.newBatchJob(
+                name, parameters, chunkSize != null && chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE);
+        transactionService.nextTransaction();
+        return run(job);
+    }
+
+    @Programmatic
+    public BatchJob resume(final BatchJob job) {
+        return run(job);
+    }
+
+    @Programmatic
+    public boolean isRunning(final BatchJob job) {
+        return running.contains(job.getReference());
+    }
+
+    /**
+     * Whether the job is in progress, but neither running on this node nor renewed by another within the lease.
+     */
+    @Programmatic
+    public boolean isStale(final BatchJob job) {
+        return job.getStatus() == BatchJobStatus.IN_PROGRESS
+                && !isRunning(job)
+                && isExpired(job.getHeartbeatAt(), getClockService().nowAsJavaSqlTimestamp(), leaseMillis);
+    }
+
+    static boolean isExpired(final Timestamp heartbeatAt, final Timestamp now, final long leaseMillis) {
+        return heartbeatAt == null || now.getTime() - heartbeatAt.getTime() > leaseMillis;
+    }
+
+    @Programmatic
+    public List<String> handlerNames() {
+        final List<String> names = Lists.newArrayList();
+        for (BatchJobHandler handler : handlers()) {
+            names.add(handler.name());
+        }
+        return names;
+    }
+
+    private BatchJob run(final BatchJob job) {
+        final BatchJobHandler handler = handlerFor(job.getName());
+        final String reference = job.getReference();
+        final String parameters = job.getParameters();
+        if (!permits.tryAcquire()) {
+            throw new ApplicationException("Too many batch jobs are running, try again later");
+        }
+        if (!running.add(reference)) {
+            permits.release();
+            throw new ApplicationException("Batch job " + reference + " is already running");
+        }
+        try {
+            final List<String> keys;
+            try {
+                keys = handler.keys(parameters);
+            } catch (RuntimeException ex) {
+                throw failed(job, null, ex);
+            }
+            // claims the job, so that no other node takes it over while it runs; committed straight away so that
+            // the job's row is not held (and can be marked as failed) while a chunk is processed
+            job.setStatus(BatchJobStatus.IN_PROGRESS);
+            job.setErrorMessage(null);
+            job.setHeartbeatAt(getClockService().nowAsJavaSqlTimestamp());
+            job.setTotal(keys.size());
+            transactionService.nextTransaction();
+            int position = resumePosition(keys, job.getProcessed(), job.getLastKey());
+            while (position < keys.size()) {
+                if (job.getStatus() == BatchJobStatus.CANCELLED) {
+                    return job;
+                }
+                final int end = Math.min(position + job.getChunkSize(), keys.size());
+                for (String key : keys.subList(position, end)) {
+                    try {
+                        handler.process(key, parameters);
+                    } catch (RuntimeException ex) {
+                        throw failed(job, key, ex);
+                    }
+                }
+                position = end;
+                final Timestamp now = getClockService().nowAsJavaSqlTimestamp();
+                job.setProcessed(position);
+                job.setLastKey(keys.get(end - 1));
+                job.setCheckpointAt(now);
+                job.setHeartbeatAt(now);
+                transactionService.nextTransaction();
+                // the job itself is reloaded, which also picks up a cancellation from another request
+                isisJdoSupport.getJdoPersistenceManager().evictAll();
+            }
+            job.setStatus(BatchJobStatus.COMPLETED);
+            job.setCompletedAt(getClockService().nowAsJavaSqlTimestamp());
+            return job;
+        } finally {
+            running.remove(reference);
+            permits.release();
+        }
+    }
+
+    /**
+     * Marks the job as failed in a transaction of its own, since the transaction of the chunk is rolled back with the
+     * request (when the returned exception is thrown).
+     */
+    private ApplicationException failed(final BatchJob job, final String key, final RuntimeException cause) {
+        final String message = StringUtils.abbreviate(
+                (key != null ? "Failed at " + key + ": " : "") + ObjectUtils.firstNonNull(cause.getMessage(), cause.getClass().getName()),
+                JdoColumnLength.DESCRIPTION);
+        final Object jobId = JDOHelper.getObjectId(job);
+        final PersistenceManager persistenceManager =
+                isisJdoSupport.getJdoPersistenceManager().getPersistenceManagerFactory().getPersistenceManager();
+        try {
+            persistenceManager.currentTransaction().begin();
+            final BatchJob failedJob = (BatchJob) persistenceManager.getObjectById(jobId);
+            failedJob.setStatus(BatchJobStatus.FAILED);
+            failedJob.setErrorMessage(message);
+            persistenceManager.currentTransaction().commit();
+        } finally {
+            if (persistenceManager.currentTransaction().isActive()) {
+                persistenceManager.currentTransaction().rollback();
+            }
+            persistenceManager.close();
+        }
+        return new ApplicationException("Batch job " + job.getReference() + " failed: " + message, cause);
+    }
+
+    /**
+     * The position to resume from: normally the number of keys processed, unless keys have been added or removed
+     * since, in which case the position after the last processed key.
+     */
+    static int resumePosition(final List<String> keys, final int processed, final String lastKey) {
+        final int position = Math.min(processed, keys.size());
+        if (lastKey == null || (position > 0 && keys.get(position - 1).equals(lastKey))) {
+            return position;
+        }
+        final int index = keys.indexOf(lastKey);
+        return index >= 0 ? index + 1 : position;
+    }
+
+    private BatchJobHandler handlerFor(final String name) {
+        for (BatchJobHandler handler : handlers()) {
+            if (handler.name().equals(name)) {
+                return handler;
+            }
+        }
+        throw new ApplicationException("No batch job handler named " + name);
+    }
+
+    private Iterable<BatchJobHandler> handlers() {
+        return serviceRegistry.lookupServices(BatchJobHandler.class);
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    BatchJobRepository batchJobRepository;
+
+    @Inject
+    ServiceRegistry serviceRegistry;
+
+    @Inject
+    TransactionService transactionService;
+
+    @Inject
+    IsisJdoSupport isisJdoSupport;
+
+}
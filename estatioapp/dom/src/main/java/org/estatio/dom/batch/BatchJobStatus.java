@@ -0,0 +1,36 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.batch;
+
+public enum BatchJobStatus {
+
+    /**
+     * Not all chunks have been committed yet, and the job is running; if its heartbeat has gone stale, the node that
+     * ran it has gone and the job can be resumed (or cancelled) from another.
+     */
+    IN_PROGRESS,
+    /**
+     * A chunk failed and was rolled back; the error message is kept on the job, which can be resumed from its
+     * checkpoint.
+     */
+    FAILED,
+    COMPLETED,
+    CANCELLED
+
+}
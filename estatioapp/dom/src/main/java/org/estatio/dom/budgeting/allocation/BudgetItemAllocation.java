@@ -44,6 +44,7 @@ import org.estatio.dom.budgeting.budget.Budget;
 import org.estatio.dom.budgeting.budgetitem.BudgetItem;
 import org.estatio.dom.budgeting.keytable.KeyTable;
 import org.estatio.dom.charge.Charge;
+import org.estatio.dom.fetchprofile.FetchProfile;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -76,6 +77,10 @@ import lombok.Setter;
                         "WHERE charge == :charge && budgetItem == :budgetItem && keyTable == :keyTable ")
 })
 @Unique(name = "ScheduleItem_charge_budgetItem_keyTable_UNQ", members = {"charge", "budgetItem", "keyTable"})
+@javax.jdo.annotations.FetchGroup(
+        name = FetchProfile.Names.BUDGET_CALCULATION,
+        members = {
+                @javax.jdo.annotations.Persistent(name = "keyTable") })
 @DomainObject()
 public class BudgetItemAllocation extends UdoDomainObject2<BudgetItemAllocation> implements WithApplicationTenancyProperty {
 
@@ -73,6 +73,7 @@ import org.estatio.dom.budgeting.keytable.KeyTableRepository;
 import org.estatio.dom.budgeting.keytable.KeyValueMethod;
 import org.estatio.dom.budgeting.viewmodels.BudgetOverview;
 import org.estatio.dom.charge.Charge;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.lease.Lease;
 import org.estatio.dom.lease.LeaseItem;
 import org.estatio.dom.lease.LeaseItemRepository;
@@ -112,6 +113,10 @@ import lombok.Setter;
                         "WHERE property == :property && startDate == :startDate")
 })
 @Unique(name = "Budget_property_startDate_UNQ", members = { "property", "startDate" })
+@javax.jdo.annotations.FetchGroup(
+        name = FetchProfile.Names.BUDGET_CALCULATION,
+        members = {
+                @javax.jdo.annotations.Persistent(name = "items") })
 @DomainObject()
 public class Budget extends UdoDomainObject2<Budget>
         implements WithIntervalMutable<Budget>, WithApplicationTenancyProperty, BudgetItemCreator {
@@ -9,18 +9,32 @@ import org.estatio.dom.budgeting.budget.Budget;
 import org.estatio.dom.budgeting.budgetitem.BudgetItem;
 import org.estatio.dom.budgeting.keyitem.KeyItem;
 import org.estatio.dom.charge.Charge;
+import org.estatio.dom.fetchprofile.FetchProfile;
+import org.estatio.dom.fetchprofile.FetchProfileService;
 import org.estatio.dom.lease.*;
 
 import javax.inject.Inject;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @DomainService(nature = NatureOfService.DOMAIN)
 public class BudgetCalculationService {
 
     public List<BudgetCalculationResult> calculate(final Budget budget) {
+        if (fetchProfileService == null) {
+            return doCalculate(budget);
+        }
+        // loads the items, allocations, key tables and key items of the budget in bulk rather than one by one
+        return fetchProfileService.withProfile(FetchProfile.BUDGET_CALCULATION, () -> {
+            fetchProfileService.prefetch(FetchProfile.BUDGET_CALCULATION, Budget.class, Collections.singletonList(budget));
+            return doCalculate(budget);
+        });
+    }
+
+    private List<BudgetCalculationResult> doCalculate(final Budget budget) {
 
         List<BudgetCalculationResult> result = new ArrayList<>();
         for (BudgetItem budgetItem : budget.getItems()) {
@@ -180,6 +194,9 @@ public class BudgetCalculationService {
     @Inject
     private BudgetCalculationRepository budgetCalculationRepository;
 
+    @Inject
+    private FetchProfileService fetchProfileService;
+
     @Inject
     private BudgetCalculationLinkRepository budgetCalculationLinkRepository;
 
@@ -52,6 +52,7 @@ import org.estatio.dom.budgeting.keytable.KeyTable;
 import org.estatio.dom.budgeting.keytable.KeyTableRepository;
 import org.estatio.dom.charge.Charge;
 import org.estatio.dom.charge.ChargeRepository;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.utils.TitleBuilder;
 
 import lombok.Getter;
@@ -86,6 +87,10 @@ import lombok.Setter;
                     + "&& charge == :charge "
                     + "&& budget.startDate == :startDate")
 })
+@javax.jdo.annotations.FetchGroup(
+        name = FetchProfile.Names.BUDGET_CALCULATION,
+        members = {
+                @javax.jdo.annotations.Persistent(name = "budgetItemAllocations") })
 @DomainObject()
 public class BudgetItem extends UdoDomainObject2<BudgetItem>
         implements WithApplicationTenancyProperty, BudgetItemAllocationCreator {
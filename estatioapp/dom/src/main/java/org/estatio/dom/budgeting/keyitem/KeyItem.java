@@ -42,6 +42,7 @@ import org.estatio.dom.apptenancy.WithApplicationTenancyProperty;
 import org.estatio.dom.asset.Unit;
 import org.estatio.dom.budgeting.Distributable;
 import org.estatio.dom.budgeting.keytable.KeyTable;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.utils.TitleBuilder;
 
 import lombok.Getter;
@@ -57,6 +58,10 @@ import lombok.Setter;
 @javax.jdo.annotations.Version(
         strategy = VersionStrategy.VERSION_NUMBER,
         column = "version")
+@javax.jdo.annotations.FetchGroup(
+        name = FetchProfile.Names.BUDGET_CALCULATION,
+        members = {
+                @javax.jdo.annotations.Persistent(name = "unit") })
 @DomainObject(editing = Editing.DISABLED)
 @javax.jdo.annotations.Queries({
         @Query(
@@ -16,17 +16,22 @@
  */
 package org.estatio.dom.budgeting.keyitem;
 
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.jdo.Query;
+
+import com.google.common.collect.ImmutableMap;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.DomainServiceLayout;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
+
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
 import org.estatio.dom.asset.Unit;
 import org.estatio.dom.budgeting.keytable.KeyTable;
 
-import java.math.BigDecimal;
-import java.util.List;
-
 @DomainService(repositoryFor = KeyItem.class, nature = NatureOfService.DOMAIN)
 @DomainServiceLayout()
 public class KeyItemRepository extends UdoDomainRepositoryAndFactory<KeyItem> {
@@ -83,6 +88,25 @@ public class KeyItemRepository extends UdoDomainRepositoryAndFactory<KeyItem> {
 
     // //////////////////////////////////////
 
+    /**
+     * A page of the items of the key table, ordered by unit reference; for streaming large key tables.
+     */
+    @Programmatic
+    public List<KeyItem> findByKeyTable(final KeyTable keyTable, final int first, final int count) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.budgeting.keyitem.KeyItem "
+                + "WHERE keyTable == :keyTable "
+                + "ORDER BY unit.reference");
+        query.setRange(first, first + count);
+        return (List<KeyItem>) query.executeWithMap(ImmutableMap.of("keyTable", keyTable));
+    }
+
+    @Programmatic
+    public long countByKeyTable(final KeyTable keyTable) {
+        final Query query = newQuery("SELECT count(this) FROM org.estatio.dom.budgeting.keyitem.KeyItem "
+                + "WHERE keyTable == :keyTable");
+        return (Long) query.executeWithMap(ImmutableMap.of("keyTable", keyTable));
+    }
+
     @Programmatic
     public List<KeyItem> allBudgetKeyItems() {
         return allInstances();
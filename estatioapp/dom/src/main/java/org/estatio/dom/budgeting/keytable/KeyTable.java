@@ -28,6 +28,7 @@ import java.util.TreeSet;
 import javax.inject.Inject;
 import javax.jdo.annotations.Column;
 import javax.jdo.annotations.DatastoreIdentity;
+import javax.jdo.annotations.FetchGroup;
 import javax.jdo.annotations.IdGeneratorStrategy;
 import javax.jdo.annotations.IdentityType;
 import javax.jdo.annotations.PersistenceCapable;
@@ -59,6 +60,7 @@ import org.estatio.dom.budgeting.Distributable;
 import org.estatio.dom.budgeting.DistributionService;
 import org.estatio.dom.budgeting.budget.Budget;
 import org.estatio.dom.budgeting.keyitem.KeyItem;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.utils.TitleBuilder;
 
 import lombok.Getter;
@@ -93,6 +95,7 @@ import lombok.Setter;
                         "WHERE name.toLowerCase().indexOf(:name) >= 0 ")
 })
 @Unique(name = "KeyTable_budget_name", members = { "budget", "name" })
+@FetchGroup(name = FetchProfile.Names.BUDGET_CALCULATION, members = { @Persistent(name = "items") })
 @DomainObject(autoCompleteRepository = KeyTableRepository.class, autoCompleteAction = "autoComplete")
 public class KeyTable extends UdoDomainObject2<Budget> implements WithApplicationTenancyProperty {
 
@@ -207,7 +210,7 @@ public class KeyTable extends UdoDomainObject2<Budget> implements WithApplicatio
         return null;
     }
 
-    @CollectionLayout(render = RenderType.EAGERLY)
+    @CollectionLayout(render = RenderType.LAZILY)
     @Persistent(mappedBy = "keyTable", dependentElement = "true")
     @Getter @Setter
     private SortedSet<KeyItem> items = new TreeSet<>();
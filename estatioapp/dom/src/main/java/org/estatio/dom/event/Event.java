@@ -65,7 +65,24 @@ import lombok.Setter;
                 value = "SELECT " +
                         "FROM org.estatio.dom.event.Event " +
                     "WHERE date >= :rangeStartDate " +
-                    "   && date <= :rangeEndDate")
+                    "   && date <= :rangeEndDate " +
+                    "ORDER BY date"),
+        @javax.jdo.annotations.Query(
+                name = "findByCalendarNameInDateRange", language = "JDOQL",
+                value = "SELECT " +
+                        "FROM org.estatio.dom.event.Event " +
+                    "WHERE calendarName == :calendarName " +
+                    "   && date >= :rangeStartDate " +
+                    "   && date <= :rangeEndDate " +
+                    "ORDER BY date")
+})
+@javax.jdo.annotations.Indices({
+        @javax.jdo.annotations.Index(
+                name = "Event_date_IDX",
+                members = { "date" }),
+        @javax.jdo.annotations.Index(
+                name = "Event_calendarName_date_IDX",
+                members = { "calendarName", "date" })
 })
 @DomainObject(editing = Editing.DISABLED)
 public class Event
@@ -73,12 +73,42 @@ public class EventRepository extends UdoDomainRepositoryAndFactory<Event> {
         getContainer().flush();
     }
 
+    /**
+     * Removes all supplied events with two flushes in total (one for the links, one for the events), rather than
+     * two flushes per event as {@link #remove(Event)} would.
+     */
+    @Programmatic
+    public void removeAll(final List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (Event event : events) {
+            removeIfNotAlready(eventSourceLinkRepository.findByEvent(event));
+        }
+        getContainer().flush();
+        for (Event event : events) {
+            removeIfNotAlready(event);
+        }
+        getContainer().flush();
+    }
+
 
     @Programmatic
     public List<Event> findEventsInDateRange(final LocalDate rangeStartDate, final LocalDate rangeEndDate) {
         return allMatches("findInDateRange", "rangeStartDate", rangeStartDate, "rangeEndDate", rangeEndDate);
     }
 
+    @Programmatic
+    public List<Event> findEventsByCalendarNameInDateRange(
+            final String calendarName,
+            final LocalDate rangeStartDate,
+            final LocalDate rangeEndDate) {
+        return allMatches("findByCalendarNameInDateRange",
+                "calendarName", calendarName,
+                "rangeStartDate", rangeStartDate,
+                "rangeEndDate", rangeEndDate);
+    }
+
     @Programmatic
     public List<Event> allEvents() {
         return allInstances();
@@ -20,6 +20,10 @@ package org.estatio.dom.event;
 
 import java.util.List;
 import javax.annotation.PostConstruct;
+import javax.jdo.Query;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.joda.time.LocalDate;
 import org.isisaddons.module.poly.dom.PolymorphicAssociationLink;
 import org.apache.isis.applib.DomainObjectContainer;
 import org.apache.isis.applib.annotation.DomainService;
@@ -28,6 +32,7 @@ import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
 import org.estatio.dom.communicationchannel.CommunicationChannelOwnerLink;
 
 @DomainService(
@@ -105,6 +110,30 @@ public class EventSourceLinkRepository {
     }
     //endregion
 
+    //region > findByEventDateRange (programmatic)
+
+    /**
+     * A page of the links of the events in the date range (inclusive), ordered by the date of the event; for
+     * attributing events to the application tenancy of their source without looking up the link of each event
+     * separately, nor materialising all of them in one go.
+     */
+    @Programmatic
+    public List<EventSourceLink> findByEventDateRange(
+            final LocalDate rangeStartDate,
+            final LocalDate rangeEndDate,
+            final int first,
+            final int pageSize) {
+        final Query query = isisJdoSupport.getJdoPersistenceManager().newQuery(
+                "SELECT FROM org.estatio.dom.event.EventSourceLink "
+                        + "WHERE event.date >= :rangeStartDate && event.date <= :rangeEndDate "
+                        + "ORDER BY event.date, sourceObjectType, sourceIdentifier, calendarName");
+        query.setRange(first, first + pageSize);
+        return Lists.newArrayList((List<EventSourceLink>) query.executeWithMap(ImmutableMap.of(
+                "rangeStartDate", rangeStartDate,
+                "rangeEndDate", rangeEndDate)));
+    }
+    //endregion
+
     //region > createLink (programmatic)
     @Programmatic
     public EventSourceLink createLink(final Event event, final EventSource eventSource) {
@@ -126,6 +155,9 @@ public class EventSourceLinkRepository {
     @javax.inject.Inject
     private BookmarkService bookmarkService;
 
+    @javax.inject.Inject
+    private IsisJdoSupport isisJdoSupport;
+
     //endregion
 
 }
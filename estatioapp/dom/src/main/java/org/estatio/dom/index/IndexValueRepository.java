@@ -23,11 +23,15 @@ import java.util.List;
 import java.util.concurrent.Callable;
 
 import javax.inject.Inject;
+import javax.jdo.Query;
+
+import com.google.common.collect.ImmutableMap;
 
 import org.joda.time.LocalDate;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.eventbus.EventBusService;
 import org.apache.isis.applib.services.queryresultscache.QueryResultsCache;
 
@@ -98,6 +102,18 @@ public class IndexValueRepository
                 "index", index);
     }
 
+    /**
+     * A page of the values of the index, ordered by start date; for streaming large exports.
+     */
+    @Programmatic
+    public List<IndexValue> findByIndex(final Index index, final int first, final int count) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.index.IndexValue "
+                + "WHERE indexBase.index == :index "
+                + "ORDER BY startDate");
+        query.setRange(first, first + count);
+        return (List<IndexValue>) query.executeWithMap(ImmutableMap.of("index", index));
+    }
+
     public List<IndexValue> all() {
         return allInstances();
     }
@@ -64,6 +64,7 @@ import org.estatio.dom.asset.financial.FixedAssetFinancialAccountRepository;
 import org.estatio.dom.bankmandate.BankMandate;
 import org.estatio.dom.charge.Charge;
 import org.estatio.dom.currency.Currency;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.financial.FinancialAccount;
 import org.estatio.dom.financial.bankaccount.BankAccount;
 import org.estatio.dom.lease.Lease;
@@ -181,6 +182,14 @@ import lombok.Setter;
         @Index(name = "Invoice_invoiceNumber_IDX",
                 members = { "invoiceNumber" })
 })
+@javax.jdo.annotations.FetchGroup(
+        name = FetchProfile.Names.INVOICE_DTO,
+        members = {
+                @javax.jdo.annotations.Persistent(name = "items"),
+                @javax.jdo.annotations.Persistent(name = "buyer"),
+                @javax.jdo.annotations.Persistent(name = "seller"),
+                @javax.jdo.annotations.Persistent(name = "lease"),
+                @javax.jdo.annotations.Persistent(name = "fixedAsset") })
 @DomainObject(editing = Editing.DISABLED)
 @DomainObjectLayout(bookmarking = BookmarkPolicy.AS_ROOT)
 public class Invoice
@@ -348,7 +357,7 @@ public class Invoice
 
     // //////////////////////////////////////
 
-    @CollectionLayout(render = RenderType.EAGERLY)
+    @CollectionLayout(render = RenderType.LAZILY)
     @javax.jdo.annotations.Persistent(mappedBy = "invoice")
     @Getter @Setter
     private SortedSet<InvoiceItem> items = new TreeSet<>();
@@ -59,6 +59,7 @@ import org.estatio.dom.WithInterval;
 import org.estatio.dom.apptenancy.WithApplicationTenancyPropertyLocal;
 import org.estatio.dom.charge.Charge;
 import org.estatio.dom.charge.ChargeRepository;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.lease.LeaseConstants;
 import org.estatio.dom.tax.Tax;
 import org.estatio.dom.utils.TitleBuilder;
@@ -86,6 +87,20 @@ import lombok.Setter;
 @javax.jdo.annotations.Discriminator(
         strategy = DiscriminatorStrategy.CLASS_NAME,
         column = "discriminator")
+@javax.jdo.annotations.Queries({
+        @javax.jdo.annotations.Query(
+                name = "findByInvoiceFixedAssetAndDueDateAndStatus", language = "JDOQL",
+                value = "SELECT " +
+                        "FROM org.estatio.dom.invoice.InvoiceItem " +
+                        "WHERE invoice.fixedAsset == :fixedAsset && " +
+                        "invoice.dueDate == :dueDate && " +
+                        "invoice.status == :status")
+})
+@javax.jdo.annotations.FetchGroup(
+        name = FetchProfile.Names.INVOICE_DTO,
+        members = {
+                @javax.jdo.annotations.Persistent(name = "charge"),
+                @javax.jdo.annotations.Persistent(name = "tax") })
 @DomainObject(editing = Editing.DISABLED)
 @DomainObjectLayout(bookmarking = BookmarkPolicy.AS_CHILD)
 public abstract class InvoiceItem
@@ -20,6 +20,11 @@ package org.estatio.dom.invoice;
 
 import java.util.List;
 
+import javax.jdo.Query;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
 import org.joda.time.LocalDate;
 
 import org.apache.isis.applib.annotation.DomainService;
@@ -28,6 +33,7 @@ import org.apache.isis.applib.annotation.ParameterLayout;
 import org.apache.isis.applib.annotation.Programmatic;
 
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
+import org.estatio.dom.asset.FixedAsset;
 import org.estatio.dom.lease.invoicing.InvoiceItemForLease;
 
 @DomainService(repositoryFor = InvoiceItem.class, nature = NatureOfService.DOMAIN)
@@ -53,6 +59,41 @@ public class InvoiceItemRepository extends UdoDomainRepositoryAndFactory<Invoice
 
     // //////////////////////////////////////
 
+    @Programmatic
+    public List<InvoiceItem> findByInvoiceFixedAssetAndDueDateAndStatus(
+            final FixedAsset fixedAsset,
+            final LocalDate dueDate,
+            final InvoiceStatus status) {
+        return allMatches("findByInvoiceFixedAssetAndDueDateAndStatus",
+                "fixedAsset", fixedAsset,
+                "dueDate", dueDate,
+                "status", status);
+    }
+
+    // //////////////////////////////////////
+
+    /**
+     * A page of the items of the invoice, in the order of the database query; along with
+     * {@link #countByInvoice(Invoice)}, for paging through the items of the invoice without loading them all.
+     */
+    @Programmatic
+    public List<InvoiceItem> findByInvoice(final Invoice invoice, final int first, final int count) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.invoice.InvoiceItem "
+                + "WHERE invoice == :invoice "
+                + "ORDER BY charge.reference, startDate DESC, description, grossAmount");
+        query.setRange(first, first + count);
+        return Lists.newArrayList((List<InvoiceItem>) query.executeWithMap(ImmutableMap.of("invoice", invoice)));
+    }
+
+    @Programmatic
+    public long countByInvoice(final Invoice invoice) {
+        final Query query = newQuery("SELECT count(this) FROM org.estatio.dom.invoice.InvoiceItem "
+                + "WHERE invoice == :invoice");
+        return (Long) query.executeWithMap(ImmutableMap.of("invoice", invoice));
+    }
+
+    // //////////////////////////////////////
+
     @Programmatic
     public List<InvoiceItem> allInvoiceItems() {
         return allInstances();
@@ -20,6 +20,11 @@ package org.estatio.dom.invoice;
 
 import java.util.List;
 
+import javax.jdo.Query;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
 import org.joda.time.LocalDate;
 
 import org.apache.isis.applib.annotation.DomainService;
@@ -71,6 +76,30 @@ public class InvoiceRepository extends UdoDomainRepositoryAndFactory<Invoice> {
                 "runId", runId);
     }
 
+    /**
+     * The object ids of the invoices of the run, rather than the invoices themselves; for exports that load them a
+     * batch at a time.
+     */
+    @Programmatic
+    public List<Object> findIdsByRunId(final String runId) {
+        final Query query = newQuery("SELECT JDOHelper.getObjectId(this) FROM org.estatio.dom.invoice.Invoice "
+                + "WHERE runId == :runId");
+        return Lists.newArrayList((List<Object>) query.executeWithMap(ImmutableMap.of(
+                "runId", runId)));
+    }
+
+    /**
+     * The distinct application tenancy paths of the invoices of the run; to check that a user may see all of them
+     * before exporting the run.
+     */
+    @Programmatic
+    public List<String> findApplicationTenancyPathsByRunId(final String runId) {
+        final Query query = newQuery("SELECT DISTINCT applicationTenancyPath FROM org.estatio.dom.invoice.Invoice "
+                + "WHERE runId == :runId");
+        return Lists.newArrayList((List<String>) query.executeWithMap(ImmutableMap.of(
+                "runId", runId)));
+    }
+
     @Programmatic
     public List<Invoice> findByRunIdAndApplicationTenancyPath(final String runId, final String applicationTenancyPath) {
         return allMatches("findByRunIdAndApplicationTenancyPath",
@@ -137,6 +166,23 @@ public class InvoiceRepository extends UdoDomainRepositoryAndFactory<Invoice> {
                 "status", status);
     }
 
+    /**
+     * As {@link #findIdsByRunId(String)}, ordered by invoice number.
+     */
+    @Programmatic
+    public List<Object> findIdsByFixedAssetAndDueDateAndStatus(
+            final FixedAsset fixedAsset,
+            final LocalDate dueDate,
+            final InvoiceStatus status) {
+        final Query query = newQuery("SELECT JDOHelper.getObjectId(this) FROM org.estatio.dom.invoice.Invoice "
+                + "WHERE fixedAsset == :fixedAsset && status == :status && dueDate == :dueDate "
+                + "ORDER BY invoiceNumber");
+        return Lists.newArrayList((List<Object>) query.executeWithMap(ImmutableMap.of(
+                "fixedAsset", fixedAsset,
+                "dueDate", dueDate,
+                "status", status)));
+    }
+
     @Programmatic
     public List<Invoice> findByApplicationTenancyPathAndSellerAndDueDateAndStatus(
             final String applicationTenancyPath,
@@ -162,6 +208,26 @@ public class InvoiceRepository extends UdoDomainRepositoryAndFactory<Invoice> {
             final LocalDate dueDate,
             final Lease lease,
             final String interactionId
+    ) {
+        final Invoice invoice = createInvoice(applicationTenancy, seller, buyer, paymentMethod, currency, dueDate, lease, interactionId);
+        getContainer().flush();
+        return invoice;
+    }
+
+    /**
+     * As {@link #newInvoice(ApplicationTenancy, Party, Party, PaymentMethod, Currency, LocalDate, Lease, String)}, but
+     * without flushing; the caller is responsible for flushing (typically once per chunk of invoices).
+     */
+    @Programmatic
+    public Invoice createInvoice(
+            final ApplicationTenancy applicationTenancy,
+            final Party seller,
+            final Party buyer,
+            final PaymentMethod paymentMethod,
+            final Currency currency,
+            final LocalDate dueDate,
+            final Lease lease,
+            final String interactionId
     ) {
         Invoice invoice = newTransientInstance();
         invoice.setApplicationTenancyPath(applicationTenancy.getPath());
@@ -181,7 +247,6 @@ public class InvoiceRepository extends UdoDomainRepositoryAndFactory<Invoice> {
         invoice.setFixedAsset(lease.getProperty());
 
         persistIfNotAlready(invoice);
-        getContainer().flush();
         return invoice;
     }
 
@@ -240,12 +305,35 @@ public class InvoiceRepository extends UdoDomainRepositoryAndFactory<Invoice> {
         return allInstances();
     }
 
+    /**
+     * Removes the {@link InvoiceStatus#NEW new} invoices (and their items) of a previous run for the same property
+     * and due date.
+     *
+     * <p>
+     * Rather than {@link Invoice#remove() removing} each invoice in turn (which loads the items of every invoice
+     * separately), the items of all invoices are fetched with a single query and everything is deleted in two
+     * flushes: first the items, then the invoices.  Objects are still removed individually through the container,
+     * so that they are audited as before.
+     */
     @Programmatic
     public void removeRuns(InvoiceCalculationParameters parameters) {
-        List<Invoice> invoices = findByFixedAssetAndDueDateAndStatus(parameters.property(), parameters.invoiceDueDate(), InvoiceStatus.NEW);
+        final List<Invoice> invoices = findByFixedAssetAndDueDateAndStatus(parameters.property(), parameters.invoiceDueDate(), InvoiceStatus.NEW);
+        if (invoices.isEmpty()) {
+            return;
+        }
+        final List<InvoiceItem> items = invoiceItemRepository.findByInvoiceFixedAssetAndDueDateAndStatus(parameters.property(), parameters.invoiceDueDate(), InvoiceStatus.NEW);
+        for (InvoiceItem item : items) {
+            if (item.disableRemove() == null) {
+                getContainer().remove(item);
+            }
+        }
+        getContainer().flush();
         for (Invoice invoice : invoices) {
-            invoice.remove();
+            if (invoice.disableRemove() == null) {
+                getContainer().remove(invoice);
+            }
         }
+        getContainer().flush();
     }
 
     // //////////////////////////////////////
@@ -253,4 +341,7 @@ public class InvoiceRepository extends UdoDomainRepositoryAndFactory<Invoice> {
     @javax.inject.Inject
     private EstatioSettingsService settings;
 
+    @javax.inject.Inject
+    private InvoiceItemRepository invoiceItemRepository;
+
 }
@@ -82,6 +82,7 @@ import org.estatio.dom.bankmandate.Scheme;
 import org.estatio.dom.bankmandate.SequenceType;
 import org.estatio.dom.charge.Charge;
 import org.estatio.dom.charge.ChargeRepository;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.financial.FinancialAccount;
 import org.estatio.dom.financial.bankaccount.BankAccount;
 import org.estatio.dom.financial.bankaccount.BankAccountRepository;
@@ -152,6 +153,23 @@ import lombok.Setter;
                         "endDate != null && (endDate >= :rangeStartDate && endDate < :rangeEndDate) " +
                         "ORDER BY endDate")
 })
+@javax.jdo.annotations.FetchGroups({
+        @javax.jdo.annotations.FetchGroup(
+                name = FetchProfile.Names.INVOICE_CALCULATION,
+                members = {
+                        @javax.jdo.annotations.Persistent(name = "items") }),
+        @javax.jdo.annotations.FetchGroup(
+                name = FetchProfile.Names.INVOICE_DTO,
+                members = {
+                        @javax.jdo.annotations.Persistent(name = "paidBy"),
+                        @javax.jdo.annotations.Persistent(name = "occupancies") }),
+        @javax.jdo.annotations.FetchGroup(
+                name = FetchProfile.Names.LEASE_COPY,
+                members = {
+                        @javax.jdo.annotations.Persistent(name = "items"),
+                        @javax.jdo.annotations.Persistent(name = "occupancies"),
+                        @javax.jdo.annotations.Persistent(name = "breakOptions") })
+})
 @DomainObject(autoCompleteRepository = LeaseRepository.class)
 @DomainObjectLayout(bookmarking = BookmarkPolicy.AS_ROOT)
 public class Lease
@@ -448,7 +466,7 @@ public class Lease
      * EST-233.
      */
     @javax.jdo.annotations.Persistent(mappedBy = "lease", defaultFetchGroup = "true")
-    @CollectionLayout(render = RenderType.EAGERLY, paged = 999)
+    @CollectionLayout(render = RenderType.LAZILY, paged = 999)
     @Getter @Setter
     private SortedSet<LeaseItem> items = new TreeSet<>();
 
@@ -1003,6 +1021,24 @@ public class Lease
         }
     }
 
+    /**
+     * Posted once for each chunk of leases terminated by a bulk termination or assignment (see
+     * {@link org.estatio.dom.lease.bulk.LeaseBulkService}), instead of a {@link TerminateEvent} for each lease.
+     */
+    public static class BulkTerminatedEvent {
+
+        @Getter
+        private final List<Lease> leases;
+
+        @Getter
+        private final LocalDate terminationDate;
+
+        public BulkTerminatedEvent(final List<Lease> leases, final LocalDate terminationDate) {
+            this.leases = leases;
+            this.terminationDate = terminationDate;
+        }
+    }
+
     public static class SuspendAllEvent extends ActionDomainEvent<Lease> {
         private static final long serialVersionUID = 1L;
 
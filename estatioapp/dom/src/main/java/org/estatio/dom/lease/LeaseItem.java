@@ -66,6 +66,7 @@ import org.estatio.dom.apptenancy.WithApplicationTenancyPathPersisted;
 import org.estatio.dom.apptenancy.WithApplicationTenancyPropertyLocal;
 import org.estatio.dom.charge.Charge;
 import org.estatio.dom.charge.ChargeRepository;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.invoice.InvoicingInterval;
 import org.estatio.dom.invoice.PaymentMethod;
 import org.estatio.dom.lease.invoicing.InvoiceCalculationService.CalculationResult;
@@ -143,6 +144,18 @@ import lombok.Setter;
 
 })
 @Unique(name = "LeaseItem_lease_type_charge_startDate_sequence_UNQ", members = {"lease", "type", "charge", "startDate", "sequence"})
+@javax.jdo.annotations.FetchGroups({
+        @javax.jdo.annotations.FetchGroup(
+                name = FetchProfile.Names.INVOICE_CALCULATION,
+                members = {
+                        @javax.jdo.annotations.Persistent(name = "terms"),
+                        @javax.jdo.annotations.Persistent(name = "charge"),
+                        @javax.jdo.annotations.Persistent(name = "tax") }),
+        @javax.jdo.annotations.FetchGroup(
+                name = FetchProfile.Names.LEASE_COPY,
+                members = {
+                        @javax.jdo.annotations.Persistent(name = "terms") })
+})
 @DomainObject(editing = Editing.DISABLED)
 @DomainObjectLayout(bookmarking = BookmarkPolicy.AS_CHILD)
 public class LeaseItem
@@ -552,7 +565,7 @@ public class LeaseItem
     // //////////////////////////////////////
 
     @javax.jdo.annotations.Persistent(mappedBy = "leaseItem")
-    @CollectionLayout(render = RenderType.EAGERLY, paged = PAGE_SIZE)
+    @CollectionLayout(render = RenderType.LAZILY, paged = PAGE_SIZE)
     @Getter @Setter
     private SortedSet<LeaseTerm> terms = new TreeSet<>();
 
@@ -22,8 +22,11 @@ import java.math.BigInteger;
 import java.util.List;
 
 import javax.inject.Inject;
+import javax.jdo.Query;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 
 import org.joda.time.LocalDate;
 
@@ -130,6 +133,28 @@ public class LeaseItemRepository extends UdoDomainRepositoryAndFactory<LeaseItem
 
     // //////////////////////////////////////
 
+    /**
+     * A page of the items of the lease, in the order of the database query; along with
+     * {@link #countByLease(Lease)}, for paging through the items of the lease without loading them all.
+     */
+    @Programmatic
+    public List<LeaseItem> findByLease(final Lease lease, final int first, final int count) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.lease.LeaseItem "
+                + "WHERE lease == :lease "
+                + "ORDER BY type, charge.reference, startDate, sequence");
+        query.setRange(first, first + count);
+        return Lists.newArrayList((List<LeaseItem>) query.executeWithMap(ImmutableMap.of("lease", lease)));
+    }
+
+    @Programmatic
+    public long countByLease(final Lease lease) {
+        final Query query = newQuery("SELECT count(this) FROM org.estatio.dom.lease.LeaseItem "
+                + "WHERE lease == :lease");
+        return (Long) query.executeWithMap(ImmutableMap.of("lease", lease));
+    }
+
+    // //////////////////////////////////////
+
     @Action(semantics = SemanticsOf.SAFE, restrictTo = RestrictTo.PROTOTYPING)
     @MemberOrder(sequence = "99")
     public List<LeaseItem> allLeaseItems() {
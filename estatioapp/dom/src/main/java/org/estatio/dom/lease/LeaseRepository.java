@@ -19,13 +19,18 @@
 
 package org.estatio.dom.lease;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.jdo.Query;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import org.joda.time.LocalDate;
 
@@ -47,6 +52,7 @@ import org.estatio.dom.asset.Property;
 import org.estatio.dom.lease.tags.Brand;
 import org.estatio.dom.party.Party;
 import org.estatio.dom.utils.StringUtils;
+import org.estatio.dom.valuetypes.ApplicationTenancyLevel;
 
 @DomainService(repositoryFor = Lease.class, nature = NatureOfService.DOMAIN)
 public class LeaseRepository extends UdoDomainRepositoryAndFactory<Lease> {
@@ -107,6 +113,37 @@ public class LeaseRepository extends UdoDomainRepositoryAndFactory<Lease> {
         return allInstances();
     }
 
+    /**
+     * A page of all leases, in order of reference; for forecasts, which work through the portfolio a page at a time.
+     */
+    @Programmatic
+    public List<Lease> allLeases(final int first, final int pageSize) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.lease.Lease ORDER BY reference");
+        query.setRange(first, first + pageSize);
+        return Lists.newArrayList((List<Lease>) query.execute());
+    }
+
+    /**
+     * The references of all leases whose application tenancy is the given level or below it, in order of reference;
+     * for batch jobs, which process leases one at a time.
+     */
+    @Programmatic
+    public List<String> findReferencesByApplicationTenancy(final ApplicationTenancyLevel level) {
+        final Query query = newQuery("SELECT reference, applicationTenancyPath "
+                + "FROM org.estatio.dom.lease.Lease "
+                + "WHERE applicationTenancyPath.startsWith(:path) "
+                + "ORDER BY reference");
+        final List<Object[]> rows = (List<Object[]>) query.executeWithMap(ImmutableMap.of("path", level.getPath()));
+        final List<String> references = Lists.newArrayList();
+        for (Object[] row : rows) {
+            final ApplicationTenancyLevel leaseLevel = ApplicationTenancyLevel.of((String) row[1]);
+            if (leaseLevel.equals(level) || leaseLevel.childOf(level)) {
+                references.add((String) row[0]);
+            }
+        }
+        return references;
+    }
+
     public List<Lease> matchByReferenceOrName(
             final String referenceOrName,
             final boolean includeTerminated) {
@@ -130,6 +167,21 @@ public class LeaseRepository extends UdoDomainRepositoryAndFactory<Lease> {
         return firstMatch("findByReference", "reference", reference);
     }
 
+    /**
+     * Those of the references that are in use by a lease already; to validate the references of many new leases
+     * with a single query.
+     */
+    @Programmatic
+    public Set<String> findExistingReferences(final Collection<String> references) {
+        if (references.isEmpty()) {
+            return Sets.newHashSet();
+        }
+        final Query query = newQuery("SELECT reference "
+                + "FROM org.estatio.dom.lease.Lease "
+                + "WHERE :references.contains(reference)");
+        return Sets.newHashSet((List<String>) query.executeWithMap(ImmutableMap.of("references", references)));
+    }
+
     @Programmatic
     public List<Lease> findLeasesByProperty(final Property property) {
         return allMatches("findByProperty", "property", property);
@@ -143,6 +195,47 @@ public class LeaseRepository extends UdoDomainRepositoryAndFactory<Lease> {
                 "rangeEndDate", rangeEndDate);
     }
 
+    /**
+     * As {@link #findExpireInDateRange(LocalDate, LocalDate)}, restricted to the leases of exactly the given
+     * application tenancy path; for refreshing the dashboard one tenancy at a time.
+     */
+    @Programmatic
+    public List<Lease> findExpireInDateRange(
+            final LocalDate rangeStartDate,
+            final LocalDate rangeEndDate,
+            final String applicationTenancyPath) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.lease.Lease "
+                + "WHERE endDate != null && endDate >= :rangeStartDate && endDate < :rangeEndDate "
+                + "&& applicationTenancyPath == :path "
+                + "ORDER BY endDate");
+        return Lists.newArrayList((List<Lease>) query.executeWithMap(ImmutableMap.of(
+                "rangeStartDate", rangeStartDate,
+                "rangeEndDate", rangeEndDate,
+                "path", applicationTenancyPath)));
+    }
+
+    /**
+     * A page of the leases expiring in the date range whose application tenancy path starts with the given path,
+     * ordered by end date.
+     */
+    @Programmatic
+    public List<Lease> findExpireInDateRange(
+            final LocalDate rangeStartDate,
+            final LocalDate rangeEndDate,
+            final String applicationTenancyPath,
+            final int first,
+            final int pageSize) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.lease.Lease "
+                + "WHERE endDate != null && endDate >= :rangeStartDate && endDate < :rangeEndDate "
+                + "&& applicationTenancyPath.startsWith(:path) "
+                + "ORDER BY endDate, reference");
+        query.setRange(first, first + pageSize);
+        return Lists.newArrayList((List<Lease>) query.executeWithMap(ImmutableMap.of(
+                "rangeStartDate", rangeStartDate,
+                "rangeEndDate", rangeEndDate,
+                "path", applicationTenancyPath)));
+    }
+
     @Programmatic
     public List<Lease> findByBrand(final Brand brand, final boolean includeTerminated) {
         return allMatches(
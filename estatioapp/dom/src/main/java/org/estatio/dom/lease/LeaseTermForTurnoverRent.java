@@ -51,7 +51,7 @@ public class LeaseTermForTurnoverRent extends LeaseTerm {
     private String turnoverRentRule;
 
     public String validateTurnoverRentRule(final String turnoverRentrule) {
-        TurnoverRentRuleHelper helper = new TurnoverRentRuleHelper(turnoverRentrule);
+        TurnoverRentRuleHelper helper = TurnoverRentRuleHelper.of(turnoverRentrule);
         if (!helper.isValid()) {
             return "'" + turnoverRentrule + "' is not a valid rule";
         }
@@ -146,8 +146,45 @@ public class LeaseTermForTurnoverRent extends LeaseTerm {
 
     // //////////////////////////////////////
 
+    /**
+     * The results shared by the terms verified in the same run, see {@link #verify(SourceItemResults)}.
+     */
+    @javax.jdo.annotations.NotPersistent
+    private SourceItemResults sourceItemResults;
+
+    /**
+     * As {@link #verify()}, but sharing the calculation results of the source items with this term, the terms
+     * following it and the other terms being verified in the same run.
+     */
+    @Programmatic
+    public LeaseTerm verify(final SourceItemResults sourceItemResults) {
+        shareSourceItemResults(sourceItemResults);
+        try {
+            return verify();
+        } finally {
+            shareSourceItemResults(null);
+        }
+    }
+
+    private void shareSourceItemResults(final SourceItemResults sourceItemResults) {
+        for (LeaseTerm term = this; term != null; term = term.getNext()) {
+            if (term instanceof LeaseTermForTurnoverRent) {
+                ((LeaseTermForTurnoverRent) term).sourceItemResults = sourceItemResults;
+            }
+        }
+    }
+
     @Override
     protected void doAlign() {
+        recalculate(sourceItemResults != null ? sourceItemResults : new SourceItemResults());
+    }
+
+    /**
+     * As {@link #doAlign()}, but sharing the calculation results of the source items with the other terms being
+     * recalculated in the same run.
+     */
+    @Programmatic
+    public void recalculate(final SourceItemResults sourceItemResults) {
 
         if (getStatus() != LeaseTermStatus.APPROVED) {
             // Collect all results
@@ -156,7 +193,7 @@ public class LeaseTermForTurnoverRent extends LeaseTerm {
             List<CalculationResult> calculationResults = new ArrayList<>();
             for (LeaseItemSource leaseItemSource : sourceItems) {
                 calculationResults.addAll(
-                        leaseItemSource.getSourceItem().calculationResults(getInterval(), this.getEndDate().plusYears(1)));
+                        sourceItemResults.of(leaseItemSource.getSourceItem(), getInterval(), this.getEndDate().plusYears(1)));
             }
             // TODO: do prorata when intervals don't match
             for (CalculationResult result : calculationResults) {
@@ -182,7 +219,7 @@ public class LeaseTermForTurnoverRent extends LeaseTerm {
             // Audited Turnover Rent
             if (getTurnoverRentRule() != null) {
                 // Ignore the rule when empty
-                TurnoverRentRuleHelper helper = new TurnoverRentRuleHelper(getTurnoverRentRule());
+                TurnoverRentRuleHelper helper = TurnoverRentRuleHelper.of(getTurnoverRentRule());
                 BigDecimal newAuditedTurnoverRent = helper.calculateRent(getAuditedTurnover()).subtract(getContractualRent());
                 if (ObjectUtils.compare(newAuditedTurnoverRent, BigDecimal.ZERO) < 0) {
                     newAuditedTurnoverRent = BigDecimal.ZERO;
@@ -22,6 +22,11 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.jdo.Query;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
 import org.joda.time.LocalDate;
 
 import org.apache.isis.applib.annotation.Action;
@@ -119,6 +124,26 @@ public class LeaseTermRepository extends UdoDomainRepositoryAndFactory<LeaseTerm
                 "leaseItem", leaseItem);
     }
 
+    /**
+     * A page of the terms of the lease item, in the order of the database query; along with
+     * {@link #countByLeaseItem(LeaseItem)}, for paging through the terms of the lease item without loading them all.
+     */
+    @Programmatic
+    public List<LeaseTerm> findByLeaseItem(final LeaseItem leaseItem, final int first, final int count) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.lease.LeaseTerm "
+                + "WHERE leaseItem == :leaseItem "
+                + "ORDER BY sequence, startDate");
+        query.setRange(first, first + count);
+        return Lists.newArrayList((List<LeaseTerm>) query.executeWithMap(ImmutableMap.of("leaseItem", leaseItem)));
+    }
+
+    @Programmatic
+    public long countByLeaseItem(final LeaseItem leaseItem) {
+        final Query query = newQuery("SELECT count(this) FROM org.estatio.dom.lease.LeaseTerm "
+                + "WHERE leaseItem == :leaseItem");
+        return (Long) query.executeWithMap(ImmutableMap.of("leaseItem", leaseItem));
+    }
+
     /**
      * Returns terms by LeaseItem and sequence. Used by the API
      */
@@ -20,6 +20,8 @@ package org.estatio.dom.lease;
 
 import java.util.List;
 
+import javax.inject.Inject;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Parameter;
@@ -29,6 +31,7 @@ import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
 
 import org.estatio.dom.RegexValidation;
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 @DomainService(nature = NatureOfService.DOMAIN, repositoryFor = LeaseType.class)
 public class LeaseTypeRepository extends UdoDomainRepositoryAndFactory<LeaseType> {
@@ -63,7 +66,9 @@ public class LeaseTypeRepository extends UdoDomainRepositoryAndFactory<LeaseType
 
     @Programmatic
     public LeaseType findByReference(final String reference) {
-        return firstMatch("findByReference", "reference", reference);
+        return referenceDataCache.find(
+                LeaseType.class, reference,
+                () -> firstMatch("findByReference", "reference", reference));
     }
 
     // //////////////////////////////////////
@@ -77,4 +82,7 @@ public class LeaseTypeRepository extends UdoDomainRepositoryAndFactory<LeaseType
         return leaseType;
     }
 
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
 }
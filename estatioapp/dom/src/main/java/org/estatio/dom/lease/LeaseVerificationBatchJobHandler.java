@@ -0,0 +1,69 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+
+import org.estatio.dom.batch.BatchJobHandler;
+import org.estatio.dom.valuetypes.ApplicationTenancyLevel;
+
+/**
+ * Verifies all leases (see {@link Lease#verify()}) as a {@link org.estatio.dom.batch.BatchJob}, one lease at a
+ * time; with the parameter {@value #APPROVE} all terms are approved afterwards as well.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class LeaseVerificationBatchJobHandler implements BatchJobHandler {
+
+    public static final String APPROVE = "approve";
+
+    @Override
+    @Programmatic
+    public String name() {
+        return "verifyLeases";
+    }
+
+    @Override
+    @Programmatic
+    public List<String> keys(final String parameters) {
+        return leaseRepository.findReferencesByApplicationTenancy(ApplicationTenancyLevel.of("/"));
+    }
+
+    @Override
+    @Programmatic
+    public void process(final String key, final String parameters) {
+        final Lease lease = leaseRepository.findLeaseByReferenceElseNull(key);
+        if (lease == null) {
+            return;
+        }
+        lease.verify();
+        if (APPROVE.equals(parameters)) {
+            lease.approveAllTermsOfThisLease();
+        }
+    }
+
+    @Inject
+    LeaseRepository leaseRepository;
+
+}
@@ -47,6 +47,7 @@ import org.estatio.dom.JdoColumnLength;
 import org.estatio.dom.WithIntervalMutable;
 import org.estatio.dom.apptenancy.WithApplicationTenancyProperty;
 import org.estatio.dom.asset.Unit;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.geography.Country;
 import org.estatio.dom.lease.tags.ActivityRepository;
 import org.estatio.dom.lease.tags.Activity;
@@ -86,6 +87,11 @@ import lombok.Setter;
                         + "FROM org.estatio.dom.lease.Occupancy "
                         + "WHERE lease == :lease "
                         + "ORDER BY startDate "),
+        @javax.jdo.annotations.Query(
+                name = "findByLeases", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.dom.lease.Occupancy "
+                        + "WHERE :leases.contains(lease) "),
         @javax.jdo.annotations.Query(
                 name = "findByLeaseAndDate", language = "JDOQL",
                 value = "SELECT "
@@ -108,6 +114,11 @@ import lombok.Setter;
                         + "WHERE brand == :brand "
                         + "&& (:includeTerminated || endDate == null || endDate >= :date)")
 })
+@javax.jdo.annotations.FetchGroup(
+        name = FetchProfile.Names.INVOICE_DTO,
+        members = {
+                @javax.jdo.annotations.Persistent(name = "unit"),
+                @javax.jdo.annotations.Persistent(name = "brand") })
 public class Occupancy
         extends UdoDomainObject2<Occupancy>
         implements WithIntervalMutable<Occupancy>, WithApplicationTenancyProperty {
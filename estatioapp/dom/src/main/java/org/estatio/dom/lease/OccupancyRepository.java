@@ -73,6 +73,11 @@ public class OccupancyRepository extends UdoDomainRepositoryAndFactory<Occupancy
         return allMatches("findByLease", "lease", lease);
     }
 
+    @Programmatic
+    public List<Occupancy> findByLeases(final List<Lease> leases) {
+        return allMatches("findByLeases", "leases", leases);
+    }
+
     @Programmatic
     public Occupancy findByLeaseAndUnitAndStartDate(
             final Lease lease,
@@ -164,6 +169,14 @@ public class OccupancyRepository extends UdoDomainRepositoryAndFactory<Occupancy
         }
     }
 
+    @Subscribe
+    @Programmatic
+    public void on(final Lease.BulkTerminatedEvent ev) {
+        for (Occupancy occupancy : findByLeases(ev.getLeases())) {
+            occupancy.terminate(ev.getTerminationDate());
+        }
+    }
+
     // //////////////////////////////////////
 
     @Subscribe
@@ -0,0 +1,56 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.joda.time.LocalDate;
+
+import org.estatio.dom.lease.invoicing.InvoiceCalculationService.CalculationResult;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+/**
+ * Memoizes the {@link LeaseItem#calculationResults(LocalDateInterval, LocalDate) calculation results} of source
+ * items, so that turnover rent terms sharing a source item and interval only calculate them once.
+ *
+ * <p>
+ * Intended to be scoped to a single recalculation run, during which the source items do not change.
+ */
+public class SourceItemResults {
+
+    private final Map<List<Object>, List<CalculationResult>> resultsByKey = Maps.newHashMap();
+
+    public List<CalculationResult> of(
+            final LeaseItem sourceItem,
+            final LocalDateInterval interval,
+            final LocalDate dueDate) {
+        final List<Object> key = Arrays.asList(sourceItem, interval, dueDate);
+        List<CalculationResult> results = resultsByKey.get(key);
+        if (results == null) {
+            results = sourceItem.calculationResults(interval, dueDate);
+            resultsByKey.put(key, results);
+        }
+        return results;
+    }
+
+}
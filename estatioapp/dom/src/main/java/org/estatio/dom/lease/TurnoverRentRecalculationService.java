@@ -0,0 +1,70 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+
+import org.estatio.dom.asset.Property;
+
+/**
+ * Verifies all turnover rent terms of a property in one run, calculating the results of each source item only
+ * once; typically after the audited turnovers have been uploaded.
+ *
+ * <p>
+ * Each term is {@link LeaseTerm#verify() verified} as usual, so end dates are aligned, next terms are created and
+ * the following terms are verified as well.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class TurnoverRentRecalculationService {
+
+    /**
+     * @return the number of terms verified.
+     */
+    @Programmatic
+    public int recalculate(final Property property, final LocalDate startDate) {
+        return recalculate(leaseTermRepository.findByPropertyAndTypeAndStartDate(
+                property, LeaseItemType.TURNOVER_RENT, startDate));
+    }
+
+    @Programmatic
+    public int recalculate(final List<? extends LeaseTerm> terms) {
+        final SourceItemResults sourceItemResults = new SourceItemResults();
+        int count = 0;
+        for (LeaseTerm term : terms) {
+            if (term instanceof LeaseTermForTurnoverRent) {
+                ((LeaseTermForTurnoverRent) term).verify(sourceItemResults);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Inject
+    private LeaseTermRepository leaseTermRepository;
+
+}
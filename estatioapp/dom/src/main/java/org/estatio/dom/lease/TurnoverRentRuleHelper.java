@@ -20,22 +20,75 @@ package org.estatio.dom.lease;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 
+/**
+ * A turnover rent rule, eg <tt>500000;5;750000;6;7</tt> (5% up to 500,000, 6% up to 750,000 and 7% thereafter),
+ * compiled into an immutable table of caps and percentages.
+ *
+ * <p>
+ * Instances are immutable and thread-safe; use {@link #of(String)} to share the compiled form of a rule rather than
+ * re-parsing it on every calculation.
+ */
 public class TurnoverRentRuleHelper {
 
-    private String rules[];
+    private static final Pattern NUMERIC = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    private static final int MAX_CACHED_RULES = 10000;
+    private static final ConcurrentMap<String, TurnoverRentRuleHelper> COMPILED_RULES = new ConcurrentHashMap<>();
+
+    public static TurnoverRentRuleHelper of(final String rule) {
+        if (rule == null) {
+            return new TurnoverRentRuleHelper(null);
+        }
+        TurnoverRentRuleHelper helper = COMPILED_RULES.get(rule);
+        if (helper == null) {
+            if (COMPILED_RULES.size() >= MAX_CACHED_RULES) {
+                COMPILED_RULES.clear();
+            }
+            helper = new TurnoverRentRuleHelper(rule);
+            COMPILED_RULES.putIfAbsent(rule, helper);
+        }
+        return helper;
+    }
+
+    /**
+     * Upper bound (inclusive) of each tier; <tt>null</tt> for the last, open-ended tier.
+     */
+    private final BigDecimal[] caps;
+    /**
+     * Percentage of each tier, already divided by 100.
+     */
+    private final BigDecimal[] percentages;
 
     public TurnoverRentRuleHelper(final String rule) {
-        if (rule != null && rule.trim().length() != 0) {
-            rules = rule.split(";");
+        final String[] rules = rule != null && rule.trim().length() != 0 ? rule.split(";") : null;
+        if (!isValidRule(rules)) {
+            caps = null;
+            percentages = null;
+            return;
+        }
+        final int tiers = (rules.length + 1) / 2;
+        caps = new BigDecimal[tiers];
+        percentages = new BigDecimal[tiers];
+        for (int tier = 0; tier < tiers; tier++) {
+            final int i = tier * 2;
+            if (i == rules.length - 1) {
+                percentages[tier] = new BigDecimal(rules[i]).divide(LeaseConstants.PERCENTAGE_DIVISOR);
+            } else {
+                caps[tier] = new BigDecimal(rules[i]);
+                percentages[tier] = new BigDecimal(rules[i + 1]).divide(LeaseConstants.PERCENTAGE_DIVISOR);
+            }
         }
     }
 
     public boolean isValid() {
-        return (rules != null && isValidRule());
+        return caps != null;
     }
 
-    private boolean isValidRule() {
+    private static boolean isValidRule(final String[] rules) {
         // check for uneven rules
         if (rules == null || rules.length % 2 == 0) {
             return false;
@@ -60,35 +113,24 @@ public class TurnoverRentRuleHelper {
     private BigDecimal doCalculateRent(final BigDecimal turnover) {
         BigDecimal total = BigDecimal.ZERO;
         BigDecimal prevCap = BigDecimal.ZERO;
-        BigDecimal cap = BigDecimal.ZERO;
-        BigDecimal percentage;
-        for (int i = 0; i < rules.length; i = i + 2) {
+        for (int tier = 0; tier < caps.length; tier++) {
+            final BigDecimal cap = caps[tier];
             BigDecimal base = BigDecimal.ZERO;
-            if (i == rules.length - 1) {
-                // the last or single item
-                percentage = new BigDecimal(rules[i]).divide(LeaseConstants.PERCENTAGE_DIVISOR);
-                if (turnover.compareTo(prevCap) > 0) {
-                    base = turnover.subtract(prevCap);
-                }
-            } else {
-                percentage = new BigDecimal(rules[i + 1]).divide(LeaseConstants.PERCENTAGE_DIVISOR);
-                cap = new BigDecimal(rules[i]);
-                if (turnover.compareTo(cap) > 0) {
-                    base = cap.subtract(prevCap);
-                } else {
-                    if (turnover.compareTo(prevCap) > 0) {
-                        base = turnover.subtract(prevCap);
-                    }
-                }
+            if (cap != null && turnover.compareTo(cap) > 0) {
+                base = cap.subtract(prevCap);
+            } else if (turnover.compareTo(prevCap) > 0) {
+                base = turnover.subtract(prevCap);
+            }
+            total = total.add(base.multiply(percentages[tier]).setScale(2, RoundingMode.HALF_UP));
+            if (cap != null) {
+                prevCap = cap;
             }
-            total = total.add(base.multiply(percentage).setScale(2, RoundingMode.HALF_UP));
-            prevCap = cap;
         }
         return total;
     }
 
     public static boolean isNumeric(final String str) {
         // match a number with optional '-' and decimal.
-        return str.matches("-?\\d+(\\.\\d+)?");
+        return NUMERIC.matcher(str).matches();
     }
 }
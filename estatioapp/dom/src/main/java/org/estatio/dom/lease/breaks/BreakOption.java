@@ -90,7 +90,15 @@ import lombok.Setter;
                         + "WHERE lease == :lease "
                         + "&& type == :type"
                         + "&& breakDate == :breakDate "
-                        + "&& exerciseType == :exerciseType ") })
+                        + "&& exerciseType == :exerciseType "),
+        @javax.jdo.annotations.Query(
+                name = "findByProperty", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.dom.lease.breaks.BreakOption "
+                        + "WHERE lease.occupancies.contains(occ) "
+                        + "&& (occ.unit.property == :property) "
+                        + "VARIABLES "
+                        + "org.estatio.dom.lease.Occupancy occ") })
 @DomainObject(editing = Editing.DISABLED)
 public abstract class BreakOption
         extends UdoDomainObject2<BreakOption>
@@ -216,10 +224,7 @@ public abstract class BreakOption
     }
 
     private void removeExistingEvents() {
-        // remove existing events
-        for (final Event event : findEvents()) {
-            eventRepository.remove(event);
-        }
+        eventRepository.removeAll(findEvents());
     }
 
     public BreakType default0Change() {
@@ -259,9 +264,7 @@ public abstract class BreakOption
 
     @Action(semantics = SemanticsOf.NON_IDEMPOTENT_ARE_YOU_SURE)
     public void remove(final String reason) {
-        for (Event event : findEvents()) {
-            eventRepository.remove(event);
-        }
+        removeExistingEvents();
 
         getContainer().remove(this);
         getContainer().flush();
@@ -36,6 +36,7 @@ import org.apache.isis.applib.annotation.ParameterLayout;
 import org.apache.isis.applib.annotation.SemanticsOf;
 
 import org.estatio.dom.UdoDomainService;
+import org.estatio.dom.asset.Property;
 import org.estatio.dom.lease.Lease;
 import org.estatio.dom.utils.JodaPeriodUtils;
 
@@ -102,6 +103,18 @@ public class BreakOptionContributions extends UdoDomainService<BreakOptionContri
 
     // //////////////////////////////////////
 
+    @Action(semantics = SemanticsOf.IDEMPOTENT)
+    @ActionLayout(contributed = Contributed.AS_ACTION)
+    public Property regenerateBreakOptionEvents(final Property property) {
+        breakOptionEventService.regenerateEvents(property);
+        return property;
+    }
+
+    // //////////////////////////////////////
+
     @Inject
     private BreakOptionRepository breakOptionRepository;
+
+    @Inject
+    private BreakOptionEventService breakOptionEventService;
 }
@@ -0,0 +1,87 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.breaks;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.apache.isis.applib.DomainObjectContainer;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.query.QueryDefault;
+
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.event.Event;
+
+/**
+ * Regenerates the calendar {@link Event}s of all {@link BreakOption}s of a {@link Property} in bulk.
+ *
+ * <p>
+ * Rather than looking up the events of each break option individually (one bookmark lookup and one query per
+ * option), all links are fetched with a single query, removed in one go and then recreated.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class BreakOptionEventService {
+
+    /**
+     * @return the number of break options whose events were regenerated.
+     */
+    @Programmatic
+    public int regenerateEvents(final Property property) {
+        // the query joins the occupancies of the lease, so remove the duplicates of leases with several occupancies
+        final Set<EventSourceLinkForBreakOption> links = Sets.newLinkedHashSet(container.allMatches(
+                new QueryDefault<>(EventSourceLinkForBreakOption.class,
+                        "findByProperty",
+                        "property", property)));
+        final List<Event> events = Lists.newArrayList();
+        for (EventSourceLinkForBreakOption link : links) {
+            events.add(link.getEvent());
+            container.remove(link);
+        }
+        container.flush();
+        for (Event event : events) {
+            container.remove(event);
+        }
+        container.flush();
+
+        final List<BreakOption> breakOptions = breakOptionRepository.findByProperty(property);
+        for (BreakOption breakOption : breakOptions) {
+            breakOption.createEvents();
+        }
+        container.flush();
+        return breakOptions.size();
+    }
+
+    //region > injected services
+
+    @Inject
+    private DomainObjectContainer container;
+
+    @Inject
+    private BreakOptionRepository breakOptionRepository;
+
+    //endregion
+
+}
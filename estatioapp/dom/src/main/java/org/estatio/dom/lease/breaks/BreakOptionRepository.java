@@ -22,6 +22,8 @@ package org.estatio.dom.lease.breaks;
 import java.util.List;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import org.joda.time.LocalDate;
 
@@ -32,6 +34,7 @@ import org.apache.isis.applib.annotation.Parameter;
 import org.apache.isis.applib.annotation.Programmatic;
 
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
+import org.estatio.dom.asset.Property;
 import org.estatio.dom.lease.Lease;
 import org.estatio.dom.utils.JodaPeriodUtils;
 
@@ -77,6 +80,15 @@ public class BreakOptionRepository extends UdoDomainRepositoryAndFactory<BreakOp
         return allMatches("findByLease", "lease", lease);
     }
 
+    /**
+     * The query joins the occupancies of the lease, so a lease occupying several units of the property would return
+     * its break options once per occupancy.
+     */
+    @Programmatic
+    public List<BreakOption> findByProperty(final Property property) {
+        return Lists.newArrayList(Sets.newLinkedHashSet(allMatches("findByProperty", "property", property)));
+    }
+
     @Programmatic
     public void copyBreakOptions(final Lease lease, final Lease newLease, final LocalDate startDate) {
         for (BreakOption option : findByLease(lease)) {
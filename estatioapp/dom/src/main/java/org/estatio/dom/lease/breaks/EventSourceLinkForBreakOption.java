@@ -34,6 +34,16 @@ import org.estatio.dom.event.EventSourceLink;
 @javax.jdo.annotations.PersistenceCapable()
 @javax.jdo.annotations.Inheritance(
         strategy = InheritanceStrategy.NEW_TABLE)
+@javax.jdo.annotations.Queries({
+        @javax.jdo.annotations.Query(
+                name = "findByProperty", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.dom.lease.breaks.EventSourceLinkForBreakOption "
+                        + "WHERE breakOption.lease.occupancies.contains(occ) "
+                        + "&& (occ.unit.property == :property) "
+                        + "VARIABLES "
+                        + "org.estatio.dom.lease.Occupancy occ")
+})
 @DomainObject(
         objectType = "lease.breaks.EventSourceLinkForBreakOption"
 )
@@ -0,0 +1,214 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.bulk;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.DomainServiceLayout;
+import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Optionality;
+import org.apache.isis.applib.annotation.Parameter;
+import org.apache.isis.applib.annotation.ParameterLayout;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.value.Clob;
+
+import org.estatio.dom.RegexValidation;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.tags.Brand;
+import org.estatio.dom.party.Party;
+import org.estatio.dom.utils.JodaPeriodUtils;
+
+/**
+ * Bulk renewal, assignment and termination of the leases of a property, of a brand and/or expiring in a date range;
+ * each returns a report of the leases changed and skipped.
+ */
+@DomainService(nature = NatureOfService.VIEW_MENU_ONLY)
+@DomainServiceLayout(
+        named = "Leases",
+        menuBar = DomainServiceLayout.MenuBar.PRIMARY,
+        menuOrder = "40.2"
+)
+public class LeaseBulkMenu {
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @MemberOrder(sequence = "1")
+    public List<Lease> findLeasesForBulkOperation(
+            final @Parameter(optionality = Optionality.OPTIONAL) Property property,
+            final @Parameter(optionality = Optionality.OPTIONAL) Brand brand,
+            final @Parameter(optionality = Optionality.OPTIONAL) LocalDate expiringFrom,
+            final @Parameter(optionality = Optionality.OPTIONAL) LocalDate expiringTo) {
+        return leaseBulkService.select(property, brand, expiringFrom, expiringTo);
+    }
+
+    public String validateFindLeasesForBulkOperation(
+            final Property property,
+            final Brand brand,
+            final LocalDate expiringFrom,
+            final LocalDate expiringTo) {
+        return validateSelection(property, brand, expiringFrom, expiringTo);
+    }
+
+    // //////////////////////////////////////
+
+    @Action(semantics = SemanticsOf.NON_IDEMPOTENT_ARE_YOU_SURE)
+    @MemberOrder(sequence = "2")
+    public Clob renewLeases(
+            final @Parameter(optionality = Optionality.OPTIONAL) Property property,
+            final @Parameter(optionality = Optionality.OPTIONAL) Brand brand,
+            final @Parameter(optionality = Optionality.OPTIONAL) LocalDate expiringFrom,
+            final @Parameter(optionality = Optionality.OPTIONAL) LocalDate expiringTo,
+            final @ParameterLayout(describedAs = "Duration in a text format. Example 6y5m2d") String duration,
+            final @ParameterLayout(describedAs = "Appended to the reference of each lease, eg -R") String referenceSuffix) {
+        final LeaseBulkReport report = leaseBulkService.renew(
+                leaseBulkService.select(property, brand, expiringFrom, expiringTo),
+                JodaPeriodUtils.asPeriod(duration),
+                referenceSuffix);
+        return asClob("renewed-leases", report);
+    }
+
+    public String validateRenewLeases(
+            final Property property,
+            final Brand brand,
+            final LocalDate expiringFrom,
+            final LocalDate expiringTo,
+            final String duration,
+            final String referenceSuffix) {
+        if (JodaPeriodUtils.asPeriod(duration) == null) {
+            return "This is not a valid duration.";
+        }
+        final String invalidSuffix = validateReferenceSuffix(referenceSuffix);
+        return invalidSuffix != null ? invalidSuffix : validateSelection(property, brand, expiringFrom, expiringTo);
+    }
+
+    // //////////////////////////////////////
+
+    @Action(semantics = SemanticsOf.NON_IDEMPOTENT_ARE_YOU_SURE)
+    @MemberOrder(sequence = "3")
+    public Clob assignLeases(
+            // CHECKSTYLE:OFF ParameterNumber
+            final @Parameter(optionality = Optionality.OPTIONAL) Property property,
+            final @Parameter(optionality = Optionality.OPTIONAL) Brand brand,
+            final @Parameter(optionality = Optionality.OPTIONAL) LocalDate expiringFrom,
+            final @Parameter(optionality = Optionality.OPTIONAL) LocalDate expiringTo,
+            final Party tenant,
+            final LocalDate tenancyStartDate,
+            final @ParameterLayout(describedAs = "Appended to the reference of each lease, eg -A") String referenceSuffix
+            // CHECKSTYLE:ON
+    ) {
+        final LeaseBulkReport report = leaseBulkService.assign(
+                leaseBulkService.select(property, brand, expiringFrom, expiringTo),
+                tenant,
+                tenancyStartDate,
+                referenceSuffix);
+        return asClob("assigned-leases", report);
+    }
+
+    public LocalDate default5AssignLeases() {
+        return clockService.now();
+    }
+
+    public String validateAssignLeases(
+            // CHECKSTYLE:OFF ParameterNumber
+            final Property property,
+            final Brand brand,
+            final LocalDate expiringFrom,
+            final LocalDate expiringTo,
+            final Party tenant,
+            final LocalDate tenancyStartDate,
+            final String referenceSuffix
+            // CHECKSTYLE:ON
+    ) {
+        final String invalidSuffix = validateReferenceSuffix(referenceSuffix);
+        return invalidSuffix != null ? invalidSuffix : validateSelection(property, brand, expiringFrom, expiringTo);
+    }
+
+    // //////////////////////////////////////
+
+    @Action(semantics = SemanticsOf.NON_IDEMPOTENT_ARE_YOU_SURE)
+    @MemberOrder(sequence = "4")
+    public Clob terminateLeases(
+            final @Parameter(optionality = Optionality.OPTIONAL) Property property,
+            final @Parameter(optionality = Optionality.OPTIONAL) Brand brand,
+            final @Parameter(optionality = Optionality.OPTIONAL) LocalDate expiringFrom,
+            final @Parameter(optionality = Optionality.OPTIONAL) LocalDate expiringTo,
+            final LocalDate terminationDate) {
+        final LeaseBulkReport report = leaseBulkService.terminate(
+                leaseBulkService.select(property, brand, expiringFrom, expiringTo),
+                terminationDate);
+        return asClob("terminated-leases", report);
+    }
+
+    public LocalDate default4TerminateLeases() {
+        return clockService.now();
+    }
+
+    public String validateTerminateLeases(
+            final Property property,
+            final Brand brand,
+            final LocalDate expiringFrom,
+            final LocalDate expiringTo,
+            final LocalDate terminationDate) {
+        return validateSelection(property, brand, expiringFrom, expiringTo);
+    }
+
+    // //////////////////////////////////////
+
+    static String validateSelection(
+            final Property property,
+            final Brand brand,
+            final LocalDate expiringFrom,
+            final LocalDate expiringTo) {
+        if ((expiringFrom == null) != (expiringTo == null)) {
+            return "Either both or neither of the expiry dates must be filled in.";
+        }
+        if (expiringFrom != null && expiringTo.isBefore(expiringFrom)) {
+            return "Expiring to can not be before expiring from.";
+        }
+        if (property == null && brand == null && expiringFrom == null) {
+            return "Select the leases by property, brand and/or expiry dates.";
+        }
+        return null;
+    }
+
+    static String validateReferenceSuffix(final String referenceSuffix) {
+        return referenceSuffix.matches(RegexValidation.REFERENCE) ? null : RegexValidation.REFERENCE_DESCRIPTION;
+    }
+
+    private static Clob asClob(final String name, final LeaseBulkReport report) {
+        return new Clob(name + ".csv", "text/csv", report.asCsv());
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    LeaseBulkService leaseBulkService;
+
+    @Inject
+    ClockService clockService;
+
+}
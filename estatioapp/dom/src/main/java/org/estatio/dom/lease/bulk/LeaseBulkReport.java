@@ -0,0 +1,136 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.bulk;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+
+import org.joda.time.LocalDate;
+
+import lombok.Getter;
+
+/**
+ * What a bulk operation of the {@link LeaseBulkService} did to each of the leases it was given: either the change
+ * made, or why the lease was skipped.
+ */
+public class LeaseBulkReport {
+
+    public enum Operation {
+        RENEW,
+        ASSIGN,
+        TERMINATE
+    }
+
+    public static class Line {
+
+        @Getter
+        private final String leaseReference;
+
+        /**
+         * The reference of the lease created by a renewal or assignment.
+         */
+        @Getter
+        private final String newLeaseReference;
+
+        @Getter
+        private final LocalDate date;
+
+        /**
+         * Why the lease was skipped; <tt>null</tt> if it was changed.
+         */
+        @Getter
+        private final String reason;
+
+        Line(final String leaseReference, final String newLeaseReference, final LocalDate date, final String reason) {
+            this.leaseReference = leaseReference;
+            this.newLeaseReference = newLeaseReference;
+            this.date = date;
+            this.reason = reason;
+        }
+
+        public boolean isSkipped() {
+            return reason != null;
+        }
+    }
+
+    @Getter
+    private final Operation operation;
+
+    private final List<Line> lines = Lists.newArrayList();
+
+    public LeaseBulkReport(final Operation operation) {
+        this.operation = operation;
+    }
+
+    public List<Line> getLines() {
+        return Collections.unmodifiableList(lines);
+    }
+
+    void changed(final String leaseReference, final String newLeaseReference, final LocalDate date) {
+        lines.add(new Line(leaseReference, newLeaseReference, date, null));
+    }
+
+    void skipped(final String leaseReference, final String reason) {
+        lines.add(new Line(leaseReference, null, null, reason));
+    }
+
+    public int getChanged() {
+        return lines.size() - getSkipped();
+    }
+
+    public int getSkipped() {
+        int skipped = 0;
+        for (Line line : lines) {
+            if (line.isSkipped()) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * One line per lease, with a header; the reasons are quoted.
+     */
+    public String asCsv() {
+        final StringBuilder buf = new StringBuilder("operation,lease,newLease,date,result\n");
+        for (Line line : lines) {
+            buf.append(Joiner.on(',').useForNull("").join(
+                    operation,
+                    line.getLeaseReference(),
+                    line.getNewLeaseReference(),
+                    line.getDate(),
+                    line.isSkipped() ? quoted("skipped: " + line.getReason()) : "changed"));
+            buf.append('\n');
+        }
+        return buf.toString();
+    }
+
+    private static String quoted(final String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d changed, %d skipped", operation, getChanged(), getSkipped());
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.bulk;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.joda.time.LocalDate;
+import org.joda.time.Period;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+import org.apache.isis.applib.services.xactn.TransactionService;
+
+import org.estatio.dom.RegexValidation;
+import org.estatio.dom.UdoDomainService;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.fetchprofile.FetchProfile;
+import org.estatio.dom.fetchprofile.FetchProfileService;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.lease.tags.Brand;
+import org.estatio.dom.party.Party;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+/**
+ * Renews, assigns or terminates a selection of leases in one go.
+ *
+ * <p>
+ *     The leases are processed in chunks, each in a transaction of its own: the aggregates to copy are loaded for the
+ *     whole chunk at once (see {@link FetchProfile#LEASE_COPY}), the new references are checked with a single query,
+ *     and a single {@link Lease.BulkTerminatedEvent} is posted for the leases terminated, rather than one
+ *     {@link Lease.TerminateEvent} per lease.  Leases that can't be changed are skipped, and listed as such in the
+ *     {@link LeaseBulkReport report}.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class LeaseBulkService extends UdoDomainService<LeaseBulkService> {
+
+    public static final int CHUNK_SIZE = 50;
+
+    private static final Pattern LEASE_REFERENCE = Pattern.compile(RegexValidation.Lease.REFERENCE);
+
+    private static final Comparator<Lease> BY_REFERENCE = new Comparator<Lease>() {
+        @Override
+        public int compare(final Lease o1, final Lease o2) {
+            return o1.getReference().compareTo(o2.getReference());
+        }
+    };
+
+    public LeaseBulkService() {
+        super(LeaseBulkService.class);
+    }
+
+    /**
+     * The (not terminated) leases matching all of the criteria given, in order of reference.
+     */
+    @Programmatic
+    public List<Lease> select(
+            final Property property,
+            final Brand brand,
+            final LocalDate expiringFrom,
+            final LocalDate expiringTo) {
+        Set<Lease> selected = null;
+        if (property != null) {
+            selected = intersect(selected, leaseRepository.findLeasesByProperty(property));
+        }
+        if (brand != null) {
+            selected = intersect(selected, leaseRepository.findByBrand(brand, false));
+        }
+        if (expiringFrom != null && expiringTo != null) {
+            selected = intersect(selected, leaseRepository.findExpireInDateRange(expiringFrom, expiringTo));
+        }
+        if (selected == null) {
+            return Lists.newArrayList();
+        }
+        final List<Lease> leases = Lists.newArrayList(selected);
+        Collections.sort(leases, BY_REFERENCE);
+        return leases;
+    }
+
+    private static Set<Lease> intersect(final Set<Lease> selected, final List<Lease> leases) {
+        if (selected == null) {
+            return Sets.newHashSet(leases);
+        }
+        return Sets.newHashSet(Sets.intersection(selected, Sets.newHashSet(leases)));
+    }
+
+    // //////////////////////////////////////
+
+    @Programmatic
+    public LeaseBulkReport terminate(final List<Lease> leases, final LocalDate terminationDate) {
+        final LeaseBulkReport report = new LeaseBulkReport(LeaseBulkReport.Operation.TERMINATE);
+        for (List<Lease> chunk : Lists.partition(leases, CHUNK_SIZE)) {
+            final List<Lease> terminated = Lists.newArrayList();
+            for (Lease lease : chunk) {
+                final String reason = reasonNotToTerminate(lease, terminationDate);
+                if (reason != null) {
+                    report.skipped(lease.getReference(), reason);
+                    continue;
+                }
+                lease.terminate(terminationDate);
+                terminated.add(lease);
+                report.changed(lease.getReference(), null, terminationDate);
+            }
+            endChunk(terminated, terminationDate);
+        }
+        return report;
+    }
+
+    /**
+     * @param duration - of the new leases, starting the day after the current ones end.
+     * @param referenceSuffix - appended to the reference of each lease, for the reference of its renewal.
+     */
+    @Programmatic
+    public LeaseBulkReport renew(final List<Lease> leases, final Period duration, final String referenceSuffix) {
+        final LeaseBulkReport report = new LeaseBulkReport(LeaseBulkReport.Operation.RENEW);
+        for (List<Lease> chunk : Lists.partition(leases, CHUNK_SIZE)) {
+            fetchProfileService.prefetch(FetchProfile.LEASE_COPY, Lease.class, chunk);
+            final Map<Lease, String> newReferences = newReferences(chunk, referenceSuffix, report);
+            for (Map.Entry<Lease, String> entry : newReferences.entrySet()) {
+                final Lease lease = entry.getKey();
+                final LocalDate startDate = lease.default2Renew();
+                if (startDate == null) {
+                    report.skipped(lease.getReference(), "Lease has no end date");
+                    continue;
+                }
+                final LocalDate endDate = startDate.plus(duration).minusDays(1);
+                final Lease renewal = lease.renew(entry.getValue(), lease.getName(), startDate, endDate);
+                report.changed(lease.getReference(), renewal.getReference(), startDate);
+            }
+            endChunk(Collections.<Lease>emptyList(), null);
+        }
+        return report;
+    }
+
+    /**
+     * The leases assigned are terminated the day before the tenancy of the new tenant starts.
+     *
+     * @param referenceSuffix - appended to the reference of each lease, for the reference of the new lease.
+     */
+    @Programmatic
+    public LeaseBulkReport assign(
+            final List<Lease> leases,
+            final Party tenant,
+            final LocalDate tenancyStartDate,
+            final String referenceSuffix) {
+        final LeaseBulkReport report = new LeaseBulkReport(LeaseBulkReport.Operation.ASSIGN);
+        final LocalDate terminationDate = new LocalDateInterval(tenancyStartDate, null).endDateFromStartDate();
+        for (List<Lease> chunk : Lists.partition(leases, CHUNK_SIZE)) {
+            fetchProfileService.prefetch(FetchProfile.LEASE_COPY, Lease.class, chunk);
+            final Map<Lease, String> newReferences = newReferences(chunk, referenceSuffix, report);
+            final List<Lease> terminated = Lists.newArrayList();
+            for (Map.Entry<Lease, String> entry : newReferences.entrySet()) {
+                final Lease lease = entry.getKey();
+                final String reason = reasonNotToTerminate(lease, terminationDate);
+                if (reason != null) {
+                    report.skipped(lease.getReference(), reason);
+                    continue;
+                }
+                final Lease assignment = lease.assign(entry.getValue(), lease.getName(), tenant, tenancyStartDate);
+                terminated.add(lease);
+                report.changed(lease.getReference(), assignment.getReference(), tenancyStartDate);
+            }
+            endChunk(terminated, terminationDate);
+        }
+        return report;
+    }
+
+    // //////////////////////////////////////
+
+    private static String reasonNotToTerminate(final Lease lease, final LocalDate terminationDate) {
+        final String disabled = lease.disableTerminate();
+        return disabled != null ? disabled : lease.validateTerminate(terminationDate);
+    }
+
+    /**
+     * The new reference for each of the leases of the chunk that can be copied; the others are reported as skipped.
+     */
+    private Map<Lease, String> newReferences(
+            final List<Lease> chunk,
+            final String referenceSuffix,
+            final LeaseBulkReport report) {
+        final Map<Lease, String> newReferences = Maps.newLinkedHashMap();
+        for (Lease lease : chunk) {
+            newReferences.put(lease, lease.getReference() + referenceSuffix);
+        }
+        final Set<String> existing = leaseRepository.findExistingReferences(newReferences.values());
+        final Map<Lease, String> copyable = Maps.newLinkedHashMap();
+        for (Map.Entry<Lease, String> entry : newReferences.entrySet()) {
+            final String reason = reasonNotToCopy(entry.getKey(), entry.getValue(), existing);
+            if (reason != null) {
+                report.skipped(entry.getKey().getReference(), reason);
+            } else {
+                copyable.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return copyable;
+    }
+
+    static String reasonNotToCopy(final Lease lease, final String newReference, final Set<String> existingReferences) {
+        if (lease.getNext() != null) {
+            return "Lease has already been renewed or assigned to " + lease.getNext().getReference();
+        }
+        if (!LEASE_REFERENCE.matcher(newReference).matches()) {
+            return "New reference " + newReference + " is not valid: " + RegexValidation.Lease.REFERENCE_DESCRIPTION;
+        }
+        if (existingReferences.contains(newReference)) {
+            return "Lease reference " + newReference + " already exists";
+        }
+        return null;
+    }
+
+    /**
+     * Notifies the subscribers of the leases terminated, then commits the chunk and clears the persistence manager
+     * so that the next chunk starts afresh.
+     */
+    private void endChunk(final List<Lease> terminated, final LocalDate terminationDate) {
+        if (!terminated.isEmpty()) {
+            eventBusService.post(new Lease.BulkTerminatedEvent(terminated, terminationDate));
+        }
+        transactionService.nextTransaction();
+        isisJdoSupport.getJdoPersistenceManager().evictAll();
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    LeaseRepository leaseRepository;
+
+    @Inject
+    FetchProfileService fetchProfileService;
+
+    @Inject
+    EventBusService eventBusService;
+
+    @Inject
+    TransactionService transactionService;
+
+    @Inject
+    IsisJdoSupport isisJdoSupport;
+
+}
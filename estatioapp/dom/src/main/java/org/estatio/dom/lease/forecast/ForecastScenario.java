@@ -0,0 +1,168 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import org.joda.time.LocalDate;
+
+import lombok.Getter;
+
+/**
+ * A what-if scenario: a stack of changes to apply, in order, to a {@link ForecastSnapshot}.  Immutable; each of the
+ * <tt>with...</tt> methods returns a new scenario with one more layer, so that scenarios can be built up from (and
+ * compared with) each other.
+ */
+public final class ForecastScenario {
+
+    /**
+     * The index stands the percentage higher than its latest value from the start date on.
+     */
+    public static final class IndexChange {
+
+        @Getter
+        private final String indexReference;
+
+        @Getter
+        private final LocalDate startDate;
+
+        @Getter
+        private final BigDecimal percentage;
+
+        IndexChange(final String indexReference, final LocalDate startDate, final BigDecimal percentage) {
+            this.indexReference = indexReference;
+            this.startDate = startDate;
+            this.percentage = percentage;
+        }
+    }
+
+    /**
+     * The premises of the lease are (re-)let at the annual rent from the start date on, replacing the rent of the
+     * lease from then on.
+     */
+    public static final class Relet {
+
+        @Getter
+        private final String leaseReference;
+
+        @Getter
+        private final LocalDate startDate;
+
+        @Getter
+        private final BigDecimal annualRent;
+
+        Relet(final String leaseReference, final LocalDate startDate, final BigDecimal annualRent) {
+            this.leaseReference = leaseReference;
+            this.startDate = startDate;
+            this.annualRent = annualRent;
+        }
+    }
+
+    /**
+     * The tax is charged at the percentage from the start date on.
+     */
+    public static final class TaxChange {
+
+        @Getter
+        private final String taxReference;
+
+        @Getter
+        private final LocalDate startDate;
+
+        @Getter
+        private final BigDecimal percentage;
+
+        TaxChange(final String taxReference, final LocalDate startDate, final BigDecimal percentage) {
+            this.taxReference = taxReference;
+            this.startDate = startDate;
+            this.percentage = percentage;
+        }
+    }
+
+    private static final ForecastScenario BASELINE = new ForecastScenario(
+            ImmutableList.<IndexChange>of(), ImmutableList.<Relet>of(), ImmutableList.<TaxChange>of());
+
+    @Getter
+    private final List<IndexChange> indexChanges;
+
+    @Getter
+    private final List<Relet> relets;
+
+    @Getter
+    private final List<TaxChange> taxChanges;
+
+    private ForecastScenario(
+            final List<IndexChange> indexChanges,
+            final List<Relet> relets,
+            final List<TaxChange> taxChanges) {
+        this.indexChanges = indexChanges;
+        this.relets = relets;
+        this.taxChanges = taxChanges;
+    }
+
+    /**
+     * No changes at all.
+     */
+    public static ForecastScenario baseline() {
+        return BASELINE;
+    }
+
+    public ForecastScenario withIndexChange(
+            final String indexReference,
+            final LocalDate startDate,
+            final BigDecimal percentage) {
+        return new ForecastScenario(
+                ImmutableList.<IndexChange>builder()
+                        .addAll(indexChanges)
+                        .add(new IndexChange(indexReference, startDate, percentage))
+                        .build(),
+                relets,
+                taxChanges);
+    }
+
+    public ForecastScenario withRelet(
+            final String leaseReference,
+            final LocalDate startDate,
+            final BigDecimal annualRent) {
+        return new ForecastScenario(
+                indexChanges,
+                ImmutableList.<Relet>builder()
+                        .addAll(relets)
+                        .add(new Relet(leaseReference, startDate, annualRent))
+                        .build(),
+                taxChanges);
+    }
+
+    public ForecastScenario withTaxChange(
+            final String taxReference,
+            final LocalDate startDate,
+            final BigDecimal percentage) {
+        return new ForecastScenario(
+                indexChanges,
+                relets,
+                ImmutableList.<TaxChange>builder()
+                        .addAll(taxChanges)
+                        .add(new TaxChange(taxReference, startDate, percentage))
+                        .build());
+    }
+
+}
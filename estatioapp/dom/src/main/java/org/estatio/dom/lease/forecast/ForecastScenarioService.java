@@ -0,0 +1,179 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+
+import org.estatio.dom.index.Index;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.lease.LeaseTerm;
+import org.estatio.dom.lease.LeaseTermForIndexable;
+import org.estatio.dom.lease.invoicing.InvoiceCalculationService.CalculationResult;
+import org.estatio.dom.tax.Tax;
+import org.estatio.dom.tax.TaxRate;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+/**
+ * Values what-if {@link ForecastScenario scenarios} (an index rising, premises re-let at a different rent, a change of
+ * tax rate) against a {@link ForecastSnapshot snapshot} of a set of leases.
+ *
+ * <p>
+ *     Taking the snapshot is the only part that reads from the database; a snapshot can be valued against any number
+ *     of scenarios, each in memory and in parallel, with the calculation of the
+ *     {@link InvoiceForecastService invoice forecast}.  Nothing is ever persisted.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class ForecastScenarioService {
+
+    private static final class Amounts {
+
+        static final Amounts ZERO = new Amounts(BigDecimal.ZERO, BigDecimal.ZERO);
+
+        private final BigDecimal net;
+        private final BigDecimal gross;
+
+        Amounts(final BigDecimal net, final BigDecimal gross) {
+            this.net = net;
+            this.gross = gross;
+        }
+
+        Amounts plus(final Amounts other) {
+            return new Amounts(net.add(other.net), gross.add(other.gross));
+        }
+    }
+
+    @Programmatic
+    public ForecastSnapshot snapshot(final List<Lease> leases) {
+        final List<LeaseTermSnapshot> terms = invoiceForecastService.snapshot(leases);
+        final Map<String, IndexSeries> indices = Maps.newHashMap();
+        final Map<String, NavigableMap<LocalDate, BigDecimal>> taxRates = Maps.newHashMap();
+        for (Lease lease : leases) {
+            for (LeaseItem item : lease.getItems()) {
+                final Tax tax = item.getEffectiveTax();
+                if (tax != null && !taxRates.containsKey(tax.getReference())) {
+                    taxRates.put(tax.getReference(), ratesOf(tax));
+                }
+                for (LeaseTerm term : item.getTerms()) {
+                    final Index index = term instanceof LeaseTermForIndexable ? ((LeaseTermForIndexable) term).getIndex() : null;
+                    if (index != null && !indices.containsKey(index.getReference())) {
+                        indices.put(index.getReference(), IndexSeries.of(index));
+                    }
+                }
+            }
+        }
+        return new ForecastSnapshot(terms, indices, taxRates);
+    }
+
+    private static NavigableMap<LocalDate, BigDecimal> ratesOf(final Tax tax) {
+        final NavigableMap<LocalDate, BigDecimal> rates = new TreeMap<>();
+        for (TaxRate rate : tax.getRates()) {
+            if (rate.getStartDate() != null && rate.getPercentage() != null) {
+                rates.put(rate.getStartDate(), rate.getPercentage());
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * What each lease would invoice over the given number of years, starting with the month of the start date, both
+     * without and with the changes of the scenario.
+     *
+     * @return in order of lease reference.
+     */
+    @Programmatic
+    public List<ScenarioValuation> value(
+            final ForecastSnapshot snapshot,
+            final ForecastScenario scenario,
+            final LocalDate startDate,
+            final int years) {
+        final List<LocalDateInterval> months = InvoiceForecastService.months(startDate, years);
+        final LocalDate endDate = startDate.withDayOfMonth(1).plusYears(years);
+        final ForecastSnapshot baselineSnapshot = snapshot.apply(ForecastScenario.baseline(), endDate);
+        final ForecastSnapshot scenarioSnapshot = snapshot.apply(scenario, endDate);
+        final Map<String, Amounts> baseline = amountsByLease(baselineSnapshot, months);
+        final Map<String, Amounts> changed = amountsByLease(scenarioSnapshot, months);
+
+        final Map<String, String> propertyReferences = Maps.newHashMap();
+        for (LeaseTermSnapshot term : snapshot.getTerms()) {
+            propertyReferences.put(term.getLeaseReference(), term.getPropertyReference());
+        }
+        final List<ScenarioValuation> valuations = Lists.newArrayList();
+        for (String leaseReference : Sets.union(baseline.keySet(), changed.keySet())) {
+            final Amounts before = baseline.getOrDefault(leaseReference, Amounts.ZERO);
+            final Amounts after = changed.getOrDefault(leaseReference, Amounts.ZERO);
+            valuations.add(new ScenarioValuation(
+                    propertyReferences.get(leaseReference),
+                    leaseReference,
+                    before.net,
+                    before.gross,
+                    after.net,
+                    after.gross));
+        }
+        valuations.sort(Comparator.comparing(ScenarioValuation::getLeaseReference));
+        return valuations;
+    }
+
+    private static Map<String, Amounts> amountsByLease(final ForecastSnapshot snapshot, final List<LocalDateInterval> months) {
+        return snapshot.getTerms().parallelStream()
+                .collect(Collectors.groupingByConcurrent(
+                        LeaseTermSnapshot::getLeaseReference,
+                        Collectors.reducing(Amounts.ZERO, term -> amountsOf(snapshot, term, months), Amounts::plus)));
+    }
+
+    private static Amounts amountsOf(
+            final ForecastSnapshot snapshot,
+            final LeaseTermSnapshot term,
+            final List<LocalDateInterval> months) {
+        Amounts amounts = Amounts.ZERO;
+        for (LocalDateInterval month : months) {
+            for (CalculationResult result : term.calculate(month)) {
+                final BigDecimal net = result.value();
+                final BigDecimal gross = snapshot.grossFromNet(term.getTaxReference(), result.invoicingInterval().dueDate(), net);
+                amounts = amounts.plus(new Amounts(net, gross));
+            }
+        }
+        return amounts;
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    InvoiceForecastService invoiceForecastService;
+
+}
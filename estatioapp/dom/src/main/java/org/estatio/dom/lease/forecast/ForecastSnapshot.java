@@ -0,0 +1,199 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.joda.time.LocalDate;
+
+import org.estatio.dom.lease.LeaseConstants;
+import org.estatio.dom.lease.LeaseItemType;
+
+import lombok.Getter;
+
+/**
+ * An immutable, in-memory copy of the terms of a set of leases, along with the index series and tax rates they
+ * depend on; the input of a what-if {@link ForecastScenario scenario}.
+ *
+ * <p>
+ *     {@link #apply(ForecastScenario, LocalDate) Applying} a scenario does not change the snapshot but returns a new
+ *     one, sharing whatever the scenario leaves alone.  The indexed terms are then realigned as a chain per lease item,
+ *     and the last term of each item is carried forward by creating the terms that would follow it, each indexed
+ *     against the (changed) index series.
+ * </p>
+ */
+public final class ForecastSnapshot {
+
+    private static final Comparator<LeaseTermSnapshot> BY_START_DATE =
+            Comparator.comparing(snapshot -> snapshot.getInterval().startDate());
+
+    @Getter
+    private final List<LeaseTermSnapshot> terms;
+
+    private final ImmutableMap<String, IndexSeries> indices;
+
+    private final ImmutableMap<String, ImmutableSortedMap<LocalDate, BigDecimal>> taxRates;
+
+    ForecastSnapshot(
+            final List<LeaseTermSnapshot> terms,
+            final Map<String, IndexSeries> indices,
+            final Map<String, ? extends NavigableMap<LocalDate, BigDecimal>> taxRates) {
+        this.terms = ImmutableList.copyOf(terms);
+        this.indices = ImmutableMap.copyOf(indices);
+        final ImmutableMap.Builder<String, ImmutableSortedMap<LocalDate, BigDecimal>> builder = ImmutableMap.builder();
+        for (Map.Entry<String, ? extends NavigableMap<LocalDate, BigDecimal>> entry : taxRates.entrySet()) {
+            builder.put(entry.getKey(), ImmutableSortedMap.copyOfSorted(entry.getValue()));
+        }
+        this.taxRates = builder.build();
+    }
+
+    /**
+     * The percentage of the rate of the tax on the date, if any.
+     */
+    public BigDecimal taxPercentageFor(final String taxReference, final LocalDate date) {
+        final ImmutableSortedMap<LocalDate, BigDecimal> rates = taxReference == null ? null : taxRates.get(taxReference);
+        if (rates == null) {
+            return null;
+        }
+        final Map.Entry<LocalDate, BigDecimal> rate = rates.floorEntry(date);
+        return rate == null ? null : rate.getValue();
+    }
+
+    /**
+     * As {@link org.estatio.dom.invoice.InvoiceItem} calculates its gross amount, at the rate on the due date.
+     */
+    public BigDecimal grossFromNet(final String taxReference, final LocalDate dueDate, final BigDecimal net) {
+        final BigDecimal percentage = taxPercentageFor(taxReference, dueDate);
+        if (percentage == null) {
+            return net;
+        }
+        return net.add(net.multiply(percentage.divide(LeaseConstants.PERCENTAGE_DIVISOR)).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    // //////////////////////////////////////
+
+    /**
+     * This snapshot with the changes of the scenario applied, in order, and the indexed terms realigned up to the end
+     * date.
+     */
+    public ForecastSnapshot apply(final ForecastScenario scenario, final LocalDate endDate) {
+        final Map<String, IndexSeries> newIndices = Maps.newHashMap(indices);
+        for (ForecastScenario.IndexChange change : scenario.getIndexChanges()) {
+            final IndexSeries series = newIndices.get(change.getIndexReference());
+            if (series != null) {
+                newIndices.put(change.getIndexReference(), series.raise(change.getStartDate(), endDate, change.getPercentage()));
+            }
+        }
+
+        final Map<String, NavigableMap<LocalDate, BigDecimal>> newTaxRates = Maps.newHashMap();
+        for (Map.Entry<String, ImmutableSortedMap<LocalDate, BigDecimal>> entry : taxRates.entrySet()) {
+            newTaxRates.put(entry.getKey(), entry.getValue());
+        }
+        for (ForecastScenario.TaxChange change : scenario.getTaxChanges()) {
+            final NavigableMap<LocalDate, BigDecimal> rates = new TreeMap<>();
+            if (newTaxRates.containsKey(change.getTaxReference())) {
+                rates.putAll(newTaxRates.get(change.getTaxReference()).headMap(change.getStartDate(), false));
+            }
+            rates.put(change.getStartDate(), change.getPercentage());
+            newTaxRates.put(change.getTaxReference(), rates);
+        }
+
+        List<LeaseTermSnapshot> newTerms = realign(terms, newIndices, endDate);
+        for (ForecastScenario.Relet relet : scenario.getRelets()) {
+            newTerms = relet(newTerms, relet);
+        }
+        return new ForecastSnapshot(newTerms, newIndices, newTaxRates);
+    }
+
+    private static List<LeaseTermSnapshot> realign(
+            final List<LeaseTermSnapshot> terms,
+            final Map<String, IndexSeries> indices,
+            final LocalDate endDate) {
+        final Map<String, List<LeaseTermSnapshot>> termsByItem = Maps.newLinkedHashMap();
+        for (LeaseTermSnapshot term : terms) {
+            termsByItem.computeIfAbsent(term.getItemKey(), key -> Lists.newArrayList()).add(term);
+        }
+        final List<LeaseTermSnapshot> realigned = Lists.newArrayList();
+        for (List<LeaseTermSnapshot> itemTerms : termsByItem.values()) {
+            itemTerms.sort(BY_START_DATE);
+            IndexationSnapshot previous = null;
+            for (LeaseTermSnapshot term : itemTerms) {
+                if (term.getIndexation() == null) {
+                    realigned.add(term);
+                    previous = null;
+                    continue;
+                }
+                final IndexSeries series = indices.get(term.getIndexation().getIndexReference());
+                IndexationSnapshot indexation = term.getIndexation().realign(previous, series);
+                addIfEffective(realigned, term.withIndexation(indexation.getInterval(), indexation));
+                if (term != itemTerms.get(itemTerms.size() - 1) || term.getInterval().equals(indexation.getInterval())) {
+                    previous = indexation;
+                    continue;
+                }
+                // the last term, extended to the end of the item: create the terms that would follow it instead
+                final LocalDate itemEndDate = term.getInterval().endDateExcluding();
+                final LocalDate untilDate = itemEndDate == null || itemEndDate.isAfter(endDate) ? endDate : itemEndDate;
+                while (indexation.nextStartDate() != null && indexation.nextStartDate().isBefore(untilDate)) {
+                    final IndexationSnapshot next = indexation.next().realign(indexation, series);
+                    addIfEffective(realigned, term.withIndexation(next.getInterval(), next));
+                    indexation = next;
+                }
+            }
+        }
+        return realigned;
+    }
+
+    private static List<LeaseTermSnapshot> relet(final List<LeaseTermSnapshot> terms, final ForecastScenario.Relet relet) {
+        final List<LeaseTermSnapshot> newTerms = Lists.newArrayList();
+        LeaseTermSnapshot rent = null;
+        for (LeaseTermSnapshot term : terms) {
+            if (!term.getLeaseReference().equals(relet.getLeaseReference()) || term.getItemType() != LeaseItemType.RENT) {
+                newTerms.add(term);
+                continue;
+            }
+            if (rent == null || term.getInterval().startDate().isAfter(rent.getInterval().startDate())) {
+                rent = term;
+            }
+            addIfEffective(newTerms, term.endingBefore(relet.getStartDate()));
+        }
+        if (rent != null) {
+            newTerms.add(rent.relet(relet.getStartDate(), relet.getAnnualRent()));
+        }
+        return newTerms;
+    }
+
+    private static void addIfEffective(final List<LeaseTermSnapshot> terms, final LeaseTermSnapshot term) {
+        if (term != null) {
+            terms.add(term);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import org.joda.time.LocalDate;
+
+import org.estatio.dom.JdoColumnScale;
+import org.estatio.dom.index.Index;
+import org.estatio.dom.index.IndexBase;
+import org.estatio.dom.index.IndexValue;
+import org.estatio.dom.lease.indexation.IndexationCalculationMethod;
+
+import lombok.Getter;
+
+/**
+ * An immutable copy of the values and bases of an {@link Index}, answering the same questions as
+ * {@link Index#getIndexValueForDate(LocalDate)} and {@link Index#getRebaseFactorForDates(LocalDate, LocalDate)}.
+ */
+public final class IndexSeries {
+
+    @Getter
+    private final String reference;
+
+    private final ImmutableSortedMap<LocalDate, BigDecimal> values;
+
+    /**
+     * The factor of each base by its start date; the factor of the first base is ignored.
+     */
+    private final ImmutableSortedMap<LocalDate, BigDecimal> bases;
+
+    IndexSeries(
+            final String reference,
+            final NavigableMap<LocalDate, BigDecimal> values,
+            final NavigableMap<LocalDate, BigDecimal> bases) {
+        this.reference = reference;
+        this.values = ImmutableSortedMap.copyOfSorted(values);
+        this.bases = ImmutableSortedMap.copyOfSorted(bases);
+    }
+
+    public static IndexSeries of(final Index index) {
+        final NavigableMap<LocalDate, BigDecimal> values = new TreeMap<>();
+        final NavigableMap<LocalDate, BigDecimal> bases = new TreeMap<>();
+        for (IndexBase indexBase : index.getIndexBases()) {
+            bases.put(indexBase.getStartDate(), indexBase.getFactor() == null ? BigDecimal.ONE : indexBase.getFactor());
+            for (IndexValue indexValue : indexBase.getValues()) {
+                values.put(indexValue.getStartDate(), indexValue.getValue());
+            }
+        }
+        return new IndexSeries(index.getReference(), values, bases);
+    }
+
+    public BigDecimal valueForDate(final LocalDate date) {
+        return date == null ? null : values.get(date);
+    }
+
+    /**
+     * The factor to convert a value of the base active on the base date to the base of the value on the next date, as
+     * {@link IndexBase#factorForDate(LocalDate)}; <tt>null</tt> if there is no value on the next date.
+     */
+    public BigDecimal rebaseFactorForDates(final LocalDate baseIndexStartDate, final LocalDate nextIndexStartDate) {
+        if (baseIndexStartDate == null || valueForDate(nextIndexStartDate) == null) {
+            return null;
+        }
+        BigDecimal factor = BigDecimal.ONE;
+        for (Map.Entry<LocalDate, BigDecimal> base : bases.headMap(nextIndexStartDate, true).descendingMap().entrySet()) {
+            if (!baseIndexStartDate.isBefore(base.getKey())) {
+                break;
+            }
+            factor = factor.multiply(base.getValue());
+        }
+        return factor;
+    }
+
+    /**
+     * This series with the index standing the percentage higher than its latest value, for each month from the start
+     * date up to (but excluding) the end date; months without a value yet take the latest value known before them.
+     */
+    IndexSeries raise(final LocalDate startDate, final LocalDate endDate, final BigDecimal percentage) {
+        final NavigableMap<LocalDate, BigDecimal> raised = new TreeMap<>(values);
+        final BigDecimal factor = BigDecimal.ONE.add(percentage.divide(IndexationCalculationMethod.ONE_HUNDRED));
+        for (LocalDate month = startDate.withDayOfMonth(1); month.isBefore(endDate); month = month.plusMonths(1)) {
+            final Map.Entry<LocalDate, BigDecimal> latest = values.floorEntry(month);
+            if (latest != null) {
+                raised.put(month, latest.getValue().multiply(factor).setScale(JdoColumnScale.IndexValue.INDEX_VALUE, RoundingMode.HALF_EVEN));
+            }
+        }
+        return new IndexSeries(reference, raised, bases);
+    }
+
+}
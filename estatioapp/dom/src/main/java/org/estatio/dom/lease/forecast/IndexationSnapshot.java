@@ -0,0 +1,259 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+
+import org.joda.time.LocalDate;
+
+import org.estatio.dom.index.Index;
+import org.estatio.dom.lease.LeaseTermForIndexable;
+import org.estatio.dom.lease.LeaseTermFrequency;
+import org.estatio.dom.lease.LeaseTermStatus;
+import org.estatio.dom.lease.indexation.Indexable;
+import org.estatio.dom.lease.indexation.IndexationCalculationMethod;
+import org.estatio.dom.lease.indexation.IndexationMethod;
+import org.estatio.dom.lease.indexation.IndexationResult;
+import org.estatio.dom.utils.MathUtils;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * An immutable copy of the indexation of a {@link LeaseTermForIndexable}, which can be recalculated against an
+ * {@link IndexSeries} with the same {@link IndexationMethod} and {@link IndexationCalculationMethod} as the term
+ * itself, but without touching it.
+ */
+public final class IndexationSnapshot {
+
+    /**
+     * A transient {@link Indexable} for the indexation methods to work on; never handed out, so that the snapshot
+     * stays immutable.
+     */
+    private static class Values implements Indexable {
+
+        @Getter @Setter
+        private LocalDate baseIndexStartDate;
+        @Getter @Setter
+        private BigDecimal baseIndexValue;
+        @Getter @Setter
+        private BigDecimal baseValue;
+        @Getter @Setter
+        private BigDecimal indexationPercentage;
+        @Getter @Setter
+        private BigDecimal levellingPercentage;
+        @Getter @Setter
+        private LocalDate nextIndexStartDate;
+        @Getter @Setter
+        private BigDecimal nextIndexValue;
+        @Getter @Setter
+        private BigDecimal rebaseFactor;
+        @Getter @Setter
+        private BigDecimal indexedValue;
+        @Getter @Setter
+        private LeaseTermFrequency frequency;
+        @Getter @Setter
+        private LocalDate effectiveDate;
+        @Getter @Setter
+        private BigDecimal effectiveIndexedValue;
+        @Getter @Setter
+        private BigDecimal settledValue;
+        @Getter @Setter
+        private IndexationMethod indexationMethod;
+
+        @Override
+        public Index getIndex() {
+            return null;
+        }
+
+        @Override
+        public void setIndex(final Index index) {
+        }
+
+        @Override
+        public IndexationCalculationMethod getIndexationCalculation() {
+            return indexationMethod == null ? null : indexationMethod.indexationCalculation();
+        }
+
+        Values copy() {
+            final Values copy = new Values();
+            copy.baseIndexStartDate = baseIndexStartDate;
+            copy.baseIndexValue = baseIndexValue;
+            copy.baseValue = baseValue;
+            copy.indexationPercentage = indexationPercentage;
+            copy.levellingPercentage = levellingPercentage;
+            copy.nextIndexStartDate = nextIndexStartDate;
+            copy.nextIndexValue = nextIndexValue;
+            copy.rebaseFactor = rebaseFactor;
+            copy.indexedValue = indexedValue;
+            copy.frequency = frequency;
+            copy.effectiveDate = effectiveDate;
+            copy.effectiveIndexedValue = effectiveIndexedValue;
+            copy.settledValue = settledValue;
+            copy.indexationMethod = indexationMethod;
+            return copy;
+        }
+    }
+
+    @Getter
+    private final String indexReference;
+
+    /**
+     * The interval of the term itself, rather than as extended by the {@link LeaseTermSnapshot}.
+     */
+    @Getter
+    private final LocalDateInterval interval;
+
+    private final boolean updatable;
+
+    /**
+     * Whether the term is (still) indexed when aligned; only so for new terms.
+     */
+    private final boolean indexed;
+
+    private final Values values;
+
+    private IndexationSnapshot(
+            final String indexReference,
+            final LocalDateInterval interval,
+            final boolean updatable,
+            final boolean indexed,
+            final Values values) {
+        this.indexReference = indexReference;
+        this.interval = interval;
+        this.updatable = updatable;
+        this.indexed = indexed;
+        this.values = values;
+    }
+
+    public static IndexationSnapshot of(final LeaseTermForIndexable term) {
+        final Values values = new Values();
+        values.setBaseIndexStartDate(term.getBaseIndexStartDate());
+        values.setBaseIndexValue(term.getBaseIndexValue());
+        values.setBaseValue(term.getBaseValue());
+        values.setIndexationPercentage(term.getIndexationPercentage());
+        values.setLevellingPercentage(term.getLevellingPercentage());
+        values.setNextIndexStartDate(term.getNextIndexStartDate());
+        values.setNextIndexValue(term.getNextIndexValue());
+        values.setRebaseFactor(term.getRebaseFactor());
+        values.setIndexedValue(term.getIndexedValue());
+        values.setFrequency(term.getFrequency());
+        values.setEffectiveDate(term.getEffectiveDate());
+        values.setEffectiveIndexedValue(term.getEffectiveIndexedValue());
+        values.setSettledValue(term.getSettledValue());
+        values.setIndexationMethod(term.getIndexationMethod());
+        return new IndexationSnapshot(
+                term.getIndex() == null ? null : term.getIndex().getReference(),
+                term.getInterval(),
+                term.getStatus().isUpdatable(),
+                term.getStatus() == LeaseTermStatus.NEW,
+                values);
+    }
+
+    /**
+     * As {@link LeaseTermForIndexable#valueForDate(LocalDate)}.
+     */
+    public BigDecimal valueForDate(final LocalDate date) {
+        if (values.getEffectiveDate() == null || date.compareTo(values.getEffectiveDate()) >= 0) {
+            return MathUtils.firstNonZero(
+                    values.getSettledValue(),
+                    values.getEffectiveIndexedValue(),
+                    values.getIndexedValue(),
+                    values.getBaseValue());
+        }
+        return MathUtils.firstNonZero(values.getBaseValue(), values.getSettledValue());
+    }
+
+    public LocalDate getEffectiveDate() {
+        return values.getEffectiveDate();
+    }
+
+    /**
+     * The date the next term would start, as {@link org.estatio.dom.lease.LeaseTerm#verifyUntil(LocalDate)} would
+     * create it.
+     */
+    public LocalDate nextStartDate() {
+        final LocalDate endDateExcluding = interval.endDateExcluding();
+        if (endDateExcluding != null) {
+            return endDateExcluding;
+        }
+        return values.getFrequency() == null ? null : values.getFrequency().nextDate(interval.startDate());
+    }
+
+    /**
+     * Realigns the term after its previous term (already realigned), as {@link LeaseTermForIndexable} does, taking
+     * the index values from the series rather than from the database.
+     */
+    IndexationSnapshot realign(final IndexationSnapshot previous, final IndexSeries series) {
+        if (!updatable) {
+            return this;
+        }
+        final Values term = values.copy();
+        final Values previousValues = previous == null ? null : previous.values;
+        final IndexationMethod method = term.getIndexationMethod();
+        if (method == null) {
+            return this;
+        }
+        method.doAlignBeforeIndexation(term, previousValues);
+        if (indexed) {
+            indexate(term, series);
+        }
+        method.doAlignAfterIndexation(term, previousValues);
+        return new IndexationSnapshot(indexReference, interval, updatable, indexed, term);
+    }
+
+    /**
+     * As {@link org.estatio.dom.lease.indexation.IndexationService#indexate(Indexable)}.
+     */
+    private static void indexate(final Values term, final IndexSeries series) {
+        if (series == null ||
+                term.getBaseIndexStartDate() == null ||
+                term.getNextIndexStartDate() == null ||
+                term.getBaseIndexStartDate().compareTo(term.getNextIndexStartDate()) > 0) {
+            IndexationResult.NULL.apply(term);
+            return;
+        }
+        term.setBaseIndexValue(series.valueForDate(term.getBaseIndexStartDate()));
+        term.setNextIndexValue(series.valueForDate(term.getNextIndexStartDate()));
+        term.setRebaseFactor(series.rebaseFactorForDates(term.getBaseIndexStartDate(), term.getNextIndexStartDate()));
+        final IndexationResult result = IndexationCalculationMethod.calculate(term);
+        result.apply(term);
+    }
+
+    /**
+     * The term that would follow this one, initialised as {@link LeaseTermForIndexable#doInitialize()} does; still to
+     * be {@link #realign(IndexationSnapshot, IndexSeries) realigned}.
+     */
+    IndexationSnapshot next() {
+        final LocalDate nextStartDate = nextStartDate();
+        final LocalDateInterval nextInterval = LocalDateInterval.excluding(
+                nextStartDate,
+                values.getFrequency() == null ? null : values.getFrequency().nextDate(nextStartDate));
+        final Values term = new Values();
+        term.setFrequency(values.getFrequency());
+        term.setIndexationMethod(values.getIndexationMethod());
+        term.setLevellingPercentage(values.getLevellingPercentage());
+        if (term.getIndexationMethod() != null) {
+            term.getIndexationMethod().doInitialize(term, values);
+        }
+        return new IndexationSnapshot(indexReference, nextInterval, true, true, term);
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+
+import org.joda.time.LocalDate;
+
+import org.estatio.dom.lease.LeaseItemType;
+
+import lombok.Getter;
+
+/**
+ * The amount that an invoice run would invoice for one invoicing interval of a lease term; not persisted.
+ */
+public class InvoiceForecastLine {
+
+    @Getter
+    private final String propertyReference;
+
+    @Getter
+    private final String leaseReference;
+
+    @Getter
+    private final LeaseItemType itemType;
+
+    @Getter
+    private final String chargeReference;
+
+    @Getter
+    private final LocalDate dueDate;
+
+    @Getter
+    private final LocalDate startDate;
+
+    @Getter
+    private final LocalDate endDate;
+
+    @Getter
+    private final LocalDate effectiveStartDate;
+
+    @Getter
+    private final LocalDate effectiveEndDate;
+
+    @Getter
+    private final BigDecimal value;
+
+    public InvoiceForecastLine(
+            final String propertyReference,
+            final String leaseReference,
+            final LeaseItemType itemType,
+            final String chargeReference,
+            final LocalDate dueDate,
+            final LocalDate startDate,
+            final LocalDate endDate,
+            final LocalDate effectiveStartDate,
+            final LocalDate effectiveEndDate,
+            final BigDecimal value) {
+        this.propertyReference = propertyReference;
+        this.leaseReference = leaseReference;
+        this.itemType = itemType;
+        this.chargeReference = chargeReference;
+        this.dueDate = dueDate;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.effectiveStartDate = effectiveStartDate;
+        this.effectiveEndDate = effectiveEndDate;
+        this.value = value;
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+
+import org.estatio.dom.appsettings.EstatioSettingsService;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.lease.LeaseItemStatus;
+import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.lease.LeaseStatus;
+import org.estatio.dom.lease.LeaseTerm;
+import org.estatio.dom.lease.invoicing.InvoiceCalculationService.CalculationResult;
+import org.estatio.dom.valuetypes.AbstractInterval.IntervalEnding;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+/**
+ * Projects what the monthly invoice runs would invoice in the future, without creating invoices, invoice items or
+ * lease terms.
+ *
+ * <p>
+ *     The leases are read a page of {@link #PAGE_SIZE} at a time, as the lines are iterated over.  Each page is
+ *     copied into {@link LeaseTermSnapshot}s, which is the only part that reads from the database, and its leases,
+ *     items and terms are then evicted from the persistence manager, so that neither the objects nor the lines of
+ *     more than one page are held at once.  The projection itself uses the same calculation as
+ *     {@link org.estatio.dom.lease.invoicing.InvoiceCalculationService} and runs in parallel on the snapshots of the
+ *     page.  Unlike an invoice run, the forecast ignores what has already been invoiced: it shows the full amount
+ *     due for each invoicing interval.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class InvoiceForecastService {
+
+    /**
+     * The longest forecast; each year is twelve calculations of every term.
+     */
+    public static final int MAX_YEARS = 25;
+
+    /**
+     * The number of leases read, snapshotted and calculated at a time.
+     */
+    public static final int PAGE_SIZE = 100;
+
+    private static final Comparator<InvoiceForecastLine> LINE_ORDER =
+            Comparator.comparing(InvoiceForecastLine::getLeaseReference)
+                    .thenComparing(InvoiceForecastLine::getDueDate)
+                    .thenComparing(InvoiceForecastLine::getItemType)
+                    .thenComparing(InvoiceForecastLine::getStartDate);
+
+    /**
+     * @return the lines of the leases of the property, ordered by lease and due date.
+     */
+    @Programmatic
+    public Iterator<InvoiceForecastLine> forecast(final Property property, final LocalDate startDate, final int years) {
+        final List<Lease> leases = Lists.newArrayList(leaseRepository.findLeasesByProperty(property));
+        leases.sort(Comparator.comparing(Lease::getReference));
+        return forecastPages(Iterators.partition(leases.iterator(), PAGE_SIZE), startDate, years);
+    }
+
+    /**
+     * @return the lines of all leases, ordered by lease and due date.
+     */
+    @Programmatic
+    public Iterator<InvoiceForecastLine> forecast(final LocalDate startDate, final int years) {
+        return forecastPages(new AbstractIterator<List<Lease>>() {
+            private int first;
+            private boolean lastPage;
+
+            @Override
+            protected List<Lease> computeNext() {
+                if (lastPage) {
+                    return endOfData();
+                }
+                final List<Lease> page = leaseRepository.allLeases(first, PAGE_SIZE);
+                first += PAGE_SIZE;
+                lastPage = page.size() < PAGE_SIZE;
+                return page.isEmpty() ? endOfData() : page;
+            }
+        }, startDate, years);
+    }
+
+    /**
+     * @param pages - of leases in order of reference.
+     */
+    private Iterator<InvoiceForecastLine> forecastPages(final Iterator<List<Lease>> pages, final LocalDate startDate, final int years) {
+        final List<LocalDateInterval> months = months(startDate, years);
+        final LocalDate systemEpochDate = estatioSettingsService.fetchEpochDate();
+        return Iterators.concat(Iterators.transform(pages, page -> {
+            final List<Object> loaded = Lists.newArrayList();
+            final List<LeaseTermSnapshot> snapshots = snapshot(page, systemEpochDate, loaded);
+            // only the objects of this page, not whatever else the interaction holds
+            isisJdoSupport.getJdoPersistenceManager().evictAll(loaded);
+            return linesOf(snapshots, months).iterator();
+        }));
+    }
+
+    /**
+     * Copies the terms of all leases and lease items that are not suspended.
+     */
+    @Programmatic
+    public List<LeaseTermSnapshot> snapshot(final List<Lease> leases) {
+        return snapshot(leases, estatioSettingsService.fetchEpochDate(), Lists.newArrayList());
+    }
+
+    /**
+     * @param loaded - to which the leases, lease items and lease terms that were read are added.
+     */
+    private static List<LeaseTermSnapshot> snapshot(
+            final List<Lease> leases,
+            final LocalDate systemEpochDate,
+            final List<Object> loaded) {
+        final List<LeaseTermSnapshot> snapshots = Lists.newArrayList();
+        for (Lease lease : leases) {
+            loaded.add(lease);
+            if (lease.getStatus() == LeaseStatus.SUSPENDED) {
+                continue;
+            }
+            for (LeaseItem leaseItem : lease.getItems()) {
+                loaded.add(leaseItem);
+                if (leaseItem.getStatus() == LeaseItemStatus.SUSPENDED) {
+                    continue;
+                }
+                for (LeaseTerm leaseTerm : leaseItem.getTerms()) {
+                    loaded.add(leaseTerm);
+                    final LeaseTermSnapshot snapshot = LeaseTermSnapshot.of(leaseTerm, systemEpochDate);
+                    if (snapshot != null) {
+                        snapshots.add(snapshot);
+                    }
+                }
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Runs one calculation per month, starting with the month of the start date, for the given number of years.
+     *
+     * @return the non-zero lines, ordered by lease and due date.
+     */
+    @Programmatic
+    public List<InvoiceForecastLine> forecast(final List<LeaseTermSnapshot> snapshots, final LocalDate startDate, final int years) {
+        return linesOf(snapshots, months(startDate, years));
+    }
+
+    private static List<InvoiceForecastLine> linesOf(final List<LeaseTermSnapshot> snapshots, final List<LocalDateInterval> months) {
+        return snapshots.parallelStream()
+                .flatMap(snapshot -> months.stream().flatMap(month -> linesFor(snapshot, month).stream()))
+                .sorted(LINE_ORDER)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The months of the given number of years, starting with the month of the start date.
+     *
+     * @throws IllegalArgumentException if the number of years is not between 1 and {@link #MAX_YEARS}.
+     */
+    static List<LocalDateInterval> months(final LocalDate startDate, final int years) {
+        if (years < 1 || years > MAX_YEARS) {
+            throw new IllegalArgumentException(String.format("Years must be between 1 and %d, was %d", MAX_YEARS, years));
+        }
+        final List<LocalDateInterval> months = Lists.newArrayList();
+        final LocalDate firstMonth = startDate.withDayOfMonth(1);
+        for (int i = 0; i < years * 12; i++) {
+            months.add(new LocalDateInterval(firstMonth.plusMonths(i), firstMonth.plusMonths(i + 1), IntervalEnding.EXCLUDING_END_DATE));
+        }
+        return months;
+    }
+
+    private static List<InvoiceForecastLine> linesFor(final LeaseTermSnapshot snapshot, final LocalDateInterval month) {
+        final List<InvoiceForecastLine> lines = Lists.newArrayList();
+        for (CalculationResult result : snapshot.calculate(month)) {
+            if (result.value().compareTo(BigDecimal.ZERO) == 0) {
+                continue;
+            }
+            lines.add(new InvoiceForecastLine(
+                    snapshot.getPropertyReference(),
+                    snapshot.getLeaseReference(),
+                    snapshot.getItemType(),
+                    snapshot.getChargeReference(),
+                    result.invoicingInterval().dueDate(),
+                    result.invoicingInterval().startDate(),
+                    result.invoicingInterval().endDate(),
+                    result.effectiveInterval().startDate(),
+                    result.effectiveInterval().endDate(),
+                    result.value()));
+        }
+        return lines;
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    EstatioSettingsService estatioSettingsService;
+
+    @Inject
+    LeaseRepository leaseRepository;
+
+    @Inject
+    IsisJdoSupport isisJdoSupport;
+
+}
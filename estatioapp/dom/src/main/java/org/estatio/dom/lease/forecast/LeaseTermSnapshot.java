@@ -0,0 +1,290 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.joda.time.LocalDate;
+
+import org.estatio.dom.invoice.InvoicingInterval;
+import org.estatio.dom.lease.InvoicingFrequency;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.lease.LeaseItemType;
+import org.estatio.dom.lease.LeaseTerm;
+import org.estatio.dom.lease.LeaseTermForIndexable;
+import org.estatio.dom.lease.LeaseTermValueType;
+import org.estatio.dom.lease.invoicing.InvoiceCalculationService;
+import org.estatio.dom.lease.invoicing.InvoiceCalculationService.CalculationResult;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+import lombok.Getter;
+
+/**
+ * An immutable copy of everything needed to calculate a {@link LeaseTerm}, taken so that the calculation can run
+ * without the persistence layer.
+ *
+ * <p>
+ *     Only {@link #of(LeaseTerm, LocalDate) taking the snapshot} reads the term (and its item, lease, charge, tax and
+ *     index), so it must run on the thread of the interaction that loaded the term.  Everything else only reads the
+ *     final fields of the snapshot, none of which is modified after construction, so {@link #calculate(LocalDateInterval)}
+ *     and the copying methods may then run on any thread.
+ * </p>
+ *
+ * <p>
+ *     The value of the term is captured as a step function, sampled at the dates on which
+ *     {@link LeaseTerm#valueForDate(LocalDate)} can change: the start of the term, the effective date of an indexed
+ *     term and the end of the term.
+ * </p>
+ *
+ * <p>
+ *     The last term of an item whose type automatically creates terms is extended to the end of the item, carrying
+ *     its value forward; this is what {@link org.estatio.dom.lease.Lease#verifyUntil(LocalDate)} would do, except
+ *     that no indexation is applied because future index values are not known.  A {@link ForecastSnapshot} can
+ *     do better for indexed terms, by realigning them from their {@link IndexationSnapshot indexation}.
+ * </p>
+ */
+public final class LeaseTermSnapshot {
+
+    @Getter
+    private final String propertyReference;
+
+    @Getter
+    private final String leaseReference;
+
+    @Getter
+    private final LeaseItemType itemType;
+
+    @Getter
+    private final String chargeReference;
+
+    @Getter
+    private final InvoicingFrequency invoicingFrequency;
+
+    @Getter
+    private final LocalDate epochDate;
+
+    @Getter
+    private final LocalDateInterval interval;
+
+    @Getter
+    private final LocalDateInterval effectiveInterval;
+
+    @Getter
+    private final LeaseTermValueType valueType;
+
+    private final NavigableMap<LocalDate, BigDecimal> values;
+
+    /**
+     * Identifies the lease item of the term, so that the terms of an item can be realigned as a chain.
+     */
+    @Getter
+    private final String itemKey;
+
+    @Getter
+    private final String taxReference;
+
+    /**
+     * For an indexed term only, to realign it in a {@link ForecastScenario scenario}.
+     */
+    @Getter
+    private final IndexationSnapshot indexation;
+
+    LeaseTermSnapshot(
+            final String propertyReference,
+            final String leaseReference,
+            final LeaseItemType itemType,
+            final String chargeReference,
+            final InvoicingFrequency invoicingFrequency,
+            final LocalDate epochDate,
+            final LocalDateInterval interval,
+            final LocalDateInterval effectiveInterval,
+            final LeaseTermValueType valueType,
+            final NavigableMap<LocalDate, BigDecimal> values) {
+        this(propertyReference, leaseReference, itemType, chargeReference, invoicingFrequency, epochDate, interval,
+                effectiveInterval, valueType, values, leaseReference + "/" + itemType, null, null);
+    }
+
+    LeaseTermSnapshot(
+            final String propertyReference,
+            final String leaseReference,
+            final LeaseItemType itemType,
+            final String chargeReference,
+            final InvoicingFrequency invoicingFrequency,
+            final LocalDate epochDate,
+            final LocalDateInterval interval,
+            final LocalDateInterval effectiveInterval,
+            final LeaseTermValueType valueType,
+            final NavigableMap<LocalDate, BigDecimal> values,
+            final String itemKey,
+            final String taxReference,
+            final IndexationSnapshot indexation) {
+        this.propertyReference = propertyReference;
+        this.leaseReference = leaseReference;
+        this.itemType = itemType;
+        this.chargeReference = chargeReference;
+        this.invoicingFrequency = invoicingFrequency;
+        this.epochDate = epochDate;
+        this.interval = interval;
+        this.effectiveInterval = effectiveInterval;
+        this.valueType = valueType;
+        this.values = values;
+        this.itemKey = itemKey;
+        this.taxReference = taxReference;
+        this.indexation = indexation;
+    }
+
+    /**
+     * @param systemEpochDate - used if the lease item has no epoch date of its own.
+     * @return the snapshot, or <tt>null</tt> if the term is not effective at all.
+     */
+    public static LeaseTermSnapshot of(final LeaseTerm term, final LocalDate systemEpochDate) {
+        final LeaseItem item = term.getLeaseItem();
+        final LocalDateInterval itemEffectiveInterval = item.getEffectiveInterval();
+        if (itemEffectiveInterval == null) {
+            return null;
+        }
+        final boolean extended = term.getNext() == null && item.getType().autoCreateTerms();
+        final LocalDateInterval interval = extended
+                ? LocalDateInterval.including(term.getStartDate(), itemEffectiveInterval.endDate())
+                : term.getInterval();
+        final LocalDateInterval effectiveInterval = interval.overlap(itemEffectiveInterval);
+        if (effectiveInterval == null) {
+            return null;
+        }
+
+        final NavigableMap<LocalDate, BigDecimal> values = new TreeMap<>();
+        sample(term, term.getStartDate(), values);
+        if (term instanceof LeaseTermForIndexable) {
+            sample(term, ((LeaseTermForIndexable) term).getEffectiveDate(), values);
+        }
+        if (!extended && term.getEndDate() != null) {
+            sample(term, term.getInterval().endDateExcluding(), values);
+        }
+
+        return new LeaseTermSnapshot(
+                item.getLease().getProperty() == null ? null : item.getLease().getProperty().getReference(),
+                item.getLease().getReference(),
+                item.getType(),
+                item.getCharge() == null ? null : item.getCharge().getReference(),
+                item.getInvoicingFrequency(),
+                item.getEpochDate() == null ? systemEpochDate : item.getEpochDate(),
+                interval,
+                effectiveInterval,
+                term.valueType(),
+                values,
+                item.getLease().getReference() + "/" + item.getType() + "/" + item.getSequence(),
+                item.getEffectiveTax() == null ? null : item.getEffectiveTax().getReference(),
+                term instanceof LeaseTermForIndexable ? IndexationSnapshot.of((LeaseTermForIndexable) term) : null);
+    }
+
+    private static void sample(final LeaseTerm term, final LocalDate date, final Map<LocalDate, BigDecimal> values) {
+        if (date != null && term.getStartDate() != null && !date.isBefore(term.getStartDate())) {
+            final BigDecimal value = term.valueForDate(date);
+            values.put(date, value == null ? BigDecimal.ZERO : value);
+        }
+    }
+
+    /**
+     * A copy of this term for (part of) its interval, with its value taken from the (realigned) indexation; or
+     * <tt>null</tt> if that part is not effective.
+     */
+    LeaseTermSnapshot withIndexation(final LocalDateInterval newInterval, final IndexationSnapshot newIndexation) {
+        final LocalDateInterval newEffectiveInterval = newInterval.overlap(effectiveInterval);
+        if (newEffectiveInterval == null) {
+            return null;
+        }
+        final NavigableMap<LocalDate, BigDecimal> newValues = new TreeMap<>();
+        newValues.put(newInterval.startDate(), zeroIfNull(newIndexation.valueForDate(newInterval.startDate())));
+        final LocalDate effectiveDate = newIndexation.getEffectiveDate();
+        if (effectiveDate != null && newInterval.contains(effectiveDate)) {
+            newValues.put(effectiveDate, zeroIfNull(newIndexation.valueForDate(effectiveDate)));
+        }
+        return new LeaseTermSnapshot(
+                propertyReference, leaseReference, itemType, chargeReference, invoicingFrequency, epochDate,
+                newInterval, newEffectiveInterval, valueType, newValues, itemKey, taxReference, newIndexation);
+    }
+
+    /**
+     * A copy of this term ending the day before the date; or <tt>null</tt> if it starts on or after that date.
+     */
+    LeaseTermSnapshot endingBefore(final LocalDate date) {
+        if (!interval.startDate().isBefore(date)) {
+            return null;
+        }
+        if (interval.endDateExcluding() != null && !interval.endDateExcluding().isAfter(date)) {
+            return this;
+        }
+        final LocalDateInterval newInterval = LocalDateInterval.excluding(interval.startDate(), date);
+        final LocalDateInterval newEffectiveInterval = newInterval.overlap(effectiveInterval);
+        if (newEffectiveInterval == null) {
+            return null;
+        }
+        return new LeaseTermSnapshot(
+                propertyReference, leaseReference, itemType, chargeReference, invoicingFrequency, epochDate,
+                newInterval, newEffectiveInterval, valueType, values, itemKey, taxReference, indexation);
+    }
+
+    /**
+     * A term of the same lease item, open ended from the date on, at the (annual) value.
+     */
+    LeaseTermSnapshot relet(final LocalDate startDate, final BigDecimal annualValue) {
+        final NavigableMap<LocalDate, BigDecimal> newValues = new TreeMap<>();
+        newValues.put(startDate, annualValue);
+        final LocalDateInterval newInterval = LocalDateInterval.including(startDate, null);
+        return new LeaseTermSnapshot(
+                propertyReference, leaseReference, itemType, chargeReference, invoicingFrequency, epochDate,
+                newInterval, newInterval, LeaseTermValueType.ANNUAL, newValues, itemKey, taxReference, null);
+    }
+
+    private static BigDecimal zeroIfNull(final BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    /**
+     * The value of the term as {@link LeaseTerm#valueForDate(LocalDate)} returned it on the latest sampled date on or
+     * before the given date.
+     */
+    public BigDecimal valueForDate(final LocalDate date) {
+        if (values.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        final Map.Entry<LocalDate, BigDecimal> entry = date == null ? null : values.floorEntry(date);
+        return entry == null ? values.firstEntry().getValue() : entry.getValue();
+    }
+
+    /**
+     * Calculates the term for all invoicing intervals due within the range, as an invoice run for that range would.
+     */
+    public List<CalculationResult> calculate(final LocalDateInterval dueDateRange) {
+        final List<InvoicingInterval> intervals = invoicingFrequency.intervalsInDueDateRange(dueDateRange, interval);
+        return InvoiceCalculationService.calculateTerm(
+                effectiveInterval,
+                invoicingFrequency,
+                epochDate,
+                valueType,
+                this::valueForDate,
+                intervals,
+                dueDateRange.endDateExcluding().minusDays(1));
+    }
+
+}
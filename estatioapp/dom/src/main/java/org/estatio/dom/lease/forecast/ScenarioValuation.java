@@ -0,0 +1,72 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+
+import lombok.Getter;
+
+/**
+ * What a lease would invoice over the period of a forecast, without and with the changes of a
+ * {@link ForecastScenario}; not persisted.
+ */
+public class ScenarioValuation {
+
+    @Getter
+    private final String propertyReference;
+
+    @Getter
+    private final String leaseReference;
+
+    @Getter
+    private final BigDecimal baselineNetAmount;
+
+    @Getter
+    private final BigDecimal baselineGrossAmount;
+
+    @Getter
+    private final BigDecimal scenarioNetAmount;
+
+    @Getter
+    private final BigDecimal scenarioGrossAmount;
+
+    public ScenarioValuation(
+            final String propertyReference,
+            final String leaseReference,
+            final BigDecimal baselineNetAmount,
+            final BigDecimal baselineGrossAmount,
+            final BigDecimal scenarioNetAmount,
+            final BigDecimal scenarioGrossAmount) {
+        this.propertyReference = propertyReference;
+        this.leaseReference = leaseReference;
+        this.baselineNetAmount = baselineNetAmount;
+        this.baselineGrossAmount = baselineGrossAmount;
+        this.scenarioNetAmount = scenarioNetAmount;
+        this.scenarioGrossAmount = scenarioGrossAmount;
+    }
+
+    public BigDecimal getNetDifference() {
+        return scenarioNetAmount.subtract(baselineNetAmount);
+    }
+
+    public BigDecimal getGrossDifference() {
+        return scenarioGrossAmount.subtract(baselineGrossAmount);
+    }
+
+}
@@ -5,7 +5,7 @@ import java.math.BigDecimal;
 /**
  * Created by jvanderwal on 01/03/16.
  */
-class IndexationResult {
+public class IndexationResult {
 
     public static final IndexationResult NULL = new IndexationResult(null, null, null, null);
 
@@ -0,0 +1,200 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.invoicing;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.jdo.PersistenceManager;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.DomainObjectContainer;
+
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
+
+import org.estatio.dom.currency.Currency;
+import org.estatio.dom.invoice.Invoice;
+import org.estatio.dom.invoice.InvoiceRepository;
+import org.estatio.dom.invoice.InvoiceStatus;
+import org.estatio.dom.invoice.PaymentMethod;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseTerm;
+import org.estatio.dom.lease.LeaseTermValueType;
+import org.estatio.dom.party.Party;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+/**
+ * Assembles the invoices of a single invoice run.
+ *
+ * <p>
+ * The invoices and invoice items of a lease are loaded with one query each when the run {@link #startLease(Lease)
+ * starts on the lease}; matching invoices and invoiced values are then looked up in memory, and new invoices and
+ * items are added to what was loaded. While a lease is assembled the persistence manager does not flush
+ * automatically, so no query is run between the inserts; they are written at chunk boundaries, allowing them to be
+ * batched.
+ */
+public class InvoiceAssembly {
+
+    public static final int DEFAULT_CHUNK_SIZE = 200;
+
+    static final String FLUSH_MODE = "datanucleus.flush.mode";
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceItemForLeaseRepository invoiceItemForLeaseRepository;
+    private final DomainObjectContainer container;
+    private final PersistenceManager persistenceManager;
+    private final Currency currency;
+    private final String interactionId;
+    private final int chunkSize;
+
+    private Lease lease;
+    private List<Party> parties;
+    private final Map<List<Object>, Invoice> invoicesByKey = Maps.newHashMap();
+    private final ListMultimap<LeaseTerm, InvoiceItemForLease> itemsByTerm = ArrayListMultimap.create();
+    private Object previousFlushMode;
+
+    private int pending;
+
+    public InvoiceAssembly(
+            final InvoiceRepository invoiceRepository,
+            final InvoiceItemForLeaseRepository invoiceItemForLeaseRepository,
+            final DomainObjectContainer container,
+            final PersistenceManager persistenceManager,
+            final Currency currency,
+            final String interactionId,
+            final int chunkSize) {
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceItemForLeaseRepository = invoiceItemForLeaseRepository;
+        this.container = container;
+        this.persistenceManager = persistenceManager;
+        this.currency = currency;
+        this.interactionId = interactionId;
+        this.chunkSize = chunkSize;
+    }
+
+    public String getInteractionId() {
+        return interactionId;
+    }
+
+    /**
+     * Loads the invoices and invoice items of the lease, and suspends automatic flushing until {@link #endLease()}.
+     */
+    public void startLease(final Lease lease) {
+        this.lease = lease;
+        this.parties = Arrays.asList(lease.getPrimaryParty(), lease.getSecondaryParty());
+        for (Invoice invoice : invoiceRepository.findByLease(lease)) {
+            final List<Object> key = Arrays.asList(
+                    invoice.getSeller(), invoice.getBuyer(), invoice.getPaymentMethod(), lease, invoice.getStatus(), invoice.getDueDate());
+            if (!invoicesByKey.containsKey(key)) {
+                invoicesByKey.put(key, invoice);
+            }
+        }
+        for (InvoiceItemForLease invoiceItem : invoiceItemForLeaseRepository.findByLease(lease)) {
+            itemsByTerm.put(invoiceItem.getLeaseTerm(), invoiceItem);
+        }
+        previousFlushMode = persistenceManager.getProperties().get(FLUSH_MODE);
+        persistenceManager.setProperty(FLUSH_MODE, "MANUAL");
+    }
+
+    /**
+     * Restores automatic flushing, and drops what was loaded for the lease.
+     */
+    public void endLease() {
+        persistenceManager.setProperty(FLUSH_MODE, previousFlushMode != null ? previousFlushMode : "AUTO");
+        lease = null;
+        parties = null;
+        invoicesByKey.clear();
+        itemsByTerm.clear();
+    }
+
+    public Invoice findOrCreateMatchingInvoice(
+            final ApplicationTenancy applicationTenancy,
+            final PaymentMethod paymentMethod,
+            final Lease lease,
+            final InvoiceStatus invoiceStatus,
+            final LocalDate dueDate) {
+        assertStarted(lease);
+        final Party seller = parties.get(0);
+        final Party buyer = parties.get(1);
+        final List<Object> key = Arrays.asList(seller, buyer, paymentMethod, lease, invoiceStatus, dueDate);
+        Invoice invoice = invoicesByKey.get(key);
+        if (invoice == null) {
+            invoice = invoiceRepository.createInvoice(
+                    applicationTenancy, seller, buyer, paymentMethod, currency, dueDate, lease, interactionId);
+            queued();
+            invoicesByKey.put(key, invoice);
+        }
+        return invoice;
+    }
+
+    /**
+     * As {@link InvoiceItemForLeaseRepository#invoicedValue(LeaseTerm, LocalDateInterval)}, but from the items
+     * loaded for (and created during the run on) the lease.
+     */
+    public BigDecimal invoicedValue(final LeaseTerm leaseTerm, final LocalDateInterval interval) {
+        assertStarted(leaseTerm.getLeaseItem().getLease());
+        BigDecimal invoicedValue = new BigDecimal(0);
+        for (InvoiceItemForLease invoiceItem : itemsByTerm.get(leaseTerm)) {
+            if (leaseTerm.valueType() == LeaseTermValueType.FIXED
+                    || (Objects.equals(interval.startDate(), invoiceItem.getStartDate()) && Objects.equals(interval.endDate(), invoiceItem.getEndDate()))) {
+                invoicedValue = invoicedValue.add(invoiceItem.getNetAmount());
+            }
+        }
+        return invoicedValue;
+    }
+
+    private void assertStarted(final Lease lease) {
+        if (this.lease != lease) {
+            throw new IllegalStateException("Assembly has not been started on lease " + lease.getReference());
+        }
+    }
+
+    /**
+     * Records that a new invoice item has been persisted (but not flushed).
+     */
+    public void queued(final InvoiceItemForLease invoiceItem) {
+        itemsByTerm.put(invoiceItem.getLeaseTerm(), invoiceItem);
+        queued();
+    }
+
+    /**
+     * Records that a new object has been persisted (but not flushed), flushing once a chunk is complete.
+     */
+    public void queued() {
+        if (++pending >= chunkSize) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (pending > 0) {
+            container.flush();
+            pending = 0;
+        }
+    }
+
+}
@@ -25,6 +25,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Function;
 
 import javax.inject.Inject;
 
@@ -37,11 +38,15 @@ import org.joda.time.LocalDateTime;
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
 
 import org.estatio.dom.UdoDomainService;
 import org.estatio.dom.charge.Charge;
+import org.estatio.dom.fetchprofile.FetchProfile;
+import org.estatio.dom.fetchprofile.FetchProfileService;
 import org.estatio.dom.invoice.InvoiceRepository;
 import org.estatio.dom.invoice.InvoicingInterval;
+import org.estatio.dom.lease.InvoicingFrequency;
 import org.estatio.dom.lease.Lease;
 import org.estatio.dom.lease.LeaseItem;
 import org.estatio.dom.lease.LeaseItemStatus;
@@ -146,36 +151,60 @@ public class InvoiceCalculationService extends UdoDomainService<InvoiceCalculati
         interactionId = null;
     }
 
+    /**
+     * Runs with the {@link FetchProfile#INVOICE_CALCULATION invoice calculation} fetch profile, so that the items and
+     * terms of the leases (along with their charges and taxes) are loaded in bulk rather than lease by lease.
+     */
     @Programmatic
     public String calculateAndInvoice(InvoiceCalculationParameters parameters) {
+        return fetchProfileService == null
+                ? doCalculateAndInvoice(parameters)
+                : fetchProfileService.withProfile(FetchProfile.INVOICE_CALCULATION, () -> doCalculateAndInvoice(parameters));
+    }
+
+    private String doCalculateAndInvoice(final InvoiceCalculationParameters parameters) {
         String lastInteractionId = null;
         invoiceRepository.removeRuns(parameters);
         try {
             startInteraction(parameters.toString());
-            for (Lease lease : parameters.leases() == null ? leaseRepository.findLeasesByProperty(parameters.property()) : parameters.leases()) {
+            final InvoiceAssembly assembly = new InvoiceAssembly(
+                    invoiceRepository, invoiceItemForLeaseRepository, getContainer(), isisJdoSupport.getJdoPersistenceManager(),
+                    estatioSettingsService.systemCurrency(), interactionId, InvoiceAssembly.DEFAULT_CHUNK_SIZE);
+            final List<Lease> leases = parameters.leases() == null ? leaseRepository.findLeasesByProperty(parameters.property()) : parameters.leases();
+            if (parameters.leases() != null && fetchProfileService != null) {
+                // the leases passed in were not loaded with the profile
+                fetchProfileService.prefetch(FetchProfile.INVOICE_CALCULATION, Lease.class, leases);
+            }
+            for (Lease lease : leases) {
                 lease.verifyUntil(parameters.dueDateRange().endDateExcluding());
                 if (lease.getStatus() != LeaseStatus.SUSPENDED) {
-                    SortedSet<LeaseItem> leaseItems =
-                            parameters.leaseItem() == null ?
-                                    lease.getItems() :
-                                    new TreeSet<>(Arrays.asList(parameters.leaseItem()));
-                    for (LeaseItem leaseItem : leaseItems) {
-                        if (!leaseItem.getStatus().equals(LeaseItemStatus.SUSPENDED)) {
-                            if (parameters.leaseItemTypes() == null || parameters.leaseItemTypes().contains(leaseItem.getType())) {
-                                SortedSet<LeaseTerm> leaseTerms =
-                                        parameters.leaseTerm() == null ?
-                                                leaseItem.getTerms() :
-                                                new TreeSet<>(Arrays.asList(parameters.leaseTerm()));
-                                for (LeaseTerm leaseTerm : leaseTerms) {
-                                    final List<CalculationResult> results;
-                                    results = calculateDueDateRange(leaseTerm, parameters);
-                                    createInvoiceItems(leaseTerm, parameters, results);
+                    assembly.startLease(lease);
+                    try {
+                        SortedSet<LeaseItem> leaseItems =
+                                parameters.leaseItem() == null ?
+                                        lease.getItems() :
+                                        new TreeSet<>(Arrays.asList(parameters.leaseItem()));
+                        for (LeaseItem leaseItem : leaseItems) {
+                            if (!leaseItem.getStatus().equals(LeaseItemStatus.SUSPENDED)) {
+                                if (parameters.leaseItemTypes() == null || parameters.leaseItemTypes().contains(leaseItem.getType())) {
+                                    SortedSet<LeaseTerm> leaseTerms =
+                                            parameters.leaseTerm() == null ?
+                                                    leaseItem.getTerms() :
+                                                    new TreeSet<>(Arrays.asList(parameters.leaseTerm()));
+                                    for (LeaseTerm leaseTerm : leaseTerms) {
+                                        final List<CalculationResult> results;
+                                        results = calculateDueDateRange(leaseTerm, parameters);
+                                        createInvoiceItems(leaseTerm, parameters, results, assembly);
+                                    }
                                 }
                             }
                         }
+                    } finally {
+                        assembly.endLease();
                     }
                 }
             }
+            assembly.flush();
         } finally {
             lastInteractionId = interactionId;
             endInteraction();
@@ -245,26 +274,58 @@ public class InvoiceCalculationService extends UdoDomainService<InvoiceCalculati
             final LeaseTerm leaseTerm,
             final List<InvoicingInterval> intervals,
             final LocalDate dueDateForCalculation) {
+        return calculateTerm(
+                leaseTerm.getEffectiveInterval(),
+                leaseTerm.getLeaseItem().getInvoicingFrequency(),
+                ObjectUtils.firstNonNull(leaseTerm.getLeaseItem().getEpochDate(), systemEpochDate()),
+                leaseTerm.valueType(),
+                leaseTerm::valueForDate,
+                intervals,
+                dueDateForCalculation);
+    }
+
+    /**
+     * Calculates a term for a given list of invoicing intervals, from the values of the term rather than the term
+     * itself; does not touch the persistence layer, so can also be used on a snapshot of a term and from other
+     * threads.
+     *
+     * @param termEffectiveInterval
+     * @param invoicingFrequency
+     * @param epochDate
+     * @param valueType
+     * @param valueForDate
+     * @param intervals
+     * @param dueDateForCalculation
+     * @return
+     */
+    @Programmatic
+    public static List<CalculationResult> calculateTerm(
+            final LocalDateInterval termEffectiveInterval,
+            final InvoicingFrequency invoicingFrequency,
+            final LocalDate epochDate,
+            final LeaseTermValueType valueType,
+            final Function<LocalDate, BigDecimal> valueForDate,
+            final List<InvoicingInterval> intervals,
+            final LocalDate dueDateForCalculation) {
         final List<CalculationResult> results2 = Lists.newArrayList();
         for (final InvoicingInterval invoicingInterval : intervals) {
-            final LocalDateInterval effectiveInterval = invoicingInterval.asLocalDateInterval().overlap(leaseTerm.getEffectiveInterval());
+            final LocalDateInterval effectiveInterval = invoicingInterval.asLocalDateInterval().overlap(termEffectiveInterval);
             if (effectiveInterval == null) {
                 results2.add(new CalculationResult(invoicingInterval));
             } else {
                 final BigDecimal overlapDays = new BigDecimal(effectiveInterval.days());
                 final BigDecimal frequencyDays = new BigDecimal(invoicingInterval.days());
                 final BigDecimal rangeFactor = overlapDays.divide(frequencyDays, MathContext.DECIMAL64);
-                final BigDecimal annualFactor = leaseTerm.getLeaseItem().getInvoicingFrequency().annualMultiplier();
-                final LocalDate epochDate = ObjectUtils.firstNonNull(leaseTerm.getLeaseItem().getEpochDate(), systemEpochDate());
+                final BigDecimal annualFactor = invoicingFrequency.annualMultiplier();
                 BigDecimal mockValue = BigDecimal.ZERO;
                 if (epochDate != null && invoicingInterval.dueDate().isBefore(epochDate)) {
-                    mockValue = leaseTerm.valueForDate(epochDate);
+                    mockValue = valueForDate.apply(epochDate);
                 }
                 final CalculationResult calculationResult = new CalculationResult(
                         invoicingInterval,
                         effectiveInterval,
-                        calculateValue(rangeFactor, annualFactor, leaseTerm.valueForDate(dueDateForCalculation), leaseTerm.valueType()),
-                        calculateValue(rangeFactor, annualFactor, mockValue, leaseTerm.valueType()));
+                        calculateValue(rangeFactor, annualFactor, valueForDate.apply(dueDateForCalculation), valueType),
+                        calculateValue(rangeFactor, annualFactor, mockValue, valueType));
                 results2.add(calculationResult);
             }
         }
@@ -274,7 +335,7 @@ public class InvoiceCalculationService extends UdoDomainService<InvoiceCalculati
     /**
      * Multiplies a value with the range and annual factors
      */
-    private BigDecimal calculateValue(
+    private static BigDecimal calculateValue(
             final BigDecimal rangeFactor,
             final BigDecimal annualFactor,
             final BigDecimal value,
@@ -299,13 +360,14 @@ public class InvoiceCalculationService extends UdoDomainService<InvoiceCalculati
     void createInvoiceItems(
             final LeaseTerm leaseTerm,
             final InvoiceCalculationParameters parameters,
-            final List<CalculationResult> results) {
+            final List<CalculationResult> results,
+            final InvoiceAssembly assembly) {
 
         for (CalculationResult result : results) {
             // TODO: this is a hack to speed up processing by ignoring zero
             // values on a normal run
             if (result.value().compareTo(BigDecimal.ZERO) != 0 || parameters.invoiceRunType().equals(InvoiceRunType.RETRO_RUN)) {
-                BigDecimal invoicedValue = invoiceItemForLeaseRepository.invoicedValue(leaseTerm, result.invoicingInterval().asLocalDateInterval());
+                BigDecimal invoicedValue = assembly.invoicedValue(leaseTerm, result.invoicingInterval().asLocalDateInterval());
                 BigDecimal newValue = result.value().subtract(invoicedValue).subtract(result.mockValue());
                 if (newValue.compareTo(BigDecimal.ZERO) != 0) {
                     boolean adjustment = invoicedValue.add(result.mockValue()).compareTo(BigDecimal.ZERO) != 0;
@@ -314,7 +376,7 @@ public class InvoiceCalculationService extends UdoDomainService<InvoiceCalculati
                                     leaseTerm,
                                     result.invoicingInterval().asLocalDateInterval(),
                                     parameters.invoiceDueDate(),
-                                    interactionId);
+                                    assembly);
                     invoiceItem.setNetAmount(newValue);
                     invoiceItem.setQuantity(BigDecimal.ONE);
                     LeaseItem leaseItem = leaseTerm.getLeaseItem();
@@ -354,4 +416,10 @@ public class InvoiceCalculationService extends UdoDomainService<InvoiceCalculati
     @Inject
     private LeaseRepository leaseRepository;
 
+    @Inject
+    private FetchProfileService fetchProfileService;
+
+    @Inject
+    private IsisJdoSupport isisJdoSupport;
+
 }
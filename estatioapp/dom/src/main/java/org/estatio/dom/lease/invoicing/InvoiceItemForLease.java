@@ -35,6 +35,7 @@ import org.apache.isis.applib.annotation.Where;
 import org.estatio.dom.agreement.AgreementRoleTypeRepository;
 import org.estatio.dom.agreement.AgreementTypeRepository;
 import org.estatio.dom.asset.FixedAsset;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.invoice.Invoice;
 import org.estatio.dom.invoice.InvoiceItem;
 import org.estatio.dom.invoice.InvoiceSource;
@@ -60,6 +61,11 @@ import lombok.Setter;
                 value = "SELECT " +
                         "FROM org.estatio.dom.lease.invoicing.InvoiceItemForLease " +
                         "WHERE leaseTerm == :leaseTerm "),
+        @javax.jdo.annotations.Query(
+                name = "findByLease", language = "JDOQL",
+                value = "SELECT " +
+                        "FROM org.estatio.dom.lease.invoicing.InvoiceItemForLease " +
+                        "WHERE lease == :lease "),
         @javax.jdo.annotations.Query(
                 name = "findByLeaseTermAndInterval", language = "JDOQL",
                 value = "SELECT " +
@@ -101,6 +107,11 @@ import lombok.Setter;
                 members = { "leaseTerm", "startDate", "endDate" }),
 
 })
+@javax.jdo.annotations.FetchGroup(
+        name = FetchProfile.Names.INVOICE_DTO,
+        members = {
+                @javax.jdo.annotations.Persistent(name = "lease"),
+                @javax.jdo.annotations.Persistent(name = "fixedAsset") })
 @DomainObject(editing = Editing.DISABLED)
 public class InvoiceItemForLease extends InvoiceItem {
 
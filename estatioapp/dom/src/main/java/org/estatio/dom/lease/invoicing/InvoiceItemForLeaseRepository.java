@@ -68,6 +68,36 @@ public class InvoiceItemForLeaseRepository extends UdoDomainRepositoryAndFactory
                 lease,
                 InvoiceStatus.NEW,
                 dueDate, interactionId);
+        return newInvoiceItem(invoice, leaseTerm, interval, dueDate);
+    }
+
+    /**
+     * As {@link #newInvoiceItem(LeaseTerm, LocalDateInterval, LocalDate, String)}, but the invoice is resolved
+     * through (and the new item queued on) the {@link InvoiceAssembly} of the run, rather than being flushed.
+     */
+    @Programmatic
+    public InvoiceItemForLease newInvoiceItem(
+            final LeaseTerm leaseTerm,
+            final LocalDateInterval interval,
+            final LocalDate dueDate,
+            final InvoiceAssembly assembly) {
+        Invoice invoice = assembly.findOrCreateMatchingInvoice(
+                leaseTerm.getApplicationTenancy(),
+                leaseTerm.getLeaseItem().getPaymentMethod(),
+                leaseTerm.getLeaseItem().getLease(),
+                InvoiceStatus.NEW,
+                dueDate);
+        final InvoiceItemForLease invoiceItem = newInvoiceItem(invoice, leaseTerm, interval, dueDate);
+        assembly.queued(invoiceItem);
+        return invoiceItem;
+    }
+
+    private InvoiceItemForLease newInvoiceItem(
+            final Invoice invoice,
+            final LeaseTerm leaseTerm,
+            final LocalDateInterval interval,
+            final LocalDate dueDate) {
+        Lease lease = leaseTerm.getLeaseItem().getLease();
         InvoiceItemForLease invoiceItem = newTransientInstance();
         invoiceItem.setInvoice(invoice);
         invoiceItem.setStartDate(interval.startDate());
@@ -93,6 +123,11 @@ public class InvoiceItemForLeaseRepository extends UdoDomainRepositoryAndFactory
         return allMatches("findByLeaseTerm", "leaseTerm", leaseTerm);
     }
 
+    @Programmatic
+    public List<InvoiceItemForLease> findByLease(final Lease lease){
+        return allMatches("findByLease", "lease", lease);
+    }
+
 
     @Programmatic
     public List<InvoiceItemForLease> findByLeaseTermAndInterval(
@@ -162,6 +197,15 @@ public class InvoiceItemForLeaseRepository extends UdoDomainRepositoryAndFactory
         return newInvoiceItem(leaseTerm, invoiceInterval, dueDate, interactionId);
     }
 
+    @Programmatic
+    public InvoiceItemForLease createUnapprovedInvoiceItem(
+            final LeaseTerm leaseTerm,
+            final LocalDateInterval invoiceInterval,
+            final LocalDate dueDate,
+            final InvoiceAssembly assembly) {
+        return newInvoiceItem(leaseTerm, invoiceInterval, dueDate, assembly);
+    }
+
     @Programmatic
     public InvoiceItemForLease findUnapprovedInvoiceItem(
             final LeaseTerm leaseTerm,
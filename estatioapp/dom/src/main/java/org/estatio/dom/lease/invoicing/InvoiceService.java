@@ -7,16 +7,20 @@ import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.DomainServiceLayout;
 import org.apache.isis.applib.annotation.InvokeOn;
 import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.annotation.SemanticsOf;
 
 import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
 
 import org.estatio.dom.UdoDomainService;
 import org.estatio.dom.asset.Property;
+import org.estatio.dom.batch.BatchJob;
+import org.estatio.dom.batch.BatchJobService;
 import org.estatio.dom.invoice.viewmodel.InvoiceSummariesForInvoiceRun;
 import org.estatio.dom.invoice.viewmodel.InvoiceSummaryForInvoiceRun;
 import org.estatio.dom.lease.Lease;
 import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.valuetypes.ApplicationTenancyLevel;
 
 @DomainService
 @DomainServiceLayout(
@@ -99,34 +103,59 @@ public class InvoiceService extends UdoDomainService<InvoiceService> {
             final InvoiceCalculationSelection selection,
             final LocalDate startDueDate,
             final LocalDate nextDueDate) {
-        String runId = null;
-
+        final ApplicationTenancyLevel level = ApplicationTenancyLevel.of(applicationTenancy);
         for (Lease lease : leaseRepository.allLeases()){
-            if (lease.getApplicationTenancy().getPath().matches(applicationTenancy.getPath()+".*")){
-                for (LocalDate dueDate : lease.dueDatesInRange(startDueDate, nextDueDate)) {
-                    InvoiceCalculationParameters parameters =
-                            new InvoiceCalculationParameters(
-                                    lease,
-                                    selection.selectedTypes(),
-                                    InvoiceRunType.NORMAL_RUN,
-                                    dueDate,
-                                    startDueDate,
-                                    dueDate.plusDays(1));
-                    runId = invoiceCalculationService.calculateAndInvoice(parameters);
-                    if (runId != null) {
-                        final InvoiceSummaryForInvoiceRun summaryForInvoiceRun = invoiceSummaries.findByRunId(runId);
-                        if (summaryForInvoiceRun != null) {
-                            summaryForInvoiceRun.saveAllAsHistoric();
-                        } else {
-                            getContainer().warnUser(String.format("Run Id [%s] not found", runId));
-                        }
-                    }
-                }
+            final ApplicationTenancyLevel leaseLevel = ApplicationTenancyLevel.of(lease.getApplicationTenancy());
+            if (leaseLevel.equals(level) || leaseLevel.childOf(level)){
+                calculateRetroInvoicesForLease(lease, selection, startDueDate, nextDueDate);
             }
         }
         return "Done";
     }
 
+    @Action(semantics = SemanticsOf.NON_IDEMPOTENT_ARE_YOU_SURE)
+    @MemberOrder(name = "Invoices", sequence = "99.1")
+    public BatchJob calculateRetroInvoicesAsBatchJob(
+            final ApplicationTenancy applicationTenancy,
+            final InvoiceCalculationSelection selection,
+            final LocalDate startDueDate,
+            final LocalDate nextDueDate) {
+        return batchJobService.start(
+                RetroInvoicesBatchJobHandler.NAME,
+                RetroInvoicesBatchJobHandler.parameters(applicationTenancy, selection, startDueDate, nextDueDate),
+                null);
+    }
+
+    /**
+     * The retro invoices of a single lease; also used by {@link RetroInvoicesBatchJobHandler}.
+     */
+    @Programmatic
+    public void calculateRetroInvoicesForLease(
+            final Lease lease,
+            final InvoiceCalculationSelection selection,
+            final LocalDate startDueDate,
+            final LocalDate nextDueDate) {
+        for (LocalDate dueDate : lease.dueDatesInRange(startDueDate, nextDueDate)) {
+            InvoiceCalculationParameters parameters =
+                    new InvoiceCalculationParameters(
+                            lease,
+                            selection.selectedTypes(),
+                            InvoiceRunType.NORMAL_RUN,
+                            dueDate,
+                            startDueDate,
+                            dueDate.plusDays(1));
+            final String runId = invoiceCalculationService.calculateAndInvoice(parameters);
+            if (runId != null) {
+                final InvoiceSummaryForInvoiceRun summaryForInvoiceRun = invoiceSummaries.findByRunId(runId);
+                if (summaryForInvoiceRun != null) {
+                    summaryForInvoiceRun.saveAllAsHistoric();
+                } else {
+                    getContainer().warnUser(String.format("Run Id [%s] not found", runId));
+                }
+            }
+        }
+    }
+
     // //////////////////////////////////////
 
     @Action(invokeOn = InvokeOn.OBJECT_AND_COLLECTION)
@@ -208,6 +237,9 @@ public class InvoiceService extends UdoDomainService<InvoiceService> {
     @javax.inject.Inject
     private InvoiceSummariesForInvoiceRun invoiceSummaries;
 
+    @javax.inject.Inject
+    private BatchJobService batchJobService;
+
 
 
 }
@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.invoicing;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import com.google.common.base.Joiner;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
+
+import org.estatio.dom.batch.BatchJobHandler;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.valuetypes.ApplicationTenancyLevel;
+
+/**
+ * {@link InvoiceService#calculateRetroInvoices(ApplicationTenancy, InvoiceCalculationSelection, LocalDate, LocalDate)}
+ * as a {@link org.estatio.dom.batch.BatchJob}, one lease at a time.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class RetroInvoicesBatchJobHandler implements BatchJobHandler {
+
+    public static final String NAME = "calculateRetroInvoices";
+
+    private static final String SEPARATOR = ";";
+
+    @Programmatic
+    public static String parameters(
+            final ApplicationTenancy applicationTenancy,
+            final InvoiceCalculationSelection selection,
+            final LocalDate startDueDate,
+            final LocalDate nextDueDate) {
+        return Joiner.on(SEPARATOR).join(applicationTenancy.getPath(), selection.name(), startDueDate, nextDueDate);
+    }
+
+    @Override
+    @Programmatic
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    @Programmatic
+    public List<String> keys(final String parameters) {
+        return leaseRepository.findReferencesByApplicationTenancy(ApplicationTenancyLevel.of(parameters.split(SEPARATOR)[0]));
+    }
+
+    @Override
+    @Programmatic
+    public void process(final String key, final String parameters) {
+        final Lease lease = leaseRepository.findLeaseByReferenceElseNull(key);
+        if (lease == null) {
+            return;
+        }
+        final String[] parts = parameters.split(SEPARATOR);
+        invoiceService.calculateRetroInvoicesForLease(
+                lease,
+                InvoiceCalculationSelection.valueOf(parts[1]),
+                LocalDate.parse(parts[2]),
+                LocalDate.parse(parts[3]));
+    }
+
+    @Inject
+    LeaseRepository leaseRepository;
+
+    @Inject
+    InvoiceService invoiceService;
+
+}
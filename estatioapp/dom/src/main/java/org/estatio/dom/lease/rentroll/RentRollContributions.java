@@ -0,0 +1,75 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.rentroll;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.ActionLayout;
+import org.apache.isis.applib.annotation.Contributed;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.SemanticsOf;
+
+import org.estatio.dom.UdoDomainService;
+import org.estatio.dom.asset.Property;
+
+@DomainService(nature = NatureOfService.VIEW_CONTRIBUTIONS_ONLY)
+public class RentRollContributions extends UdoDomainService<RentRollContributions> {
+
+    public RentRollContributions() {
+        super(RentRollContributions.class);
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(contributed = Contributed.AS_ACTION)
+    public List<RentRollLine> rentRoll(final Property property, final LocalDate date) {
+        return rentRollService.linesFor(property, date);
+    }
+
+    public LocalDate default1RentRoll() {
+        return getClockService().now();
+    }
+
+    /**
+     * Refreshes the lines of all stale leases, of this property or any other; there are only ever as many as were
+     * changed since the last refresh.
+     */
+    @Action(semantics = SemanticsOf.IDEMPOTENT)
+    @ActionLayout(contributed = Contributed.AS_ACTION)
+    public Property refreshRentRoll(final Property property) {
+        rentRollService.refreshStale();
+        return property;
+    }
+
+    @Action(semantics = SemanticsOf.IDEMPOTENT)
+    @ActionLayout(contributed = Contributed.AS_ACTION)
+    public Property rebuildRentRoll(final Property property) {
+        rentRollService.rebuild(property);
+        return property;
+    }
+
+    @Inject
+    RentRollService rentRollService;
+
+}
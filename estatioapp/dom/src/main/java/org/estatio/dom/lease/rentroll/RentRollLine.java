@@ -0,0 +1,164 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.rentroll;
+
+import java.math.BigDecimal;
+
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.IdentityType;
+import javax.jdo.annotations.Index;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainObject;
+import org.apache.isis.applib.annotation.Editing;
+import org.apache.isis.applib.annotation.Property;
+import org.apache.isis.applib.annotation.Where;
+
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
+
+import org.estatio.dom.JdoColumnLength;
+import org.estatio.dom.UdoDomainObject2;
+import org.estatio.dom.apptenancy.WithApplicationTenancyPathPersisted;
+import org.estatio.dom.apptenancy.WithApplicationTenancyProperty;
+import org.estatio.dom.lease.LeaseItemType;
+import org.estatio.dom.utils.TitleBuilder;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One line of the materialised rent roll: the value of a single lease term for the period in which it overlaps an
+ * occupancy.
+ *
+ * <p>
+ * Lines only hold values (references, names, dates and amounts), not references to the lease, unit or term, so that
+ * those can be changed or removed without regard to the rent roll; {@link RentRollService} refreshes the lines of a
+ * lease when it changes.
+ * </p>
+ */
+@javax.jdo.annotations.PersistenceCapable(identityType = IdentityType.DATASTORE)
+@javax.jdo.annotations.DatastoreIdentity(
+        strategy = IdGeneratorStrategy.NATIVE,
+        column = "id")
+@javax.jdo.annotations.Queries({
+        @javax.jdo.annotations.Query(
+                name = "findByPropertyReferenceAndDate", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.dom.lease.rentroll.RentRollLine "
+                        + "WHERE propertyReference == :propertyReference "
+                        + "&& (startDate == null || startDate <= :date) "
+                        + "&& (endDate == null || endDate >= :date) "
+                        + "ORDER BY unitReference, leaseReference, itemType, chargeReference"),
+        @javax.jdo.annotations.Query(
+                name = "findByPropertyReference", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.dom.lease.rentroll.RentRollLine "
+                        + "WHERE propertyReference == :propertyReference"),
+        @javax.jdo.annotations.Query(
+                name = "findByLeaseReference", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.dom.lease.rentroll.RentRollLine "
+                        + "WHERE leaseReference == :leaseReference")
+})
+@javax.jdo.annotations.Indices({
+        @Index(name = "RentRollLine_propertyReference_startDate_endDate_IDX",
+                members = { "propertyReference", "startDate", "endDate" }),
+        @Index(name = "RentRollLine_leaseReference_IDX",
+                members = { "leaseReference" })
+})
+@DomainObject(editing = Editing.DISABLED)
+public class RentRollLine
+        extends UdoDomainObject2<RentRollLine>
+        implements WithApplicationTenancyProperty, WithApplicationTenancyPathPersisted {
+
+    public RentRollLine() {
+        super("propertyReference, unitReference, leaseReference, itemType, chargeReference, startDate desc nullsLast");
+    }
+
+    public String title() {
+        return TitleBuilder.start()
+                .withParent(getLeaseReference())
+                .withName(getChargeReference())
+                .withName(getStartDate())
+                .toString();
+    }
+
+    // //////////////////////////////////////
+
+    @javax.jdo.annotations.Column(
+            length = ApplicationTenancy.MAX_LENGTH_PATH,
+            allowsNull = "false",
+            name = "atPath"
+    )
+    @Property(hidden = Where.EVERYWHERE)
+    @Getter @Setter
+    private String applicationTenancyPath;
+
+    @Property(hidden = Where.EVERYWHERE)
+    public ApplicationTenancy getApplicationTenancy() {
+        return securityApplicationTenancyRepository.findByPathCached(getApplicationTenancyPath());
+    }
+
+    // //////////////////////////////////////
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.REFERENCE)
+    @Property(hidden = Where.PARENTED_TABLES)
+    @Getter @Setter
+    private String propertyReference;
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.REFERENCE)
+    @Getter @Setter
+    private String unitReference;
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.REFERENCE)
+    @Getter @Setter
+    private String leaseReference;
+
+    @javax.jdo.annotations.Column(allowsNull = "true", length = JdoColumnLength.REFERENCE)
+    @Getter @Setter
+    private String tenantReference;
+
+    @javax.jdo.annotations.Column(allowsNull = "true", length = JdoColumnLength.Party.NAME)
+    @Getter @Setter
+    private String tenantName;
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.TYPE_ENUM)
+    @Getter @Setter
+    private LeaseItemType itemType;
+
+    @javax.jdo.annotations.Column(allowsNull = "true", length = JdoColumnLength.REFERENCE)
+    @Getter @Setter
+    private String chargeReference;
+
+    // //////////////////////////////////////
+
+    @javax.jdo.annotations.Column(allowsNull = "true")
+    @Getter @Setter
+    private LocalDate startDate;
+
+    @javax.jdo.annotations.Column(allowsNull = "true")
+    @Getter @Setter
+    private LocalDate endDate;
+
+    @javax.jdo.annotations.Column(allowsNull = "true", scale = 2)
+    @Getter @Setter
+    private BigDecimal value;
+
+}
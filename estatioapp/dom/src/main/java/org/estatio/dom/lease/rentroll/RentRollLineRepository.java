@@ -0,0 +1,115 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.rentroll;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.jdo.Query;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+
+import org.estatio.dom.UdoDomainRepositoryAndFactory;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.asset.Unit;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.party.Party;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+@DomainService(nature = NatureOfService.DOMAIN, repositoryFor = RentRollLine.class)
+public class RentRollLineRepository extends UdoDomainRepositoryAndFactory<RentRollLine> {
+
+    public RentRollLineRepository() {
+        super(RentRollLineRepository.class, RentRollLine.class);
+    }
+
+    @Programmatic
+    public RentRollLine newLine(
+            final Property property,
+            final Unit unit,
+            final Lease lease,
+            final Party tenant,
+            final LeaseItem leaseItem,
+            final LocalDateInterval period,
+            final BigDecimal value) {
+        final RentRollLine line = newTransientInstance();
+        line.setApplicationTenancyPath(property.getApplicationTenancyPath());
+        line.setPropertyReference(property.getReference());
+        line.setUnitReference(unit.getReference());
+        line.setLeaseReference(lease.getReference());
+        line.setTenantReference(tenant == null ? null : tenant.getReference());
+        line.setTenantName(tenant == null ? null : tenant.getName());
+        line.setItemType(leaseItem.getType());
+        line.setChargeReference(leaseItem.getCharge() == null ? null : leaseItem.getCharge().getReference());
+        line.setStartDate(period.startDate());
+        line.setEndDate(period.endDate());
+        line.setValue(value);
+        persistIfNotAlready(line);
+        return line;
+    }
+
+    @Programmatic
+    public List<RentRollLine> findByPropertyAndDate(final Property property, final LocalDate date) {
+        return allMatches("findByPropertyReferenceAndDate",
+                "propertyReference", property.getReference(),
+                "date", date);
+    }
+
+    /**
+     * A page of {@link #findByPropertyAndDate(Property, LocalDate)}; for streaming large exports.
+     */
+    @Programmatic
+    public List<RentRollLine> findByPropertyAndDate(final Property property, final LocalDate date, final int first, final int count) {
+        final Query query = newQuery("SELECT FROM org.estatio.dom.lease.rentroll.RentRollLine "
+                + "WHERE propertyReference == :propertyReference "
+                + "&& (startDate == null || startDate <= :date) "
+                + "&& (endDate == null || endDate >= :date) "
+                + "ORDER BY unitReference, leaseReference, itemType, chargeReference");
+        query.setRange(first, first + count);
+        return (List<RentRollLine>) query.executeWithMap(ImmutableMap.of(
+                "propertyReference", property.getReference(),
+                "date", date));
+    }
+
+    @Programmatic
+    public List<RentRollLine> findByProperty(final Property property) {
+        return allMatches("findByPropertyReference", "propertyReference", property.getReference());
+    }
+
+    @Programmatic
+    public List<RentRollLine> findByLeaseReference(final String leaseReference) {
+        return allMatches("findByLeaseReference", "leaseReference", leaseReference);
+    }
+
+    @Programmatic
+    public void removeAll(final List<RentRollLine> lines) {
+        for (RentRollLine line : lines) {
+            getContainer().remove(line);
+        }
+        getContainer().flush();
+    }
+
+}
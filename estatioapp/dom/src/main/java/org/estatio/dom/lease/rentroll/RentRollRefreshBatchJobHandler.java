@@ -0,0 +1,62 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.rentroll;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+
+import org.estatio.dom.batch.BatchJobHandler;
+
+/**
+ * Refreshes the rent roll lines of all stale leases (see {@link RentRollService#refreshStale()}) as a
+ * {@link org.estatio.dom.batch.BatchJob}, one lease at a time.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class RentRollRefreshBatchJobHandler implements BatchJobHandler {
+
+    @Override
+    @Programmatic
+    public String name() {
+        return "refreshRentRoll";
+    }
+
+    @Override
+    @Programmatic
+    public List<String> keys(final String parameters) {
+        return rentRollStaleLeaseRepository.findLeaseReferences();
+    }
+
+    @Override
+    @Programmatic
+    public void process(final String key, final String parameters) {
+        rentRollService.refresh(key);
+    }
+
+    @Inject
+    RentRollService rentRollService;
+
+    @Inject
+    RentRollStaleLeaseRepository rentRollStaleLeaseRepository;
+
+}
@@ -0,0 +1,265 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.rentroll;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import com.google.common.collect.Maps;
+import com.google.common.eventbus.Subscribe;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.eventbus.AbstractLifecycleEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.eventbus.ObjectPersistingEvent;
+import org.apache.isis.applib.services.eventbus.ObjectRemovingEvent;
+import org.apache.isis.applib.services.eventbus.ObjectUpdatingEvent;
+import org.apache.isis.applib.services.scratchpad.Scratchpad;
+
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.lease.LeaseTerm;
+import org.estatio.dom.lease.Occupancy;
+import org.estatio.dom.party.Party;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+/**
+ * Maintains the {@link RentRollLine}s of the rent roll.
+ *
+ * <p>
+ *     Changes to leases, their items, terms and occupancies only mark the affected lease as stale.  The lifecycle
+ *     callbacks of the changes just collect the references of the leases; a {@link RentRollStaleLease} is then
+ *     persisted once per lease by {@link #writeStaleMarks()}, just before the transaction commits (see
+ *     {@link RentRollStaleLeaseAuditer}), so in the same transaction as the change.  The lines of stale leases are
+ *     recalculated by {@link #refreshStale()} (from an action or a batch job).  {@link #rebuild(Property)}
+ *     recalculates a property from scratch.
+ * </p>
+ *
+ * <p>
+ *     Reading the rent roll never writes, and so may be stale: until the next refresh, the lines of a changed lease
+ *     are those calculated at the previous one.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class RentRollService {
+
+    private static final String STALE_LEASE_PATHS_KEY = RentRollService.class.getName() + ".staleLeasePaths";
+
+    /**
+     * The lines as of the last refresh of each lease; see the class documentation.
+     */
+    @Programmatic
+    public List<RentRollLine> linesFor(final Property property, final LocalDate date) {
+        return rentRollLineRepository.findByPropertyAndDate(property, date);
+    }
+
+    /**
+     * Recalculates all lines of the property.
+     *
+     * @return the number of lines created.
+     */
+    @Programmatic
+    public int rebuild(final Property property) {
+        rentRollLineRepository.removeAll(rentRollLineRepository.findByProperty(property));
+        int count = 0;
+        for (Lease lease : leaseRepository.findLeasesByProperty(property)) {
+            rentRollStaleLeaseRepository.removeAll(rentRollStaleLeaseRepository.findByLeaseReference(lease.getReference()));
+            count += createLines(lease, property);
+        }
+        return count;
+    }
+
+    /**
+     * Recalculates the lines of the lease with the given reference, or just removes them if the lease no longer
+     * exists, and removes the marks of the lease as stale read beforehand; a lease marked stale by a transaction
+     * committed meanwhile stays stale.
+     */
+    @Programmatic
+    public void refresh(final String leaseReference) {
+        final List<RentRollStaleLease> staleLeases = rentRollStaleLeaseRepository.findByLeaseReference(leaseReference);
+        rentRollLineRepository.removeAll(rentRollLineRepository.findByLeaseReference(leaseReference));
+        final Lease lease = leaseRepository.findLeaseByReferenceElseNull(leaseReference);
+        if (lease != null) {
+            createLines(lease, null);
+        }
+        rentRollStaleLeaseRepository.removeAll(staleLeases);
+    }
+
+    /**
+     * Refreshes all stale leases.
+     *
+     * @return the number of leases refreshed.
+     */
+    @Programmatic
+    public int refreshStale() {
+        final List<String> leaseReferences = rentRollStaleLeaseRepository.findLeaseReferences();
+        for (String leaseReference : leaseReferences) {
+            refresh(leaseReference);
+        }
+        return leaseReferences.size();
+    }
+
+    /**
+     * Records that the lease is stale, to be written by {@link #writeStaleMarks()}; neither queries nor persists, so
+     * is safe to call from a lifecycle callback.
+     */
+    @Programmatic
+    public void markStale(final Lease lease) {
+        if (lease == null || lease.getReference() == null) {
+            return;
+        }
+        staleLeasePaths().put(lease.getReference(), lease.getApplicationTenancyPath());
+    }
+
+    /**
+     * Persists a {@link RentRollStaleLease} for each lease recorded as stale since the last call.
+     */
+    @Programmatic
+    public void writeStaleMarks() {
+        final Map<String, String> staleLeasePaths = staleLeasePaths();
+        for (Map.Entry<String, String> entry : staleLeasePaths.entrySet()) {
+            rentRollStaleLeaseRepository.newStaleLease(entry.getKey(), entry.getValue());
+        }
+        staleLeasePaths.clear();
+    }
+
+    /**
+     * The references of the leases recorded as stale (and their application tenancy paths), held for the
+     * interaction.
+     */
+    private Map<String, String> staleLeasePaths() {
+        @SuppressWarnings("unchecked")
+        Map<String, String> staleLeasePaths = (Map<String, String>) scratchpad.get(STALE_LEASE_PATHS_KEY);
+        if (staleLeasePaths == null) {
+            staleLeasePaths = Maps.newLinkedHashMap();
+            scratchpad.put(STALE_LEASE_PATHS_KEY, staleLeasePaths);
+        }
+        return staleLeasePaths;
+    }
+
+    /**
+     * One line per occupancy and lease term, for the period in which both are effective.
+     *
+     * @param property - if not null, only occupancies of units in this property are included.
+     */
+    private int createLines(final Lease lease, final Property property) {
+        final Party tenant = lease.getSecondaryParty();
+        int count = 0;
+        for (Occupancy occupancy : lease.getOccupancies()) {
+            final Property occupancyProperty = occupancy.getUnit().getProperty();
+            if (property != null && occupancyProperty != property) {
+                continue;
+            }
+            final LocalDateInterval occupancyInterval = occupancy.getEffectiveInterval();
+            if (occupancyInterval == null) {
+                continue;
+            }
+            for (LeaseItem item : lease.getItems()) {
+                for (LeaseTerm term : item.getTerms()) {
+                    final LocalDateInterval period = occupancyInterval.overlap(term.getEffectiveInterval());
+                    if (period == null) {
+                        continue;
+                    }
+                    rentRollLineRepository.newLine(
+                            occupancyProperty, occupancy.getUnit(), lease, tenant, item, period, term.getEffectiveValue());
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    //region > lifecycle events
+
+    @Programmatic
+    @PostConstruct
+    public void postConstruct() {
+        eventBusService.register(this);
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void preDestroy() {
+        eventBusService.unregister(this);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectPersistingEvent<?> ev) {
+        markStaleIfLeaseRelated(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectUpdatingEvent<?> ev) {
+        markStaleIfLeaseRelated(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectRemovingEvent<?> ev) {
+        markStaleIfLeaseRelated(ev);
+    }
+
+    private void markStaleIfLeaseRelated(final AbstractLifecycleEvent<?> ev) {
+        final Object source = ev.getSource();
+        if (source instanceof Lease) {
+            markStale((Lease) source);
+        } else if (source instanceof LeaseItem) {
+            markStale(((LeaseItem) source).getLease());
+        } else if (source instanceof LeaseTerm) {
+            final LeaseItem item = ((LeaseTerm) source).getLeaseItem();
+            markStale(item == null ? null : item.getLease());
+        } else if (source instanceof Occupancy) {
+            markStale(((Occupancy) source).getLease());
+        }
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @Inject
+    RentRollLineRepository rentRollLineRepository;
+
+    @Inject
+    LeaseRepository leaseRepository;
+
+    @Inject
+    RentRollStaleLeaseRepository rentRollStaleLeaseRepository;
+
+    @Inject
+    Scratchpad scratchpad;
+
+    @Inject
+    EventBusService eventBusService;
+
+    //endregion
+
+}
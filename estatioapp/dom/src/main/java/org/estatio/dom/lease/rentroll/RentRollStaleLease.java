@@ -0,0 +1,103 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.rentroll;
+
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.IdentityType;
+import javax.jdo.annotations.Index;
+
+import org.apache.isis.applib.annotation.DomainObject;
+import org.apache.isis.applib.annotation.Editing;
+import org.apache.isis.applib.annotation.Property;
+import org.apache.isis.applib.annotation.Where;
+
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
+
+import org.estatio.dom.JdoColumnLength;
+import org.estatio.dom.UdoDomainObject2;
+import org.estatio.dom.apptenancy.WithApplicationTenancyPathPersisted;
+import org.estatio.dom.apptenancy.WithApplicationTenancyProperty;
+import org.estatio.dom.utils.TitleBuilder;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Records that the {@link RentRollLine}s of a lease are out of date, because the lease or one of its items, terms or
+ * occupancies changed.
+ *
+ * <p>
+ * Persisted in the transaction of the change itself, so that it is only seen once that change is committed, survives
+ * a restart and is seen by every node.  There may be several for the same lease; {@link RentRollService} removes
+ * those it has read once it has refreshed the lines of the lease.
+ * </p>
+ */
+@javax.jdo.annotations.PersistenceCapable(identityType = IdentityType.DATASTORE)
+@javax.jdo.annotations.DatastoreIdentity(
+        strategy = IdGeneratorStrategy.NATIVE,
+        column = "id")
+@javax.jdo.annotations.Queries({
+        @javax.jdo.annotations.Query(
+                name = "findByLeaseReference", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.dom.lease.rentroll.RentRollStaleLease "
+                        + "WHERE leaseReference == :leaseReference")
+})
+@javax.jdo.annotations.Indices({
+        @Index(name = "RentRollStaleLease_leaseReference_IDX",
+                members = { "leaseReference" })
+})
+@DomainObject(editing = Editing.DISABLED)
+public class RentRollStaleLease
+        extends UdoDomainObject2<RentRollStaleLease>
+        implements WithApplicationTenancyProperty, WithApplicationTenancyPathPersisted {
+
+    public RentRollStaleLease() {
+        super("leaseReference");
+    }
+
+    public String title() {
+        return TitleBuilder.start()
+                .withName(getLeaseReference())
+                .toString();
+    }
+
+    // //////////////////////////////////////
+
+    @javax.jdo.annotations.Column(
+            length = ApplicationTenancy.MAX_LENGTH_PATH,
+            allowsNull = "false",
+            name = "atPath"
+    )
+    @Property(hidden = Where.EVERYWHERE)
+    @Getter @Setter
+    private String applicationTenancyPath;
+
+    @Property(hidden = Where.EVERYWHERE)
+    public ApplicationTenancy getApplicationTenancy() {
+        return securityApplicationTenancyRepository.findByPathCached(getApplicationTenancyPath());
+    }
+
+    // //////////////////////////////////////
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.REFERENCE)
+    @Getter @Setter
+    private String leaseReference;
+
+}
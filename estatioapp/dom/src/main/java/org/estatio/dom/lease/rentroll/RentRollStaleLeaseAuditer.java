@@ -0,0 +1,71 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.rentroll;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.audit.AuditerService;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+/**
+ * Writes the marks of the leases that {@link RentRollService} recorded as stale during a transaction, just before it
+ * commits.
+ *
+ * <p>
+ *     Isis audits the changed properties of all objects once their changes have been flushed, and flushes whatever
+ *     its {@link AuditerService}s persist before committing; the first change audited therefore writes the marks,
+ *     and any later ones find nothing left to write.  This relies on the objects being audited
+ *     (<tt>isis.services.audit.objects=all</tt>, as configured for the webapp).
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class RentRollStaleLeaseAuditer implements AuditerService {
+
+    @Programmatic
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Programmatic
+    @Override
+    public void audit(
+            final UUID transactionId,
+            final int sequence,
+            final String targetClass,
+            final Bookmark target,
+            final String memberIdentifier,
+            final String propertyName,
+            final String preValue,
+            final String postValue,
+            final String user,
+            final Timestamp timestamp) {
+        rentRollService.writeStaleMarks();
+    }
+
+    @Inject
+    RentRollService rentRollService;
+
+}
@@ -0,0 +1,75 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.rentroll;
+
+import java.util.List;
+
+import javax.jdo.Query;
+
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+
+import org.estatio.dom.UdoDomainRepositoryAndFactory;
+
+@DomainService(nature = NatureOfService.DOMAIN, repositoryFor = RentRollStaleLease.class)
+public class RentRollStaleLeaseRepository extends UdoDomainRepositoryAndFactory<RentRollStaleLease> {
+
+    public RentRollStaleLeaseRepository() {
+        super(RentRollStaleLeaseRepository.class, RentRollStaleLease.class);
+    }
+
+    /**
+     * Takes the reference and application tenancy path rather than the lease, which may have been removed in the
+     * same transaction.
+     */
+    @Programmatic
+    public RentRollStaleLease newStaleLease(final String leaseReference, final String applicationTenancyPath) {
+        final RentRollStaleLease staleLease = newTransientInstance();
+        staleLease.setApplicationTenancyPath(applicationTenancyPath);
+        staleLease.setLeaseReference(leaseReference);
+        persistIfNotAlready(staleLease);
+        return staleLease;
+    }
+
+    /**
+     * The references of all stale leases, in order.
+     */
+    @Programmatic
+    public List<String> findLeaseReferences() {
+        final Query query = newQuery("SELECT DISTINCT leaseReference FROM org.estatio.dom.lease.rentroll.RentRollStaleLease "
+                + "ORDER BY leaseReference");
+        return Lists.newArrayList((List<String>) query.execute());
+    }
+
+    @Programmatic
+    public List<RentRollStaleLease> findByLeaseReference(final String leaseReference) {
+        return allMatches("findByLeaseReference", "leaseReference", leaseReference);
+    }
+
+    @Programmatic
+    public void removeAll(final List<RentRollStaleLease> staleLeases) {
+        for (RentRollStaleLease staleLease : staleLeases) {
+            getContainer().remove(staleLease);
+        }
+    }
+
+}
@@ -108,6 +108,14 @@ public class LeaseStatusService {
         }
     }
 
+    @Subscribe
+    @Programmatic
+    public void on(Lease.BulkTerminatedEvent ev) {
+        for (Lease lease : ev.getLeases()) {
+            refreshStatus(lease);
+        }
+    }
+
     @Subscribe
     @Programmatic
     public void on(Lease.ChangeDatesEvent ev) {
@@ -1,23 +1,31 @@
 package org.estatio.dom.lease.upgrade;
 
 import java.math.BigInteger;
+import java.util.List;
 
 import javax.inject.Inject;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
 
 import org.estatio.dom.UdoDomainService;
+import org.estatio.dom.batch.BatchJobHandler;
 import org.estatio.dom.lease.Lease;
 import org.estatio.dom.lease.LeaseItem;
 import org.estatio.dom.lease.LeaseItemType;
 import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.valuetypes.ApplicationTenancyLevel;
 
 /**
  * TODO: This method can be removed once the LeaseUpgradeService#upgradeLinkedItems has been executed in prod
+ *
+ * <p>
+ *     Can also be run as a {@link org.estatio.dom.batch.BatchJob}, one lease at a time.
+ * </p>
  */
 @DomainService(nature = NatureOfService.DOMAIN)
-public class LeaseUpgradeService extends UdoDomainService<LeaseUpgradeService>  {
+public class LeaseUpgradeService extends UdoDomainService<LeaseUpgradeService> implements BatchJobHandler {
 
     public LeaseUpgradeService() {
         super(LeaseUpgradeService.class);
@@ -28,31 +36,63 @@ public class LeaseUpgradeService extends UdoDomainService<LeaseUpgradeService>
         BigInteger numberOfItemsLinkedIfNotAlready = BigInteger.ZERO;
 
         for (Lease lease : leaseRepository.allLeases()) {
-            for (LeaseItem depositItem : lease.findItemsOfType(LeaseItemType.DEPOSIT)) {
-                for (LeaseItem rentItem : lease.findItemsOfType(LeaseItemType.RENT)) {
-                    depositItem.findOrCreateSourceItem(rentItem);
-                    numberOfItemsLinkedIfNotAlready = numberOfItemsLinkedIfNotAlready.add(BigInteger.ONE);
-                }
+            numberOfItemsLinkedIfNotAlready = numberOfItemsLinkedIfNotAlready.add(upgradeLinkedItems(lease));
+        }
+        return numberOfItemsLinkedIfNotAlready;
+    }
 
+    @Programmatic
+    public BigInteger upgradeLinkedItems(final Lease lease) {
+        BigInteger numberOfItemsLinkedIfNotAlready = BigInteger.ZERO;
+        for (LeaseItem depositItem : lease.findItemsOfType(LeaseItemType.DEPOSIT)) {
+            for (LeaseItem rentItem : lease.findItemsOfType(LeaseItemType.RENT)) {
+                depositItem.findOrCreateSourceItem(rentItem);
+                numberOfItemsLinkedIfNotAlready = numberOfItemsLinkedIfNotAlready.add(BigInteger.ONE);
             }
-            for (LeaseItem trItem : lease.findItemsOfType(LeaseItemType.TURNOVER_RENT)) {
-                for (LeaseItem rentItem : lease.findItemsOfType(LeaseItemType.RENT)) {
-                    trItem.findOrCreateSourceItem(rentItem);
-                    numberOfItemsLinkedIfNotAlready = numberOfItemsLinkedIfNotAlready.add(BigInteger.ONE);
-                }
 
+        }
+        for (LeaseItem trItem : lease.findItemsOfType(LeaseItemType.TURNOVER_RENT)) {
+            for (LeaseItem rentItem : lease.findItemsOfType(LeaseItemType.RENT)) {
+                trItem.findOrCreateSourceItem(rentItem);
+                numberOfItemsLinkedIfNotAlready = numberOfItemsLinkedIfNotAlready.add(BigInteger.ONE);
             }
-            for (LeaseItem taxItem : lease.findItemsOfType(LeaseItemType.TAX)) {
-                for (LeaseItem rentItem : lease.findItemsOfType(LeaseItemType.RENT)) {
-                    taxItem.findOrCreateSourceItem(rentItem);
-                    numberOfItemsLinkedIfNotAlready = numberOfItemsLinkedIfNotAlready.add(BigInteger.ONE);
-                }
 
+        }
+        for (LeaseItem taxItem : lease.findItemsOfType(LeaseItemType.TAX)) {
+            for (LeaseItem rentItem : lease.findItemsOfType(LeaseItemType.RENT)) {
+                taxItem.findOrCreateSourceItem(rentItem);
+                numberOfItemsLinkedIfNotAlready = numberOfItemsLinkedIfNotAlready.add(BigInteger.ONE);
             }
+
         }
         return numberOfItemsLinkedIfNotAlready;
     }
 
+    //region > BatchJobHandler
+
+    @Override
+    @Programmatic
+    public String name() {
+        return "upgradeLinkedItems";
+    }
+
+    @Override
+    @Programmatic
+    public List<String> keys(final String parameters) {
+        return leaseRepository.findReferencesByApplicationTenancy(ApplicationTenancyLevel.of("/"));
+    }
+
+    @Override
+    @Programmatic
+    public void process(final String key, final String parameters) {
+        final Lease lease = leaseRepository.findLeaseByReferenceElseNull(key);
+        if (lease != null) {
+            upgradeLinkedItems(lease);
+        }
+    }
+
+    //endregion
+
     @Inject
     private LeaseRepository leaseRepository;
 
@@ -0,0 +1,164 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.paging;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.DomainObjectContainer;
+import org.apache.isis.applib.ViewModel;
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.ActionLayout;
+import org.apache.isis.applib.annotation.CollectionLayout;
+import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.applib.annotation.PropertyLayout;
+import org.apache.isis.applib.annotation.RenderType;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+
+/**
+ * A {@link Page page} of a (potentially large) {@link PagedCollection collection} of an aggregate, for browsing
+ * through it a page at a time.
+ *
+ * <p>
+ *     Only the elements of the current page are ever loaded, by a range query ordered in the database, and the size of
+ *     the collection is counted in the database (once per interaction); the name of the collection, the first element
+ *     and the aggregate are all there is to the memento of the view model.  As the page serves any collection, its
+ *     elements are listed by their titles.
+ * </p>
+ */
+public class CollectionPage implements ViewModel {
+
+    public static final int PAGE_SIZE = 20;
+
+    private PagedCollection<?, ?> collection;
+    private Object parent;
+    private int first;
+    private Long count;
+
+    public CollectionPage() {
+    }
+
+    public CollectionPage(final PagedCollection<?, ?> collection, final Object parent) {
+        this.collection = collection;
+        this.parent = parent;
+    }
+
+    @Override
+    public String viewModelMemento() {
+        return collection.getName() + ":" + first + ":" + bookmarkService.bookmarkFor(parent);
+    }
+
+    @Override
+    public void viewModelInit(final String memento) {
+        final String[] parts = memento.split(":", 3);
+        collection = collectionPageContributions.pagedCollection(parts[0]);
+        first = Integer.parseInt(parts[1]);
+        parent = bookmarkService.lookup(new Bookmark(parts[2]));
+    }
+
+    public String title() {
+        return container.titleOf(parent) + " - " + collection.getName() + " " + page();
+    }
+
+    private Page page() {
+        if (count == null) {
+            count = collection.count(parent);
+        }
+        return Page.of(first, PAGE_SIZE, count);
+    }
+
+    @PropertyLayout(named = "Showing")
+    @MemberOrder(sequence = "1")
+    public String getRange() {
+        return page().toString();
+    }
+
+    @CollectionLayout(named = "Elements", render = RenderType.EAGERLY)
+    public List<Object> getElements() {
+        return Lists.<Object>newArrayList(collection.page(parent, page().getFirst(), PAGE_SIZE));
+    }
+
+    // //////////////////////////////////////
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(cssClassFa = "fast-backward")
+    @MemberOrder(name = "range", sequence = "1")
+    public CollectionPage firstPage() {
+        return moveTo(page().first());
+    }
+
+    public String disableFirstPage() {
+        return page().hasPrevious() ? null : "Already on the first page";
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(cssClassFa = "backward")
+    @MemberOrder(name = "range", sequence = "2")
+    public CollectionPage previousPage() {
+        return moveTo(page().previous());
+    }
+
+    public String disablePreviousPage() {
+        return disableFirstPage();
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(cssClassFa = "forward")
+    @MemberOrder(name = "range", sequence = "3")
+    public CollectionPage nextPage() {
+        return moveTo(page().next());
+    }
+
+    public String disableNextPage() {
+        return page().hasNext() ? null : "Already on the last page";
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(cssClassFa = "fast-forward")
+    @MemberOrder(name = "range", sequence = "4")
+    public CollectionPage lastPage() {
+        return moveTo(page().last());
+    }
+
+    public String disableLastPage() {
+        return disableNextPage();
+    }
+
+    private CollectionPage moveTo(final Page page) {
+        first = page.getFirst();
+        return this;
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    DomainObjectContainer container;
+
+    @Inject
+    BookmarkService bookmarkService;
+
+    @Inject
+    CollectionPageContributions collectionPageContributions;
+
+}
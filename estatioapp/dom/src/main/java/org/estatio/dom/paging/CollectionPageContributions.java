@@ -0,0 +1,158 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.paging;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.ActionLayout;
+import org.apache.isis.applib.annotation.Contributed;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.annotation.SemanticsOf;
+
+import org.estatio.dom.UdoDomainService;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.asset.Unit;
+import org.estatio.dom.asset.UnitRepository;
+import org.estatio.dom.budgeting.keyitem.KeyItem;
+import org.estatio.dom.budgeting.keyitem.KeyItemRepository;
+import org.estatio.dom.budgeting.keytable.KeyTable;
+import org.estatio.dom.invoice.Invoice;
+import org.estatio.dom.invoice.InvoiceItem;
+import org.estatio.dom.invoice.InvoiceItemRepository;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.lease.LeaseItemRepository;
+import org.estatio.dom.lease.LeaseTerm;
+import org.estatio.dom.lease.LeaseTermRepository;
+
+/**
+ * Contributes browsing a page at a time to the large collections of leases, lease items, invoices, key tables and
+ * properties, which are therefore no longer rendered eagerly; and holds those {@link PagedCollection collections}, by
+ * name, for the {@link CollectionPage pages} to look up.
+ */
+@DomainService(nature = NatureOfService.VIEW_CONTRIBUTIONS_ONLY)
+public class CollectionPageContributions extends UdoDomainService<CollectionPageContributions> {
+
+    private final PagedCollection<Lease, LeaseItem> leaseItems;
+    private final PagedCollection<LeaseItem, LeaseTerm> terms;
+    private final PagedCollection<Invoice, InvoiceItem> invoiceItems;
+    private final PagedCollection<KeyTable, KeyItem> keyItems;
+    private final PagedCollection<Property, Unit> units;
+
+    private final Map<String, PagedCollection<?, ?>> collectionsByName = Maps.newHashMap();
+
+    public CollectionPageContributions() {
+        super(CollectionPageContributions.class);
+        leaseItems = new PagedCollection<>(
+                "lease items", Lease.class,
+                lease -> leaseItemRepository.countByLease(lease),
+                (lease, first, size) -> leaseItemRepository.findByLease(lease, first, size));
+        terms = new PagedCollection<>(
+                "terms", LeaseItem.class,
+                leaseItem -> leaseTermRepository.countByLeaseItem(leaseItem),
+                (leaseItem, first, size) -> leaseTermRepository.findByLeaseItem(leaseItem, first, size));
+        invoiceItems = new PagedCollection<>(
+                "invoice items", Invoice.class,
+                invoice -> invoiceItemRepository.countByInvoice(invoice),
+                (invoice, first, size) -> invoiceItemRepository.findByInvoice(invoice, first, size));
+        keyItems = new PagedCollection<>(
+                "key items", KeyTable.class,
+                keyTable -> keyItemRepository.countByKeyTable(keyTable),
+                (keyTable, first, size) -> keyItemRepository.findByKeyTable(keyTable, first, size));
+        units = new PagedCollection<>(
+                "units", Property.class,
+                property -> unitRepository.countByProperty(property),
+                (property, first, size) -> unitRepository.findByProperty(property, first, size));
+        for (PagedCollection<?, ?> collection : Arrays.asList(leaseItems, terms, invoiceItems, keyItems, units)) {
+            collectionsByName.put(collection.getName(), collection);
+        }
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(contributed = Contributed.AS_ACTION, cssClassFa = "list")
+    public CollectionPage browseLeaseItems(final Lease lease) {
+        return browse(leaseItems, lease);
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(contributed = Contributed.AS_ACTION, cssClassFa = "list")
+    public CollectionPage browseTerms(final LeaseItem leaseItem) {
+        return browse(terms, leaseItem);
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(contributed = Contributed.AS_ACTION, cssClassFa = "list")
+    public CollectionPage browseInvoiceItems(final Invoice invoice) {
+        return browse(invoiceItems, invoice);
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(contributed = Contributed.AS_ACTION, cssClassFa = "list")
+    public CollectionPage browseKeyItems(final KeyTable keyTable) {
+        return browse(keyItems, keyTable);
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(contributed = Contributed.AS_ACTION, cssClassFa = "list")
+    public CollectionPage browseUnits(final Property property) {
+        return browse(units, property);
+    }
+
+    private <P> CollectionPage browse(final PagedCollection<P, ?> collection, final P parent) {
+        return getContainer().injectServicesInto(new CollectionPage(collection, parent));
+    }
+
+    /**
+     * The collection of the name, as held in the memento of a {@link CollectionPage page}.
+     */
+    @Programmatic
+    public PagedCollection<?, ?> pagedCollection(final String name) {
+        final PagedCollection<?, ?> collection = collectionsByName.get(name);
+        if (collection == null) {
+            throw new IllegalArgumentException("No paged collection named " + name);
+        }
+        return collection;
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    LeaseItemRepository leaseItemRepository;
+
+    @Inject
+    LeaseTermRepository leaseTermRepository;
+
+    @Inject
+    InvoiceItemRepository invoiceItemRepository;
+
+    @Inject
+    KeyItemRepository keyItemRepository;
+
+    @Inject
+    UnitRepository unitRepository;
+
+}
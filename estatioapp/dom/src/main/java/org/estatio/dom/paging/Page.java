@@ -0,0 +1,98 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.paging;
+
+/**
+ * A window of (at most) a page size of a collection of the given count, starting at the (zero-based) first element;
+ * immutable, the previous, next, first and last pages are new pages.
+ */
+public final class Page {
+
+    private final int first;
+    private final int size;
+    private final long count;
+
+    private Page(final int first, final int size, final long count) {
+        this.first = first;
+        this.size = size;
+        this.count = count;
+    }
+
+    /**
+     * The page starting at the first element, moved back to the last page if the collection has since shrunk.
+     */
+    public static Page of(final int first, final int size, final long count) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return new Page(Math.max(0, (int) Math.min(first, lastFirst(size, count))), size, count);
+    }
+
+    private static long lastFirst(final int size, final long count) {
+        return count == 0 ? 0 : ((count - 1) / size) * size;
+    }
+
+    public int getFirst() {
+        return first;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean hasPrevious() {
+        return first > 0;
+    }
+
+    public boolean hasNext() {
+        return first + size < count;
+    }
+
+    public Page previous() {
+        return of(first - size, size, count);
+    }
+
+    public Page next() {
+        return of(first + size, size, count);
+    }
+
+    public Page first() {
+        return of(0, size, count);
+    }
+
+    public Page last() {
+        return of((int) lastFirst(size, count), size, count);
+    }
+
+    /**
+     * For example <tt>16-30 of 240</tt>.
+     */
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "none";
+        }
+        return (first + 1) + "-" + Math.min(first + size, count) + " of " + count;
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.paging;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * A (potentially large) collection of an aggregate that can be browsed a {@link CollectionPage page} at a time: the
+ * function counting its elements and the function fetching a range of them, both in the database.
+ */
+public final class PagedCollection<P, T> {
+
+    /**
+     * Fetches the elements of the aggregate from the (zero-based) first, at most the given number of them.
+     */
+    public interface PageFunction<P, T> {
+        List<T> page(P parent, int first, int size);
+    }
+
+    private final String name;
+    private final Class<P> parentType;
+    private final ToLongFunction<P> countFunction;
+    private final PageFunction<P, T> pageFunction;
+
+    public PagedCollection(
+            final String name,
+            final Class<P> parentType,
+            final ToLongFunction<P> countFunction,
+            final PageFunction<P, T> pageFunction) {
+        this.name = name;
+        this.parentType = parentType;
+        this.countFunction = countFunction;
+        this.pageFunction = pageFunction;
+    }
+
+    /**
+     * Identifies the collection in the memento of a {@link CollectionPage page}, and is shown in its title.
+     */
+    public String getName() {
+        return name;
+    }
+
+    long count(final Object parent) {
+        return countFunction.applyAsLong(parentType.cast(parent));
+    }
+
+    List<T> page(final Object parent, final int first, final int size) {
+        return pageFunction.page(parentType.cast(parent), first, size);
+    }
+
+}
@@ -27,6 +27,7 @@ import org.apache.isis.applib.query.Query;
 
 import org.estatio.dom.FinderInteraction;
 import org.estatio.dom.FinderInteraction.FinderMethod;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -62,6 +63,7 @@ public class AgreementRoleTypeRepositoryTest {
                 return null;
             }
         };
+        agreementRoleTypeRepository.referenceDataCache = new ReferenceDataCache();
     }
 
     public static class FindApplicableTo extends AgreementRoleTypeRepositoryTest {
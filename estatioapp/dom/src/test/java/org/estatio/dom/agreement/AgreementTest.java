@@ -185,6 +185,28 @@ public class AgreementTest {
             assertThat(agreement.findCurrentOrMostRecentParty(tenantArt)).isEqualTo(tenant2);
         }
 
+        @Test
+        public void whenRoleAddedAfterLookup() {
+            agreement.getRoles().add(arTenant1);
+            assertThat(agreement.findCurrentOrMostRecentParty(tenantArt)).isEqualTo(tenant1);
+
+            agreement.getRoles().add(arTenant2);
+
+            assertThat(agreement.findCurrentOrMostRecentParty(tenantArt)).isEqualTo(tenant2);
+        }
+
+        @Test
+        public void whenRoleGivenAnotherTypeAfterLookup() {
+            arLandlord.setAgreement(agreement);
+            agreement.getRoles().add(arLandlord);
+            assertThat(agreement.findCurrentOrMostRecentParty(landlordArt)).isEqualTo(landlord);
+
+            arLandlord.setType(tenantArt);
+
+            assertThat(agreement.findCurrentOrMostRecentParty(landlordArt)).isNull();
+            assertThat(agreement.findCurrentOrMostRecentParty(tenantArt)).isEqualTo(landlord);
+        }
+
         private void addAllRoles() {
             agreement.getRoles().add(arLandlord);
             agreement.getRoles().add(arTenant1);
@@ -27,6 +27,7 @@ import org.apache.isis.applib.query.Query;
 
 import org.estatio.dom.FinderInteraction;
 import org.estatio.dom.FinderInteraction.FinderMethod;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -59,6 +60,7 @@ public class AgreementTypeRepositoryTest {
                 return null;
             }
         };
+        agreementTypeRepository.referenceDataCache = new ReferenceDataCache();
     }
 
     public static class findAgreementByTitle extends AgreementTypeRepositoryTest {
@@ -30,11 +30,8 @@ import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
 import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.ClassUnderTest;
 import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
 
-import org.isisaddons.module.settings.dom.ApplicationSetting;
-import org.isisaddons.module.settings.dom.SettingAbstract;
-import org.isisaddons.module.settings.dom.SettingType;
-
 import org.estatio.domsettings.ApplicationSettingsServiceForEstatio;
+import org.estatio.domsettings.SettingsCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -59,39 +56,16 @@ public class EstatioSettingsServiceTest {
     private ApplicationSettingsServiceForEstatio mockApplicationSettingsService;
     @Mock
     private DomainObjectContainer mockDomainObjectContainer;
+    @Mock
+    private SettingsCache mockSettingsCache;
 
     @ClassUnderTest
     private EstatioSettingsServiceForTesting estatioSettingsService;
 
-    static class ApplicationSettingForTesting extends SettingAbstract implements ApplicationSetting {
-        private String valueRaw;
-        private SettingType type;
-
-        public ApplicationSettingForTesting(String valueRaw, SettingType type) {
-            this.valueRaw = valueRaw;
-            this.type = type;
-        }
-
-        public String getKey() {
-            return null;
-        }
-
-        public String getDescription() {
-            return null;
-        }
-
-        public SettingType getType() {
-            return type;
-        }
-
-        public String getValueRaw() {
-            return valueRaw;
-        }
-    }
-
     @Before
     public void setUp() throws Exception {
         estatioSettingsService.applicationSettingsService = mockApplicationSettingsService;
+        estatioSettingsService.settingsCache = mockSettingsCache;
     }
 
     @Test
@@ -99,8 +73,8 @@ public class EstatioSettingsServiceTest {
         final LocalDate date = new LocalDate(2013, 4, 1);
         context.checking(new Expectations() {
             {
-                oneOf(mockApplicationSettingsService).find(ApplicationSettingKey.epochDate);
-                will(returnValue(new ApplicationSettingForTesting(date.toString(SettingAbstract.DATE_FORMATTER), SettingType.LOCAL_DATE)));
+                oneOf(mockSettingsCache).get(ApplicationSettingKey.epochDate, LocalDate.class);
+                will(returnValue(date));
             }
         });
         final LocalDate fetchEpochDate = estatioSettingsService.fetchEpochDate();
@@ -111,7 +85,7 @@ public class EstatioSettingsServiceTest {
     public void whenNull() {
         context.checking(new Expectations() {
             {
-                oneOf(mockApplicationSettingsService).find(ApplicationSettingKey.epochDate);
+                oneOf(mockSettingsCache).get(ApplicationSettingKey.epochDate, LocalDate.class);
                 will(returnValue(null));
             }
         });
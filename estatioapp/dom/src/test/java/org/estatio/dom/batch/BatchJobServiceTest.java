@@ -0,0 +1,85 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.batch;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchJobServiceTest {
+
+    public static class ResumePosition extends BatchJobServiceTest {
+
+        private final List<String> keys = Arrays.asList("A", "B", "C", "D");
+
+        @Test
+        public void not_started() throws Exception {
+            assertThat(BatchJobService.resumePosition(keys, 0, null)).isEqualTo(0);
+        }
+
+        @Test
+        public void keys_unchanged() throws Exception {
+            assertThat(BatchJobService.resumePosition(keys, 2, "B")).isEqualTo(2);
+        }
+
+        @Test
+        public void key_added_before_checkpoint() throws Exception {
+            assertThat(BatchJobService.resumePosition(Arrays.asList("0", "A", "B", "C", "D"), 2, "B")).isEqualTo(3);
+        }
+
+        @Test
+        public void last_key_removed() throws Exception {
+            assertThat(BatchJobService.resumePosition(Arrays.asList("A", "C", "D"), 2, "B")).isEqualTo(2);
+        }
+
+        @Test
+        public void all_processed() throws Exception {
+            assertThat(BatchJobService.resumePosition(keys, 4, "D")).isEqualTo(4);
+        }
+
+    }
+
+    public static class IsExpired extends BatchJobServiceTest {
+
+        private final long lease = TimeUnit.MINUTES.toMillis(30);
+        private final Timestamp now = Timestamp.valueOf("2016-06-01 12:00:00");
+
+        @Test
+        public void within_lease() throws Exception {
+            assertThat(BatchJobService.isExpired(Timestamp.valueOf("2016-06-01 11:30:00"), now, lease)).isFalse();
+        }
+
+        @Test
+        public void beyond_lease() throws Exception {
+            assertThat(BatchJobService.isExpired(Timestamp.valueOf("2016-06-01 11:29:59"), now, lease)).isTrue();
+        }
+
+        @Test
+        public void never_renewed() throws Exception {
+            assertThat(BatchJobService.isExpired(null, now, lease)).isTrue();
+        }
+
+    }
+
+}
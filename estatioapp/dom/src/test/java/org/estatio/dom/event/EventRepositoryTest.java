@@ -0,0 +1,89 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.event;
+
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.query.Query;
+
+import org.estatio.dom.FinderInteraction;
+import org.estatio.dom.FinderInteraction.FinderMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventRepositoryTest {
+
+    FinderInteraction finderInteraction;
+
+    EventRepository eventRepository;
+
+    @Before
+    public void setup() {
+        eventRepository = new EventRepository() {
+
+            @Override
+            protected <T> List<T> allMatches(Query<T> query) {
+                finderInteraction = new FinderInteraction(query, FinderMethod.ALL_MATCHES);
+                return null;
+            }
+        };
+    }
+
+    public static class FindEventsInDateRange extends EventRepositoryTest {
+
+        @Test
+        public void happyCase() {
+            final LocalDate startDate = new LocalDate(2016, 1, 1);
+            final LocalDate endDate = new LocalDate(2016, 3, 31);
+
+            eventRepository.findEventsInDateRange(startDate, endDate);
+
+            assertThat(finderInteraction.getFinderMethod()).isEqualTo(FinderMethod.ALL_MATCHES);
+            assertThat(finderInteraction.getResultType()).isEqualTo(Event.class);
+            assertThat(finderInteraction.getQueryName()).isEqualTo("findInDateRange");
+            assertThat(finderInteraction.getArgumentsByParameterName().get("rangeStartDate")).isEqualTo((Object) startDate);
+            assertThat(finderInteraction.getArgumentsByParameterName().get("rangeEndDate")).isEqualTo((Object) endDate);
+            assertThat(finderInteraction.getArgumentsByParameterName()).hasSize(2);
+        }
+    }
+
+    public static class FindEventsByCalendarNameInDateRange extends EventRepositoryTest {
+
+        @Test
+        public void happyCase() {
+            final LocalDate startDate = new LocalDate(2016, 1, 1);
+            final LocalDate endDate = new LocalDate(2016, 3, 31);
+
+            eventRepository.findEventsByCalendarNameInDateRange("Fixed break", startDate, endDate);
+
+            assertThat(finderInteraction.getFinderMethod()).isEqualTo(FinderMethod.ALL_MATCHES);
+            assertThat(finderInteraction.getResultType()).isEqualTo(Event.class);
+            assertThat(finderInteraction.getQueryName()).isEqualTo("findByCalendarNameInDateRange");
+            assertThat(finderInteraction.getArgumentsByParameterName().get("calendarName")).isEqualTo((Object) "Fixed break");
+            assertThat(finderInteraction.getArgumentsByParameterName().get("rangeStartDate")).isEqualTo((Object) startDate);
+            assertThat(finderInteraction.getArgumentsByParameterName().get("rangeEndDate")).isEqualTo((Object) endDate);
+            assertThat(finderInteraction.getArgumentsByParameterName()).hasSize(3);
+        }
+    }
+
+}
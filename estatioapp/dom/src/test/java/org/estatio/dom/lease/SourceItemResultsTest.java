@@ -0,0 +1,63 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.joda.time.LocalDate;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import org.estatio.dom.lease.invoicing.InvoiceCalculationService.CalculationResult;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SourceItemResultsTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private LeaseItem rentItem;
+
+    @Test
+    public void calculatesOncePerIntervalAndDueDate() {
+        final LocalDateInterval interval = LocalDateInterval.parseString("2013-01-01/2014-01-01");
+        final LocalDate dueDate = new LocalDate(2014, 12, 31);
+        final List<CalculationResult> results = Collections.singletonList(new CalculationResult());
+
+        context.checking(new Expectations() {
+            {
+                oneOf(rentItem).calculationResults(interval, dueDate);
+                will(returnValue(results));
+            }
+        });
+
+        final SourceItemResults sourceItemResults = new SourceItemResults();
+        assertThat(sourceItemResults.of(rentItem, interval, dueDate)).isSameAs(results);
+        assertThat(sourceItemResults.of(rentItem, LocalDateInterval.parseString("2013-01-01/2014-01-01"), dueDate)).isSameAs(results);
+    }
+
+}
@@ -51,6 +51,22 @@ public class TurnoverRentRuleHelperTest {
 
     }
 
+    public static class Of extends TurnoverRentRuleHelperTest {
+
+        @Test
+        public void sharesCompiledRule() {
+            final TurnoverRentRuleHelper helper = TurnoverRentRuleHelper.of("500000;5;750000;6;7");
+            assertThat(TurnoverRentRuleHelper.of("500000;5;750000;6;7")).isSameAs(helper);
+            assertThat(helper.calculateRent(BigDecimal.valueOf(600000))).isEqualTo(new BigDecimal("31000.00"));
+        }
+
+        @Test
+        public void whenNull() {
+            assertThat(TurnoverRentRuleHelper.of(null).isValid()).isFalse();
+        }
+
+    }
+
     public static class IsValid extends TurnoverRentRuleHelperTest {
 
         @Test
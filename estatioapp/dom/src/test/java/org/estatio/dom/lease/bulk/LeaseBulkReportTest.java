@@ -0,0 +1,52 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.bulk;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LeaseBulkReportTest {
+
+    @Test
+    public void counts_changed_and_skipped() throws Exception {
+        final LeaseBulkReport report = new LeaseBulkReport(LeaseBulkReport.Operation.RENEW);
+        report.changed("OXF-TOPMODEL-001", "OXF-TOPMODEL-001-R", new LocalDate(2022, 7, 15));
+        report.skipped("OXF-POISON-003", "Lease reference OXF-POISON-R already exists");
+        report.changed("OXF-MEDIAX-002", "OXF-MEDIAX-002-R", new LocalDate(2018, 1, 1));
+
+        assertThat(report.getChanged()).isEqualTo(2);
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(report.toString()).isEqualTo("RENEW: 2 changed, 1 skipped");
+    }
+
+    @Test
+    public void as_csv() throws Exception {
+        final LeaseBulkReport report = new LeaseBulkReport(LeaseBulkReport.Operation.TERMINATE);
+        report.changed("OXF-TOPMODEL-001", null, new LocalDate(2016, 3, 31));
+        report.skipped("OXF-POISON-003", "Status is \"Terminated\"");
+
+        assertThat(report.asCsv()).isEqualTo(
+                "operation,lease,newLease,date,result\n"
+                        + "TERMINATE,OXF-TOPMODEL-001,,2016-03-31,changed\n"
+                        + "TERMINATE,OXF-POISON-003,,,\"skipped: Status is \"\"Terminated\"\"\"\n");
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.bulk;
+
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.estatio.dom.lease.Lease;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LeaseBulkServiceTest {
+
+    private Lease lease;
+
+    private Set<String> existingReferences;
+
+    @Before
+    public void setUp() throws Exception {
+        lease = new Lease();
+        lease.setReference("OXF-TOPMODEL-001");
+        existingReferences = Sets.newHashSet("OXF-POISON-R");
+    }
+
+    @Test
+    public void copyable() throws Exception {
+        assertThat(LeaseBulkService.reasonNotToCopy(lease, "OXF-TOPMODEL-R", existingReferences)).isNull();
+    }
+
+    @Test
+    public void already_renewed() throws Exception {
+        final Lease next = new Lease();
+        next.setReference("OXF-TOPMODEL-002");
+        lease.setNext(next);
+
+        assertThat(LeaseBulkService.reasonNotToCopy(lease, "OXF-TOPMODEL-R", existingReferences))
+                .isEqualTo("Lease has already been renewed or assigned to OXF-TOPMODEL-002");
+    }
+
+    @Test
+    public void invalid_reference() throws Exception {
+        assertThat(LeaseBulkService.reasonNotToCopy(lease, "OXF-TOPMODEL-001-RENEWED", existingReferences))
+                .startsWith("New reference OXF-TOPMODEL-001-RENEWED is not valid");
+    }
+
+    @Test
+    public void existing_reference() throws Exception {
+        assertThat(LeaseBulkService.reasonNotToCopy(lease, "OXF-POISON-R", existingReferences))
+                .isEqualTo("Lease reference OXF-POISON-R already exists");
+    }
+
+}
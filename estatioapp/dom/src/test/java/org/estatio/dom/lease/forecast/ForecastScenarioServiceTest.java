@@ -0,0 +1,153 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.estatio.dom.index.Index;
+import org.estatio.dom.lease.InvoicingFrequency;
+import org.estatio.dom.lease.LeaseItemType;
+import org.estatio.dom.lease.LeaseTermForIndexable;
+import org.estatio.dom.lease.LeaseTermFrequency;
+import org.estatio.dom.lease.LeaseTermStatus;
+import org.estatio.dom.lease.LeaseTermValueType;
+import org.estatio.dom.lease.indexation.IndexationMethod;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ForecastScenarioServiceTest {
+
+    private ForecastSnapshot snapshot;
+
+    private ForecastScenarioService service;
+
+    @Before
+    public void setUp() throws Exception {
+        final Index index = new Index();
+        index.setReference("ISTAT-FOI");
+
+        // the last term of the rent, indexed on the start of each year
+        final LeaseTermForIndexable term = new LeaseTermForIndexable();
+        term.setStartDate(new LocalDate(2015, 1, 1));
+        term.setEndDate(new LocalDate(2015, 12, 31));
+        term.setStatus(LeaseTermStatus.NEW);
+        term.setFrequency(LeaseTermFrequency.YEARLY);
+        term.setIndexationMethod(IndexationMethod.LAST_KNOWN_INDEX);
+        term.setIndex(index);
+        term.setBaseIndexStartDate(new LocalDate(2014, 1, 1));
+        term.setNextIndexStartDate(new LocalDate(2015, 1, 1));
+        term.setEffectiveDate(new LocalDate(2015, 1, 1));
+        term.setBaseValue(new BigDecimal("10000.00"));
+
+        final NavigableMap<LocalDate, BigDecimal> values = new TreeMap<>();
+        values.put(new LocalDate(2015, 1, 1), new BigDecimal("10000.00"));
+        final LocalDateInterval interval = LocalDateInterval.including(new LocalDate(2015, 1, 1), null);
+        final LeaseTermSnapshot termSnapshot = new LeaseTermSnapshot(
+                "OXF",
+                "OXF-TOPMODEL-001",
+                LeaseItemType.RENT,
+                "RENT",
+                InvoicingFrequency.QUARTERLY_IN_ADVANCE,
+                new LocalDate(1980, 1, 1),
+                interval,
+                interval,
+                LeaseTermValueType.ANNUAL,
+                values,
+                "OXF-TOPMODEL-001/RENT/1",
+                "IT-VATSTD",
+                IndexationSnapshot.of(term));
+
+        final NavigableMap<LocalDate, BigDecimal> indexValues = new TreeMap<>();
+        indexValues.put(new LocalDate(2014, 1, 1), new BigDecimal("100.0000"));
+        final NavigableMap<LocalDate, BigDecimal> indexBases = new TreeMap<>();
+        indexBases.put(new LocalDate(2000, 1, 1), BigDecimal.ONE);
+        final NavigableMap<LocalDate, BigDecimal> taxRates = new TreeMap<>();
+        taxRates.put(new LocalDate(2012, 1, 1), new BigDecimal("20.00"));
+
+        snapshot = new ForecastSnapshot(
+                Collections.singletonList(termSnapshot),
+                ImmutableMap.of("ISTAT-FOI", new IndexSeries("ISTAT-FOI", indexValues, indexBases)),
+                ImmutableMap.of("IT-VATSTD", taxRates));
+        service = new ForecastScenarioService();
+    }
+
+    private ScenarioValuation valuationOf(final ForecastScenario scenario) {
+        final List<ScenarioValuation> valuations = service.value(snapshot, scenario, new LocalDate(2015, 1, 1), 2);
+        assertThat(valuations).hasSize(1);
+        return valuations.get(0);
+    }
+
+    @Test
+    public void baseline_carries_the_rent_forward() throws Exception {
+        final ScenarioValuation valuation = valuationOf(ForecastScenario.baseline());
+
+        assertThat(valuation.getBaselineNetAmount()).isEqualByComparingTo("20000.00");
+        assertThat(valuation.getBaselineGrossAmount()).isEqualByComparingTo("24000.00");
+        assertThat(valuation.getNetDifference()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    public void index_change_indexes_the_term_and_its_successors() throws Exception {
+        final ScenarioValuation valuation = valuationOf(
+                ForecastScenario.baseline().withIndexChange("ISTAT-FOI", new LocalDate(2014, 6, 1), new BigDecimal("3")));
+
+        assertThat(valuation.getScenarioNetAmount()).isEqualByComparingTo("20600.00");
+        assertThat(valuation.getScenarioGrossAmount()).isEqualByComparingTo("24720.00");
+    }
+
+    @Test
+    public void relet_replaces_the_rent() throws Exception {
+        final ScenarioValuation valuation = valuationOf(
+                ForecastScenario.baseline().withRelet("OXF-TOPMODEL-001", new LocalDate(2016, 1, 1), new BigDecimal("12000.00")));
+
+        assertThat(valuation.getScenarioNetAmount()).isEqualByComparingTo("22000.00");
+    }
+
+    @Test
+    public void tax_change_only_changes_the_gross_amount() throws Exception {
+        final ScenarioValuation valuation = valuationOf(
+                ForecastScenario.baseline().withTaxChange("IT-VATSTD", new LocalDate(2016, 1, 1), new BigDecimal("22.00")));
+
+        assertThat(valuation.getNetDifference()).isEqualByComparingTo("0");
+        assertThat(valuation.getScenarioGrossAmount()).isEqualByComparingTo("24200.00");
+    }
+
+    @Test
+    public void scenarios_are_layered_without_changing_each_other() throws Exception {
+        final ForecastScenario indexed = ForecastScenario.baseline()
+                .withIndexChange("ISTAT-FOI", new LocalDate(2014, 6, 1), new BigDecimal("3"));
+        final ForecastScenario relet = indexed
+                .withRelet("OXF-TOPMODEL-001", new LocalDate(2016, 1, 1), new BigDecimal("12000.00"));
+
+        assertThat(indexed.getRelets()).isEmpty();
+        assertThat(valuationOf(relet).getScenarioNetAmount()).isEqualByComparingTo("22300.00");
+    }
+
+}
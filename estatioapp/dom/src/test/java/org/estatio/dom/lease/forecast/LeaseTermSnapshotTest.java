@@ -0,0 +1,101 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.forecast;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.estatio.dom.lease.InvoicingFrequency;
+import org.estatio.dom.lease.LeaseItemType;
+import org.estatio.dom.lease.LeaseTermValueType;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LeaseTermSnapshotTest {
+
+    private LeaseTermSnapshot snapshot;
+
+    @Before
+    public void setUp() throws Exception {
+        final NavigableMap<LocalDate, BigDecimal> values = new TreeMap<>();
+        values.put(new LocalDate(2014, 1, 1), new BigDecimal("40000.00"));
+        values.put(new LocalDate(2015, 7, 1), new BigDecimal("48000.00"));
+        final LocalDateInterval interval = LocalDateInterval.including(new LocalDate(2014, 1, 1), null);
+        snapshot = new LeaseTermSnapshot(
+                "OXF",
+                "OXF-TOPMODEL-001",
+                LeaseItemType.RENT,
+                "RENT",
+                InvoicingFrequency.QUARTERLY_IN_ADVANCE,
+                new LocalDate(1980, 1, 1),
+                interval,
+                interval,
+                LeaseTermValueType.ANNUAL,
+                values);
+    }
+
+    public static class ValueForDate extends LeaseTermSnapshotTest {
+
+        @Test
+        public void uses_latest_sample_on_or_before_date() throws Exception {
+            assertThat(snapshot.valueForDate(new LocalDate(2013, 6, 1))).isEqualTo(new BigDecimal("40000.00"));
+            assertThat(snapshot.valueForDate(new LocalDate(2015, 6, 30))).isEqualTo(new BigDecimal("40000.00"));
+            assertThat(snapshot.valueForDate(new LocalDate(2015, 7, 1))).isEqualTo(new BigDecimal("48000.00"));
+        }
+
+    }
+
+    public static class Forecast extends LeaseTermSnapshotTest {
+
+        @Test
+        public void one_line_per_quarter() throws Exception {
+            // when
+            final List<InvoiceForecastLine> lines = new InvoiceForecastService().forecast(
+                    Collections.singletonList(snapshot), new LocalDate(2015, 1, 15), 1);
+
+            // then
+            assertThat(lines).extracting("dueDate").containsExactly(
+                    new LocalDate(2015, 1, 1),
+                    new LocalDate(2015, 4, 1),
+                    new LocalDate(2015, 7, 1),
+                    new LocalDate(2015, 10, 1));
+            assertThat(lines).extracting("value").containsExactly(
+                    new BigDecimal("10000.00"),
+                    new BigDecimal("10000.00"),
+                    new BigDecimal("12000.00"),
+                    new BigDecimal("12000.00"));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void years_are_bounded() throws Exception {
+            new InvoiceForecastService().forecast(
+                    Collections.singletonList(snapshot), new LocalDate(2015, 1, 15), InvoiceForecastService.MAX_YEARS + 1);
+        }
+
+    }
+
+}
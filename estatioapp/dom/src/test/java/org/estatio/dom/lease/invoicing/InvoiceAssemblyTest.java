@@ -0,0 +1,257 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.invoicing;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.jdo.PersistenceManager;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.auto.Mock;
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.DomainObjectContainer;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
+
+import org.estatio.dom.currency.Currency;
+import org.estatio.dom.invoice.Invoice;
+import org.estatio.dom.invoice.InvoiceRepository;
+import org.estatio.dom.invoice.InvoiceStatus;
+import org.estatio.dom.invoice.PaymentMethod;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.lease.LeaseTerm;
+import org.estatio.dom.lease.LeaseTermForFixed;
+import org.estatio.dom.lease.LeaseTermForIndexable;
+import org.estatio.dom.party.Organisation;
+import org.estatio.dom.party.Party;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvoiceAssemblyTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private InvoiceRepository mockInvoiceRepository;
+
+    @Mock
+    private InvoiceItemForLeaseRepository mockInvoiceItemForLeaseRepository;
+
+    @Mock
+    private DomainObjectContainer mockContainer;
+
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+
+    @Mock
+    private Lease mockLease;
+
+    private ApplicationTenancy applicationTenancy;
+    private Party seller;
+    private Party buyer;
+    private Currency currency;
+    private LocalDate dueDate;
+
+    @Before
+    public void setUp() throws Exception {
+        applicationTenancy = new ApplicationTenancy();
+        seller = new Organisation();
+        seller.setReference("SELLER");
+        buyer = new Organisation();
+        buyer.setReference("BUYER");
+        currency = new Currency();
+        dueDate = new LocalDate(2014, 1, 1);
+
+        context.checking(new Expectations() {
+            {
+                oneOf(mockLease).getPrimaryParty();
+                will(returnValue(seller));
+                oneOf(mockLease).getSecondaryParty();
+                will(returnValue(buyer));
+                allowing(mockPersistenceManager).getProperties();
+                will(returnValue(Collections.emptyMap()));
+            }
+        });
+    }
+
+    private InvoiceAssembly newAssembly(final int chunkSize) {
+        return new InvoiceAssembly(
+                mockInvoiceRepository, mockInvoiceItemForLeaseRepository, mockContainer, mockPersistenceManager, currency, "run", chunkSize);
+    }
+
+    private Invoice invoice(final InvoiceStatus status) {
+        final Invoice invoice = new Invoice();
+        invoice.setSeller(seller);
+        invoice.setBuyer(buyer);
+        invoice.setPaymentMethod(PaymentMethod.DIRECT_DEBIT);
+        invoice.setLease(mockLease);
+        invoice.setStatus(status);
+        invoice.setDueDate(dueDate);
+        return invoice;
+    }
+
+    private <T extends LeaseTerm> T term(final T term) {
+        final LeaseItem leaseItem = new LeaseItem();
+        leaseItem.setLease(mockLease);
+        term.setLeaseItem(leaseItem);
+        return term;
+    }
+
+    private static InvoiceItemForLease item(final LeaseTerm term, final LocalDateInterval interval, final String netAmount) {
+        final InvoiceItemForLease item = new InvoiceItemForLease();
+        item.setLeaseTerm(term);
+        item.setStartDate(interval.startDate());
+        item.setEndDate(interval.endDate());
+        item.setNetAmount(new BigDecimal(netAmount));
+        return item;
+    }
+
+    private void expectLoad(final Invoice[] invoices, final InvoiceItemForLease[] items) {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockInvoiceRepository).findByLease(mockLease);
+                will(returnValue(Arrays.asList(invoices)));
+                oneOf(mockInvoiceItemForLeaseRepository).findByLease(mockLease);
+                will(returnValue(Arrays.asList(items)));
+                oneOf(mockPersistenceManager).setProperty(InvoiceAssembly.FLUSH_MODE, "MANUAL");
+            }
+        });
+    }
+
+    @Test
+    public void whenMatchingInvoiceExists() throws Exception {
+        final Invoice approved = invoice(InvoiceStatus.APPROVED);
+        final Invoice invoice = invoice(InvoiceStatus.NEW);
+        expectLoad(new Invoice[] { approved, invoice }, new InvoiceItemForLease[] {});
+
+        final InvoiceAssembly assembly = newAssembly(10);
+        assembly.startLease(mockLease);
+
+        // looked up in what was loaded, without querying again
+        assertThat(assembly.findOrCreateMatchingInvoice(applicationTenancy, PaymentMethod.DIRECT_DEBIT, mockLease, InvoiceStatus.NEW, dueDate)).isSameAs(invoice);
+        assertThat(assembly.findOrCreateMatchingInvoice(applicationTenancy, PaymentMethod.DIRECT_DEBIT, mockLease, InvoiceStatus.NEW, dueDate)).isSameAs(invoice);
+
+        // nothing was created, so nothing to flush
+        assembly.flush();
+
+        context.checking(new Expectations() {
+            {
+                oneOf(mockPersistenceManager).setProperty(InvoiceAssembly.FLUSH_MODE, "AUTO");
+            }
+        });
+        assembly.endLease();
+    }
+
+    @Test
+    public void whenNoMatchingInvoice_createsOnceAndFlushesPerChunk() throws Exception {
+        final Invoice invoice = new Invoice();
+        expectLoad(new Invoice[] {}, new InvoiceItemForLease[] {});
+        context.checking(new Expectations() {
+            {
+                oneOf(mockInvoiceRepository).createInvoice(applicationTenancy, seller, buyer, PaymentMethod.DIRECT_DEBIT, currency, dueDate, mockLease, "run");
+                will(returnValue(invoice));
+                oneOf(mockContainer).flush();
+            }
+        });
+
+        final InvoiceAssembly assembly = newAssembly(2);
+        assembly.startLease(mockLease);
+
+        assertThat(assembly.findOrCreateMatchingInvoice(applicationTenancy, PaymentMethod.DIRECT_DEBIT, mockLease, InvoiceStatus.NEW, dueDate)).isSameAs(invoice);
+        assertThat(assembly.findOrCreateMatchingInvoice(applicationTenancy, PaymentMethod.DIRECT_DEBIT, mockLease, InvoiceStatus.NEW, dueDate)).isSameAs(invoice);
+
+        // the new invoice plus this item complete the chunk
+        assembly.queued();
+        assembly.flush();
+    }
+
+    @Test
+    public void invoicedValue_fromLoadedAndQueuedItems() throws Exception {
+        final LeaseTermForIndexable rent = term(new LeaseTermForIndexable());
+        final LeaseTermForFixed fixed = term(new LeaseTermForFixed());
+        final LocalDateInterval q1 = LocalDateInterval.including(new LocalDate(2014, 1, 1), new LocalDate(2014, 3, 31));
+        final LocalDateInterval q2 = LocalDateInterval.including(new LocalDate(2014, 4, 1), new LocalDate(2014, 6, 30));
+        expectLoad(
+                new Invoice[] {},
+                new InvoiceItemForLease[] { item(rent, q1, "100.00"), item(rent, q2, "200.00"), item(fixed, q1, "50.00") });
+
+        final InvoiceAssembly assembly = newAssembly(10);
+        assembly.startLease(mockLease);
+
+        assertThat(assembly.invoicedValue(rent, q1)).isEqualByComparingTo("100.00");
+        assertThat(assembly.invoicedValue(rent, q2)).isEqualByComparingTo("200.00");
+        // fixed terms count the items of every interval
+        assertThat(assembly.invoicedValue(fixed, q2)).isEqualByComparingTo("50.00");
+
+        // items created during the run count as well
+        assembly.queued(item(rent, q1, "10.00"));
+        assembly.queued(item(fixed, q2, "5.00"));
+        assertThat(assembly.invoicedValue(rent, q1)).isEqualByComparingTo("110.00");
+        assertThat(assembly.invoicedValue(fixed, q1)).isEqualByComparingTo("55.00");
+    }
+
+    @Test
+    public void inserts_of_a_lease_are_not_interleaved_with_queries() throws Exception {
+        final LeaseTermForIndexable rent = term(new LeaseTermForIndexable());
+        final Invoice invoice = new Invoice();
+        final Sequence sequence = context.sequence("assembly");
+        context.checking(new Expectations() {
+            {
+                oneOf(mockInvoiceRepository).findByLease(mockLease);
+                inSequence(sequence);
+                will(returnValue(Collections.emptyList()));
+                oneOf(mockInvoiceItemForLeaseRepository).findByLease(mockLease);
+                inSequence(sequence);
+                will(returnValue(Collections.emptyList()));
+                oneOf(mockPersistenceManager).setProperty(InvoiceAssembly.FLUSH_MODE, "MANUAL");
+                inSequence(sequence);
+                oneOf(mockInvoiceRepository).createInvoice(applicationTenancy, seller, buyer, PaymentMethod.DIRECT_DEBIT, currency, dueDate, mockLease, "run");
+                inSequence(sequence);
+                will(returnValue(invoice));
+                // a single flush writes the invoice and its items together, as one batch
+                oneOf(mockContainer).flush();
+                inSequence(sequence);
+                oneOf(mockPersistenceManager).setProperty(InvoiceAssembly.FLUSH_MODE, "AUTO");
+                inSequence(sequence);
+            }
+        });
+
+        final InvoiceAssembly assembly = newAssembly(4);
+        assembly.startLease(mockLease);
+        for (int month = 1; month <= 3; month++) {
+            final LocalDateInterval interval = LocalDateInterval.including(new LocalDate(2014, month, 1), new LocalDate(2014, month, 28));
+            assertThat(assembly.invoicedValue(rent, interval)).isEqualByComparingTo("0");
+            assembly.findOrCreateMatchingInvoice(applicationTenancy, PaymentMethod.DIRECT_DEBIT, mockLease, InvoiceStatus.NEW, dueDate);
+            assembly.queued(item(rent, interval, "100.00"));
+        }
+        assembly.endLease();
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.lease.rentroll;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.scratchpad.Scratchpad;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.lease.LeaseRepository;
+
+public class RentRollServiceTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private RentRollLineRepository mockRentRollLineRepository;
+
+    @Mock
+    private RentRollStaleLeaseRepository mockRentRollStaleLeaseRepository;
+
+    @Mock
+    private LeaseRepository mockLeaseRepository;
+
+    @Mock
+    private EventBusService mockEventBusService;
+
+    private RentRollService service;
+
+    private Lease lease;
+
+    @Before
+    public void setUp() throws Exception {
+        service = new RentRollService();
+        service.rentRollLineRepository = mockRentRollLineRepository;
+        service.rentRollStaleLeaseRepository = mockRentRollStaleLeaseRepository;
+        service.leaseRepository = mockLeaseRepository;
+        service.eventBusService = mockEventBusService;
+        service.scratchpad = new Scratchpad();
+
+        lease = new Lease();
+        lease.setReference("OXF-TOPMODEL-001");
+    }
+
+    public static class MarkStale extends RentRollServiceTest {
+
+        @Test
+        public void written_once_when_marked_repeatedly() throws Exception {
+            // given
+            lease.setApplicationTenancyPath("/GBR");
+            final LeaseItem leaseItem = new LeaseItem();
+            leaseItem.setLease(lease);
+
+            // expect
+            context.checking(new Expectations() {
+                {
+                    oneOf(mockRentRollStaleLeaseRepository).newStaleLease("OXF-TOPMODEL-001", "/GBR");
+                }
+            });
+
+            // when
+            service.markStale(lease);
+            service.markStale(leaseItem.getLease());
+            service.writeStaleMarks();
+            service.writeStaleMarks();
+        }
+
+        @Test
+        public void not_written_when_marked() throws Exception {
+            // expect
+            context.checking(new Expectations() {
+                {
+                    never(mockRentRollStaleLeaseRepository);
+                }
+            });
+
+            // when
+            service.markStale(lease);
+        }
+
+        @Test
+        public void registers_for_lifecycle_events() throws Exception {
+            // expect
+            context.checking(new Expectations() {
+                {
+                    oneOf(mockEventBusService).register(service);
+                }
+            });
+
+            // when
+            service.postConstruct();
+        }
+
+    }
+
+    public static class RefreshStale extends RentRollServiceTest {
+
+        @Test
+        public void stale_lease_is_refreshed_and_unmarked() throws Exception {
+            // expect
+            final List<RentRollStaleLease> staleLeases = Collections.singletonList(new RentRollStaleLease());
+            final List<RentRollLine> lines = Collections.emptyList();
+            context.checking(new Expectations() {
+                {
+                    oneOf(mockRentRollStaleLeaseRepository).findLeaseReferences();
+                    will(returnValue(Collections.singletonList("OXF-TOPMODEL-001")));
+                    oneOf(mockRentRollStaleLeaseRepository).findByLeaseReference("OXF-TOPMODEL-001");
+                    will(returnValue(staleLeases));
+                    oneOf(mockRentRollLineRepository).findByLeaseReference("OXF-TOPMODEL-001");
+                    will(returnValue(lines));
+                    oneOf(mockRentRollLineRepository).removeAll(lines);
+                    oneOf(mockLeaseRepository).findLeaseByReferenceElseNull("OXF-TOPMODEL-001");
+                    will(returnValue(null));
+                    oneOf(mockRentRollStaleLeaseRepository).removeAll(staleLeases);
+                }
+            });
+
+            // when
+            service.refreshStale();
+        }
+
+        @Test
+        public void nothing_stale() throws Exception {
+            // expect
+            context.checking(new Expectations() {
+                {
+                    oneOf(mockRentRollStaleLeaseRepository).findLeaseReferences();
+                    will(returnValue(Collections.emptyList()));
+                    never(mockRentRollLineRepository);
+                    never(mockLeaseRepository);
+                }
+            });
+
+            // when
+            service.refreshStale();
+        }
+
+    }
+
+}
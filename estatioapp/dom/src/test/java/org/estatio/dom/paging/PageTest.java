@@ -0,0 +1,65 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.paging;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PageTest {
+
+    @Test
+    public void pages_through_monthly_terms_of_twenty_years() throws Exception {
+        final Page page = Page.of(0, 20, 240);
+
+        assertThat(page.toString()).isEqualTo("1-20 of 240");
+        assertThat(page.hasPrevious()).isFalse();
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.next().toString()).isEqualTo("21-40 of 240");
+        assertThat(page.last().toString()).isEqualTo("221-240 of 240");
+        assertThat(page.last().hasNext()).isFalse();
+        assertThat(page.last().previous().getFirst()).isEqualTo(200);
+    }
+
+    @Test
+    public void last_page_partially_filled() throws Exception {
+        final Page page = Page.of(0, 20, 45).last();
+
+        assertThat(page.getFirst()).isEqualTo(40);
+        assertThat(page.toString()).isEqualTo("41-45 of 45");
+        assertThat(page.next().getFirst()).isEqualTo(40);
+    }
+
+    @Test
+    public void moved_back_when_collection_has_shrunk() throws Exception {
+        assertThat(Page.of(60, 20, 45).getFirst()).isEqualTo(40);
+        assertThat(Page.of(-5, 20, 45).getFirst()).isEqualTo(0);
+    }
+
+    @Test
+    public void empty() throws Exception {
+        final Page page = Page.of(0, 20, 0);
+
+        assertThat(page.toString()).isEqualTo("none");
+        assertThat(page.hasPrevious()).isFalse();
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.last().getFirst()).isEqualTo(0);
+    }
+
+}
@@ -54,6 +54,12 @@ public class ApplicationTenancyLevelTest {
             assertXxxOf("/a/bb/ccc", "/a/bb/yyy", false);
         }
 
+        @Test
+        public void sadCase_whenSharesPrefixOnly() throws Exception {
+            assertXxxOf("/a", "/ab", false);
+            assertXxxOf("/a/bb", "/a/bbb/ccc", false);
+        }
+
         @Test
         public void sadCase_whenSameInstance() throws Exception {
             final ApplicationTenancyLevel ih = atl("/");
@@ -81,6 +87,30 @@ public class ApplicationTenancyLevelTest {
         }
     }
 
+    public static class Of extends ApplicationTenancyLevelTest {
+
+        @Test
+        public void isInterned() throws Exception {
+            assertThat(ApplicationTenancyLevel.of("/a/bb")).isSameAs(ApplicationTenancyLevel.of("/a/bb"));
+            assertThat(ApplicationTenancyLevel.of("/a/bb").parent()).isSameAs(ApplicationTenancyLevel.of("/a"));
+        }
+
+        @Test
+        public void whenNull() throws Exception {
+            assertThat(ApplicationTenancyLevel.of((String) null)).isNull();
+        }
+    }
+
+    public static class GetDepth extends ApplicationTenancyLevelTest {
+
+        @Test
+        public void happyCase() throws Exception {
+            assertThat(atl("/").getDepth()).isEqualTo(0);
+            assertThat(atl("/a").getDepth()).isEqualTo(1);
+            assertThat(atl("/a/bb/ccc").getDepth()).isEqualTo(3);
+        }
+    }
+
     public static class GetParts extends ApplicationTenancyLevelTest {
 
         @Test
@@ -86,12 +86,15 @@ import org.estatio.dom.project.Program;
 import org.estatio.dom.project.ProgramRole;
 import org.estatio.dom.project.Project;
 import org.estatio.dom.project.ProjectRole;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 public class EstatioOperationalTeardownFixture extends FixtureScript {
 
     @Override
     protected void execute(final ExecutionContext executionContext) {
         deleteAllDirect();
+        // the rows were deleted with SQL, bypassing the lifecycle events that otherwise keep the cache in step
+        referenceDataCache.invalidateAll();
     }
 
     protected void deleteAllDirect() {
@@ -212,4 +215,7 @@ public class EstatioOperationalTeardownFixture extends FixtureScript {
     @Inject
     private IsisJdoSupport isisJdoSupport;
 
+    @Inject
+    private ReferenceDataCache referenceDataCache;
+
 }
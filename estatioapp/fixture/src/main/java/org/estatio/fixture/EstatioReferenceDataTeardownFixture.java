@@ -34,12 +34,17 @@ import org.estatio.dom.index.IndexValue;
 import org.estatio.dom.tax.Tax;
 import org.estatio.dom.tax.TaxRate;
 import org.estatio.domlink.Link;
+import org.estatio.domlink.LinkRepository;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 public class EstatioReferenceDataTeardownFixture extends FixtureScript {
 
     @Override
     protected void execute(final ExecutionContext executionContext) {
         deleteAllIndex();
+        // the rows were deleted with SQL, bypassing the lifecycle events that otherwise keep the caches in step
+        referenceDataCache.invalidateAll();
+        linkRepository.invalidate();
     }
 
     protected void deleteAllIndex() {
@@ -80,4 +85,10 @@ public class EstatioReferenceDataTeardownFixture extends FixtureScript {
     @Inject
     private IsisJdoSupport isisJdoSupport;
 
+    @Inject
+    private ReferenceDataCache referenceDataCache;
+
+    @Inject
+    private LinkRepository linkRepository;
+
 }
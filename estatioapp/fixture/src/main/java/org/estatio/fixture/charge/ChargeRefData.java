@@ -37,17 +37,17 @@ import org.estatio.fixture.tax.TaxRefData;
 
 public class ChargeRefData extends EstatioFixtureScript {
 
-    private static final String CHARGE_SUFFIX_RENT = "_RENT";
-    private static final String CHARGE_SUFFIX_SERVICE_CHARGE = "_SERVICE_CHARGE";
-    private static final String CHARGE_SUFFIX_SERVICE_CHARGE_ONBUDGET1 = "_SERVICE_CHARGE_BGT1";
-    private static final String CHARGE_SUFFIX_SERVICE_CHARGE_ONBUDGET2 = "_SERVICE_CHARGE_BGT2";
-    private static final String CHARGE_SUFFIX_TURNOVER_RENT = "_TURNOVER_RENT";
-    private static final String CHARGE_SUFFIX_PERCENTAGE = "_PERCENTAGE";
-    private static final String CHARGE_SUFFIX_DEPOSIT = "_DEPOSIT";
-    private static final String CHARGE_SUFFIX_DISCOUNT = "_DISCOUNT";
-    private static final String CHARGE_SUFFIX_ENTRY_FEE = "_ENTRY_FEE";
-    private static final String CHARGE_SUFFIX_TAX = "_TAX";
-    private static final String CHARGE_SUFFIX_SERVICE_CHARGE_INDEXABLE = "_SVC_CHG_INDEXABLE";
+    public static final String CHARGE_SUFFIX_RENT = "_RENT";
+    public static final String CHARGE_SUFFIX_SERVICE_CHARGE = "_SERVICE_CHARGE";
+    public static final String CHARGE_SUFFIX_SERVICE_CHARGE_ONBUDGET1 = "_SERVICE_CHARGE_BGT1";
+    public static final String CHARGE_SUFFIX_SERVICE_CHARGE_ONBUDGET2 = "_SERVICE_CHARGE_BGT2";
+    public static final String CHARGE_SUFFIX_TURNOVER_RENT = "_TURNOVER_RENT";
+    public static final String CHARGE_SUFFIX_PERCENTAGE = "_PERCENTAGE";
+    public static final String CHARGE_SUFFIX_DEPOSIT = "_DEPOSIT";
+    public static final String CHARGE_SUFFIX_DISCOUNT = "_DISCOUNT";
+    public static final String CHARGE_SUFFIX_ENTRY_FEE = "_ENTRY_FEE";
+    public static final String CHARGE_SUFFIX_TAX = "_TAX";
+    public static final String CHARGE_SUFFIX_SERVICE_CHARGE_INDEXABLE = "_SVC_CHG_INDEXABLE";
 
     public static final String IT_RENT = CountriesRefData.ITA + CHARGE_SUFFIX_RENT;
     public static final String IT_SERVICE_CHARGE = CountriesRefData.ITA + CHARGE_SUFFIX_SERVICE_CHARGE;
@@ -0,0 +1,505 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.fixturescripts;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Lists;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.fixturescripts.DiscoverableFixtureScript;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+import org.apache.isis.applib.services.xactn.TransactionService;
+
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
+import org.isisaddons.module.security.dom.tenancy.ApplicationTenancyRepository;
+
+import org.estatio.dom.asset.FixedAssetRoleType;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.asset.PropertyRepository;
+import org.estatio.dom.asset.PropertyType;
+import org.estatio.dom.asset.Unit;
+import org.estatio.dom.asset.UnitRepository;
+import org.estatio.dom.asset.UnitType;
+import org.estatio.dom.budgeting.allocation.BudgetItemAllocationRepository;
+import org.estatio.dom.budgeting.budget.Budget;
+import org.estatio.dom.budgeting.budget.BudgetRepository;
+import org.estatio.dom.budgeting.budgetitem.BudgetItem;
+import org.estatio.dom.budgeting.budgetitem.BudgetItemRepository;
+import org.estatio.dom.budgeting.keytable.FoundationValueType;
+import org.estatio.dom.budgeting.keytable.KeyTable;
+import org.estatio.dom.budgeting.keytable.KeyTableRepository;
+import org.estatio.dom.budgeting.keytable.KeyValueMethod;
+import org.estatio.dom.charge.Charge;
+import org.estatio.dom.charge.ChargeRepository;
+import org.estatio.dom.geography.Country;
+import org.estatio.dom.geography.CountryRepository;
+import org.estatio.dom.index.Index;
+import org.estatio.dom.index.IndexBase;
+import org.estatio.dom.index.api.IndexCreator;
+import org.estatio.dom.invoice.PaymentMethod;
+import org.estatio.dom.lease.InvoicingFrequency;
+import org.estatio.dom.lease.Lease;
+import org.estatio.dom.lease.LeaseItem;
+import org.estatio.dom.lease.LeaseItemType;
+import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.lease.LeaseTermForIndexable;
+import org.estatio.dom.lease.LeaseTermForServiceCharge;
+import org.estatio.dom.lease.LeaseTermForTax;
+import org.estatio.dom.lease.LeaseTermForTurnoverRent;
+import org.estatio.dom.lease.LeaseTermFrequency;
+import org.estatio.dom.lease.OccupancyRepository;
+import org.estatio.dom.party.OrganisationRepository;
+import org.estatio.dom.party.Party;
+import org.estatio.fixture.EstatioBaseLineFixture;
+import org.estatio.fixture.Faker2;
+import org.estatio.fixture.charge.ChargeRefData;
+import org.estatio.fixture.geography.CountriesRefData;
+
+/**
+ * Generates a large synthetic portfolio on top of the {@link EstatioBaseLineFixture baseline} reference data, for
+ * load and performance testing.
+ *
+ * <p>
+ * For each country a synthetic index series is created, and for each property its units, a budget per year with
+ * key tables and allocations, and a lease per unit with rent (indexable), service charge, tax and (for some) turnover rent and
+ * indexable service charge items. The same seed always generates the same portfolio.
+ * </p>
+ *
+ * <p>
+ * The number of leases is <tt>numberOfCountries * numberOfProperties * numberOfUnits</tt>; every
+ * <tt>batchSize</tt> leases the transaction is committed and the persistence manager evicted, so that memory use
+ * stays flat however large the portfolio. Only the properties are added to the fixture results.
+ * </p>
+ */
+public class LargePortfolioFixture extends DiscoverableFixtureScript {
+
+    static final String[] COUNTRIES = {
+            CountriesRefData.ITA,
+            CountriesRefData.NLD,
+            CountriesRefData.GBR,
+            CountriesRefData.FRA,
+            CountriesRefData.SWE
+    };
+
+    private static final int LEASE_DURATION_IN_YEARS = 10;
+
+    public LargePortfolioFixture() {
+        super(null, "large-portfolio");
+    }
+
+    //region > seed (input)
+    private Long seed;
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(final Long seed) {
+        this.seed = seed;
+    }
+    //endregion
+
+    //region > numberOfCountries (input)
+    private Integer numberOfCountries;
+
+    /**
+     * At most the number of countries in the reference data (5).
+     */
+    public Integer getNumberOfCountries() {
+        return numberOfCountries;
+    }
+
+    public void setNumberOfCountries(final Integer numberOfCountries) {
+        this.numberOfCountries = numberOfCountries;
+    }
+    //endregion
+
+    //region > numberOfProperties (input)
+    private Integer numberOfProperties;
+
+    /**
+     * Per country.
+     */
+    public Integer getNumberOfProperties() {
+        return numberOfProperties;
+    }
+
+    public void setNumberOfProperties(final Integer numberOfProperties) {
+        this.numberOfProperties = numberOfProperties;
+    }
+    //endregion
+
+    //region > numberOfUnits (input)
+    private Integer numberOfUnits;
+
+    /**
+     * Per property; each unit is let under its own lease.
+     */
+    public Integer getNumberOfUnits() {
+        return numberOfUnits;
+    }
+
+    public void setNumberOfUnits(final Integer numberOfUnits) {
+        this.numberOfUnits = numberOfUnits;
+    }
+    //endregion
+
+    //region > startDate (input)
+    private LocalDate startDate;
+
+    /**
+     * Leases start within three years of this date; index values and budgets are generated from its year onwards.
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(final LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    //endregion
+
+    //region > numberOfBudgetYears (input)
+    private Integer numberOfBudgetYears;
+
+    public Integer getNumberOfBudgetYears() {
+        return numberOfBudgetYears;
+    }
+
+    public void setNumberOfBudgetYears(final Integer numberOfBudgetYears) {
+        this.numberOfBudgetYears = numberOfBudgetYears;
+    }
+    //endregion
+
+    //region > batchSize (input)
+    private Integer batchSize;
+
+    /**
+     * Number of leases created per transaction.
+     */
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+    //endregion
+
+    //region > numberOfLeases (output)
+    private int numberOfLeases;
+
+    public int getNumberOfLeases() {
+        return numberOfLeases;
+    }
+    //endregion
+
+    private Faker2 faker;
+
+    @Override
+    protected void execute(final ExecutionContext executionContext) {
+
+        defaultParam("seed", executionContext, 1L);
+        defaultParam("numberOfCountries", executionContext, COUNTRIES.length);
+        defaultParam("numberOfProperties", executionContext, 10);
+        defaultParam("numberOfUnits", executionContext, 100);
+        defaultParam("startDate", executionContext, new LocalDate(2010, 1, 1));
+        defaultParam("numberOfBudgetYears", executionContext, 2);
+        defaultParam("batchSize", executionContext, 500);
+
+        if (getNumberOfCountries() > COUNTRIES.length) {
+            throw new IllegalArgumentException("numberOfCountries can be at most " + COUNTRIES.length);
+        }
+
+        executionContext.executeChild(this, new EstatioBaseLineFixture());
+        commit();
+
+        faker = container.injectServicesInto(new Faker2(new Random(getSeed())));
+
+        for (int countryNum = 0; countryNum < getNumberOfCountries(); countryNum++) {
+            createCountry(COUNTRIES[countryNum], executionContext);
+        }
+        commit();
+    }
+
+    private void createCountry(final String countryReference, final ExecutionContext executionContext) {
+        final Country country = countryRepository.findCountry(countryReference);
+        final ApplicationTenancy countryApplicationTenancy = applicationTenancyRepository.findByPath("/" + countryReference);
+
+        final Index index = createIndex(countryReference, countryApplicationTenancy);
+
+        final Charge rentCharge = chargeRepository.findByReference(countryReference + ChargeRefData.CHARGE_SUFFIX_RENT);
+        final Charge serviceCharge = chargeRepository.findByReference(countryReference + ChargeRefData.CHARGE_SUFFIX_SERVICE_CHARGE);
+        final Charge indexableServiceCharge = chargeRepository.findByReference(countryReference + ChargeRefData.CHARGE_SUFFIX_SERVICE_CHARGE_INDEXABLE);
+        final Charge turnoverRentCharge = chargeRepository.findByReference(countryReference + ChargeRefData.CHARGE_SUFFIX_TURNOVER_RENT);
+        final Charge taxCharge = chargeRepository.findByReference(countryReference + ChargeRefData.CHARGE_SUFFIX_TAX);
+
+        final List<Charge> budgetCharges = Lists.newArrayList();
+        for (String suffix : new String[] { ChargeRefData.CHARGE_SUFFIX_SERVICE_CHARGE_ONBUDGET1, ChargeRefData.CHARGE_SUFFIX_SERVICE_CHARGE_ONBUDGET2 }) {
+            final Charge charge = chargeRepository.findByReference(countryReference + suffix);
+            if (charge != null) {
+                budgetCharges.add(charge);
+            }
+        }
+        if (budgetCharges.isEmpty()) {
+            budgetCharges.add(serviceCharge);
+        }
+
+        for (int propertyNum = 0; propertyNum < getNumberOfProperties(); propertyNum++) {
+            final String propertyReference = buildPropertyReference(countryReference, propertyNum);
+            final Party owner = organisationRepository.newOrganisation(
+                    propertyReference + "-OWNER", false, faker.name().lastName() + " " + faker.name().lastName(), countryApplicationTenancy);
+
+            // the city is set afterwards, so that no geocoding lookup is done for synthetic addresses
+            final Property property = propertyRepository.newProperty(
+                    propertyReference,
+                    faker.name().lastName() + " Mall",
+                    faker.collections().anEnum(PropertyType.class),
+                    null,
+                    country,
+                    getStartDate().minusYears(faker.values().anInt(1, 20)));
+            property.setCity(faker.address().cityPrefix() + " " + faker.name().lastName() + faker.address().citySuffix());
+            property.newRole(FixedAssetRoleType.PROPERTY_OWNER, owner, property.getAcquireDate(), null);
+            executionContext.addResult(this, property.getReference(), property);
+
+            final List<Unit> units = Lists.newArrayList();
+            for (int unitNum = 0; unitNum < getNumberOfUnits(); unitNum++) {
+                final Unit unit = unitRepository.newUnit(
+                        property,
+                        buildUnitReference(propertyReference, unitNum),
+                        faker.name().firstName(),
+                        faker.collections().anEnum(UnitType.class));
+                unit.setArea(BigDecimal.valueOf(faker.values().anInt(50, 2000)));
+                units.add(unit);
+            }
+
+            createBudgets(property, budgetCharges, serviceCharge);
+
+            for (Unit unit : units) {
+                final Lease lease = createLease(unit, owner, countryApplicationTenancy);
+                createItems(lease, unit, index, rentCharge, serviceCharge, indexableServiceCharge, turnoverRentCharge, taxCharge);
+                if (++numberOfLeases % getBatchSize() == 0) {
+                    commit();
+                }
+            }
+        }
+    }
+
+    private Index createIndex(final String countryReference, final ApplicationTenancy countryApplicationTenancy) {
+        final Index index = indexCreator.findOrCreateIndex(
+                countryApplicationTenancy, "PERF-" + countryReference, "Synthetic index " + countryReference);
+
+        // a monthly random walk of at most 0.5% per month, from a year before the first lease up to the end of the last
+        final LocalDate baseStartDate = getStartDate().withDayOfYear(1).minusYears(1);
+        final IndexBase indexBase = index.findOrCreateBase(baseStartDate, BigDecimal.ONE);
+        final LocalDate endDate = getStartDate().plusYears(LEASE_DURATION_IN_YEARS + 4);
+        double value = 100;
+        for (LocalDate date = baseStartDate; date.isBefore(endDate); date = date.plusMonths(1)) {
+            indexBase.newIndexValue(date, BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP));
+            value = value * (1 + (faker.values().anInt(-5, 6) / 1000.0));
+        }
+        return index;
+    }
+
+    private void createBudgets(final Property property, final List<Charge> budgetCharges, final Charge serviceCharge) {
+        for (int year = 0; year < getNumberOfBudgetYears(); year++) {
+            final LocalDate budgetStartDate = getStartDate().withDayOfYear(1).plusYears(year);
+            final Budget budget = budgetRepository.newBudget(property, budgetStartDate, budgetStartDate.plusYears(1).minusDays(1));
+            final KeyTable areaKeyTable = keyTableRepository.newKeyTable(budget, "Area", FoundationValueType.AREA, KeyValueMethod.PROMILLE, 3).generateItems();
+            final KeyTable countKeyTable = keyTableRepository.newKeyTable(budget, "Count", FoundationValueType.COUNT, KeyValueMethod.PROMILLE, 3).generateItems();
+
+            // each budget item is allocated to the service charge of the leases, mostly by area and partly by count
+            for (Charge charge : budgetCharges) {
+                final BudgetItem budgetItem = budgetItemRepository.newBudgetItem(budget, BigDecimal.valueOf(faker.values().anInt(10000, 500000)), charge);
+                budgetItemAllocationRepository.newBudgetItemAllocation(serviceCharge, areaKeyTable, budgetItem, BigDecimal.valueOf(80));
+                budgetItemAllocationRepository.newBudgetItemAllocation(serviceCharge, countKeyTable, budgetItem, BigDecimal.valueOf(20));
+            }
+        }
+    }
+
+    private Lease createLease(final Unit unit, final Party landlord, final ApplicationTenancy countryApplicationTenancy) {
+        final String leaseReference = buildLeaseReference(unit.getReference());
+        final Party tenant = organisationRepository.newOrganisation(
+                leaseReference, false, faker.name().lastName() + " " + faker.name().lastName(), countryApplicationTenancy);
+
+        final LocalDate leaseStartDate = getStartDate().plusMonths(faker.values().anInt(0, 36));
+        final LocalDate leaseEndDate = leaseStartDate.plusYears(LEASE_DURATION_IN_YEARS).minusDays(1);
+        final Lease lease = leaseRepository.newLease(
+                unit.getApplicationTenancy(),
+                leaseReference,
+                tenant.getName(),
+                null,
+                leaseStartDate,
+                leaseEndDate,
+                leaseStartDate,
+                leaseEndDate,
+                landlord,
+                tenant);
+        occupancyRepository.newOccupancy(lease, unit, leaseStartDate);
+        return lease;
+    }
+
+    private void createItems(
+            final Lease lease,
+            final Unit unit,
+            final Index index,
+            final Charge rentCharge,
+            final Charge serviceCharge,
+            final Charge indexableServiceCharge,
+            final Charge turnoverRentCharge,
+            final Charge taxCharge) {
+
+        final LocalDate leaseStartDate = lease.getStartDate();
+        final LocalDate baseIndexStartDate = leaseStartDate.withDayOfMonth(1);
+
+        final LeaseItem rentItem = newItem(lease, LeaseItemType.RENT, rentCharge, InvoicingFrequency.QUARTERLY_IN_ADVANCE);
+        final LeaseTermForIndexable rentTerm = (LeaseTermForIndexable) rentItem.newTerm(leaseStartDate, null);
+        rentTerm.setFrequency(LeaseTermFrequency.YEARLY);
+        rentTerm.setBaseValue(unit.getArea().multiply(BigDecimal.valueOf(faker.values().anInt(100, 400))));
+        rentTerm.setBaseIndexStartDate(baseIndexStartDate);
+        rentTerm.setNextIndexStartDate(baseIndexStartDate.plusYears(1));
+        rentTerm.setEffectiveDate(leaseStartDate.plusYears(1));
+        rentTerm.setIndex(index);
+
+        final LeaseItem serviceChargeItem = newItem(lease, LeaseItemType.SERVICE_CHARGE, serviceCharge, InvoicingFrequency.QUARTERLY_IN_ADVANCE);
+        final LeaseTermForServiceCharge serviceChargeTerm = (LeaseTermForServiceCharge) serviceChargeItem.newTerm(leaseStartDate, null);
+        serviceChargeTerm.setFrequency(LeaseTermFrequency.YEARLY);
+        serviceChargeTerm.setBudgetedValue(unit.getArea().multiply(BigDecimal.valueOf(faker.values().anInt(10, 60))));
+
+        if (faker.values().aDiceRollOf6()) {
+            final LeaseItem indexableServiceChargeItem = newItem(lease, LeaseItemType.SERVICE_CHARGE_INDEXABLE, indexableServiceCharge, InvoicingFrequency.QUARTERLY_IN_ADVANCE);
+            final LeaseTermForIndexable indexableServiceChargeTerm = (LeaseTermForIndexable) indexableServiceChargeItem.newTerm(leaseStartDate, null);
+            indexableServiceChargeTerm.setFrequency(LeaseTermFrequency.YEARLY);
+            indexableServiceChargeTerm.setBaseValue(unit.getArea().multiply(BigDecimal.valueOf(faker.values().anInt(5, 20))));
+            indexableServiceChargeTerm.setBaseIndexStartDate(baseIndexStartDate);
+            indexableServiceChargeTerm.setNextIndexStartDate(baseIndexStartDate.plusYears(1));
+            indexableServiceChargeTerm.setEffectiveDate(leaseStartDate.plusYears(1));
+            indexableServiceChargeTerm.setIndex(index);
+        }
+
+        if (faker.values().aCoinFlip()) {
+            final LeaseItem turnoverRentItem = newItem(lease, LeaseItemType.TURNOVER_RENT, turnoverRentCharge, InvoicingFrequency.YEARLY_IN_ARREARS);
+            turnoverRentItem.newSourceItem(rentItem);
+            final LeaseTermForTurnoverRent turnoverRentTerm = (LeaseTermForTurnoverRent) turnoverRentItem.newTerm(leaseStartDate.withDayOfYear(1).plusYears(1), null);
+            turnoverRentTerm.setFrequency(LeaseTermFrequency.YEARLY);
+            turnoverRentTerm.setTurnoverRentRule(String.valueOf(faker.values().anInt(5, 12)));
+        }
+
+        final LeaseItem taxItem = newItem(lease, LeaseItemType.TAX, taxCharge, InvoicingFrequency.FIXED_IN_ADVANCE);
+        taxItem.newSourceItem(rentItem);
+        final LeaseTermForTax taxTerm = (LeaseTermForTax) taxItem.newTerm(leaseStartDate, null);
+        taxTerm.setFrequency(LeaseTermFrequency.YEARLY);
+        taxTerm.setTaxPercentage(BigDecimal.ONE);
+        taxTerm.setRecoverablePercentage(BigDecimal.valueOf(50));
+        taxTerm.setInvoicingDisabled(false);
+        taxTerm.setOverrideTaxValue(false);
+    }
+
+    private LeaseItem newItem(
+            final Lease lease,
+            final LeaseItemType type,
+            final Charge charge,
+            final InvoicingFrequency invoicingFrequency) {
+        final LeaseItem item = lease.newItem(type, charge, invoicingFrequency, PaymentMethod.DIRECT_DEBIT, lease.getStartDate());
+        item.setEndDate(lease.getEndDate());
+        return item;
+    }
+
+    private void commit() {
+        transactionService.nextTransaction();
+        isisJdoSupport.getJdoPersistenceManager().evictAll();
+    }
+
+    /**
+     * The first letter of the country followed by three letters, eg <tt>IAAB</tt> (property references may only be
+     * 4 characters long, and the property reference must be letters only to prefix unit references).
+     */
+    static String buildPropertyReference(final String countryReference, final int propertyNum) {
+        final StringBuilder buf = new StringBuilder();
+        int remainder = propertyNum;
+        for (int i = 0; i < 3; i++) {
+            buf.insert(0, (char) ('A' + remainder % 26));
+            remainder = remainder / 26;
+        }
+        return countryReference.charAt(0) + buf.toString();
+    }
+
+    static String buildUnitReference(final String propertyReference, final int unitNum) {
+        return String.format("%1$s-%2$04d", propertyReference, unitNum);
+    }
+
+    static String buildLeaseReference(final String unitReference) {
+        return unitReference + "-L";
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    private CountryRepository countryRepository;
+
+    @Inject
+    private ApplicationTenancyRepository applicationTenancyRepository;
+
+    @Inject
+    private IndexCreator indexCreator;
+
+    @Inject
+    private ChargeRepository chargeRepository;
+
+    @Inject
+    private OrganisationRepository organisationRepository;
+
+    @Inject
+    private PropertyRepository propertyRepository;
+
+    @Inject
+    private UnitRepository unitRepository;
+
+    @Inject
+    private BudgetRepository budgetRepository;
+
+    @Inject
+    private BudgetItemRepository budgetItemRepository;
+
+    @Inject
+    private KeyTableRepository keyTableRepository;
+
+    @Inject
+    private BudgetItemAllocationRepository budgetItemAllocationRepository;
+
+    @Inject
+    private LeaseRepository leaseRepository;
+
+    @Inject
+    private OccupancyRepository occupancyRepository;
+
+    @Inject
+    private TransactionService transactionService;
+
+    @Inject
+    private IsisJdoSupport isisJdoSupport;
+
+}
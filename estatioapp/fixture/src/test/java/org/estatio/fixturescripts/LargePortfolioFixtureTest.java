@@ -0,0 +1,29 @@
+package org.estatio.fixturescripts;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import org.estatio.dom.RegexValidation;
+
+public class LargePortfolioFixtureTest {
+
+    @Test
+    public void testBuildPropertyReference() throws Exception {
+
+        Assertions.assertThat(LargePortfolioFixture.buildPropertyReference("ITA", 0)).isEqualTo("IAAA");
+        Assertions.assertThat(LargePortfolioFixture.buildPropertyReference("ITA", 27)).isEqualTo("IABB");
+        Assertions.assertThat(LargePortfolioFixture.buildPropertyReference("GBR", 26 * 26 * 26 - 1)).isEqualTo("GZZZ");
+    }
+
+    @Test
+    public void testReferencesAreValid() throws Exception {
+
+        final String propertyReference = LargePortfolioFixture.buildPropertyReference("NLD", 1234);
+        final String unitReference = LargePortfolioFixture.buildUnitReference(propertyReference, 9999);
+        final String leaseReference = LargePortfolioFixture.buildLeaseReference(unitReference);
+
+        Assertions.assertThat(propertyReference).matches(RegexValidation.Property.REFERENCE);
+        Assertions.assertThat(unitReference).matches(RegexValidation.Unit.REFERENCE);
+        Assertions.assertThat(leaseReference).matches(RegexValidation.Lease.REFERENCE);
+    }
+}
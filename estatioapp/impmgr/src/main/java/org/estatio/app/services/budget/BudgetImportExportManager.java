@@ -39,6 +39,7 @@ import org.apache.isis.applib.value.Blob;
 
 import org.isisaddons.module.excel.dom.ExcelService;
 
+import org.estatio.app.services.excel.StreamingExcelExportService;
 import org.estatio.dom.budgeting.budget.Budget;
 
 import lombok.Getter;
@@ -116,7 +117,7 @@ public class BudgetImportExportManager {
     @ActionLayout(cssClassFa = "fa-download")
     public Blob exportBudget() {
         final String fileName = withExtension(getFileName(), ".xlsx");
-        return excelService.toExcel(getLines(), BudgetImportExport.class, fileName);
+        return streamingExcelExportService.toExcel(budgetImportExportService.lineIterator(this), BudgetImportExport.class, fileName);
     }
 
     public String disableExportBudget() {
@@ -136,4 +137,7 @@ public class BudgetImportExportManager {
     @Inject
     private BudgetImportExportService budgetImportExportService;
 
+    @Inject
+    private StreamingExcelExportService streamingExcelExportService;
+
 }
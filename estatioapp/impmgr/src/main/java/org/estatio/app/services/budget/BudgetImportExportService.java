@@ -18,11 +18,15 @@ package org.estatio.app.services.budget;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
+import com.google.common.collect.Iterators;
+
 import org.joda.time.LocalDate;
 
 import org.apache.isis.applib.annotation.Action;
@@ -30,6 +34,7 @@ import org.apache.isis.applib.annotation.ActionLayout;
 import org.apache.isis.applib.annotation.Contributed;
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.annotation.SemanticsOf;
 
 import org.isisaddons.module.excel.dom.ExcelService;
@@ -60,6 +65,20 @@ public class BudgetImportExportService {
         return result;
     }
 
+    /**
+     * As {@link #lines(BudgetImportExportManager)}, but creating the lines of each budget item only as they are
+     * consumed, for streaming exports.
+     */
+    @Programmatic
+    public Iterator<BudgetImportExport> lineIterator(final BudgetImportExportManager manager) {
+        if (manager.getBudget() == null) {
+            return Collections.emptyIterator();
+        }
+        return Iterators.concat(Iterators.transform(
+                manager.getBudget().getItems().iterator(),
+                item -> createLines(item, manager).iterator()));
+    }
+
     private List<BudgetImportExport> createLines(final BudgetItem item, final BudgetImportExportManager manager){
 
         List<BudgetImportExport> lines = new ArrayList<>();
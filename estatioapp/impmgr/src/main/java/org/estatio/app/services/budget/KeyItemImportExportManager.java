@@ -17,10 +17,13 @@
 package org.estatio.app.services.budget;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.inject.Inject;
 
+import com.google.common.collect.Iterators;
+
 import org.apache.isis.applib.DomainObjectContainer;
 import org.apache.isis.applib.annotation.Action;
 import org.apache.isis.applib.annotation.ActionLayout;
@@ -35,7 +38,9 @@ import org.apache.isis.applib.value.Blob;
 
 import org.isisaddons.module.excel.dom.ExcelService;
 
+import org.estatio.app.services.excel.StreamingExcelExportService;
 import org.estatio.dom.budgeting.keyitem.KeyItem;
+import org.estatio.dom.budgeting.keyitem.KeyItemRepository;
 import org.estatio.dom.budgeting.keytable.KeyTable;
 import org.estatio.dom.budgeting.keytable.KeyTableRepository;
 
@@ -102,7 +107,12 @@ public class KeyItemImportExportManager {
     @MemberOrder(name = "keyItems", sequence = "1")
     public Blob export() {
         final String fileName = withExtension(getFileName(), ".xlsx");
-        return excelService.toExcel(getKeyItems(), KeyItemImportExportLineItem.class, fileName);
+        final Iterator<KeyItemImportExportLineItem> lineItems = Iterators.transform(
+                streamingExcelExportService.paged(
+                        (first, count) -> keyItemRepository.findByKeyTable(getKeyTable(), first, count),
+                        StreamingExcelExportService.DEFAULT_PAGE_SIZE),
+                KeyItemImportExportLineItem::new);
+        return streamingExcelExportService.toExcel(lineItems, KeyItemImportExportLineItem.class, fileName);
     }
 
     public String disableExport() {
@@ -161,6 +171,12 @@ public class KeyItemImportExportManager {
     @javax.inject.Inject
     private KeyItemImportExportService keyItemImportExportService;
 
+    @javax.inject.Inject
+    private KeyItemRepository keyItemRepository;
+
+    @javax.inject.Inject
+    private StreamingExcelExportService streamingExcelExportService;
+
     @Inject
     private KeyTableRepository keyTableRepository;
 
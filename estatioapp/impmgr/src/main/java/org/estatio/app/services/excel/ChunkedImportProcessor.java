@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+/**
+ * Strategy used by {@link ChunkedImportService} for a particular type of spreadsheet row.
+ */
+public interface ChunkedImportProcessor<T> {
+
+    Class<T> getRowType();
+
+    /**
+     * Checks a single row that has just been read from the spreadsheet.
+     *
+     * <p>
+     * Rows are validated in parallel, so implementations must be thread-safe and must not touch the persistence
+     * layer; checks that require a lookup belong in {@link #apply(Object)}.
+     *
+     * @return the reason why the row is invalid, or <tt>null</tt> if it is ok.
+     */
+    String validate(T row);
+
+    /**
+     * Applies a (valid) row; domain services will have been injected into it.
+     *
+     * <p>
+     * Throwing an {@link org.apache.isis.applib.ApplicationException} reports the row as failed but continues with
+     * the rest of the chunk, so should only be done before anything is persisted for that row.
+     */
+    void apply(T row);
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+import org.apache.isis.applib.annotation.DomainObject;
+import org.apache.isis.applib.annotation.Nature;
+
+import org.estatio.dom.utils.TitleBuilder;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A line of the report returned by {@link ChunkedImportService}; either a row that failed, or the summary.
+ */
+@DomainObject(nature = Nature.VIEW_MODEL)
+public class ChunkedImportReportLine {
+
+    public enum Status {
+        FAILED,
+        COMPLETED
+    }
+
+    public ChunkedImportReportLine() {
+    }
+
+    public ChunkedImportReportLine(final Integer rowNumber, final Status status, final String message) {
+        this.rowNumber = rowNumber;
+        this.status = status;
+        this.message = message;
+    }
+
+    public String title() {
+        return TitleBuilder.start()
+                .withName(getStatus())
+                .withName(getRowNumber())
+                .toString();
+    }
+
+    @Getter @Setter
+    private Integer rowNumber;
+
+    @Getter @Setter
+    private Status status;
+
+    @Getter @Setter
+    private String message;
+
+}
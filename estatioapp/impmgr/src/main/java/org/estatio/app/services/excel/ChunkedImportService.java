@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.ApplicationException;
+import org.apache.isis.applib.DomainObjectContainer;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.applib.value.Blob;
+
+import org.estatio.app.services.excel.ChunkedImportReportLine.Status;
+
+/**
+ * Imports a (potentially very large) spreadsheet with bounded memory and bounded transaction size.
+ *
+ * <p>
+ * Rows are {@link ExcelRowStreamer streamed} from the spreadsheet and buffered into chunks. Each chunk is
+ * {@link ExcelRowBinder bound} and {@link ChunkedImportProcessor#validate(Object) validated} in parallel, then
+ * {@link ChunkedImportProcessor#apply(Object) applied} and committed in a transaction of its own. If a chunk fails
+ * unexpectedly the import stops, reporting the last committed row so that it can be restarted from there.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class ChunkedImportService {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final ExcelRowStreamer excelRowStreamer = new ExcelRowStreamer();
+
+    /**
+     * @param startAtRow - the (1-based) spreadsheet row to start at; earlier rows are skipped. Pass <tt>null</tt> to start at the beginning.
+     * @return the rows that failed, followed by a summary line.
+     */
+    @Programmatic
+    public <T> List<ChunkedImportReportLine> importRows(
+            final Blob spreadsheet,
+            final ChunkedImportProcessor<T> processor,
+            final Integer chunkSize,
+            final Integer startAtRow) {
+
+        final Run<T> run = new Run<>(processor, chunkSize != null ? chunkSize : DEFAULT_CHUNK_SIZE, startAtRow != null ? startAtRow : 0);
+        excelRowStreamer.stream(spreadsheet, run);
+        run.flushChunk();
+
+        run.report.add(new ChunkedImportReportLine(
+                run.lastCommittedRow, Status.COMPLETED,
+                String.format("%d rows applied, %d rows failed", run.applied, run.failed)));
+        return run.report;
+    }
+
+    private class Run<T> implements ExcelRowStreamer.RowHandler {
+
+        private final ChunkedImportProcessor<T> processor;
+        private final ExcelRowBinder<T> binder;
+        private final int chunkSize;
+        private final int startAtRow;
+
+        private final List<Row<T>> chunk = Lists.newArrayList();
+        private final List<ChunkedImportReportLine> report = Lists.newArrayList();
+
+        private Integer lastCommittedRow;
+        private int applied;
+        private int failed;
+
+        Run(final ChunkedImportProcessor<T> processor, final int chunkSize, final int startAtRow) {
+            this.processor = processor;
+            this.binder = new ExcelRowBinder<>(processor.getRowType());
+            this.chunkSize = chunkSize;
+            this.startAtRow = startAtRow;
+        }
+
+        @Override
+        public void onRow(final int rowNumber, final Map<String, String> valuesByHeader) {
+            if (rowNumber < startAtRow) {
+                return;
+            }
+            chunk.add(new Row<T>(rowNumber, valuesByHeader));
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            chunk.parallelStream().forEach(row -> row.bindAndValidate(binder, processor));
+
+            for (Row<T> row : chunk) {
+                if (row.error == null) {
+                    container.injectServicesInto(row.instance);
+                    try {
+                        processor.apply(row.instance);
+                    } catch (ApplicationException e) {
+                        row.error = e.getMessage();
+                    } catch (RuntimeException e) {
+                        throw new ApplicationException(String.format(
+                                "Import aborted at row %d (%s); rows up to %s were committed, restart from row %d",
+                                row.rowNumber, e.getMessage(),
+                                lastCommittedRow != null ? lastCommittedRow : "none",
+                                chunk.get(0).rowNumber), e);
+                    }
+                }
+                if (row.error != null) {
+                    failed++;
+                    report.add(new ChunkedImportReportLine(row.rowNumber, Status.FAILED, row.error));
+                } else {
+                    applied++;
+                }
+            }
+            transactionService.nextTransaction();
+
+            lastCommittedRow = chunk.get(chunk.size() - 1).rowNumber;
+            chunk.clear();
+        }
+    }
+
+    private static class Row<T> {
+        private final int rowNumber;
+        private Map<String, String> valuesByHeader;
+        private T instance;
+        private String error;
+
+        Row(final int rowNumber, final Map<String, String> valuesByHeader) {
+            this.rowNumber = rowNumber;
+            this.valuesByHeader = valuesByHeader;
+        }
+
+        void bindAndValidate(final ExcelRowBinder<T> binder, final ChunkedImportProcessor<T> processor) {
+            try {
+                instance = binder.bind(valuesByHeader);
+                error = processor.validate(instance);
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+            valuesByHeader = null;
+        }
+    }
+
+    //region > injected services
+
+    @Inject
+    private DomainObjectContainer container;
+
+    @Inject
+    private TransactionService transactionService;
+
+    //endregion
+
+}
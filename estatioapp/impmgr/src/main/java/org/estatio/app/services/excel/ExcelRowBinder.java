@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.joda.time.LocalDate;
+
+/**
+ * Binds the raw cell values of a row (as provided by {@link ExcelRowStreamer}) onto a new instance of a (view model)
+ * class, matching each header to a writable property by name, ignoring case, spaces and punctuation (so that both
+ * <tt>leaseReference</tt> and <tt>Lease Reference</tt> map to <tt>setLeaseReference(...)</tt>).
+ *
+ * <p>
+ * Only value types are supported (strings, numbers, booleans, dates and enums); references to entities need to be
+ * resolved by the caller.  Instances are immutable once constructed and can be used concurrently.
+ */
+public class ExcelRowBinder<T> {
+
+    private final Class<T> type;
+    private final Map<String, Method> settersByNormalizedName;
+
+    public ExcelRowBinder(final Class<T> type) {
+        this.type = type;
+        final ImmutableMap.Builder<String, Method> builder = ImmutableMap.builder();
+        try {
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                if (descriptor.getWriteMethod() != null) {
+                    builder.put(normalize(descriptor.getName()), descriptor.getWriteMethod());
+                }
+            }
+        } catch (IntrospectionException e) {
+            throw new IllegalArgumentException("Could not introspect " + type.getName(), e);
+        }
+        this.settersByNormalizedName = builder.build();
+    }
+
+    /**
+     * @throws IllegalArgumentException if any of the values cannot be converted to the type of its property.
+     */
+    public T bind(final Map<String, String> valuesByHeader) {
+        final T instance = newInstance();
+        for (Map.Entry<String, String> entry : valuesByHeader.entrySet()) {
+            final Method setter = settersByNormalizedName.get(normalize(entry.getKey()));
+            if (setter == null) {
+                continue;
+            }
+            final Class<?> propertyType = setter.getParameterTypes()[0];
+            final Object value;
+            try {
+                value = convert(entry.getValue(), propertyType);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(
+                        String.format("Column '%s': cannot convert '%s' to %s",
+                                entry.getKey(), entry.getValue(), propertyType.getSimpleName()), e);
+            }
+            invoke(setter, instance, value);
+        }
+        return instance;
+    }
+
+    static String normalize(final String name) {
+        return name.replaceAll("[^A-Za-z0-9]", "").toLowerCase();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static Object convert(final String raw, final Class<?> propertyType) {
+        if (raw == null) {
+            return null;
+        }
+        if (propertyType == String.class) {
+            return raw;
+        }
+        if (propertyType == BigDecimal.class) {
+            return new BigDecimal(raw.trim());
+        }
+        if (propertyType == LocalDate.class) {
+            final String trimmed = raw.trim();
+            return trimmed.contains("-")
+                    ? LocalDate.parse(trimmed)
+                    : LocalDate.fromDateFields(DateUtil.getJavaDate(Double.parseDouble(trimmed)));
+        }
+        if (propertyType == Integer.class || propertyType == int.class) {
+            return new BigDecimal(raw.trim()).intValueExact();
+        }
+        if (propertyType == Long.class || propertyType == long.class) {
+            return new BigDecimal(raw.trim()).longValueExact();
+        }
+        if (propertyType == Boolean.class || propertyType == boolean.class) {
+            final String trimmed = raw.trim();
+            return "1".equals(trimmed) || "true".equalsIgnoreCase(trimmed);
+        }
+        if (propertyType.isEnum()) {
+            return Enum.valueOf((Class<Enum>) propertyType, raw.trim());
+        }
+        throw new IllegalArgumentException("Unsupported type " + propertyType.getName());
+    }
+
+    private T newInstance() {
+        try {
+            return type.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Could not instantiate " + type.getName(), e);
+        }
+    }
+
+    private static void invoke(final Method setter, final Object instance, final Object value) {
+        try {
+            setter.invoke(instance, value);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not invoke " + setter, e);
+        }
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import org.apache.isis.applib.ApplicationException;
+import org.apache.isis.applib.value.Blob;
+
+/**
+ * Reads the first sheet of an <tt>.xlsx</tt> spreadsheet row by row using the SAX-based event model of POI, so that
+ * only a single row is ever held in memory (as opposed to {@link org.isisaddons.module.excel.dom.ExcelService}, which
+ * builds the entire workbook).
+ *
+ * <p>
+ * The first row is interpreted as the header; every subsequent non-blank row is passed to the {@link RowHandler}
+ * keyed by header.  Cell values are passed in their raw (unformatted) form: shared and inline strings as text,
+ * numbers (including dates) as their stored numeric value and booleans as <tt>0</tt> or <tt>1</tt>.
+ */
+public class ExcelRowStreamer {
+
+    public interface RowHandler {
+        /**
+         * @param rowNumber - 1-based, as shown in Excel (so the first data row is row 2).
+         */
+        void onRow(int rowNumber, Map<String, String> valuesByHeader);
+    }
+
+    public void stream(final Blob spreadsheet, final RowHandler handler) {
+        File file = null;
+        try {
+            // opening from a file rather than a stream avoids POI inflating every zip entry into memory
+            file = File.createTempFile("estatio-import", ".xlsx");
+            Files.write(file.toPath(), spreadsheet.getBytes());
+            try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+                final XSSFReader reader = new XSSFReader(pkg);
+                final ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+                final Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    return;
+                }
+                try (InputStream sheet = sheets.next()) {
+                    final XMLReader xmlReader = newXmlReader();
+                    xmlReader.setContentHandler(new SheetHandler(sharedStrings, handler));
+                    xmlReader.parse(new InputSource(sheet));
+                }
+            }
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new ApplicationException("Could not read spreadsheet " + spreadsheet.getName(), e);
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
+    private static XMLReader newXmlReader() throws SAXException, ParserConfigurationException {
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newSAXParser().getXMLReader();
+    }
+
+    static class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final RowHandler rowHandler;
+
+        private final List<String> headers = Lists.newArrayList();
+        private final Map<Integer, String> currentRow = Maps.newHashMap();
+
+        private int rowNumber;
+        private int column;
+        private String cellType;
+        private boolean inValue;
+        private final StringBuilder value = new StringBuilder();
+
+        SheetHandler(final ReadOnlySharedStringsTable sharedStrings, final RowHandler rowHandler) {
+            this.sharedStrings = sharedStrings;
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startElement(final String uri, final String localName, final String qName, final Attributes attributes) {
+            switch (localName) {
+            case "row":
+                final String rowReference = attributes.getValue("r");
+                rowNumber = rowReference != null ? Integer.parseInt(rowReference) : rowNumber + 1;
+                column = -1;
+                currentRow.clear();
+                break;
+            case "c":
+                final String cellReference = attributes.getValue("r");
+                column = cellReference != null ? columnIndexOf(cellReference) : column + 1;
+                cellType = attributes.getValue("t");
+                value.setLength(0);
+                break;
+            case "v":
+            case "t":
+                inValue = true;
+                break;
+            default:
+                break;
+            }
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) {
+            if (inValue) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) {
+            switch (localName) {
+            case "v":
+            case "t":
+                inValue = false;
+                break;
+            case "c":
+                final String cellValue = "s".equals(cellType)
+                        ? sharedStrings.getEntryAt(Integer.parseInt(value.toString()))
+                        : value.toString();
+                if (!Strings.isNullOrEmpty(cellValue)) {
+                    currentRow.put(column, cellValue);
+                }
+                break;
+            case "row":
+                endRow();
+                break;
+            default:
+                break;
+            }
+        }
+
+        private void endRow() {
+            if (headers.isEmpty()) {
+                for (int i = 0; i <= maxColumn(); i++) {
+                    headers.add(Strings.nullToEmpty(currentRow.get(i)).trim());
+                }
+                return;
+            }
+            if (currentRow.isEmpty()) {
+                return;
+            }
+            final Map<String, String> valuesByHeader = Maps.newLinkedHashMap();
+            for (Map.Entry<Integer, String> entry : currentRow.entrySet()) {
+                if (entry.getKey() < headers.size()) {
+                    valuesByHeader.put(headers.get(entry.getKey()), entry.getValue());
+                }
+            }
+            rowHandler.onRow(rowNumber, valuesByHeader);
+        }
+
+        private int maxColumn() {
+            int max = -1;
+            for (Integer column : currentRow.keySet()) {
+                max = Math.max(max, column);
+            }
+            return max;
+        }
+
+        /**
+         * eg <tt>C12</tt> -&gt; 2
+         */
+        static int columnIndexOf(final String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++) {
+                final char ch = cellReference.charAt(i);
+                if (!Character.isLetter(ch)) {
+                    break;
+                }
+                column = column * 26 + (Character.toUpperCase(ch) - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.ApplicationException;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.value.Blob;
+
+/**
+ * Writes rows as comma separated values, with the same columns as {@link StreamingExcelExportService}; each row is
+ * written as soon as it is read from the iterator, so only the encoded output is held in memory.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class StreamingCsvExportService {
+
+    private static final String MIME_TYPE = "text/csv";
+    private static final char SEPARATOR = ',';
+
+    @Programmatic
+    public <T> Blob toCsv(final Iterator<T> rows, final Class<T> type, final String fileName) {
+        final List<StreamingExcelExportService.Column> columns = StreamingExcelExportService.columnsOf(type);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(SEPARATOR);
+                }
+                writer.write(escape(columns.get(i).name));
+            }
+            writer.write('\n');
+            while (rows.hasNext()) {
+                final T each = rows.next();
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        writer.write(SEPARATOR);
+                    }
+                    writer.write(format(columns.get(i).valueOf(each)));
+                }
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new ApplicationException("Could not write " + fileName, e);
+        }
+        return new Blob(fileName, MIME_TYPE, bytes.toByteArray());
+    }
+
+    private static String format(final Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof LocalDate) {
+            return ((LocalDate) value).toString("yyyy-MM-dd");
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return escape(value.toString());
+    }
+
+    private static String escape(final String value) {
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
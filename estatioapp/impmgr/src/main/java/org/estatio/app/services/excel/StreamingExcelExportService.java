@@ -0,0 +1,229 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.ApplicationException;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+import org.apache.isis.applib.value.Blob;
+
+/**
+ * Writes rows to an <tt>.xlsx</tt> spreadsheet using POI's streaming (SXSSF) workbook, which keeps only a small
+ * window of rows in memory and flushes the rest to a temporary file.  Combined with {@link #paged(PageFetcher, int)}
+ * this allows arbitrarily large exports without holding the rows in memory; only the finished file is, when it is
+ * returned as a {@link Blob}.
+ *
+ * <p>
+ * The columns are the value-typed properties (strings, numbers, dates, booleans and enums) of the row class, in
+ * declaration order, with the property id as header, so the result can be read back by both
+ * {@link org.isisaddons.module.excel.dom.ExcelService} and {@link ChunkedImportService}.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class StreamingExcelExportService {
+
+    public static final int ROW_ACCESS_WINDOW = 100;
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private static final String MIME_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    public interface PageFetcher<T> {
+        List<T> fetch(int first, int count);
+    }
+
+    /**
+     * The spreadsheet as a blob, to be returned by an action.  A blob holds its bytes, so the finished (compressed)
+     * file is held in memory once; the rows are not.  Use {@link #write(Iterator, Class, OutputStream)} to stream
+     * the spreadsheet to a response instead.
+     */
+    @Programmatic
+    public <T> Blob toExcel(final Iterator<T> rows, final Class<T> type, final String fileName) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            write(rows, type, bytes);
+        } catch (IOException e) {
+            throw new ApplicationException("Could not write spreadsheet " + fileName, e);
+        }
+        return new Blob(fileName, MIME_TYPE, bytes.toByteArray());
+    }
+
+    /**
+     * Writes the spreadsheet to the output stream (which is not closed), for example to the response of a servlet;
+     * only the temporary file of the workbook grows with the number of rows.
+     */
+    @Programmatic
+    public <T> void write(final Iterator<T> rows, final Class<T> type, final OutputStream outputStream)
+            throws IOException {
+        final List<Column> columns = columnsOf(type);
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        try {
+            final Sheet sheet = workbook.createSheet(type.getSimpleName());
+            final CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+            final Row header = sheet.createRow(0);
+            for (int i = 0; i < columns.size(); i++) {
+                header.createCell(i).setCellValue(columns.get(i).name);
+            }
+
+            int rowNumber = 1;
+            while (rows.hasNext()) {
+                final T each = rows.next();
+                final Row row = sheet.createRow(rowNumber++);
+                for (int i = 0; i < columns.size(); i++) {
+                    setCellValue(row.createCell(i), columns.get(i).valueOf(each), dateStyle);
+                }
+            }
+
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * Iterates over all the objects returned by the fetcher, one page at a time, evicting the objects of each page
+     * from the persistence manager once it has been consumed.
+     */
+    @Programmatic
+    public <T> Iterator<T> paged(final PageFetcher<T> fetcher, final int pageSize) {
+        return new Iterator<T>() {
+            private int first;
+            private List<T> pageObjects;
+            private Iterator<T> page = fetchPage();
+            private boolean lastPage;
+
+            private Iterator<T> fetchPage() {
+                pageObjects = fetcher.fetch(first, pageSize);
+                first += pageSize;
+                lastPage = pageObjects.size() < pageSize;
+                return pageObjects.iterator();
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (!page.hasNext() && !lastPage) {
+                    // only the objects of this page, not whatever else the interaction holds
+                    isisJdoSupport.getJdoPersistenceManager().evictAll(pageObjects);
+                    page = fetchPage();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public T next() {
+                hasNext();
+                return page.next();
+            }
+        };
+    }
+
+    private static void setCellValue(final Cell cell, final Object value, final CellStyle dateStyle) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof LocalDate) {
+            cell.setCellValue(((LocalDate) value).toDate());
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else if (value instanceof Enum) {
+            cell.setCellValue(((Enum<?>) value).name());
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    static List<Column> columnsOf(final Class<?> type) {
+        final Map<String, Method> gettersByName = Maps.newHashMap();
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() != 0) {
+                continue;
+            }
+            if (method.getName().startsWith("get")) {
+                gettersByName.put(method.getName().substring(3), method);
+            } else if (method.getName().startsWith("is") && method.getReturnType() == boolean.class) {
+                gettersByName.put(method.getName().substring(2), method);
+            }
+        }
+        final List<Column> columns = Lists.newArrayList();
+        for (Field field : type.getDeclaredFields()) {
+            final String capitalized = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+            final Method getter = gettersByName.get(capitalized);
+            if (getter != null && isValueType(getter.getReturnType())) {
+                columns.add(new Column(field.getName(), getter));
+            }
+        }
+        return columns;
+    }
+
+    private static boolean isValueType(final Class<?> type) {
+        return type == String.class
+                || Number.class.isAssignableFrom(type)
+                || type == LocalDate.class
+                || type == Boolean.class
+                || type.isPrimitive()
+                || type.isEnum();
+    }
+
+    static class Column {
+        final String name;
+        private final Method getter;
+
+        Column(final String name, final Method getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        Object valueOf(final Object object) {
+            try {
+                return getter.invoke(object);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Could not invoke " + getter, e);
+            }
+        }
+    }
+
+    @Inject
+    private IsisJdoSupport isisJdoSupport;
+
+}
@@ -17,27 +17,46 @@
  */
 package org.estatio.app.services.indexmaint;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
 
+import com.google.common.base.Objects;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.ApplicationException;
 import org.apache.isis.applib.annotation.ActionSemantics;
 import org.apache.isis.applib.annotation.ActionSemantics.Of;
+import org.apache.isis.applib.annotation.CollectionLayout;
+import org.apache.isis.applib.annotation.DescribedAs;
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.DomainServiceLayout;
 import org.apache.isis.applib.annotation.MemberOrder;
 import org.apache.isis.applib.annotation.Named;
+import org.apache.isis.applib.annotation.Optional;
 import org.apache.isis.applib.value.Blob;
 
 import org.isisaddons.module.excel.dom.ExcelService;
 import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
 
+import org.estatio.app.services.excel.ChunkedImportProcessor;
+import org.estatio.app.services.excel.ChunkedImportReportLine;
+import org.estatio.app.services.excel.ChunkedImportService;
+import org.estatio.app.services.excel.StreamingExcelExportService;
 import org.estatio.dom.Dflt;
 import org.estatio.dom.UdoDomainService;
 import org.estatio.dom.apptenancy.EstatioApplicationTenancyRepository;
+import org.estatio.dom.index.Index;
+import org.estatio.dom.index.IndexBase;
+import org.estatio.dom.index.IndexBaseRepository;
+import org.estatio.dom.index.IndexRepository;
+import org.estatio.dom.index.IndexValue;
+import org.estatio.dom.index.IndexValueRepository;
 
 @DomainService
 @DomainServiceLayout(
@@ -63,12 +82,35 @@ public class IndexValueMaintService extends UdoDomainService<IndexValueMaintServ
 
     // //////////////////////////////////////
 
+    /**
+     * Downloads the values of the index (streamed page by page), or an empty template if no index is selected.
+     */
     @ActionSemantics(Of.SAFE)
     @MemberOrder(sequence="1")
-    public Blob downloadIndexValues() {
-        final String fileName = "IndexValues.xlsx";
-        final List<IndexValueMaintLineItem> viewModels = Lists.newArrayList();
-        return excelService.toExcel(viewModels, IndexValueMaintLineItem.class, fileName);
+    public Blob downloadIndexValues(final @Optional Index index) {
+        if (index == null) {
+            final List<IndexValueMaintLineItem> viewModels = Lists.newArrayList();
+            return excelService.toExcel(viewModels, IndexValueMaintLineItem.class, "IndexValues.xlsx");
+        }
+        final Iterator<IndexValueMaintLineItem> lineItems = Iterators.transform(
+                streamingExcelExportService.paged(
+                        (first, count) -> indexValueRepository.findByIndex(index, first, count),
+                        StreamingExcelExportService.DEFAULT_PAGE_SIZE),
+                IndexValueMaintService::toLineItem);
+        return streamingExcelExportService.toExcel(
+                lineItems, IndexValueMaintLineItem.class, "IndexValues-" + index.getReference() + ".xlsx");
+    }
+
+    private static IndexValueMaintLineItem toLineItem(final IndexValue indexValue) {
+        final IndexBase indexBase = indexValue.getIndexBase();
+        final IndexValueMaintLineItem lineItem = new IndexValueMaintLineItem();
+        lineItem.setAtPath(indexBase.getIndex().getApplicationTenancyPath());
+        lineItem.setReference(indexBase.getIndex().getReference());
+        lineItem.setBaseStartDate(indexBase.getStartDate());
+        lineItem.setBaseFactor(indexBase.getFactor());
+        lineItem.setValueStartDate(indexValue.getStartDate());
+        lineItem.setValue(indexValue.getValue());
+        return lineItem;
     }
 
     // //////////////////////////////////////
@@ -94,6 +136,159 @@ public class IndexValueMaintService extends UdoDomainService<IndexValueMaintServ
         return Dflt.of(choices1UploadIndexValues());
     }
 
+    // //////////////////////////////////////
+
+    /**
+     * As {@link #uploadIndexValues(Blob, ApplicationTenancy) uploading} the values and then
+     * {@link IndexValueMaintLineItem#apply() applying} them, but streaming the spreadsheet rather than loading it in
+     * full, and applying the rows in chunks of <tt>chunkSize</tt>, each committed in its own transaction.
+     *
+     * <p>
+     *     The checks across rows are made as each row is applied, against the rows applied before it; a row that
+     *     fails them is reported and skipped.
+     * </p>
+     */
+    @ActionSemantics(Of.NON_IDEMPOTENT)
+    @CollectionLayout(paged = -1)
+    @MemberOrder(sequence="3")
+    public List<ChunkedImportReportLine> importIndexValuesInChunks(
+            final @Named("Excel spreadsheet") Blob spreadsheet,
+            final ApplicationTenancy applicationTenancy,
+            final @Optional @Named("Chunk size") Integer chunkSize,
+            final @Optional @Named("Start at row") @DescribedAs("To resume an aborted import from the row reported") Integer startAtRow) {
+        return chunkedImportService.importRows(
+                spreadsheet,
+                new IndexValueImportProcessor(
+                        applicationTenancy, indexRepository, indexBaseRepository, indexValueRepository),
+                chunkSize,
+                startAtRow);
+    }
+
+    public List<ApplicationTenancy> choices1ImportIndexValuesInChunks() {
+        return choices1UploadIndexValues();
+    }
+
+    public ApplicationTenancy default1ImportIndexValuesInChunks() {
+        return default1UploadIndexValues();
+    }
+
+    public Integer default2ImportIndexValuesInChunks() {
+        return ChunkedImportService.DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Applies the rows of a single index in order, making the checks of {@link IndexValueMaintLineItem} one row at a
+     * time: all rows are for the same index, the value start dates are for consecutive months, the base factor only
+     * changes with the base start date, and the first row is for an existing month of an existing index or the month
+     * after its last value.
+     */
+    static class IndexValueImportProcessor implements ChunkedImportProcessor<IndexValueMaintLineItem> {
+
+        private final ApplicationTenancy applicationTenancy;
+        private final IndexRepository indexRepository;
+        private final IndexBaseRepository indexBaseRepository;
+        private final IndexValueRepository indexValueRepository;
+
+        private Index index;
+        private IndexBase previousBase;
+        private IndexValueMaintLineItem previousRow;
+
+        IndexValueImportProcessor(
+                final ApplicationTenancy applicationTenancy,
+                final IndexRepository indexRepository,
+                final IndexBaseRepository indexBaseRepository,
+                final IndexValueRepository indexValueRepository) {
+            this.applicationTenancy = applicationTenancy;
+            this.indexRepository = indexRepository;
+            this.indexBaseRepository = indexBaseRepository;
+            this.indexValueRepository = indexValueRepository;
+        }
+
+        @Override
+        public Class<IndexValueMaintLineItem> getRowType() {
+            return IndexValueMaintLineItem.class;
+        }
+
+        @Override
+        public String validate(final IndexValueMaintLineItem row) {
+            if (row.getReference() == null) {
+                return "Reference is required";
+            }
+            if (row.getBaseStartDate() == null) {
+                return "Base start date is required";
+            }
+            if (row.getValueStartDate() == null) {
+                return "Value start date is required";
+            }
+            if (row.getValue() == null) {
+                return "Value is required";
+            }
+            return null;
+        }
+
+        @Override
+        public void apply(final IndexValueMaintLineItem row) {
+            if (previousRow == null) {
+                applyFirst(row);
+            } else {
+                check(row);
+            }
+
+            final IndexBase indexBase = indexBaseRepository.findOrCreate(
+                    index, previousBase, row.getBaseStartDate(), row.getBaseFactor());
+            final IndexValue indexValue = indexValueRepository.findByIndexAndStartDate(index, row.getValueStartDate());
+            if (indexValue == null) {
+                indexValueRepository.findOrCreate(indexBase, row.getValueStartDate(), row.getValue());
+            } else {
+                indexValue.setValue(row.getValue());
+            }
+            previousBase = indexBase;
+            previousRow = row;
+        }
+
+        private void applyFirst(final IndexValueMaintLineItem row) {
+            final LocalDate valueStartDate = row.getValueStartDate();
+            final Index existingIndex = indexRepository.findByReference(row.getReference());
+            if (existingIndex == null) {
+                index = indexRepository.newIndex(row.getReference(), row.getReference(), applicationTenancy);
+                return;
+            }
+            final IndexValue existingValue = indexValueRepository.findByIndexAndStartDate(existingIndex, valueStartDate);
+            final IndexValue previousValue = existingValue != null
+                    ? existingValue
+                    : indexValueRepository.findByIndexAndStartDate(existingIndex, valueStartDate.minusMonths(1));
+            if (previousValue == null) {
+                final IndexValue last = indexValueRepository.findLastByIndex(existingIndex);
+                if (last != null) {
+                    throw new ApplicationException("First row ("
+                            + valueStartDate.toString("yyyy/MM/dd") + ") must be an existing month or "
+                            + "for the 1 month after last ("
+                            + last.getStartDate().toString("yyyy/MM/dd") + ")");
+                }
+            } else {
+                previousBase = previousValue.getIndexBase();
+            }
+            index = existingIndex;
+        }
+
+        private void check(final IndexValueMaintLineItem row) {
+            if (!Objects.equal(previousRow.getReference(), row.getReference())) {
+                throw new ApplicationException("All rows must be for same index reference " + previousRow.getReference());
+            }
+            if (!Objects.equal(row.getValueStartDate().minusMonths(1), previousRow.getValueStartDate())) {
+                throw new ApplicationException("All rows must be for sequential; found "
+                        + previousRow.getValueStartDate().toString("yyyy/MM/dd") + " and "
+                        + row.getValueStartDate().toString("yyyy/MM/dd"));
+            }
+            if (Objects.equal(previousRow.getBaseStartDate(), row.getBaseStartDate())
+                    && !Objects.equal(previousRow.getBaseFactor(), row.getBaseFactor())) {
+                throw new ApplicationException("Base factors can only change if base start date changes; "
+                        + "baseStartDate: " + row.getBaseStartDate().toString("yyyy/MM/dd")
+                        + ", baseFactor: " + row.getBaseFactor());
+            }
+        }
+    }
+
 
     // //////////////////////////////////////
 
@@ -103,4 +298,19 @@ public class IndexValueMaintService extends UdoDomainService<IndexValueMaintServ
     @javax.inject.Inject
     private EstatioApplicationTenancyRepository estatioApplicationTenancyRepository;
 
+    @javax.inject.Inject
+    private IndexValueRepository indexValueRepository;
+
+    @javax.inject.Inject
+    private StreamingExcelExportService streamingExcelExportService;
+
+    @javax.inject.Inject
+    private ChunkedImportService chunkedImportService;
+
+    @javax.inject.Inject
+    private IndexRepository indexRepository;
+
+    @javax.inject.Inject
+    private IndexBaseRepository indexBaseRepository;
+
 }
@@ -25,6 +25,7 @@ import org.isisaddons.module.security.dom.tenancy.ApplicationTenancyRepository;
 import org.estatio.dom.Importable;
 import org.estatio.dom.charge.Charge;
 import org.estatio.dom.charge.ChargeRepository;
+import org.estatio.dom.currency.Currency;
 import org.estatio.dom.currency.CurrencyRepository;
 import org.estatio.dom.invoice.Invoice;
 import org.estatio.dom.invoice.InvoiceItem;
@@ -101,19 +102,24 @@ public class InvoiceImportLine implements Importable {
     @Programmatic
     public List<Object> importData(final Object previousRow) {
         List<Object> result = new ArrayList<>();
+
+        // resolve everything before persisting anything, so that a row that fails leaves nothing behind
         Lease lease = fetchLease(getLeaseReference());
         PaymentMethod paymentMethod = fetchPaymentMethod(getPaymentMethod());
+        Charge charge = fetchCharge(getItemChargeReference());
         String atPath = lease.getApplicationTenancyPath().concat("/").concat(lease.getPrimaryParty().getReference());
-        ApplicationTenancy applicationTenancy = applicationTenancyRepository.findByPath(atPath);
+        ApplicationTenancy applicationTenancy = fetchApplicationTenancy(atPath);
+        Currency currency = currencyRepository.findCurrency("EUR");
+
         Invoice invoice = invoiceRepository.newInvoice(applicationTenancy,
                 lease.getPrimaryParty(),
                 lease.getSecondaryParty(),
                 paymentMethod,
-                currencyRepository.findCurrency("EUR"),
+                currency,
                 getDueDate(),
                 lease, null);
 
-        InvoiceItem invoiceItem = invoice.newItem(fetchCharge(getItemChargeReference()), BigDecimal.ONE, getItemNetAmount(), getItemStartDate(), getItemEndDate());
+        InvoiceItem invoiceItem = invoice.newItem(charge, BigDecimal.ONE, getItemNetAmount(), getItemStartDate(), getItemEndDate());
         if (getItemDescription() != null) {
             invoiceItem.setDescription(getItemDescription());
         }
@@ -139,6 +145,14 @@ public class InvoiceImportLine implements Importable {
         }
     }
 
+    private ApplicationTenancy fetchApplicationTenancy(final String atPath) {
+        final ApplicationTenancy applicationTenancy = applicationTenancyRepository.findByPath(atPath);
+        if (applicationTenancy == null) {
+            throw new ApplicationException(String.format("Application tenancy with path %s not found.", atPath));
+        }
+        return applicationTenancy;
+    }
+
     private Charge fetchCharge(final String chargeReference) {
         final Charge charge = chargeRepository
                 .findByReference(chargeReference);
@@ -23,12 +23,22 @@ import javax.inject.Inject;
 import org.apache.isis.applib.annotation.Action;
 import org.apache.isis.applib.annotation.CollectionLayout;
 import org.apache.isis.applib.annotation.DomainObject;
+import org.apache.commons.lang3.EnumUtils;
+
 import org.apache.isis.applib.annotation.Nature;
+import org.apache.isis.applib.annotation.Optionality;
+import org.apache.isis.applib.annotation.Parameter;
 import org.apache.isis.applib.annotation.ParameterLayout;
+import org.apache.isis.applib.annotation.SemanticsOf;
 import org.apache.isis.applib.value.Blob;
 
 import org.isisaddons.module.excel.dom.ExcelService;
 
+import org.estatio.app.services.excel.ChunkedImportProcessor;
+import org.estatio.app.services.excel.ChunkedImportReportLine;
+import org.estatio.app.services.excel.ChunkedImportService;
+import org.estatio.dom.invoice.PaymentMethod;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -54,10 +64,66 @@ public class InvoiceImportManager {
         return lineItems;
     }
 
+    /**
+     * Streams the spreadsheet rather than loading it in full, applying the rows in chunks of
+     * <tt>chunkSize</tt>, each committed in its own transaction.
+     */
+    @Action(semantics = SemanticsOf.NON_IDEMPOTENT)
+    @CollectionLayout(paged = -1)
+    public List<ChunkedImportReportLine> importInvoicesInChunks(
+            @ParameterLayout(named = "Excel spreadsheet") final Blob spreadsheet,
+            @Parameter(optionality = Optionality.OPTIONAL)
+            @ParameterLayout(named = "Chunk size") final Integer chunkSize,
+            @Parameter(optionality = Optionality.OPTIONAL)
+            @ParameterLayout(named = "Start at row", describedAs = "To resume an aborted import from the row reported")
+            final Integer startAtRow) {
+        return chunkedImportService.importRows(spreadsheet, new InvoiceImportLineProcessor(), chunkSize, startAtRow);
+    }
+
+    public Integer default1ImportInvoicesInChunks() {
+        return ChunkedImportService.DEFAULT_CHUNK_SIZE;
+    }
+
+    static class InvoiceImportLineProcessor implements ChunkedImportProcessor<InvoiceImportLine> {
+
+        @Override
+        public Class<InvoiceImportLine> getRowType() {
+            return InvoiceImportLine.class;
+        }
+
+        @Override
+        public String validate(final InvoiceImportLine line) {
+            if (line.getLeaseReference() == null) {
+                return "Lease reference is required";
+            }
+            if (line.getDueDate() == null) {
+                return "Due date is required";
+            }
+            if (line.getItemChargeReference() == null) {
+                return "Charge reference is required";
+            }
+            if (line.getItemNetAmount() == null) {
+                return "Net amount is required";
+            }
+            if (!EnumUtils.isValidEnum(PaymentMethod.class, line.getPaymentMethod())) {
+                return String.format("Paymentmethod with value %s not found.", line.getPaymentMethod());
+            }
+            return null;
+        }
+
+        @Override
+        public void apply(final InvoiceImportLine line) {
+            line.importData(null);
+        }
+    }
+
     @Getter @Setter
     private String name;
 
     @Inject
     private ExcelService excelService;
 
+    @Inject
+    private ChunkedImportService chunkedImportService;
+
 }
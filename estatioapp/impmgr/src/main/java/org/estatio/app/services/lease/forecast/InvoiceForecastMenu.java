@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.services.lease.forecast;
+
+import java.util.Iterator;
+
+import javax.inject.Inject;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.DomainServiceLayout;
+import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Optionality;
+import org.apache.isis.applib.annotation.Parameter;
+import org.apache.isis.applib.annotation.ParameterLayout;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.value.Blob;
+
+import org.estatio.app.services.excel.StreamingCsvExportService;
+import org.estatio.app.services.excel.StreamingExcelExportService;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.lease.forecast.InvoiceForecastLine;
+import org.estatio.dom.lease.forecast.InvoiceForecastService;
+
+@DomainService(
+        nature = NatureOfService.VIEW_MENU_ONLY
+)
+@DomainServiceLayout(menuBar = DomainServiceLayout.MenuBar.PRIMARY, named = "Invoices")
+public class InvoiceForecastMenu {
+
+    public static final int DEFAULT_YEARS = 5;
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @MemberOrder(sequence = "10")
+    public Blob downloadInvoiceForecast(
+            @ParameterLayout(named = "Start date") final LocalDate startDate,
+            @ParameterLayout(named = "Years") final Integer years,
+            @Parameter(optionality = Optionality.OPTIONAL) final Property property) {
+        return streamingExcelExportService.toExcel(
+                forecast(startDate, years, property), InvoiceForecastLine.class, fileName(startDate, years, property, "xlsx"));
+    }
+
+    public LocalDate default0DownloadInvoiceForecast() {
+        return clockService.now();
+    }
+
+    public Integer default1DownloadInvoiceForecast() {
+        return DEFAULT_YEARS;
+    }
+
+    public String validate1DownloadInvoiceForecast(final Integer years) {
+        return validateYears(years);
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @MemberOrder(sequence = "11")
+    public Blob downloadInvoiceForecastAsCsv(
+            @ParameterLayout(named = "Start date") final LocalDate startDate,
+            @ParameterLayout(named = "Years") final Integer years,
+            @Parameter(optionality = Optionality.OPTIONAL) final Property property) {
+        return streamingCsvExportService.toCsv(
+                forecast(startDate, years, property), InvoiceForecastLine.class, fileName(startDate, years, property, "csv"));
+    }
+
+    public LocalDate default0DownloadInvoiceForecastAsCsv() {
+        return clockService.now();
+    }
+
+    public Integer default1DownloadInvoiceForecastAsCsv() {
+        return DEFAULT_YEARS;
+    }
+
+    public String validate1DownloadInvoiceForecastAsCsv(final Integer years) {
+        return validateYears(years);
+    }
+
+    private static String validateYears(final Integer years) {
+        return years < 1 || years > InvoiceForecastService.MAX_YEARS
+                ? "Years must be between 1 and " + InvoiceForecastService.MAX_YEARS
+                : null;
+    }
+
+    private Iterator<InvoiceForecastLine> forecast(final LocalDate startDate, final Integer years, final Property property) {
+        return property == null
+                ? invoiceForecastService.forecast(startDate, years)
+                : invoiceForecastService.forecast(property, startDate, years);
+    }
+
+    private static String fileName(final LocalDate startDate, final Integer years, final Property property, final String extension) {
+        return "InvoiceForecast-"
+                + (property == null ? "" : property.getReference() + "-")
+                + startDate + "-" + years + "y." + extension;
+    }
+
+    // //////////////////////////////////////
+
+    @Inject
+    private InvoiceForecastService invoiceForecastService;
+
+    @Inject
+    private StreamingExcelExportService streamingExcelExportService;
+
+    @Inject
+    private StreamingCsvExportService streamingCsvExportService;
+
+    @Inject
+    private ClockService clockService;
+
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.app.services.lease.rentroll;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.ActionLayout;
+import org.apache.isis.applib.annotation.Contributed;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.value.Blob;
+
+import org.estatio.app.services.excel.StreamingExcelExportService;
+import org.estatio.dom.UdoDomainService;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.lease.rentroll.RentRollLine;
+import org.estatio.dom.lease.rentroll.RentRollLineRepository;
+
+@DomainService(nature = NatureOfService.VIEW_CONTRIBUTIONS_ONLY)
+public class RentRollExportContributions extends UdoDomainService<RentRollExportContributions> {
+
+    public RentRollExportContributions() {
+        super(RentRollExportContributions.class);
+    }
+
+    @Action(semantics = SemanticsOf.SAFE)
+    @ActionLayout(contributed = Contributed.AS_ACTION)
+    public Blob downloadRentRoll(final Property property, final LocalDate date) {
+        return streamingExcelExportService.toExcel(
+                streamingExcelExportService.paged(
+                        (first, count) -> rentRollLineRepository.findByPropertyAndDate(property, date, first, count),
+                        StreamingExcelExportService.DEFAULT_PAGE_SIZE),
+                RentRollLine.class,
+                "RentRoll-" + property.getReference() + "-" + date + ".xlsx");
+    }
+
+    public LocalDate default1DownloadRentRoll() {
+        return getClockService().now();
+    }
+
+    // //////////////////////////////////////
+
+    @javax.inject.Inject
+    private RentRollLineRepository rentRollLineRepository;
+
+    @javax.inject.Inject
+    private StreamingExcelExportService streamingExcelExportService;
+
+}
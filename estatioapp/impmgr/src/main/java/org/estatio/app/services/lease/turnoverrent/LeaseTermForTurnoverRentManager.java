@@ -39,6 +39,7 @@ import org.estatio.dom.lease.LeaseItemType;
 import org.estatio.dom.lease.LeaseTerm;
 import org.estatio.dom.lease.LeaseTermForTurnoverRent;
 import org.estatio.dom.lease.LeaseTermRepository;
+import org.estatio.dom.lease.TurnoverRentRecalculationService;
 import org.estatio.dom.utils.TitleBuilder;
 
 import lombok.Getter;
@@ -136,14 +137,31 @@ public class LeaseTermForTurnoverRentManager {
 
     //region > upload (action)
 
+    /**
+     * Loads the spreadsheet in full rather than through the {@link org.estatio.app.services.excel.ChunkedImportService}:
+     * it holds at most the terms of one property for one start date, identified by reference to the terms
+     * themselves, and they are all recalculated in a single run.
+     */
     public LeaseTermForTurnoverRentManager upload(final @Named("Excel spreadsheet") Blob spreadsheet) {
         List<LeaseTermForTurnoverRentLineItem> lineItems =
                 excelService.fromExcel(spreadsheet, LeaseTermForTurnoverRentLineItem.class);
+        final List<LeaseTermForTurnoverRent> leaseTerms = Lists.newArrayList();
         for (LeaseTermForTurnoverRentLineItem lineItem : lineItems) {
             final LeaseTermForTurnoverRent leaseTerm = lineItem.getLeaseTerm();
             leaseTerm.setAuditedTurnover(lineItem.getAuditedTurnover());
-            leaseTerm.verify();
+            leaseTerms.add(leaseTerm);
         }
+        // verify in one run, sharing the results of the rent items that the terms are based on
+        turnoverRentRecalculationService.recalculate(leaseTerms);
+        return this;
+    }
+
+    //endregion
+
+    //region > recalculate (action)
+
+    public LeaseTermForTurnoverRentManager recalculate() {
+        turnoverRentRecalculationService.recalculate(getProperty(), getStartDate());
         return this;
     }
 
@@ -157,6 +175,9 @@ public class LeaseTermForTurnoverRentManager {
     @javax.inject.Inject
     private ExcelService excelService;
 
+    @javax.inject.Inject
+    private TurnoverRentRecalculationService turnoverRentRecalculationService;
+
     @javax.inject.Inject
     private LeaseTermForTurnoverRentService budgetAuditService;
 
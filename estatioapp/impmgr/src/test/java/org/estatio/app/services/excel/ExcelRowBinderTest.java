@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+import java.math.BigDecimal;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import org.estatio.app.services.excel.ChunkedImportReportLine.Status;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExcelRowBinderTest {
+
+    public static class SomeRow {
+        @Getter @Setter
+        private String leaseReference;
+        @Getter @Setter
+        private LocalDate dueDate;
+        @Getter @Setter
+        private BigDecimal netAmount;
+        @Getter @Setter
+        private Integer sequence;
+        @Getter @Setter
+        private boolean approved;
+        @Getter @Setter
+        private Status status;
+    }
+
+    @Test
+    public void convert() throws Exception {
+        assertThat(ExcelRowBinder.convert(null, String.class)).isNull();
+        assertThat(ExcelRowBinder.convert(" OXF ", String.class)).isEqualTo(" OXF ");
+        assertThat(ExcelRowBinder.convert(" 1234.50 ", BigDecimal.class)).isEqualTo(new BigDecimal("1234.50"));
+        assertThat(ExcelRowBinder.convert("2016-01-01", LocalDate.class)).isEqualTo(new LocalDate(2016, 1, 1));
+        assertThat(ExcelRowBinder.convert("42370", LocalDate.class)).isEqualTo(new LocalDate(2016, 1, 1));
+        assertThat(ExcelRowBinder.convert("3.0", Integer.class)).isEqualTo(3);
+        assertThat(ExcelRowBinder.convert("3", int.class)).isEqualTo(3);
+        assertThat(ExcelRowBinder.convert("12345678901", Long.class)).isEqualTo(12345678901L);
+        assertThat(ExcelRowBinder.convert("1", Boolean.class)).isEqualTo(true);
+        assertThat(ExcelRowBinder.convert("TRUE", boolean.class)).isEqualTo(true);
+        assertThat(ExcelRowBinder.convert("0", boolean.class)).isEqualTo(false);
+        assertThat(ExcelRowBinder.convert("FAILED", Status.class)).isEqualTo(Status.FAILED);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void convert_fractionToInteger() throws Exception {
+        ExcelRowBinder.convert("3.5", Integer.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void convert_unsupportedType() throws Exception {
+        ExcelRowBinder.convert("x", Object.class);
+    }
+
+    @Test
+    public void bind_matchesHeadersIgnoringCaseAndPunctuation() throws Exception {
+        final SomeRow row = new ExcelRowBinder<>(SomeRow.class).bind(ImmutableMap.of(
+                "Lease Reference", "OXF-TOPMODEL-001",
+                "due_date", "2016-01-01",
+                "NETAMOUNT", "100.00",
+                "unknown column", "ignored"));
+
+        assertThat(row.getLeaseReference()).isEqualTo("OXF-TOPMODEL-001");
+        assertThat(row.getDueDate()).isEqualTo(new LocalDate(2016, 1, 1));
+        assertThat(row.getNetAmount()).isEqualTo(new BigDecimal("100.00"));
+    }
+
+    @Test
+    public void bind_reportsColumnThatCannotBeConverted() throws Exception {
+        try {
+            new ExcelRowBinder<>(SomeRow.class).bind(ImmutableMap.of("Net Amount", "a hundred"));
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Column 'Net Amount': cannot convert 'a hundred' to BigDecimal");
+            return;
+        }
+        throw new AssertionError("expected an IllegalArgumentException");
+    }
+
+}
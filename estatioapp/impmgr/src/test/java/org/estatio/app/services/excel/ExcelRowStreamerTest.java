@@ -0,0 +1,41 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExcelRowStreamerTest {
+
+    @Test
+    public void columnIndexOf() throws Exception {
+        assertThat(ExcelRowStreamer.SheetHandler.columnIndexOf("A1")).isEqualTo(0);
+        assertThat(ExcelRowStreamer.SheetHandler.columnIndexOf("C12")).isEqualTo(2);
+        assertThat(ExcelRowStreamer.SheetHandler.columnIndexOf("Z3")).isEqualTo(25);
+        assertThat(ExcelRowStreamer.SheetHandler.columnIndexOf("AA3")).isEqualTo(26);
+        assertThat(ExcelRowStreamer.SheetHandler.columnIndexOf("AZ100")).isEqualTo(51);
+        assertThat(ExcelRowStreamer.SheetHandler.columnIndexOf("BA1")).isEqualTo(52);
+        assertThat(ExcelRowStreamer.SheetHandler.columnIndexOf("XFD1048576")).isEqualTo(16383);
+    }
+
+    @Test
+    public void columnIndexOf_ignoresCase() throws Exception {
+        assertThat(ExcelRowStreamer.SheetHandler.columnIndexOf("ab7")).isEqualTo(27);
+    }
+
+}
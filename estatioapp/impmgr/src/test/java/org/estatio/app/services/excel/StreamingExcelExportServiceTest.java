@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.estatio.app.services.excel;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamingExcelExportServiceTest {
+
+    public enum Status {
+        NEW
+    }
+
+    public static class Row {
+        private String reference = "REF";
+        private BigDecimal amount = new BigDecimal("12.50");
+        private LocalDate date = new LocalDate(2016, 1, 1);
+        private boolean active = true;
+        private Status status = Status.NEW;
+        private List<String> tags;
+        private String noGetter;
+
+        public String getReference() {
+            return reference;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public String getDerived() {
+            return reference + amount;
+        }
+    }
+
+    @Test
+    public void columnsOf_value_typed_properties_in_declaration_order() throws Exception {
+        final List<StreamingExcelExportService.Column> columns = StreamingExcelExportService.columnsOf(Row.class);
+
+        // the list is not a value type, and neither field-less getters nor getter-less fields are columns
+        assertThat(columns).extracting("name").containsExactly("reference", "amount", "date", "active", "status");
+    }
+
+    @Test
+    public void column_values() throws Exception {
+        final List<StreamingExcelExportService.Column> columns = StreamingExcelExportService.columnsOf(Row.class);
+        final Row row = new Row();
+
+        assertThat(columns.get(0).valueOf(row)).isEqualTo("REF");
+        assertThat(columns.get(1).valueOf(row)).isEqualTo(new BigDecimal("12.50"));
+        assertThat(columns.get(2).valueOf(row)).isEqualTo(new LocalDate(2016, 1, 1));
+        assertThat(columns.get(3).valueOf(row)).isEqualTo(true);
+        assertThat(columns.get(4).valueOf(row)).isEqualTo(Status.NEW);
+    }
+
+}
@@ -64,6 +64,7 @@ public class EstatioSystemInitializer {
                         public List<Class<?>> getAdditionalServices() {
                             List<Class<?>> additionalServices = Lists.newArrayList();
                             appendEstatioCalendarService(additionalServices);
+                            appendUdoBaseServices(additionalServices);
                             appendOptionalServicesForSecurityModule(additionalServices);
                             additionalServices.add(FakeLookupLocationService.class);
                             return additionalServices;
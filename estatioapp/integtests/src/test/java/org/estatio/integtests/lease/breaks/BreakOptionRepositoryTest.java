@@ -31,16 +31,22 @@ import org.junit.Test;
 import org.apache.isis.applib.fixturescripts.FixtureScript;
 import org.apache.isis.applib.services.clock.ClockService;
 
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.asset.PropertyRepository;
+import org.estatio.dom.asset.UnitRepository;
 import org.estatio.dom.event.Event;
 import org.estatio.dom.event.EventRepository;
 import org.estatio.dom.lease.Lease;
 import org.estatio.dom.lease.LeaseRepository;
+import org.estatio.dom.lease.OccupancyRepository;
 import org.estatio.dom.lease.breaks.BreakExerciseType;
 import org.estatio.dom.lease.breaks.BreakOption;
+import org.estatio.dom.lease.breaks.BreakOptionEventService;
 import org.estatio.dom.lease.breaks.BreakOptionRepository;
 import org.estatio.dom.lease.breaks.BreakType;
 import org.estatio.dom.lease.breaks.RollingBreakOption;
 import org.estatio.fixture.EstatioBaseLineFixture;
+import org.estatio.fixture.asset.PropertyForOxfGb;
 import org.estatio.fixture.lease.LeaseBreakOptionsForOxfTopModel001;
 import org.estatio.fixture.lease.LeaseBuilder;
 import org.estatio.fixture.lease.LeaseForOxfTopModel001Gb;
@@ -84,6 +90,74 @@ public class BreakOptionRepositoryTest extends EstatioIntegrationTest {
         }
     }
 
+    public static class FindByProperty extends BreakOptionRepositoryTest {
+
+        @Inject
+        PropertyRepository propertyRepository;
+        @Inject
+        UnitRepository unitRepository;
+        @Inject
+        OccupancyRepository occupancyRepository;
+        @Inject
+        BreakOptionEventService breakOptionEventService;
+        @Inject
+        EventRepository eventRepository;
+
+        @Before
+        public void setupData() {
+            runFixtureScript(new FixtureScript() {
+                @Override
+                protected void execute(ExecutionContext executionContext) {
+                    executionContext.executeChild(this, new EstatioBaseLineFixture());
+                    executionContext.executeChild(this, new LeaseBreakOptionsForOxfTopModel001());
+                }
+            });
+        }
+
+        @Test
+        public void whenLeaseOccupiesTwoUnitsOfTheProperty() throws Exception {
+            // given
+            Lease lease = leaseRepository.findLeaseByReference(LeaseForOxfTopModel001Gb.REF);
+            Property property = propertyRepository.findPropertyByReference(PropertyForOxfGb.REF);
+            occupancyRepository.newOccupancy(
+                    lease, unitRepository.findUnitByReference(PropertyForOxfGb.unitReference("020")), lease.getStartDate());
+            nextTransaction();
+            assertThat(lease.getOccupancies().size(), is(2));
+
+            // when
+            List<BreakOption> result = breakOptionRepository.findByProperty(property);
+
+            // then
+            assertThat(result.size(), is(2));
+        }
+
+        @Test
+        public void regenerateEventsWhenLeaseOccupiesTwoUnitsOfTheProperty() throws Exception {
+            // given
+            Lease lease = leaseRepository.findLeaseByReference(LeaseForOxfTopModel001Gb.REF);
+            Property property = propertyRepository.findPropertyByReference(PropertyForOxfGb.REF);
+            occupancyRepository.newOccupancy(
+                    lease, unitRepository.findUnitByReference(PropertyForOxfGb.unitReference("020")), lease.getStartDate());
+            nextTransaction();
+            int eventCount = 0;
+            for (BreakOption breakOption : breakOptionRepository.findByLease(lease)) {
+                eventCount += eventRepository.findBySource(breakOption).size();
+            }
+
+            // when
+            int regenerated = breakOptionEventService.regenerateEvents(property);
+            nextTransaction();
+
+            // then
+            assertThat(regenerated, is(2));
+            int regeneratedEventCount = 0;
+            for (BreakOption breakOption : breakOptionRepository.findByLease(lease)) {
+                regeneratedEventCount += eventRepository.findBySource(breakOption).size();
+            }
+            assertThat(regeneratedEventCount, is(eventCount));
+        }
+    }
+
     public static class NewBreakOption extends BreakOptionTest {
 
         LeaseBuilder fs;
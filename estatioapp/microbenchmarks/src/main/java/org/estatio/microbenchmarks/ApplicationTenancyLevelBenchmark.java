@@ -0,0 +1,89 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.microbenchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.estatio.dom.valuetypes.ApplicationTenancyLevel;
+
+/**
+ * Parsing and comparing application tenancy paths, as done for every visibility check on a domain object.
+ *
+ * <p>
+ * The paths are a country, a property and a local tenancy of that property; {@link #parse()} bypasses the
+ * interned levels that {@link ApplicationTenancyLevel#of(String)} hands out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ApplicationTenancyLevelBenchmark {
+
+    @Param({ "/ITA", "/ITA/CAR", "/ITA/CAR/_" })
+    public String path;
+
+    private ApplicationTenancyLevel level;
+    private ApplicationTenancyLevel countryLevel;
+
+    @Setup
+    public void setUp() {
+        level = ApplicationTenancyLevel.of(path);
+        countryLevel = ApplicationTenancyLevel.of("/ITA");
+    }
+
+    @Benchmark
+    public ApplicationTenancyLevel parse() {
+        return new ApplicationTenancyLevel(path);
+    }
+
+    @Benchmark
+    public ApplicationTenancyLevel parseInterned() {
+        return ApplicationTenancyLevel.of(path);
+    }
+
+    @Benchmark
+    public void hierarchy(final Blackhole blackhole) {
+        blackhole.consume(level.getDepth());
+        blackhole.consume(level.isCountry());
+        blackhole.consume(level.isProperty());
+        blackhole.consume(level.childOf(countryLevel));
+        blackhole.consume(countryLevel.parentOf(level));
+    }
+
+    @Benchmark
+    public ApplicationTenancyLevel child() {
+        return level.child("_");
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.microbenchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.Interval;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.estatio.dom.utils.CalendarUtils;
+
+/**
+ * Expanding a recurrence rule over a date range, which sits underneath every invoice calculation.
+ *
+ * <p>
+ * The range is a lease of <tt>years</tt> years, expanded with the rules actually used by
+ * {@link org.estatio.dom.lease.InvoicingFrequency}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CalendarUtilsBenchmark {
+
+    @Param({ "RRULE:FREQ=MONTHLY;INTERVAL=1", "RRULE:FREQ=MONTHLY;INTERVAL=3", "RRULE:FREQ=YEARLY;INTERVAL=1" })
+    public String rrule;
+
+    @Param({ "1", "6", "15" })
+    public int years;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        startDate = new LocalDate(2010, 1, 1);
+        endDate = startDate.plusYears(years);
+    }
+
+    @Benchmark
+    public List<Interval> intervalsInRange() {
+        return CalendarUtils.intervalsInRange(startDate, endDate, rrule);
+    }
+
+    @Benchmark
+    public Interval intervalContaining() {
+        return CalendarUtils.intervalContaining(endDate.minusDays(1), rrule);
+    }
+
+}
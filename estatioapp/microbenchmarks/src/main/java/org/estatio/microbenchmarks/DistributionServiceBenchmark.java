@@ -0,0 +1,85 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.microbenchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.estatio.dom.budgeting.Distributable;
+import org.estatio.dom.budgeting.DistributionService;
+import org.estatio.dom.budgeting.keyitem.KeyItem;
+
+/**
+ * Distributing a key table total over its items, as done when generating key items and calculating budgets.
+ *
+ * <p>
+ * The <tt>size</tt> is the number of units of a property; the source values are unit areas between 50 and 2000 m2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DistributionServiceBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int size;
+
+    @Param({ "3", "6" })
+    public int precision;
+
+    private final DistributionService distributionService = new DistributionService();
+
+    private final BigDecimal targetTotal = new BigDecimal(1000);
+
+    private List<Distributable> input;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(1);
+        input = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final KeyItem keyItem = new KeyItem();
+            keyItem.setSourceValue(BigDecimal.valueOf(5000 + random.nextInt(195000), 2));
+            input.add(keyItem);
+        }
+    }
+
+    @Benchmark
+    public List<Distributable> distribute() {
+        return distributionService.distribute(input, targetTotal, precision);
+    }
+
+}
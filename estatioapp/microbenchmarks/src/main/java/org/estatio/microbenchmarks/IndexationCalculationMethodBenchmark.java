@@ -0,0 +1,88 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.microbenchmarks;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.estatio.dom.lease.LeaseTermForIndexable;
+import org.estatio.dom.lease.indexation.IndexationCalculationMethod;
+import org.estatio.dom.lease.indexation.IndexationMethod;
+
+/**
+ * Calculating the indexed value of <tt>size</tt> (unpersisted) indexable terms.
+ *
+ * <p>
+ * The index values, rebase factors and levelling percentages are drawn from the ranges seen in the
+ * Italian and French indices; the indexation method selects which calculation is used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class IndexationCalculationMethodBenchmark {
+
+    @Param({ "LAST_KNOWN_INDEX", "BASE_INDEX_ALLOW_DECREASE_FRANCE" })
+    public IndexationMethod indexationMethod;
+
+    @Param({ "1", "100" })
+    public int size;
+
+    private LeaseTermForIndexable[] indexables;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(1);
+        indexables = new LeaseTermForIndexable[size];
+        for (int i = 0; i < size; i++) {
+            final LeaseTermForIndexable indexable = new LeaseTermForIndexable();
+            indexable.setIndexationMethod(indexationMethod);
+            indexable.setBaseValue(BigDecimal.valueOf(1000000 + random.nextInt(50000000), 2));
+            indexable.setBaseIndexValue(BigDecimal.valueOf(1000 + random.nextInt(200), 1));
+            indexable.setNextIndexValue(BigDecimal.valueOf(1000 + random.nextInt(250), 1));
+            indexable.setRebaseFactor(random.nextBoolean() ? BigDecimal.ONE : BigDecimal.valueOf(1234, 3));
+            indexable.setLevellingPercentage(BigDecimal.valueOf(random.nextBoolean() ? 100 : 75));
+            indexables[i] = indexable;
+        }
+    }
+
+    @Benchmark
+    public void calculate(final Blackhole blackhole) {
+        for (LeaseTermForIndexable indexable : indexables) {
+            blackhole.consume(IndexationCalculationMethod.calculate(indexable));
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.microbenchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.estatio.dom.invoice.InvoicingInterval;
+import org.estatio.dom.lease.InvoicingFrequency;
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+/**
+ * Determining the invoicing intervals of a lease term that fall due within an invoicing run.
+ *
+ * <p>
+ * The source interval is a term of <tt>years</tt> years; the range is either a single quarter (a regular
+ * invoicing run) or the full term (a retro-active run or forecast).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class InvoicingFrequencyBenchmark {
+
+    @Param({ "MONTHLY_IN_ADVANCE", "QUARTERLY_IN_ADVANCE", "YEARLY_IN_ARREARS" })
+    public InvoicingFrequency invoicingFrequency;
+
+    @Param({ "1", "6", "15" })
+    public int years;
+
+    private LocalDateInterval sourceInterval;
+    private LocalDateInterval quarterInterval;
+
+    @Setup
+    public void setUp() {
+        final LocalDate startDate = new LocalDate(2010, 1, 1);
+        sourceInterval = new LocalDateInterval(startDate, startDate.plusYears(years).minusDays(1));
+        quarterInterval = new LocalDateInterval(startDate.plusMonths(3), startDate.plusMonths(6).minusDays(1));
+    }
+
+    @Benchmark
+    public List<InvoicingInterval> intervalsInDueDateRangeOfQuarter() {
+        return invoicingFrequency.intervalsInDueDateRange(quarterInterval, sourceInterval);
+    }
+
+    @Benchmark
+    public List<InvoicingInterval> intervalsInDueDateRangeOfTerm() {
+        return invoicingFrequency.intervalsInDueDateRange(sourceInterval, sourceInterval);
+    }
+
+    @Benchmark
+    public List<InvoicingInterval> intervalsInDueDateRangeOfDates() {
+        return invoicingFrequency.intervalsInDueDateRange(sourceInterval.startDate(), sourceInterval.endDateExcluding());
+    }
+
+    @Benchmark
+    public List<InvoicingInterval> intervalsInRange() {
+        return invoicingFrequency.intervalsInRange(sourceInterval);
+    }
+
+}
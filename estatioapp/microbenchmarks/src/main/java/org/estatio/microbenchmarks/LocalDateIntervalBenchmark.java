@@ -0,0 +1,99 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.microbenchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.estatio.dom.valuetypes.LocalDateInterval;
+
+/**
+ * Overlap and duration of date intervals, as evaluated for every term and invoicing interval when calculating.
+ *
+ * <p>
+ * Each invocation walks <tt>size</tt> pairs of randomly (but reproducibly) placed intervals, some of them open-ended,
+ * so that the branches for overlapping, disjoint and infinite intervals are all exercised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LocalDateIntervalBenchmark {
+
+    @Param({ "100", "10000" })
+    public int size;
+
+    private LocalDateInterval[] left;
+    private LocalDateInterval[] right;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(1);
+        left = new LocalDateInterval[size];
+        right = new LocalDateInterval[size];
+        for (int i = 0; i < size; i++) {
+            left[i] = randomInterval(random);
+            right[i] = randomInterval(random);
+        }
+    }
+
+    private static LocalDateInterval randomInterval(final Random random) {
+        final LocalDate startDate = new LocalDate(2010, 1, 1).plusDays(random.nextInt(3650));
+        final LocalDate endDate = random.nextInt(10) == 0 ? null : startDate.plusDays(random.nextInt(1825));
+        return new LocalDateInterval(startDate, endDate);
+    }
+
+    @Benchmark
+    public void overlap(final Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(left[i].overlap(right[i]));
+        }
+    }
+
+    @Benchmark
+    public void overlaps(final Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(left[i].overlaps(right[i]));
+        }
+    }
+
+    @Benchmark
+    public void days(final Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(left[i].days());
+        }
+    }
+
+}
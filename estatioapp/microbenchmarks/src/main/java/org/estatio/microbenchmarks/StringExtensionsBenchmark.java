@@ -0,0 +1,99 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.microbenchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.estatio.dom.utils.StringExtensions;
+import org.estatio.dom.utils.StringUtils;
+
+/**
+ * The string conversions used to title enums and to derive member names, evaluated on every render.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StringExtensionsBenchmark {
+
+    @Param({ "QUARTERLY_IN_ADVANCE_PLUS1M", "BASE_INDEX_ALLOW_DECREASE_BASE_AS_FLOOR_FRANCE" })
+    public String enumName;
+
+    private String enumFriendlyName;
+    private String camelName;
+    private String commaSeparated;
+
+    @Setup
+    public void setUp() {
+        enumFriendlyName = StringUtils.enumTitle(enumName);
+        camelName = StringExtensions.asCamel(enumFriendlyName);
+        commaSeparated = enumName.replace('_', ',');
+    }
+
+    @Benchmark
+    public String enumTitle() {
+        return StringUtils.enumTitle(enumName);
+    }
+
+    @Benchmark
+    public String enumDeTitle() {
+        return StringUtils.enumDeTitle(enumFriendlyName);
+    }
+
+    @Benchmark
+    public String extensionsEnumTitle() {
+        return StringExtensions.enumTitle(enumName);
+    }
+
+    @Benchmark
+    public String asNaturalName2() {
+        return StringExtensions.asNaturalName2(camelName);
+    }
+
+    @Benchmark
+    public String asCamel() {
+        return StringExtensions.asCamel(enumFriendlyName);
+    }
+
+    @Benchmark
+    public String asLowerDashed() {
+        return StringExtensions.asLowerDashed(enumFriendlyName);
+    }
+
+    @Benchmark
+    public List<String> splitOnCommas() {
+        return StringExtensions.splitOnCommas(commaSeparated);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ *
+ *  Copyright 2012-2015 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.microbenchmarks;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.estatio.dom.lease.TurnoverRentRuleHelper;
+
+/**
+ * Parsing a turnover rent rule and calculating the rent for a year's turnover.
+ *
+ * <p>
+ * Rules range from a flat percentage to a four tier rule; each invocation calculates the rent for
+ * <tt>size</tt> turnovers between 0 and 2.5 million.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TurnoverRentRuleHelperBenchmark {
+
+    @Param({ "7", "500000;7;5", "250000;8;500000;7;1000000;6;5" })
+    public String rule;
+
+    @Param({ "1", "100" })
+    public int size;
+
+    private TurnoverRentRuleHelper helper;
+
+    private BigDecimal[] turnovers;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(1);
+        helper = new TurnoverRentRuleHelper(rule);
+        turnovers = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            turnovers[i] = BigDecimal.valueOf(random.nextInt(250000000), 2);
+        }
+    }
+
+    @Benchmark
+    public TurnoverRentRuleHelper parse() {
+        return new TurnoverRentRuleHelper(rule);
+    }
+
+    @Benchmark
+    public TurnoverRentRuleHelper parseCached() {
+        return TurnoverRentRuleHelper.of(rule);
+    }
+
+    @Benchmark
+    public void calculateRent(final Blackhole blackhole) {
+        for (BigDecimal turnover : turnovers) {
+            blackhole.consume(helper.calculateRent(turnover));
+        }
+    }
+
+}
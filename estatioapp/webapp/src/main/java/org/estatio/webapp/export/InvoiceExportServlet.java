@@ -0,0 +1,116 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.webapp.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.core.runtime.system.context.IsisContext;
+
+import org.estatio.app.services.invoiceexport.InvoiceExportService;
+import org.estatio.dom.asset.Property;
+import org.estatio.dom.invoice.InvoiceStatus;
+
+/**
+ * Streams the canonical (v1) XML of many invoices straight to the response, rather than buffering it as the
+ * <i>Export Invoices</i> actions have to.
+ *
+ * <p>
+ *     Either <tt>GET /export/invoices?runId=...</tt>, or
+ *     <tt>GET /export/invoices?property=...&amp;dueDate=yyyy-mm-dd[&amp;status=...]</tt> (status defaults to
+ *     <tt>APPROVED</tt>).  Must be mapped after the session and transaction filters.
+ * </p>
+ *
+ * <p>
+ *     The invoices are only written if the user may invoke the corresponding action of the
+ *     {@link org.estatio.app.menus.invoice.InvoiceExportMenu}, and may see the invoices of the property, or all those
+ *     of the run, given their application tenancy; otherwise <tt>403 Forbidden</tt> is returned.
+ * </p>
+ */
+public class InvoiceExportServlet extends HttpServlet {
+
+    private static final String MIME_TYPE = "application/xml";
+
+    @Override
+    protected void doGet(
+            final HttpServletRequest request,
+            final HttpServletResponse response) throws ServletException, IOException {
+        final InvoiceExportService exportService =
+                IsisContext.getSessionFactory().getServicesInjector().lookupService(InvoiceExportService.class);
+
+        final String runId = request.getParameter("runId");
+        if (runId != null) {
+            final String reason = exportService.whyNotExportInvoicesOfRun(runId);
+            if (reason != null) {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN, reason);
+                return;
+            }
+            final OutputStream outputStream = startResponse(response, "Invoices-" + runId + ".xml");
+            exportService.exportInvoicesOfRun(runId, outputStream);
+            return;
+        }
+
+        final String propertyReference = request.getParameter("property");
+        final String dueDateStr = request.getParameter("dueDate");
+        if (propertyReference == null || dueDateStr == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Either runId, or property and dueDate are required");
+            return;
+        }
+        final Property property = exportService.findProperty(propertyReference);
+        if (property == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "No property " + propertyReference);
+            return;
+        }
+        final LocalDate dueDate;
+        final InvoiceStatus status;
+        try {
+            dueDate = LocalDate.parse(dueDateStr);
+            final String statusStr = request.getParameter("status");
+            status = statusStr != null ? InvoiceStatus.valueOf(statusStr) : InvoiceStatus.APPROVED;
+        } catch (IllegalArgumentException ex) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage());
+            return;
+        }
+        final String reason = exportService.whyNotExportInvoices(property, dueDate, status);
+        if (reason != null) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, reason);
+            return;
+        }
+        final OutputStream outputStream = startResponse(
+                response, "Invoices-" + propertyReference + "-" + dueDate + "-" + status + ".xml");
+        exportService.exportInvoices(property, dueDate, status, outputStream);
+    }
+
+    private static OutputStream startResponse(
+            final HttpServletResponse response,
+            final String fileName) throws IOException {
+        response.setContentType(MIME_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+        return response.getOutputStream();
+    }
+
+}
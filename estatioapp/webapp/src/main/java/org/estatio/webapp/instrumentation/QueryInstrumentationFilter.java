@@ -0,0 +1,66 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.webapp.instrumentation;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+
+import org.estatio.services.instrumentation.QueryInstrumentation;
+
+/**
+ * Delimits the transactions of the {@link QueryInstrumentation}: one per request to the Wicket viewer or to
+ * Restful Objects, named after its method and path.
+ */
+public class QueryInstrumentationFilter implements Filter {
+
+    @Override
+    public void init(final FilterConfig filterConfig) throws ServletException {
+    }
+
+    @Override
+    public void doFilter(
+            final ServletRequest servletRequest,
+            final ServletResponse servletResponse,
+            final FilterChain chain) throws IOException, ServletException {
+        final QueryInstrumentation instrumentation = QueryInstrumentation.current();
+        if (instrumentation == null) {
+            chain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+        final HttpServletRequest request = (HttpServletRequest) servletRequest;
+        instrumentation.beginTransaction(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(servletRequest, servletResponse);
+        } finally {
+            instrumentation.endTransaction();
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+}
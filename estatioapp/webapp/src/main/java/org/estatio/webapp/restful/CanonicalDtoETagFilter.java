@@ -0,0 +1,164 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.webapp.restful;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.estatio.app.services.contentmapping.CanonicalDtoCache;
+
+/**
+ * Answers conditional requests (<tt>If-None-Match</tt>) for canonical DTOs of Restful Objects domain objects, and
+ * adds the <tt>ETag</tt> header to the responses that return them.
+ *
+ * <p>
+ *     Only applies to <tt>GET /restful/objects/{objectType}/{instanceId}</tt> requests that ask for a domain type
+ *     (<tt>x-ro-domain-type</tt>) in their <tt>Accept</tt> header; the ETags are those of the {@link CanonicalDtoCache}.
+ *     The request is always handled as usual, so that the version of the object is checked against the datastore;
+ *     if the resulting ETag is one the client already has, <tt>304 Not Modified</tt> is returned instead of the body.
+ *     Must be mapped after the session filter, so that only authenticated requests are answered.
+ * </p>
+ */
+public class CanonicalDtoETagFilter implements Filter {
+
+    private static final Pattern OBJECT_PATH = Pattern.compile("^/restful/objects/([^/]+)/([^/]+)/?$");
+    private static final Pattern DOMAIN_TYPE = Pattern.compile("x-ro-domain-type\\s*=\\s*\"?([^\";,]+)\"?");
+
+    @Override
+    public void init(final FilterConfig filterConfig) throws ServletException {
+    }
+
+    @Override
+    public void doFilter(
+            final ServletRequest servletRequest,
+            final ServletResponse servletResponse,
+            final FilterChain chain) throws IOException, ServletException {
+        final HttpServletRequest request = (HttpServletRequest) servletRequest;
+        final HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        if (!"GET".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final Matcher pathMatcher = OBJECT_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        final String domainType = domainTypeOf(request.getHeader("Accept"));
+        if (!pathMatcher.matches() || domainType == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CanonicalDtoCache.clearLastETag();
+        try {
+            chain.doFilter(request, new ETagResponseWrapper(response, request.getHeader("If-None-Match")));
+        } finally {
+            CanonicalDtoCache.clearLastETag();
+        }
+    }
+
+    static String domainTypeOf(final String accept) {
+        if (accept == null) {
+            return null;
+        }
+        final Matcher matcher = DOMAIN_TYPE.matcher(accept);
+        return matcher.find() ? matcher.group(1).trim() : null;
+    }
+
+    static boolean matches(final String ifNoneMatch, final String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String each : ifNoneMatch.split(",")) {
+            if (each.trim().equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    /**
+     * Sets the <tt>ETag</tt> header just before the body is written, by which time the content has been mapped; if
+     * the client already has that ETag, the status is changed to <tt>304 Not Modified</tt> and the body discarded.
+     */
+    private static class ETagResponseWrapper extends HttpServletResponseWrapper {
+
+        private final String ifNoneMatch;
+
+        private boolean notModified;
+
+        ETagResponseWrapper(final HttpServletResponse response, final String ifNoneMatch) {
+            super(response);
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        private void addETag() {
+            final String eTag = CanonicalDtoCache.getLastETag();
+            if (eTag == null || isCommitted()) {
+                return;
+            }
+            setHeader("ETag", eTag);
+            if (getStatus() == HttpServletResponse.SC_OK && matches(ifNoneMatch, eTag)) {
+                notModified = true;
+                setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addETag();
+            return notModified ? new DiscardingOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addETag();
+            return notModified ? new PrintWriter(new DiscardingOutputStream()) : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addETag();
+            super.flushBuffer();
+        }
+    }
+
+    private static class DiscardingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(final int b) {
+        }
+    }
+
+}
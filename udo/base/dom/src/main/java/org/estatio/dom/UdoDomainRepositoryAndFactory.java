@@ -19,10 +19,12 @@
 package org.estatio.dom;
 
 import java.util.List;
+import java.util.function.Supplier;
 import javax.jdo.Query;
 import org.apache.isis.applib.RepositoryException;
 import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+import org.estatio.services.instrumentation.QueryInstrumentation;
 
 public abstract class UdoDomainRepositoryAndFactory<T> extends UdoDomainService<T> {
 
@@ -58,25 +60,46 @@ public abstract class UdoDomainRepositoryAndFactory<T> extends UdoDomainService<
     }
     
     protected T firstMatch(final String queryName, final Object... paramArgs) {
-        return firstMatch(newQueryDefault(queryName, paramArgs));
+        return instrumented(queryName, () -> firstMatch(newQueryDefault(queryName, paramArgs)));
     }
     
     protected T uniqueMatch(final String queryName, final Object... paramArgs) {
-        return uniqueMatch(newQueryDefault(queryName, paramArgs));
+        return instrumented(queryName, () -> uniqueMatch(newQueryDefault(queryName, paramArgs)));
     }
     
     protected List<T> allMatches(final String queryName, final Object... paramArgs) {
-        return allMatches(newQueryDefault(queryName, paramArgs));
+        return instrumented(queryName, () -> allMatches(newQueryDefault(queryName, paramArgs)));
     }
 
     protected List<T> allInstances() {
-        return allInstances(getEntityType());
+        return instrumented("allInstances", () -> allInstances(getEntityType()));
     }
 
     // //////////////////////////////////////
     
     protected Query newQuery(final String jdoql) {
-        return isisJdoSupport.getJdoPersistenceManager().newQuery(jdoql);
+        final Query query = isisJdoSupport.getJdoPersistenceManager().newQuery(jdoql);
+        return queryInstrumentation != null
+                ? queryInstrumentation.instrument(finderName("jdoql:" + abbreviated(jdoql)), query)
+                : query;
+    }
+
+    // //////////////////////////////////////
+
+    private <R> R instrumented(final String queryName, final Supplier<R> finder) {
+        return queryInstrumentation != null
+                ? queryInstrumentation.finder(finderName(queryName), finder)
+                : finder.get();
+    }
+
+    private String finderName(final String queryName) {
+        // eg "Lease#findByReference"
+        return getEntityType().getSimpleName() + "#" + queryName;
+    }
+
+    private static String abbreviated(final String jdoql) {
+        final String normalized = jdoql.trim().replaceAll("\\s+", " ");
+        return normalized.length() <= 120 ? normalized : normalized.substring(0, 117) + "...";
     }
 
     // //////////////////////////////////////
@@ -84,6 +107,9 @@ public abstract class UdoDomainRepositoryAndFactory<T> extends UdoDomainService<
     @javax.inject.Inject
     IsisJdoSupport isisJdoSupport;
 
+    @javax.inject.Inject
+    QueryInstrumentation queryInstrumentation;
+
     protected IsisJdoSupport getIsisJdoSupport() {
         return isisJdoSupport;
     }
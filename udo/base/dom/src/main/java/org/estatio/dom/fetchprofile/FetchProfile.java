@@ -0,0 +1,82 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.fetchprofile;
+
+import lombok.Getter;
+
+/**
+ * A named JDO fetch group for one of the traversals of a whole aggregate, along with how deep that traversal goes.
+ *
+ * <p>
+ *     Each entity along the way declares a {@link javax.jdo.annotations.FetchGroup} of the {@link Names name} of the
+ *     profile, listing the relationships that the traversal follows.  Activating the profile (see
+ *     {@link FetchProfileService}) has DataNucleus load these relationships with the objects that refer to them, with
+ *     an additional (bulk) query per relationship rather than one query per object.
+ * </p>
+ */
+public enum FetchProfile {
+
+    /**
+     * Lease -&gt; items -&gt; terms, and item -&gt; charge -&gt; tax; as used by the invoice calculation.
+     */
+    INVOICE_CALCULATION(Names.INVOICE_CALCULATION, 3),
+
+    /**
+     * Invoice -&gt; items -&gt; charge -&gt; group, invoice -&gt; lease -&gt; mandate -&gt; bank account and
+     * lease -&gt; occupancies -&gt; unit; as used to map invoices to their canonical DTO.
+     */
+    INVOICE_DTO(Names.INVOICE_DTO, 3),
+
+    /**
+     * Budget -&gt; items -&gt; allocations -&gt; key table -&gt; key items -&gt; unit; as used by the budget calculation.
+     */
+    BUDGET_CALCULATION(Names.BUDGET_CALCULATION, 5),
+
+    /**
+     * Lease -&gt; items -&gt; terms, lease -&gt; occupancies and lease -&gt; break options; as copied by the renewal and
+     * assignment of a lease.
+     */
+    LEASE_COPY(Names.LEASE_COPY, 2);
+
+    /**
+     * The names of the fetch groups, as constants for use in the annotations of the entities.
+     */
+    public static class Names {
+
+        private Names() {
+        }
+
+        public static final String INVOICE_CALCULATION = "invoiceCalculation";
+        public static final String INVOICE_DTO = "invoiceDto";
+        public static final String BUDGET_CALCULATION = "budgetCalculation";
+        public static final String LEASE_COPY = "leaseCopy";
+    }
+
+    @Getter
+    private final String group;
+
+    @Getter
+    private final int maxFetchDepth;
+
+    FetchProfile(final String group, final int maxFetchDepth) {
+        this.group = group;
+        this.maxFetchDepth = maxFetchDepth;
+    }
+
+}
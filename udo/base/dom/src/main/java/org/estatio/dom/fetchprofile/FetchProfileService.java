@@ -0,0 +1,94 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.fetchprofile;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+import javax.jdo.FetchPlan;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.collect.Sets;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+
+/**
+ * Activates {@link FetchProfile fetch profiles} on the persistence manager of the current session.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class FetchProfileService {
+
+    /**
+     * Performs the work with the profile added to the fetch plan, so that the queries it runs (and the objects they
+     * return) load the aggregates of the profile in one go; the fetch plan is restored afterwards.
+     */
+    @Programmatic
+    public <T> T withProfile(final FetchProfile profile, final Supplier<T> work) {
+        final FetchPlan fetchPlan = isisJdoSupport.getJdoPersistenceManager().getFetchPlan();
+        final Set<String> previousGroups = Sets.newHashSet(fetchPlan.getGroups());
+        final int previousMaxFetchDepth = fetchPlan.getMaxFetchDepth();
+        fetchPlan.addGroup(profile.getGroup());
+        fetchPlan.setMaxFetchDepth(maxFetchDepth(previousMaxFetchDepth, profile.getMaxFetchDepth()));
+        try {
+            return work.get();
+        } finally {
+            fetchPlan.setGroups(previousGroups);
+            fetchPlan.setMaxFetchDepth(previousMaxFetchDepth);
+        }
+    }
+
+    /**
+     * Loads the aggregates of the objects (already obtained, eg as the parameters of a run) with a single query using
+     * the profile; the persistence manager hands out the same instances, so they are then resolved.
+     */
+    @Programmatic
+    public <T> void prefetch(final FetchProfile profile, final Class<T> type, final Collection<T> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+        final PersistenceManager persistenceManager = isisJdoSupport.getJdoPersistenceManager();
+        final Query query = persistenceManager.newQuery(type, ":objects.contains(this)");
+        query.getFetchPlan()
+                .addGroup(profile.getGroup())
+                .setMaxFetchDepth(profile.getMaxFetchDepth());
+        try {
+            ((List<?>) query.execute(objects)).size();
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * A max fetch depth of -1 means unlimited, which should stay so.
+     */
+    static int maxFetchDepth(final int current, final int required) {
+        return current == -1 ? current : Math.max(current, required);
+    }
+
+    @Inject
+    IsisJdoSupport isisJdoSupport;
+
+}
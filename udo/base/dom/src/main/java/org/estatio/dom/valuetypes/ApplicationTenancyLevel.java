@@ -18,8 +18,11 @@
  */
 package org.estatio.dom.valuetypes;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
 import com.google.common.base.Splitter;
@@ -31,11 +34,31 @@ import org.isisaddons.module.security.dom.tenancy.WithApplicationTenancy;
 
 public final class ApplicationTenancyLevel implements Comparable<ApplicationTenancyLevel> {
 
+    /**
+     * Upper bound on the number of interned levels; there is one level per tenancy, so this is only reached if
+     * arbitrary paths are being passed in.
+     */
+    private static final int MAX_INTERNED = 10000;
+
+    private static final ConcurrentMap<String, ApplicationTenancyLevel> INTERNED = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the (shared) level for the path, parsing it only the first time it is seen.
+     */
     public static ApplicationTenancyLevel of(final String path) {
         if (path == null) {
             return null;
         }
-        return new ApplicationTenancyLevel(path);
+        final ApplicationTenancyLevel interned = INTERNED.get(path);
+        if (interned != null) {
+            return interned;
+        }
+        final ApplicationTenancyLevel level = new ApplicationTenancyLevel(path);
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return level;
+        }
+        final ApplicationTenancyLevel previous = INTERNED.putIfAbsent(path, level);
+        return previous != null ? previous : level;
     }
 
     public static ApplicationTenancyLevel of(final ApplicationTenancy applicationTenancy) {
@@ -54,13 +77,23 @@ public final class ApplicationTenancyLevel implements Comparable<ApplicationTena
     }
 
     public ApplicationTenancyLevel(final String path) {
-        this.path = path;
-        this.name = "";
+        this(path, "");
     }
 
     public ApplicationTenancyLevel(final String path, final String name) {
         this.path = path;
         this.name = name;
+        this.parts = split(path);
+    }
+
+    private static String[] split(final String path) {
+        return Iterables.toArray(Iterables.filter(Splitter.on('/').split(path), new Predicate<String>() {
+                    @Override
+                    public boolean apply(final String input) {
+                        return !Strings.isNullOrEmpty(input);
+                    }
+                }
+        ), String.class);
     }
 
     // //////////////////////////////////////
@@ -77,6 +110,15 @@ public final class ApplicationTenancyLevel implements Comparable<ApplicationTena
         return name;
     }
 
+    private final String[] parts;
+
+    /**
+     * The number of parts of the path, eg 0 for "/" and 2 for "/it/CAR".
+     */
+    public int getDepth() {
+        return parts.length;
+    }
+
 
     //region > parentOf, childOf, peerOf
 
@@ -92,8 +134,19 @@ public final class ApplicationTenancyLevel implements Comparable<ApplicationTena
         return !this.equals(other) && !this.parentOf(other) && !other.parentOf(this);
     }
 
+    /**
+     * Compares the parts rather than the raw strings, so that (for example) "/it" does not contain "/itx".
+     */
     private static boolean contains(final ApplicationTenancyLevel container, final ApplicationTenancyLevel contained) {
-        return contained.path.startsWith(container.path) && contained.path.length() > container.path.length();
+        if (contained.parts.length <= container.parts.length) {
+            return false;
+        }
+        for (int i = 0; i < container.parts.length; i++) {
+            if (!container.parts[i].equals(contained.parts[i])) {
+                return false;
+            }
+        }
+        return true;
     }
     //endregion
 
@@ -103,10 +156,8 @@ public final class ApplicationTenancyLevel implements Comparable<ApplicationTena
         if(path.equals("/")) {
             return null;
         }
-        final List<String> parts = getParts();
-        final List<String> strings = parts.subList(0, parts.size() - 1);
-        final String join = Joiner.on("/").join(strings);
-        return new ApplicationTenancyLevel("/" + join);
+        final String join = Joiner.on("/").join(Arrays.asList(parts).subList(0, parts.length - 1));
+        return ApplicationTenancyLevel.of("/" + join);
     }
 
     public ApplicationTenancyLevel child(final String child) {
@@ -130,13 +181,7 @@ public final class ApplicationTenancyLevel implements Comparable<ApplicationTena
      * </ul>
      */
     List<String> getParts() {
-        return Lists.newArrayList(Iterables.filter(Splitter.on('/').split(path), new Predicate<String>() {
-                    @Override
-                    public boolean apply(final String input) {
-                        return !Strings.isNullOrEmpty(input);
-                    }
-                }
-        ));
+        return Lists.newArrayList(parts);
     }
     //endregion
 
@@ -147,22 +192,22 @@ public final class ApplicationTenancyLevel implements Comparable<ApplicationTena
     }
 
     public boolean isRootOther() {
-        return getParts().size() == 1 && "_".equals(getParts().get(0));
+        return parts.length == 1 && "_".equals(parts[0]);
     }
 
     public boolean isCountry() {
-        return getParts().size() == 1 && !isRootOther();
+        return parts.length == 1 && !isRootOther();
     }
 
 
     public boolean isCountryOther() {
         // /it/_
-        return getParts().size() == 2 && "_".equals(getParts().get(1));
+        return parts.length == 2 && "_".equals(parts[1]);
     }
 
     public boolean isProperty() {
         // /it/CAR
-        return getParts().size() == 2 && !isCountryOther();
+        return parts.length == 2 && !isCountryOther();
     }
 
     public boolean isLocalDefault() {
@@ -172,7 +217,7 @@ public final class ApplicationTenancyLevel implements Comparable<ApplicationTena
 
     public boolean isLocalNamed(final String name) {
         // /it/CAR/xx
-        return getParts().size() == 3 && Objects.equals(name, getParts().get(2));
+        return parts.length == 3 && Objects.equals(name, parts[2]);
     }
 
     public boolean isPropertyOf(final ApplicationTenancyLevel countryLevel) {
@@ -193,7 +238,7 @@ public final class ApplicationTenancyLevel implements Comparable<ApplicationTena
         if(isRootOther()) {
             throw new IllegalArgumentException("Tenancy level is 'root other'.");
         }
-        return "/" + getParts().get(0);
+        return "/" + parts[0];
     }
     //endregion
 
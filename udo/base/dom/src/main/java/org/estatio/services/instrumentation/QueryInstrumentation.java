@@ -0,0 +1,436 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.services.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.eventbus.Subscribe;
+
+import org.datanucleus.api.jdo.JDOPersistenceManager;
+import org.datanucleus.management.ManagerStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+
+/**
+ * Counts and times the finders of repositories (see {@link org.estatio.dom.UdoDomainRepositoryAndFactory}), and
+ * attributes them, along with the queries and reads of DataNucleus, to the action invocation and the transaction
+ * (request) they were called in.
+ *
+ * <p>
+ *     The totals are exposed through JMX (see {@link QueryInstrumentationMXBean}) and as a {@link #report() report}.
+ *     When a transaction (or, outside of one, an action) calls the same finder at least as often as
+ *     <tt>estatio.instrumentation.finderCallsThreshold</tt> (default 20), or makes DataNucleus read from the
+ *     datastore at least as often as <tt>estatio.instrumentation.datastoreReadsThreshold</tt> (default 500), it is logged
+ *     as a suspected N+1.  The DataNucleus figures are only available if its statistics are enabled
+ *     (<tt>datanucleus.enableStatistics</tt>).
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class QueryInstrumentation implements QueryInstrumentationMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryInstrumentation.class);
+
+    public static final String FINDER_CALLS_THRESHOLD_KEY = "estatio.instrumentation.finderCallsThreshold";
+    public static final String DATASTORE_READS_THRESHOLD_KEY = "estatio.instrumentation.datastoreReadsThreshold";
+
+    static final int DEFAULT_FINDER_CALLS_THRESHOLD = 20;
+    static final int DEFAULT_DATASTORE_READS_THRESHOLD = 500;
+
+    static final String OBJECT_NAME = "org.estatio:type=QueryInstrumentation";
+
+    /**
+     * Guards against scopes of actions that threw (and so never completed) piling up outside of a transaction.
+     */
+    private static final int MAX_SCOPES = 32;
+
+    private static QueryInstrumentation instance;
+
+    /**
+     * For the request filter of the webapp, which is not a domain object and so cannot have services injected.
+     */
+    public static QueryInstrumentation current() {
+        return instance;
+    }
+
+    private final ConcurrentMap<String, QueryStatistics> finders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, QueryStatistics> actions = new ConcurrentHashMap<>();
+    private volatile QueryStatistics transactions = new QueryStatistics("transactions");
+    private final AtomicLong nPlusOneSuspected = new AtomicLong();
+
+    private final ThreadLocal<Deque<Scope>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private int finderCallsThreshold = DEFAULT_FINDER_CALLS_THRESHOLD;
+    private int datastoreReadsThreshold = DEFAULT_DATASTORE_READS_THRESHOLD;
+
+    @PostConstruct
+    @Programmatic
+    public void init(final Map<String, String> properties) {
+        final String finderCalls = properties.get(FINDER_CALLS_THRESHOLD_KEY);
+        if (finderCalls != null) {
+            finderCallsThreshold = Integer.parseInt(finderCalls.trim());
+        }
+        final String datastoreReads = properties.get(DATASTORE_READS_THRESHOLD_KEY);
+        if (datastoreReads != null) {
+            datastoreReadsThreshold = Integer.parseInt(datastoreReads.trim());
+        }
+        registerMBean();
+        eventBusService.register(this);
+        instance = this;
+    }
+
+    @PreDestroy
+    @Programmatic
+    public void shutdown() {
+        instance = null;
+        eventBusService.unregister(this);
+        unregisterMBean();
+    }
+
+    //region > finders
+
+    /**
+     * Calls the finder, recording its time and the number of rows it returned.
+     */
+    @Programmatic
+    public <R> R finder(final String name, final Supplier<R> finder) {
+        final long start = System.nanoTime();
+        final R result = finder.get();
+        final long nanos = System.nanoTime() - start;
+        final long rows = result instanceof Collection ? ((Collection<?>) result).size() : result != null ? 1 : 0;
+        statisticsFor(finders, name).record(1, rows, 0, 0, nanos);
+        for (Scope scope : scopes.get()) {
+            scope.finderCalled(name, rows);
+        }
+        return result;
+    }
+
+    /**
+     * Wraps the (JDOQL) query so that each of its executions is recorded as a call of the named finder.
+     */
+    @Programmatic
+    public Query instrument(final String name, final Query query) {
+        return (Query) Proxy.newProxyInstance(
+                Query.class.getClassLoader(),
+                new Class<?>[] { Query.class },
+                (proxy, method, args) -> method.getName().startsWith("execute")
+                        ? finder(name, () -> invoke(query, method, args))
+                        : invoke(query, method, args));
+    }
+
+    private static Object invoke(final Query query, final Method method, final Object[] args) {
+        try {
+            return method.invoke(query, args);
+        } catch (InvocationTargetException e) {
+            throw Throwables.propagate(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //endregion
+
+    //region > scopes (transactions and actions)
+
+    /**
+     * Starts the scope of a transaction (in practice, a request) on this thread, discarding any scopes left over.
+     */
+    @Programmatic
+    public void beginTransaction(final String name) {
+        final Deque<Scope> stack = scopes.get();
+        stack.clear();
+        stack.push(new Scope(true, name, currentStatistics()));
+    }
+
+    @Programmatic
+    public void endTransaction() {
+        final Deque<Scope> stack = scopes.get();
+        Scope scope = null;
+        while (!stack.isEmpty() && (scope == null || !scope.transaction)) {
+            scope = stack.pop();
+        }
+        scopes.remove();
+        if (scope != null && scope.transaction) {
+            end(scope, transactions, true);
+        }
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ActionDomainEvent<?> ev) {
+        if (ev.getEventPhase() == AbstractDomainEvent.Phase.EXECUTING) {
+            beginAction(nameOf(ev));
+        } else if (ev.getEventPhase() == AbstractDomainEvent.Phase.EXECUTED) {
+            endAction();
+        }
+    }
+
+    private static String nameOf(final ActionDomainEvent<?> ev) {
+        final Object source = ev.getSource();
+        return (source != null ? source.getClass().getSimpleName() : "?") + "#" + ev.getIdentifier().getMemberName();
+    }
+
+    void beginAction(final String name) {
+        final Deque<Scope> stack = scopes.get();
+        if (stack.size() >= MAX_SCOPES) {
+            stack.clear();
+        }
+        for (Scope scope : stack) {
+            scope.actionNames.add(name);
+        }
+        stack.push(new Scope(false, name, currentStatistics()));
+    }
+
+    void endAction() {
+        final Deque<Scope> stack = scopes.get();
+        if (stack.isEmpty() || stack.peek().transaction) {
+            return;
+        }
+        final Scope scope = stack.pop();
+        end(scope, statisticsFor(actions, scope.name), stack.isEmpty());
+    }
+
+    private void end(final Scope scope, final QueryStatistics statistics, final boolean outermost) {
+        final long nanos = System.nanoTime() - scope.startNanos;
+        final long datastoreQueries = scope.datastoreQueries();
+        final long datastoreReads = scope.datastoreReads();
+        statistics.record(scope.finderCalls, scope.rows, datastoreQueries, datastoreReads, nanos);
+        if (outermost) {
+            checkForNPlusOne(scope, datastoreReads);
+        }
+    }
+
+    private void checkForNPlusOne(final Scope scope, final long datastoreReads) {
+        String worstFinder = null;
+        int worstCalls = 0;
+        for (Map.Entry<String, Integer> entry : scope.callsByFinder.entrySet()) {
+            if (entry.getValue() > worstCalls) {
+                worstFinder = entry.getKey();
+                worstCalls = entry.getValue();
+            }
+        }
+        if (worstCalls < finderCallsThreshold && datastoreReads < datastoreReadsThreshold) {
+            return;
+        }
+        nPlusOneSuspected.incrementAndGet();
+        LOG.warn("N+1 suspected in {} (actions {}): {} called {} times; {} finder calls, {} datastore reads in total",
+                scope.name, scope.actionNames, worstFinder, worstCalls, scope.finderCalls, datastoreReads);
+    }
+
+    /**
+     * The statistics of the persistence manager of the current session, if DataNucleus keeps them and there is a
+     * session at all (there isn't, for example, before a request has been authenticated).
+     */
+    ManagerStatistics currentStatistics() {
+        try {
+            final PersistenceManager persistenceManager = isisJdoSupport.getJdoPersistenceManager();
+            return persistenceManager instanceof JDOPersistenceManager
+                    ? ((JDOPersistenceManager) persistenceManager).getExecutionContext().getStatistics()
+                    : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    class Scope {
+
+        final boolean transaction;
+        final String name;
+        final long startNanos = System.nanoTime();
+        final List<String> actionNames = Lists.newArrayList();
+        final Map<String, Integer> callsByFinder = new HashMap<>();
+
+        private ManagerStatistics statistics;
+        private long startQueries;
+        private long startReads;
+
+        long finderCalls;
+        long rows;
+
+        Scope(final boolean transaction, final String name, final ManagerStatistics statistics) {
+            this.transaction = transaction;
+            this.name = name;
+            startStatistics(statistics);
+        }
+
+        private void startStatistics(final ManagerStatistics statistics) {
+            this.statistics = statistics;
+            if (statistics != null) {
+                startQueries = statistics.getQueryExecutionTotalCount();
+                startReads = statistics.getNumberOfDatastoreReads();
+            }
+        }
+
+        void finderCalled(final String finderName, final long rows) {
+            if (statistics == null) {
+                // the session may only have been opened after the scope began
+                startStatistics(currentStatistics());
+            }
+            this.finderCalls++;
+            this.rows += rows;
+            callsByFinder.merge(finderName, 1, Integer::sum);
+        }
+
+        long datastoreQueries() {
+            return statistics != null ? statistics.getQueryExecutionTotalCount() - startQueries : 0;
+        }
+
+        long datastoreReads() {
+            return statistics != null ? statistics.getNumberOfDatastoreReads() - startReads : 0;
+        }
+    }
+
+    //endregion
+
+    //region > MXBean
+
+    @Programmatic
+    @Override
+    public QueryStatistics getTransactions() {
+        return transactions;
+    }
+
+    @Programmatic
+    @Override
+    public List<QueryStatistics> getActions() {
+        return sorted(actions);
+    }
+
+    @Programmatic
+    @Override
+    public List<QueryStatistics> getFinders() {
+        return sorted(finders);
+    }
+
+    @Programmatic
+    @Override
+    public long getNPlusOneSuspected() {
+        return nPlusOneSuspected.get();
+    }
+
+    /**
+     * One line per transaction total, action and finder, in order of total time; for the metrics endpoint.
+     */
+    @Programmatic
+    @Override
+    public String report() {
+        final StringBuilder buf = new StringBuilder();
+        buf.append("# transactions (N+1 suspected: ").append(getNPlusOneSuspected()).append(")\n");
+        buf.append(getTransactions()).append("\n");
+        buf.append("# actions\n");
+        for (QueryStatistics statistics : getActions()) {
+            buf.append(statistics).append("\n");
+        }
+        buf.append("# finders\n");
+        for (QueryStatistics statistics : getFinders()) {
+            buf.append(statistics).append("\n");
+        }
+        return buf.toString();
+    }
+
+    @Programmatic
+    @Override
+    public void reset() {
+        finders.clear();
+        actions.clear();
+        transactions = new QueryStatistics("transactions");
+        nPlusOneSuspected.set(0);
+    }
+
+    private static List<QueryStatistics> sorted(final ConcurrentMap<String, QueryStatistics> statisticsByName) {
+        final List<QueryStatistics> statistics = Lists.newArrayList(statisticsByName.values());
+        Collections.sort(statistics, QueryStatistics.BY_TOTAL_TIME_DESCENDING);
+        return statistics;
+    }
+
+    private static QueryStatistics statisticsFor(final ConcurrentMap<String, QueryStatistics> statisticsByName, final String name) {
+        return statisticsByName.computeIfAbsent(name, QueryStatistics::new);
+    }
+
+    private void registerMBean() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(objectName)) {
+                // eg left over by a previous bootstrap within the same JVM (integration tests)
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            LOG.warn("Could not register {} with JMX", OBJECT_NAME, e);
+        }
+    }
+
+    private void unregisterMBean() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("Could not unregister {} from JMX", OBJECT_NAME, e);
+        }
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @Inject
+    IsisJdoSupport isisJdoSupport;
+
+    @Inject
+    EventBusService eventBusService;
+
+    //endregion
+
+}
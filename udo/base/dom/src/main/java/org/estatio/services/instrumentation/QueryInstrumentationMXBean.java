@@ -0,0 +1,46 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.services.instrumentation;
+
+import java.util.List;
+
+/**
+ * The {@link QueryInstrumentation} as exposed through JMX, as <tt>org.estatio:type=QueryInstrumentation</tt>.
+ */
+public interface QueryInstrumentationMXBean {
+
+    QueryStatistics getTransactions();
+
+    /**
+     * In order of total time, longest first.
+     */
+    List<QueryStatistics> getActions();
+
+    /**
+     * In order of total time, longest first.
+     */
+    List<QueryStatistics> getFinders();
+
+    long getNPlusOneSuspected();
+
+    String report();
+
+    void reset();
+
+}
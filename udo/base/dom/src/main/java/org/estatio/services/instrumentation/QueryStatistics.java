@@ -0,0 +1,116 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.services.instrumentation;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/**
+ * Running totals for one finder, one action or all transactions: how often it was invoked, how many finders it
+ * called and rows they returned, how many queries and reads DataNucleus executed, and how long it took.
+ */
+public class QueryStatistics {
+
+    public static final Comparator<QueryStatistics> BY_TOTAL_TIME_DESCENDING = new Comparator<QueryStatistics>() {
+        @Override
+        public int compare(final QueryStatistics o1, final QueryStatistics o2) {
+            return Long.compare(o2.getTotalMillis(), o1.getTotalMillis());
+        }
+    };
+
+    @Getter
+    private final String name;
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder finderCalls = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder datastoreQueries = new LongAdder();
+    private final LongAdder datastoreReads = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong maxFinderCalls = new AtomicLong();
+
+    public QueryStatistics(final String name) {
+        this.name = name;
+    }
+
+    void record(
+            final long finderCalls,
+            final long rows,
+            final long datastoreQueries,
+            final long datastoreReads,
+            final long nanos) {
+        this.invocations.increment();
+        this.finderCalls.add(finderCalls);
+        this.rows.add(rows);
+        this.datastoreQueries.add(datastoreQueries);
+        this.datastoreReads.add(datastoreReads);
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulateAndGet(nanos, Math::max);
+        this.maxFinderCalls.accumulateAndGet(finderCalls, Math::max);
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    public long getFinderCalls() {
+        return finderCalls.sum();
+    }
+
+    /**
+     * The highest number of finder calls of a single invocation.
+     */
+    public long getMaxFinderCalls() {
+        return maxFinderCalls.get();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getDatastoreQueries() {
+        return datastoreQueries.sum();
+    }
+
+    public long getDatastoreReads() {
+        return datastoreReads.sum();
+    }
+
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+    }
+
+    public long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s invocations=%d finderCalls=%d maxFinderCalls=%d rows=%d datastoreQueries=%d datastoreReads=%d totalMillis=%d maxMillis=%d",
+                name, getInvocations(), getFinderCalls(), getMaxFinderCalls(), getRows(), getDatastoreQueries(),
+                getDatastoreReads(), getTotalMillis(), getMaxMillis());
+    }
+
+}
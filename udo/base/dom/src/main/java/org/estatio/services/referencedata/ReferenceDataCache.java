@@ -0,0 +1,170 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.services.referencedata;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import com.google.common.eventbus.Subscribe;
+
+import org.apache.isis.applib.ApplicationException;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.eventbus.AbstractLifecycleEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.eventbus.ObjectPersistedEvent;
+import org.apache.isis.applib.services.eventbus.ObjectRemovingEvent;
+import org.apache.isis.applib.services.eventbus.ObjectUpdatedEvent;
+
+/**
+ * Remembers which object a finder of small, rarely changing reference data (charges, currencies, countries, taxes,
+ * agreement types and the like) returned for a key, shared across requests.
+ *
+ * <p>
+ *     Only the {@link Bookmark} of the object is held, not the object itself, which belongs to the persistence
+ *     session of the request that found it; looking the bookmark up again is served from the DataNucleus level 2
+ *     cache rather than a query.  All keys of a type are forgotten as soon as an object of that type is persisted,
+ *     updated or removed (through any menu or service) on this instance.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class ReferenceDataCache {
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, Bookmark>> bookmarksByType = new ConcurrentHashMap<>();
+
+    /**
+     * @param finder - queries the object if it is not cached yet; results of <tt>null</tt> are not cached.
+     */
+    @Programmatic
+    public <T> T find(final Class<T> type, final String key, final Callable<T> finder) {
+        if (key == null) {
+            return call(finder);
+        }
+        final ConcurrentMap<String, Bookmark> bookmarks = bookmarksFor(type);
+        final Bookmark bookmark = bookmarks.get(key);
+        if (bookmark != null) {
+            final Object object = bookmarkService.lookup(bookmark);
+            if (type.isInstance(object)) {
+                return type.cast(object);
+            }
+            bookmarks.remove(key);
+        }
+        final T object = call(finder);
+        if (object != null) {
+            bookmarks.put(key, bookmarkService.bookmarkFor(object));
+        }
+        return object;
+    }
+
+    @Programmatic
+    public void invalidate(final Class<?> type) {
+        for (Class<?> cachedType : bookmarksByType.keySet()) {
+            if (cachedType.isAssignableFrom(type)) {
+                bookmarksByType.remove(cachedType);
+            }
+        }
+    }
+
+    @Programmatic
+    public void invalidateAll() {
+        bookmarksByType.clear();
+    }
+
+    private ConcurrentMap<String, Bookmark> bookmarksFor(final Class<?> type) {
+        ConcurrentMap<String, Bookmark> bookmarks = bookmarksByType.get(type);
+        if (bookmarks == null) {
+            final ConcurrentMap<String, Bookmark> newBookmarks = new ConcurrentHashMap<>();
+            bookmarks = bookmarksByType.putIfAbsent(type, newBookmarks);
+            if (bookmarks == null) {
+                bookmarks = newBookmarks;
+            }
+        }
+        return bookmarks;
+    }
+
+    private static <T> T call(final Callable<T> finder) {
+        try {
+            return finder.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ApplicationException(e);
+        }
+    }
+
+    //region > lifecycle events
+
+    @Programmatic
+    @PostConstruct
+    public void postConstruct() {
+        eventBusService.register(this);
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void preDestroy() {
+        eventBusService.unregister(this);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectPersistedEvent<?> ev) {
+        invalidateIfCached(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectUpdatedEvent<?> ev) {
+        invalidateIfCached(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectRemovingEvent<?> ev) {
+        invalidateIfCached(ev);
+    }
+
+    private void invalidateIfCached(final AbstractLifecycleEvent<?> ev) {
+        final Object source = ev.getSource();
+        if (source != null && !bookmarksByType.isEmpty()) {
+            invalidate(source.getClass());
+        }
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @Inject
+    BookmarkService bookmarkService;
+
+    @Inject
+    EventBusService eventBusService;
+
+    //endregion
+
+}
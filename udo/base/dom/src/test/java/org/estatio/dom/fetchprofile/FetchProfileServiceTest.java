@@ -0,0 +1,112 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.dom.fetchprofile;
+
+import java.util.Collections;
+import java.util.Set;
+
+import javax.jdo.FetchPlan;
+import javax.jdo.PersistenceManager;
+
+import com.google.common.collect.Sets;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.jdosupport.IsisJdoSupport;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FetchProfileServiceTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private IsisJdoSupport mockIsisJdoSupport;
+
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+
+    @Mock
+    private FetchPlan mockFetchPlan;
+
+    private FetchProfileService service;
+
+    @Before
+    public void setUp() throws Exception {
+        service = new FetchProfileService();
+        service.isisJdoSupport = mockIsisJdoSupport;
+    }
+
+    @Test
+    public void withProfile_adds_group_and_restores_fetch_plan() throws Exception {
+        final Set<String> defaultGroups = Sets.newHashSet(FetchPlan.DEFAULT);
+        final Sequence sequence = context.sequence("fetchPlan");
+        context.checking(new Expectations() {
+            {
+                allowing(mockIsisJdoSupport).getJdoPersistenceManager();
+                will(returnValue(mockPersistenceManager));
+                allowing(mockPersistenceManager).getFetchPlan();
+                will(returnValue(mockFetchPlan));
+                allowing(mockFetchPlan).getGroups();
+                will(returnValue(defaultGroups));
+                allowing(mockFetchPlan).getMaxFetchDepth();
+                will(returnValue(1));
+
+                oneOf(mockFetchPlan).addGroup(FetchProfile.Names.BUDGET_CALCULATION);
+                inSequence(sequence);
+                oneOf(mockFetchPlan).setMaxFetchDepth(FetchProfile.BUDGET_CALCULATION.getMaxFetchDepth());
+                inSequence(sequence);
+                oneOf(mockFetchPlan).setGroups(defaultGroups);
+                inSequence(sequence);
+                oneOf(mockFetchPlan).setMaxFetchDepth(1);
+                inSequence(sequence);
+            }
+        });
+
+        final String result = service.withProfile(FetchProfile.BUDGET_CALCULATION, () -> "done");
+
+        assertThat(result).isEqualTo("done");
+    }
+
+    @Test
+    public void prefetch_nothing() throws Exception {
+        context.checking(new Expectations() {
+            {
+                never(mockIsisJdoSupport);
+            }
+        });
+
+        service.prefetch(FetchProfile.INVOICE_DTO, Object.class, Collections.emptyList());
+    }
+
+    @Test
+    public void maxFetchDepth() throws Exception {
+        assertThat(FetchProfileService.maxFetchDepth(1, 3)).isEqualTo(3);
+        assertThat(FetchProfileService.maxFetchDepth(5, 3)).isEqualTo(5);
+        assertThat(FetchProfileService.maxFetchDepth(-1, 3)).isEqualTo(-1);
+    }
+
+}
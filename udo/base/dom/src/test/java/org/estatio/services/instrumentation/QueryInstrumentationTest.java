@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.services.referencedata;
+package org.estatio.services.instrumentation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.datanucleus.management.ManagerStatistics;
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryInstrumentationTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private EventBusService mockEventBusService;
+
+    private QueryInstrumentation instrumentation;
+
+    @Before
+    public void setUp() throws Exception {
+        instrumentation = new QueryInstrumentation() {
+            @Override
+            ManagerStatistics currentStatistics() {
+                return null;
+            }
+        };
+        instrumentation.eventBusService = mockEventBusService;
+    }
+
+    private List<String> findSome() {
+        return instrumentation.finder("Lease#findSome", () -> Arrays.asList("A", "B", "C"));
+    }
+
+    @Test
+    public void finder_counts_invocations_and_rows() throws Exception {
+        findSome();
+        findSome();
+        instrumentation.finder("Lease#findOne", () -> null);
+
+        assertThat(instrumentation.getFinders()).hasSize(2);
+        final QueryStatistics findSome = statisticsOf(instrumentation.getFinders(), "Lease#findSome");
+        assertThat(findSome.getInvocations()).isEqualTo(2);
+        assertThat(findSome.getRows()).isEqualTo(6);
+        assertThat(statisticsOf(instrumentation.getFinders(), "Lease#findOne").getRows()).isEqualTo(0);
+    }
+
+    @Test
+    public void finders_are_attributed_to_action_and_transaction() throws Exception {
+        instrumentation.beginTransaction("GET /wicket/");
+        instrumentation.beginAction("Lease#renew");
+        findSome();
+        instrumentation.endAction();
+        findSome();
+        instrumentation.endTransaction();
+
+        final QueryStatistics action = statisticsOf(instrumentation.getActions(), "Lease#renew");
+        assertThat(action.getInvocations()).isEqualTo(1);
+        assertThat(action.getFinderCalls()).isEqualTo(1);
+        assertThat(instrumentation.getTransactions().getInvocations()).isEqualTo(1);
+        assertThat(instrumentation.getTransactions().getFinderCalls()).isEqualTo(2);
+        assertThat(instrumentation.getTransactions().getRows()).isEqualTo(6);
+        assertThat(instrumentation.getNPlusOneSuspected()).isEqualTo(0);
+    }
+
+    @Test
+    public void same_finder_called_often_in_one_transaction_is_suspected_once() throws Exception {
+        instrumentation.beginTransaction("GET /wicket/");
+        instrumentation.beginAction("Property#leases");
+        for (int i = 0; i < QueryInstrumentation.DEFAULT_FINDER_CALLS_THRESHOLD; i++) {
+            findSome();
+        }
+        instrumentation.endAction();
+        instrumentation.endTransaction();
+
+        assertThat(instrumentation.getNPlusOneSuspected()).isEqualTo(1);
+    }
+
+    @Test
+    public void action_domain_events_scope_the_action() throws Exception {
+        final ActionDomainEvent<Object> ev = new ActionDomainEvent.Default();
+        ev.setSource(new Object());
+        ev.setIdentifier(Identifier.actionIdentifier(Object.class, "renew"));
+
+        instrumentation.beginTransaction("GET /wicket/");
+        ev.setEventPhase(AbstractDomainEvent.Phase.VALIDATE);
+        instrumentation.on(ev);
+        ev.setEventPhase(AbstractDomainEvent.Phase.EXECUTING);
+        instrumentation.on(ev);
+        findSome();
+        ev.setEventPhase(AbstractDomainEvent.Phase.EXECUTED);
+        instrumentation.on(ev);
+        instrumentation.endTransaction();
+
+        final QueryStatistics action = statisticsOf(instrumentation.getActions(), "Object#renew");
+        assertThat(action.getInvocations()).isEqualTo(1);
+        assertThat(action.getFinderCalls()).isEqualTo(1);
+    }
+
+    @Test
+    public void registers_for_action_domain_events() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockEventBusService).register(instrumentation);
+                oneOf(mockEventBusService).unregister(instrumentation);
+            }
+        });
+
+        instrumentation.init(Collections.<String, String>emptyMap());
+        instrumentation.shutdown();
+    }
+
+    @Test
+    public void end_without_begin_is_ignored() throws Exception {
+        instrumentation.endAction();
+        instrumentation.endTransaction();
+
+        assertThat(instrumentation.getActions()).isEmpty();
+        assertThat(instrumentation.getTransactions().getInvocations()).isEqualTo(0);
+    }
+
+    @Test
+    public void reset() throws Exception {
+        findSome();
+        instrumentation.reset();
+
+        assertThat(instrumentation.getFinders()).isEmpty();
+        assertThat(instrumentation.report()).contains("# finders");
+    }
+
+    private static QueryStatistics statisticsOf(final List<QueryStatistics> statistics, final String name) {
+        for (QueryStatistics each : statistics) {
+            if (each.getName().equals(name)) {
+                return each;
+            }
+        }
+        throw new AssertionError("no statistics for " + name);
+    }
+
+}
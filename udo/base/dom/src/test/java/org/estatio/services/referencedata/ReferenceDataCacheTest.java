@@ -0,0 +1,126 @@
+/*
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.services.referencedata;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ReferenceDataCacheTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private BookmarkService mockBookmarkService;
+
+    @Mock
+    private EventBusService mockEventBusService;
+
+    private ReferenceDataCache cache;
+
+    private AtomicInteger queries;
+
+    private final Object someObject = new Object();
+
+    private final Bookmark bookmark = new Bookmark("SOME", "1");
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new ReferenceDataCache();
+        cache.bookmarkService = mockBookmarkService;
+        cache.eventBusService = mockEventBusService;
+        queries = new AtomicInteger();
+    }
+
+    private Object find() {
+        return cache.find(Object.class, "REF", () -> {
+            queries.incrementAndGet();
+            return someObject;
+        });
+    }
+
+    @Test
+    public void second_find_looks_up_bookmark() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockBookmarkService).bookmarkFor(someObject);
+                will(returnValue(bookmark));
+                oneOf(mockBookmarkService).lookup(bookmark);
+                will(returnValue(someObject));
+            }
+        });
+
+        assertThat(find(), is(sameInstance(someObject)));
+        assertThat(find(), is(sameInstance(someObject)));
+        assertThat(queries.get(), is(1));
+    }
+
+    @Test
+    public void invalidated_by_type() throws Exception {
+        context.checking(new Expectations() {
+            {
+                exactly(2).of(mockBookmarkService).bookmarkFor(someObject);
+                will(returnValue(bookmark));
+            }
+        });
+
+        find();
+        cache.invalidate(String.class);
+        find();
+
+        assertThat(queries.get(), is(2));
+    }
+
+    @Test
+    public void null_is_not_cached() throws Exception {
+        context.checking(new Expectations() {
+            {
+                never(mockBookmarkService);
+            }
+        });
+
+        assertThat(cache.find(Object.class, "REF", () -> null), is(nullValue()));
+    }
+
+    @Test
+    public void registers_for_lifecycle_events() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockEventBusService).register(cache);
+            }
+        });
+
+        cache.postConstruct();
+    }
+
+}
@@ -40,6 +40,7 @@ import org.estatio.dom.WithNameUnique;
 import org.estatio.dom.WithReferenceUnique;
 import org.estatio.dom.apptenancy.WithApplicationTenancyPathPersisted;
 import org.estatio.dom.apptenancy.WithApplicationTenancyProperty;
+import org.estatio.dom.fetchprofile.FetchProfile;
 import org.estatio.dom.tax.Tax;
 
 import lombok.Getter;
@@ -65,6 +66,16 @@ import lombok.Setter;
                         + "FROM org.estatio.dom.charge.Charge "
                         + "WHERE reference == :reference")
 })
+@javax.jdo.annotations.FetchGroups({
+        @javax.jdo.annotations.FetchGroup(
+                name = FetchProfile.Names.INVOICE_CALCULATION,
+                members = {
+                        @javax.jdo.annotations.Persistent(name = "tax") }),
+        @javax.jdo.annotations.FetchGroup(
+                name = FetchProfile.Names.INVOICE_DTO,
+                members = {
+                        @javax.jdo.annotations.Persistent(name = "group") })
+})
 @DomainObject(bounded = true)
 public class Charge
         extends UdoDomainObject2<Charge>
@@ -20,6 +20,8 @@ package org.estatio.dom.charge;
 
 import java.util.List;
 
+import javax.inject.Inject;
+
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -36,6 +38,7 @@ import org.estatio.dom.RegexValidation;
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
 import org.estatio.dom.tax.Tax;
 import org.estatio.dom.valuetypes.ApplicationTenancyLevel;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 @DomainService(nature = NatureOfService.DOMAIN, repositoryFor = Charge.class)
 public class ChargeRepository extends UdoDomainRepositoryAndFactory<Charge> {
@@ -107,11 +110,12 @@ public class ChargeRepository extends UdoDomainRepositoryAndFactory<Charge> {
     @Programmatic
     public Charge findByReference(
             final String reference) {
-        return uniqueMatch(
-                "findByReference",
-                "reference", reference);
+        return referenceDataCache.find(
+                Charge.class, reference,
+                () -> uniqueMatch("findByReference", "reference", reference));
     }
 
-
+    @Inject
+    ReferenceDataCache referenceDataCache;
 
 }
@@ -35,6 +35,7 @@ import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
 import org.estatio.dom.FinderInteraction;
 import org.estatio.dom.FinderInteraction.FinderMethod;
 import org.estatio.dom.tax.Tax;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -72,6 +73,7 @@ public class ChargeRepositoryTest {
                 return null;
             }
         };
+        chargeRepository.referenceDataCache = new ReferenceDataCache();
     }
 
     public static class FindByAtPathAndReference extends ChargeRepositoryTest {
@@ -21,6 +21,8 @@ package org.estatio.dom.currency;
 
 import java.util.List;
 
+import javax.inject.Inject;
+
 import org.apache.isis.applib.annotation.ActionLayout;
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -28,6 +30,7 @@ import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.annotation.Where;
 
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 @DomainService(nature = NatureOfService.DOMAIN, repositoryFor = Currency.class)
 public class CurrencyRepository extends UdoDomainRepositoryAndFactory<Currency> {
@@ -47,7 +50,9 @@ public class CurrencyRepository extends UdoDomainRepositoryAndFactory<Currency>
 
     @Programmatic
     public Currency findCurrency(final String reference) {
-        return uniqueMatch("findByReference", "reference", reference);
+        return referenceDataCache.find(
+                Currency.class, reference,
+                () -> uniqueMatch("findByReference", "reference", reference));
     }
 
     // //////////////////////////////////////
@@ -71,4 +76,7 @@ public class CurrencyRepository extends UdoDomainRepositoryAndFactory<Currency>
         return allMatches("matchByReferenceOrDescription", "searchArg", searchArg);
     }
 
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
 }
@@ -20,6 +20,8 @@ package org.estatio.dom.geography;
 
 import java.util.List;
 
+import javax.inject.Inject;
+
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
@@ -32,6 +34,7 @@ import org.apache.isis.applib.annotation.Programmatic;
 
 import org.estatio.dom.RegexValidation;
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 @DomainService(nature = NatureOfService.DOMAIN, repositoryFor = Country.class)
 public class CountryRepository extends UdoDomainRepositoryAndFactory<Country> {
@@ -85,7 +88,9 @@ public class CountryRepository extends UdoDomainRepositoryAndFactory<Country> {
     @Programmatic
     public Country findCountry(
             final String reference) {
-        return uniqueMatch("findByReference", "reference", reference);
+        return referenceDataCache.find(
+                Country.class, reference,
+                () -> uniqueMatch("findByReference", "reference", reference));
     }
 
     @Programmatic
@@ -103,4 +108,7 @@ public class CountryRepository extends UdoDomainRepositoryAndFactory<Country> {
         return available;
     }
 
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
 }
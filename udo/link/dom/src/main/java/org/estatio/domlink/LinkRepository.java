@@ -20,16 +20,25 @@ package org.estatio.domlink;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
+import com.google.common.eventbus.Subscribe;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.QueryDefault;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.eventbus.AbstractLifecycleEvent;
+import org.apache.isis.applib.services.eventbus.ObjectPersistedEvent;
+import org.apache.isis.applib.services.eventbus.ObjectRemovingEvent;
+import org.apache.isis.applib.services.eventbus.ObjectUpdatedEvent;
 import org.apache.isis.applib.services.queryresultscache.QueryResultsCache;
 
 import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
@@ -40,21 +49,30 @@ import org.estatio.dom.UdoDomainRepositoryAndFactory;
 public class LinkRepository extends UdoDomainRepositoryAndFactory<Link> {
 
     /**
-     * Cache link count (across sessions), so can quickly know whether any given
-     * class has any links for it.
+     * Cache of the links of each class (across sessions), so can quickly know
+     * which links, if any, any given class has.
      * 
      * <p>
-     * The count held here is for the class plus all its superclasses in the
-     * hierarchy.
+     * The (immutable) list held here is for the class plus all its superclasses
+     * in the hierarchy, so the hierarchy is only walked once per class.
      * 
      * <p>
-     * Note that we cannot (safely) cache the reports themselves between
+     * Note that we cannot (safely) share the links themselves between
      * sessions, however (would require detaching and reattaching from
-     * underlying JDO session, and issues of threadsafety). So we make do with
-     * caching of reports themselves only within a sesssion, using
-     * {@link QueryResultsCache}.
+     * underlying JDO session, and issues of threadsafety). So we hold their
+     * {@link Bookmark}s, looked up again in each session (from the level 2
+     * cache rather than a query), and cache the links themselves only within a
+     * session, using {@link QueryResultsCache}.
+     *
+     * <p>
+     * Cleared whenever a link is persisted, updated or removed.
      */
-    private Map<Class<?>, Integer> linksByClass = Maps.newHashMap();
+    private final ConcurrentMap<Class<?>, List<Bookmark>> linksByClass = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on every invalidation, so that a hierarchy resolved concurrently with a change is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
 
     public LinkRepository() {
         super(LinkRepository.class, Link.class);
@@ -74,40 +92,55 @@ public class LinkRepository extends UdoDomainRepositoryAndFactory<Link> {
                 new Callable<List<Link>>() {
                     @Override
                     public List<Link> call() throws Exception {
-
-                        // do we already know that there are no links for this
-                        // class?
-                        final Integer numLinks = linksByClass.get(cls);
-                        if (numLinks != null && numLinks == 0) {
+                        final List<Bookmark> bookmarks = bookmarksForClassHierarchy(cls);
+                        if (bookmarks.isEmpty()) {
                             return Collections.emptyList();
                         }
-
-                        // combine the links for this class and those of its
-                        // superclass
-                        // (calling recursively)
                         final List<Link> links = Lists.newArrayList();
-
-                        // ... find the superclass' links
-                        // (taking into account might be at top of the class
-                        // hierarchy)
-                        final List<Link> linksForSuperClass =
-                                cls != Object.class
-                                        ? findAllForClassHierarchy(cls.getSuperclass())
-                                        : Collections.<Link> emptyList();
-                        links.addAll(linksForSuperClass);
-
-                        // ... and now the class itself
-                        final List<Link> linksForClass = findByClassName(cls.getName());
-                        links.addAll(linksForClass);
-
-                        // cache for next time
-                        linksByClass.put(cls, links.size());
-
+                        for (Bookmark bookmark : bookmarks) {
+                            final Object link = bookmarkService.lookup(bookmark);
+                            if (link instanceof Link) {
+                                links.add((Link) link);
+                            }
+                        }
                         return links;
                     }
                 }, LinkRepository.class, "findAllForClassHierarchy", cls);
     }
 
+    private List<Bookmark> bookmarksForClassHierarchy(final Class<?> cls) {
+        final List<Bookmark> cached = linksByClass.get(cls);
+        if (cached != null) {
+            return cached;
+        }
+        final long generationAtStart = generation.get();
+
+        // combine the links of the superclass (calling recursively, taking
+        // into account might be at top of the class hierarchy) and those of
+        // the class itself
+        final ImmutableList.Builder<Bookmark> bookmarks = ImmutableList.builder();
+        final Class<?> superclass = cls.getSuperclass();
+        if (cls != Object.class && superclass != null) {
+            bookmarks.addAll(bookmarksForClassHierarchy(superclass));
+        }
+        for (Link link : findByClassName(cls.getName())) {
+            bookmarks.add(bookmarkService.bookmarkFor(link));
+        }
+        final List<Bookmark> resolved = bookmarks.build();
+
+        // cache for next time
+        if (generation.get() == generationAtStart) {
+            linksByClass.putIfAbsent(cls, resolved);
+        }
+        return resolved;
+    }
+
+    @Programmatic
+    public void invalidate() {
+        generation.incrementAndGet();
+        linksByClass.clear();
+    }
+
     public List<Link> findByClassName(final String className) {
         return allMatches(new QueryDefault<>(Link.class,
                 "findByClassName",
@@ -132,12 +165,42 @@ public class LinkRepository extends UdoDomainRepositoryAndFactory<Link> {
         link.setClassName(cls.getName());
         link.setApplicationTenancyPath(applicationTenancy.getPath());
         persist(link);
+        invalidate();
         return link;
     }
 
     // //////////////////////////////////////
 
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectPersistedEvent<?> ev) {
+        invalidateIfLink(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectUpdatedEvent<?> ev) {
+        invalidateIfLink(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectRemovingEvent<?> ev) {
+        invalidateIfLink(ev);
+    }
+
+    private void invalidateIfLink(final AbstractLifecycleEvent<?> ev) {
+        if (ev.getSource() instanceof Link) {
+            invalidate();
+        }
+    }
+
+    // //////////////////////////////////////
+
     @javax.inject.Inject
     QueryResultsCache queryResultsCache;
 
+    @javax.inject.Inject
+    BookmarkService bookmarkService;
+
 }
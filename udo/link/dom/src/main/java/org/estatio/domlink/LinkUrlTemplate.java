@@ -0,0 +1,179 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.domlink;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link Link#getUrlTemplate() url template}, parsed once and shared.
+ *
+ * <p>
+ * Placeholders that are plain property paths, such as <tt>${this.seller.id}</tt> or <tt>${reportServerBaseUrl}</tt>,
+ * are resolved directly: the first name is a variable, the rest are getters (looked up once per class). Templates
+ * with any other kind of expression are not {@link #isCompiled() compiled}, and must be interpolated as before.
+ */
+public final class LinkUrlTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}]*)\\}");
+    private static final Pattern PROPERTY_PATH = Pattern.compile("\\s*[A-Za-z_]\\w*(\\.[A-Za-z_]\\w*)*\\s*");
+
+    private static final int MAX_CACHED_TEMPLATES = 1000;
+    private static final ConcurrentMap<String, LinkUrlTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Method>> GETTERS = new ConcurrentHashMap<>();
+
+    public static LinkUrlTemplate of(final String template) {
+        LinkUrlTemplate urlTemplate = TEMPLATES.get(template);
+        if (urlTemplate == null) {
+            if (TEMPLATES.size() >= MAX_CACHED_TEMPLATES) {
+                TEMPLATES.clear();
+            }
+            urlTemplate = new LinkUrlTemplate(template);
+            TEMPLATES.putIfAbsent(template, urlTemplate);
+        }
+        return urlTemplate;
+    }
+
+    private final String template;
+
+    /**
+     * The text before each placeholder, followed by the text after the last one.
+     */
+    private final String[] literals;
+
+    /**
+     * The names making up the property path of each placeholder.
+     */
+    private final String[][] paths;
+
+    private final boolean compiled;
+
+    LinkUrlTemplate(final String template) {
+        this.template = template;
+        final List<String> literals = new ArrayList<>();
+        final List<String[]> paths = new ArrayList<>();
+        boolean compiled = true;
+        final Matcher matcher = PLACEHOLDER.matcher(template);
+        int start = 0;
+        while (matcher.find()) {
+            final String expression = matcher.group(1);
+            if (!PROPERTY_PATH.matcher(expression).matches()) {
+                compiled = false;
+                break;
+            }
+            literals.add(template.substring(start, matcher.start()));
+            paths.add(expression.trim().split("\\."));
+            start = matcher.end();
+        }
+        literals.add(template.substring(start));
+        this.compiled = compiled;
+        this.literals = compiled ? literals.toArray(new String[literals.size()]) : null;
+        this.paths = compiled ? paths.toArray(new String[paths.size()][]) : null;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Whether all placeholders are property paths, so that {@link #expand(Map)} can be used.
+     */
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * @param variables - the objects that the first name of each property path refers to, eg <tt>this</tt>.
+     * @return the url, or <tt>null</tt> if the template is not compiled or a placeholder could not be resolved
+     * (unknown variable or property, or a <tt>null</tt> along the path), in which case it should be interpolated
+     * as before.
+     */
+    public String expand(final Map<String, Object> variables) {
+        if (!compiled) {
+            return null;
+        }
+        final StringBuilder buf = new StringBuilder(template.length() + 32);
+        for (int i = 0; i < paths.length; i++) {
+            buf.append(literals[i]);
+            final Object value = resolve(paths[i], variables);
+            if (value == null) {
+                return null;
+            }
+            buf.append(value);
+        }
+        buf.append(literals[paths.length]);
+        return buf.toString();
+    }
+
+    private static Object resolve(final String[] path, final Map<String, Object> variables) {
+        Object value = variables.get(path[0]);
+        for (int i = 1; i < path.length && value != null; i++) {
+            final Method getter = getterFor(value.getClass(), path[i]);
+            if (getter == null) {
+                return null;
+            }
+            try {
+                value = getter.invoke(value);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    private static Method getterFor(final Class<?> cls, final String property) {
+        ConcurrentMap<String, Method> getters = GETTERS.get(cls);
+        if (getters == null) {
+            GETTERS.putIfAbsent(cls, new ConcurrentHashMap<String, Method>());
+            getters = GETTERS.get(cls);
+        }
+        Method getter = getters.get(property);
+        if (getter == null) {
+            getter = findGetter(cls, property);
+            if (getter == null) {
+                return null;
+            }
+            getters.putIfAbsent(property, getter);
+        }
+        return getter;
+    }
+
+    private static Method findGetter(final Class<?> cls, final String property) {
+        final String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        for (String prefix : new String[] { "get", "is" }) {
+            try {
+                final Method method = cls.getMethod(prefix + capitalized);
+                if (method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // try the next prefix
+            }
+        }
+        return null;
+    }
+
+}
@@ -19,16 +19,26 @@
 package org.estatio.domlink;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
 import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 
 import org.apache.isis.applib.DomainObjectContainer;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
 import org.apache.isis.applib.services.queryresultscache.QueryResultsCache;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -45,12 +55,21 @@ public class LinkRepositoryTest {
 
     public static class FindAllForClassHierarchy extends LinkRepositoryTest {
 
+        @Rule
+        public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
         @Mock
         private DomainObjectContainer mockContainer;
 
+        @Mock
+        private BookmarkService mockBookmarkService;
+
         private QueryResultsCache queryResultsCache;
         private LinkRepository linkRepository;
 
+        private final Map<Bookmark, Object> linksByBookmark = Maps.newHashMap();
+        private final AtomicInteger queries = new AtomicInteger();
+
         @Before
         public void setUp() throws Exception {
             queryResultsCache = new QueryResultsCache() {
@@ -67,6 +86,7 @@ public class LinkRepositoryTest {
             linkRepository = new LinkRepository() {
                 @Override
                 public List<Link> findByClassName(String className) {
+                    queries.incrementAndGet();
                     if (Lion.class.getName().equals(className)) {
                         return Lists.newArrayList(new Link(), new Link(), new Link());
                     }
@@ -80,6 +100,28 @@ public class LinkRepositoryTest {
                 }
             };
             linkRepository.queryResultsCache = queryResultsCache;
+            linkRepository.bookmarkService = mockBookmarkService;
+
+            context.checking(new Expectations() {
+                {
+                    allowing(mockBookmarkService).bookmarkFor(with(any(Link.class)));
+                    will(new CustomAction("bookmarkFor") {
+                        @Override
+                        public Object invoke(final Invocation invocation) throws Throwable {
+                            final Bookmark bookmark = new Bookmark("LINK", "" + linksByBookmark.size());
+                            linksByBookmark.put(bookmark, invocation.getParameter(0));
+                            return bookmark;
+                        }
+                    });
+                    allowing(mockBookmarkService).lookup(with(any(Bookmark.class)));
+                    will(new CustomAction("lookup") {
+                        @Override
+                        public Object invoke(final Invocation invocation) throws Throwable {
+                            return linksByBookmark.get(invocation.getParameter(0));
+                        }
+                    });
+                }
+            });
         }
 
         @Test
@@ -88,5 +130,24 @@ public class LinkRepositoryTest {
             assertThat(linkRepository.findAllForClassHierarchy(Mammal.class)).hasSize(2);
             assertThat(linkRepository.findAllForClassHierarchy(Lion.class)).hasSize(5);
         }
+
+        @Test
+        public void hierarchy_is_queried_once() throws Exception {
+            linkRepository.findAllForClassHierarchy(Lion.class);
+            final int queriesForLion = queries.get();
+            assertThat(queriesForLion).isEqualTo(4); // Lion, Mammal, Animal and Object
+
+            assertThat(linkRepository.findAllForClassHierarchy(Lion.class)).hasSize(5);
+            assertThat(linkRepository.findAllForClassHierarchy(Mammal.class)).hasSize(2);
+            assertThat(queries.get()).isEqualTo(queriesForLion);
+        }
+
+        @Test
+        public void invalidate() throws Exception {
+            linkRepository.findAllForClassHierarchy(Lion.class);
+            linkRepository.invalidate();
+            linkRepository.findAllForClassHierarchy(Lion.class);
+            assertThat(queries.get()).isEqualTo(8);
+        }
     }
 }
@@ -0,0 +1,96 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.domlink;
+
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LinkUrlTemplateTest {
+
+    public static class Seller {
+        public String getId() {
+            return "42";
+        }
+    }
+
+    public static class Invoice {
+        public String getId() {
+            return "7";
+        }
+
+        public Seller getSeller() {
+            return new Seller();
+        }
+
+        public boolean isPaid() {
+            return true;
+        }
+
+        public String getNothing() {
+            return null;
+        }
+    }
+
+    private Map<String, Object> variables;
+
+    @Before
+    public void setUp() throws Exception {
+        variables = Maps.newHashMap();
+        variables.put("this", new Invoice());
+        variables.put("reportServerBaseUrl", "http://reports");
+    }
+
+    @Test
+    public void property_paths() throws Exception {
+        final LinkUrlTemplate template = LinkUrlTemplate.of("${reportServerBaseUrl}/invoice?id=${this.id}&sellerId=${ this.seller.id }&paid=${this.paid}");
+        assertThat(template.isCompiled()).isTrue();
+        assertThat(template.expand(variables)).isEqualTo("http://reports/invoice?id=7&sellerId=42&paid=true");
+    }
+
+    @Test
+    public void without_placeholders() throws Exception {
+        assertThat(LinkUrlTemplate.of("http://reports").expand(variables)).isEqualTo("http://reports");
+    }
+
+    @Test
+    public void is_shared() throws Exception {
+        assertThat(LinkUrlTemplate.of("${this.id}")).isSameAs(LinkUrlTemplate.of("${this.id}"));
+    }
+
+    @Test
+    public void other_expressions_are_not_compiled() throws Exception {
+        final LinkUrlTemplate template = LinkUrlTemplate.of("${properties['reports.url']}");
+        assertThat(template.isCompiled()).isFalse();
+        assertThat(template.expand(variables)).isNull();
+    }
+
+    @Test
+    public void unresolvable_is_null() throws Exception {
+        assertThat(LinkUrlTemplate.of("${this.nothing}").expand(variables)).isNull();
+        assertThat(LinkUrlTemplate.of("${this.unknown}").expand(variables)).isNull();
+        assertThat(LinkUrlTemplate.of("${unknown.id}").expand(variables)).isNull();
+    }
+
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
+import javax.inject.Inject;
 
 import org.joda.time.LocalDate;
 
@@ -123,6 +124,7 @@ public class ApplicationSettingsServiceForEstatio extends UdoDomainRepositoryAnd
         setting.setValueRaw(valueRaw);
         setting.setType(settingType);
         persist(setting);
+        settingsCache.settingChanged(key);
         return setting;
     }
 
@@ -132,5 +134,10 @@ public class ApplicationSettingsServiceForEstatio extends UdoDomainRepositoryAnd
         super.init(props);
     }
 
+    // //////////////////////////////////////
+
+    @Inject
+    SettingsCache settingsCache;
+
 }
 
@@ -75,6 +75,7 @@ public abstract class SettingAbstractForEstatio
     public SettingAbstractForEstatio updateAsString(
             final String value) {
         setValueRaw(value);
+        settingChanged();
         return this;
     }
     public String default0UpdateAsString() {
@@ -89,6 +90,7 @@ public abstract class SettingAbstractForEstatio
     public SettingAbstractForEstatio updateAsInt(
             final Integer value) {
         setValueRaw(value.toString());
+        settingChanged();
         return this;
     }
     public Integer default0UpdateAsInt() {
@@ -103,6 +105,7 @@ public abstract class SettingAbstractForEstatio
     public SettingAbstractForEstatio updateAsLong(
             final Long value) {
         setValueRaw(value.toString());
+        settingChanged();
         return this;
     }
     public Long default0UpdateAsLong() {
@@ -117,6 +120,7 @@ public abstract class SettingAbstractForEstatio
     public SettingAbstractForEstatio updateAsLocalDate(
             final LocalDate value) {
         setValueRaw(value.toString(DATE_FORMATTER));
+        settingChanged();
         return this;
     }
     public LocalDate default0UpdateAsLocalDate() {
@@ -131,6 +135,7 @@ public abstract class SettingAbstractForEstatio
     public SettingAbstractForEstatio updateAsBoolean(
             final Boolean value) {
         setValueRaw(value.toString());
+        settingChanged();
         return this;
     }
     public Boolean default0UpdateAsBoolean() {
@@ -144,12 +149,19 @@ public abstract class SettingAbstractForEstatio
     
     @Action(semantics = SemanticsOf.NON_IDEMPOTENT_ARE_YOU_SURE)
     public SettingAbstractForEstatio delete() {
+        settingChanged();
         container.remove(this);
         container.informUser("Setting deleted");
         return null;
     }
     
  
+    private void settingChanged() {
+        if (settingsCache != null) {
+            settingsCache.settingChanged(getKey());
+        }
+    }
+
     // //////////////////////////////////////
     
     private DomainObjectContainer container;
@@ -158,5 +170,11 @@ public abstract class SettingAbstractForEstatio
         this.container = container;
     }
 
+    private SettingsCache settingsCache;
+
+    public void setSettingsCache(final SettingsCache settingsCache) {
+        this.settingsCache = settingsCache;
+    }
+
 
 }
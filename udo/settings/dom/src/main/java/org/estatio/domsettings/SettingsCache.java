@@ -0,0 +1,285 @@
+/*
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.domsettings;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import com.google.common.eventbus.Subscribe;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.eventbus.AbstractLifecycleEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.eventbus.ObjectPersistedEvent;
+import org.apache.isis.applib.services.eventbus.ObjectRemovingEvent;
+import org.apache.isis.applib.services.eventbus.ObjectUpdatedEvent;
+
+import org.isisaddons.module.settings.dom.ApplicationSetting;
+import org.isisaddons.module.settings.dom.Setting;
+
+/**
+ * Typed, shared cache of the values of {@link ApplicationSettingForEstatio application} and
+ * {@link UserSettingForEstatio user} settings, read through {@link ApplicationSettingsServiceForEstatio} and
+ * {@link UserSettingsServiceForEstatio}.
+ *
+ * <p>
+ *     Every write of a setting through those services or through the actions of {@link SettingAbstractForEstatio}
+ *     moves on the {@link SettingsVersion version} of all settings (replacing its token by a unique one), in the same
+ *     transaction as the write.  Each instance clears its cache right away when it changes a setting itself, and otherwise queries
+ *     the version at most once every {@link #POLL_INTERVAL_KEY poll interval}, clearing its cache when another
+ *     instance has moved it on.  Settings that do not exist are cached as such, so a missing key is not queried on
+ *     every read either.
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class SettingsCache {
+
+    public static final String POLL_INTERVAL_KEY = "estatio.settings.cache.pollIntervalMillis";
+
+    static final long DEFAULT_POLL_INTERVAL_MILLIS = 30000L;
+
+    /**
+     * Stands in for a setting that does not exist (or has no value); {@link ConcurrentHashMap} does not hold nulls.
+     */
+    private static final Object ABSENT = new Object();
+
+    private final ConcurrentMap<String, Object> applicationValues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Object>> userValuesByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented whenever the cache is cleared, so that a value read before clearing is not put back afterwards.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong nextPollAt = new AtomicLong();
+    private volatile String knownVersion;
+
+    private long pollIntervalMillis = DEFAULT_POLL_INTERVAL_MILLIS;
+
+    @PostConstruct
+    @Programmatic
+    public void init(final Map<String, String> properties) {
+        final String pollInterval = properties.get(POLL_INTERVAL_KEY);
+        if (pollInterval != null) {
+            pollIntervalMillis = Long.parseLong(pollInterval.trim());
+        }
+        eventBusService.register(this);
+    }
+
+    @PreDestroy
+    @Programmatic
+    public void preDestroy() {
+        eventBusService.unregister(this);
+    }
+
+    //region > reads
+
+    @Programmatic
+    public <T> T get(final ApplicationSettingCreator creator, final Class<T> type) {
+        final String key = ApplicationSettingCreator.Helper.getKey(creator);
+        return get(applicationValues, key, type, () -> applicationSettingsService.find(creator));
+    }
+
+    @Programmatic
+    public <T> T get(final String key, final Class<T> type) {
+        return get(applicationValues, key, type, () -> applicationSettingsService.find(key));
+    }
+
+    @Programmatic
+    public <T> T getForUser(final String user, final String key, final Class<T> type) {
+        return get(userValuesFor(user), key, type, () -> userSettingsService.find(user, key));
+    }
+
+    private <T> T get(
+            final ConcurrentMap<String, Object> values,
+            final String key,
+            final Class<T> type,
+            final Supplier<Setting> finder) {
+        pollVersionIfDue();
+        Object value = values.get(key);
+        if (value == null) {
+            final long generationBeforeRead = generation.get();
+            value = valueOf(finder.get());
+            if (generation.get() == generationBeforeRead) {
+                values.putIfAbsent(key, value);
+            }
+        }
+        return cast(key, value, type);
+    }
+
+    private ConcurrentMap<String, Object> userValuesFor(final String user) {
+        ConcurrentMap<String, Object> values = userValuesByUser.get(user);
+        if (values == null) {
+            final ConcurrentMap<String, Object> newValues = new ConcurrentHashMap<>();
+            values = userValuesByUser.putIfAbsent(user, newValues);
+            if (values == null) {
+                values = newValues;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Loads all application settings with a single query; called once at startup, after any defaults have been
+     * installed.
+     */
+    @Programmatic
+    public void preload() {
+        clear();
+        knownVersion = settingsVersionRepository.currentToken();
+        final long generationBeforeRead = generation.get();
+        for (ApplicationSetting setting : applicationSettingsService.listAll()) {
+            if (generation.get() != generationBeforeRead) {
+                return;
+            }
+            applicationValues.putIfAbsent(setting.getKey(), valueOf(setting));
+        }
+    }
+
+    //endregion
+
+    //region > invalidation
+
+    /**
+     * Records that a setting is about to be, or has just been, changed: moves the shared version on (so that other
+     * instances clear their cache once they next poll it) and clears the cache of this instance.
+     */
+    @Programmatic
+    public void settingChanged(final String key) {
+        clear();
+        settingsVersionRepository.moveOn();
+    }
+
+    @Programmatic
+    public void clear() {
+        generation.incrementAndGet();
+        applicationValues.clear();
+        userValuesByUser.clear();
+    }
+
+    private void pollVersionIfDue() {
+        final long now = clockService.nowAsMillis();
+        final long pollAt = nextPollAt.get();
+        if (now < pollAt || !nextPollAt.compareAndSet(pollAt, now + pollIntervalMillis)) {
+            return;
+        }
+        final String version = settingsVersionRepository.currentToken();
+        if (!Objects.equals(version, knownVersion)) {
+            clear();
+            knownVersion = version;
+        }
+    }
+
+    //endregion
+
+    //region > lifecycle events
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectPersistedEvent<?> ev) {
+        clearIfSetting(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectUpdatedEvent<?> ev) {
+        clearIfSetting(ev);
+    }
+
+    @Subscribe
+    @Programmatic
+    public void on(final ObjectRemovingEvent<?> ev) {
+        clearIfSetting(ev);
+    }
+
+    /**
+     * Catches settings changed other than through the services or actions (eg by fixtures); these do not move the
+     * shared version on, so only this instance notices them straight away.
+     */
+    private void clearIfSetting(final AbstractLifecycleEvent<?> ev) {
+        final Object source = ev.getSource();
+        if (source instanceof SettingAbstractForEstatio) {
+            clear();
+        }
+    }
+
+    //endregion
+
+    //region > helpers
+
+    private static Object valueOf(final Setting setting) {
+        if (setting == null || setting.getType() == null || setting.getValueRaw() == null) {
+            return ABSENT;
+        }
+        switch (setting.getType()) {
+        case BOOLEAN:
+            return setting.valueAsBoolean();
+        case INT:
+            return setting.valueAsInt();
+        case LONG:
+            return setting.valueAsLong();
+        case LOCAL_DATE:
+            return setting.valueAsLocalDate();
+        default:
+            return setting.valueAsString();
+        }
+    }
+
+    private static <T> T cast(final String key, final Object value, final Class<T> type) {
+        if (value == ABSENT) {
+            return null;
+        }
+        if (!type.isInstance(value)) {
+            throw new IllegalStateException(String.format(
+                    "Setting '%s' holds a %s, not a %s", key, value.getClass().getSimpleName(), type.getSimpleName()));
+        }
+        return type.cast(value);
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @Inject
+    ApplicationSettingsServiceForEstatio applicationSettingsService;
+
+    @Inject
+    UserSettingsServiceForEstatio userSettingsService;
+
+    @Inject
+    SettingsVersionRepository settingsVersionRepository;
+
+    @Inject
+    ClockService clockService;
+
+    @Inject
+    EventBusService eventBusService;
+
+    //endregion
+
+}
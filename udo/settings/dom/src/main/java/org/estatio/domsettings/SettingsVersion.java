@@ -0,0 +1,62 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.domsettings;
+
+import javax.jdo.annotations.IdentityType;
+
+import org.apache.isis.applib.annotation.DomainObject;
+import org.apache.isis.applib.annotation.Editing;
+
+import org.estatio.dom.JdoColumnLength;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The version of all settings, polled by the {@link SettingsCache}; held apart from the
+ * {@link ApplicationSettingForEstatio application settings} so that it is not listed or edited with them.
+ *
+ * <p>
+ *     Rather than a counter, the version is a token that is replaced by a new, unique one on every change, so that
+ *     two instances changing settings at the same time cannot end up writing the same version.
+ * </p>
+ */
+@javax.jdo.annotations.PersistenceCapable(
+        identityType = IdentityType.APPLICATION,
+        table = "SettingsVersion")
+@javax.jdo.annotations.Queries({
+        @javax.jdo.annotations.Query(
+                name = "findByName", language = "JDOQL",
+                value = "SELECT "
+                        + "FROM org.estatio.domsettings.SettingsVersion "
+                        + "WHERE name == :name")
+})
+@DomainObject(editing = Editing.DISABLED)
+public class SettingsVersion {
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.Setting.KEY)
+    @javax.jdo.annotations.PrimaryKey
+    @Getter @Setter
+    private String name;
+
+    @javax.jdo.annotations.Column(allowsNull = "false", length = JdoColumnLength.Setting.KEY)
+    @Getter @Setter
+    private String token;
+
+}
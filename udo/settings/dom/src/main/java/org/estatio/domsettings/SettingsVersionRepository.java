@@ -0,0 +1,64 @@
+/*
+ *
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.domsettings;
+
+import java.util.UUID;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+
+import org.estatio.dom.UdoDomainRepositoryAndFactory;
+
+@DomainService(nature = NatureOfService.DOMAIN, repositoryFor = SettingsVersion.class)
+public class SettingsVersionRepository extends UdoDomainRepositoryAndFactory<SettingsVersion> {
+
+    static final String NAME = "settings";
+
+    public SettingsVersionRepository() {
+        super(SettingsVersionRepository.class, SettingsVersion.class);
+    }
+
+    /**
+     * @return the current token, or <tt>null</tt> if no setting has been changed yet.
+     */
+    @Programmatic
+    public String currentToken() {
+        final SettingsVersion version = firstMatch("findByName", "name", NAME);
+        return version != null ? version.getToken() : null;
+    }
+
+    /**
+     * Replaces the token by a new one, unique to this change.
+     */
+    @Programmatic
+    public void moveOn() {
+        final String token = getClockService().nowAsMillis() + "-" + UUID.randomUUID();
+        final SettingsVersion version = firstMatch("findByName", "name", NAME);
+        if (version != null) {
+            version.setToken(token);
+            return;
+        }
+        final SettingsVersion newVersion = newTransientInstance();
+        newVersion.setName(NAME);
+        newVersion.setToken(token);
+        persist(newVersion);
+    }
+
+}
@@ -20,9 +20,13 @@ package org.estatio.domsettings;
 
 import java.util.List;
 
+import javax.inject.Inject;
+
 import org.joda.time.LocalDate;
 
 import org.apache.isis.applib.AbstractService;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.QueryDefault;
 
@@ -35,6 +39,7 @@ import org.isisaddons.module.settings.dom.UserSettingsServiceRW;
  * An implementation of {@link org.isisaddons.module.settings.dom.UserSettingsService} that
  * persists settings as entities into a JDO-backed database.
  */
+@DomainService(nature = NatureOfService.DOMAIN, repositoryFor = UserSettingForEstatio.class)
 public class UserSettingsServiceForEstatio extends AbstractService implements UserSettingsServiceRW {
 
     @Programmatic
@@ -137,7 +142,13 @@ public class UserSettingsServiceForEstatio extends AbstractService implements Us
         setting.setDescription(description);
         setting.setValueRaw(valueRaw);
         persist(setting);
+        settingsCache.settingChanged(key);
         return setting;
     }
 
+    // //////////////////////////////////////
+
+    @Inject
+    SettingsCache settingsCache;
+
 }
@@ -0,0 +1,224 @@
+/*
+ *  Copyright 2012-2014 Eurocommercial Properties NV
+ *
+ *
+ *  Licensed under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.estatio.domsettings;
+
+import java.util.Collections;
+
+import org.jmock.Expectations;
+import org.jmock.api.Action;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import org.isisaddons.module.settings.dom.ApplicationSetting;
+import org.isisaddons.module.settings.dom.SettingAbstract;
+import org.isisaddons.module.settings.dom.SettingType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SettingsCacheTest {
+
+    static class ApplicationSettingForTesting extends SettingAbstract implements ApplicationSetting {
+        private final String key;
+        private final String valueRaw;
+        private final SettingType type;
+
+        ApplicationSettingForTesting(final String key, final String valueRaw, final SettingType type) {
+            this.key = key;
+            this.valueRaw = valueRaw;
+            this.type = type;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getDescription() {
+            return null;
+        }
+
+        public SettingType getType() {
+            return type;
+        }
+
+        public String getValueRaw() {
+            return valueRaw;
+        }
+    }
+
+    private static final String KEY = "org.estatio.domsettings.epochDate";
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ApplicationSettingsServiceForEstatio mockApplicationSettingsService;
+
+    @Mock
+    private UserSettingsServiceForEstatio mockUserSettingsService;
+
+    @Mock
+    private SettingsVersionRepository mockSettingsVersionRepository;
+
+    @Mock
+    private ClockService mockClockService;
+
+    @Mock
+    private EventBusService mockEventBusService;
+
+    private SettingsCache cache;
+
+    private long now;
+
+    private final LocalDate date = new LocalDate(2013, 4, 1);
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new SettingsCache();
+        cache.applicationSettingsService = mockApplicationSettingsService;
+        cache.userSettingsService = mockUserSettingsService;
+        cache.settingsVersionRepository = mockSettingsVersionRepository;
+        cache.clockService = mockClockService;
+        cache.eventBusService = mockEventBusService;
+
+        context.checking(new Expectations() {
+            {
+                allowing(mockClockService).nowAsMillis();
+                will(currentTime());
+                oneOf(mockEventBusService).register(cache);
+            }
+        });
+        cache.init(Collections.<String, String>emptyMap());
+    }
+
+    private Action currentTime() {
+        return new CustomAction("current time") {
+            @Override
+            public Object invoke(final Invocation invocation) throws Throwable {
+                return now;
+            }
+        };
+    }
+
+    private ApplicationSetting epochDate() {
+        return new ApplicationSettingForTesting(KEY, date.toString(SettingAbstract.DATE_FORMATTER), SettingType.LOCAL_DATE);
+    }
+
+    @Test
+    public void second_read_is_not_queried() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockSettingsVersionRepository).currentToken();
+                will(returnValue("1"));
+                oneOf(mockApplicationSettingsService).find(KEY);
+                will(returnValue(epochDate()));
+            }
+        });
+
+        assertThat(cache.get(KEY, LocalDate.class)).isEqualTo(date);
+        now += 1000L;
+        assertThat(cache.get(KEY, LocalDate.class)).isEqualTo(date);
+    }
+
+    @Test
+    public void missing_setting_is_cached() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockSettingsVersionRepository).currentToken();
+                will(returnValue(null));
+                oneOf(mockApplicationSettingsService).find(KEY);
+                will(returnValue(null));
+            }
+        });
+
+        assertThat(cache.get(KEY, LocalDate.class)).isNull();
+        assertThat(cache.get(KEY, LocalDate.class)).isNull();
+    }
+
+    @Test
+    public void cleared_once_version_is_moved_on_elsewhere() throws Exception {
+        context.checking(new Expectations() {
+            {
+                exactly(2).of(mockSettingsVersionRepository).currentToken();
+                will(onConsecutiveCalls(returnValue("1"), returnValue("2")));
+                exactly(2).of(mockApplicationSettingsService).find(KEY);
+                will(returnValue(epochDate()));
+            }
+        });
+
+        cache.get(KEY, LocalDate.class);
+
+        // within the poll interval, the version is not looked at
+        now += SettingsCache.DEFAULT_POLL_INTERVAL_MILLIS - 1;
+        cache.get(KEY, LocalDate.class);
+
+        now += 1;
+        assertThat(cache.get(KEY, LocalDate.class)).isEqualTo(date);
+    }
+
+    @Test
+    public void change_moves_version_on_and_clears() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockSettingsVersionRepository).currentToken();
+                will(returnValue("1"));
+                exactly(2).of(mockApplicationSettingsService).find(KEY);
+                will(returnValue(epochDate()));
+                oneOf(mockSettingsVersionRepository).moveOn();
+            }
+        });
+
+        cache.get(KEY, LocalDate.class);
+        cache.settingChanged(KEY);
+        cache.get(KEY, LocalDate.class);
+    }
+
+    @Test
+    public void unregisters_on_shutdown() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockEventBusService).unregister(cache);
+            }
+        });
+
+        cache.preDestroy();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void read_as_other_type() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockSettingsVersionRepository).currentToken();
+                will(returnValue("1"));
+                oneOf(mockApplicationSettingsService).find(KEY);
+                will(returnValue(epochDate()));
+            }
+        });
+
+        cache.get(KEY, String.class);
+    }
+
+}
@@ -21,6 +21,8 @@ package org.estatio.dom.tax;
 import java.util.Collection;
 import java.util.List;
 
+import javax.inject.Inject;
+
 import com.google.common.collect.Collections2;
 
 import org.apache.isis.applib.annotation.DomainService;
@@ -30,6 +32,7 @@ import org.apache.isis.applib.annotation.Programmatic;
 import org.isisaddons.module.security.dom.tenancy.ApplicationTenancy;
 
 import org.estatio.dom.UdoDomainRepositoryAndFactory;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 @DomainService(nature = NatureOfService.DOMAIN, repositoryFor = Tax.class)
 public class TaxRepository extends UdoDomainRepositoryAndFactory<Tax> {
@@ -60,7 +63,9 @@ public class TaxRepository extends UdoDomainRepositoryAndFactory<Tax> {
 
     @Programmatic
     public Tax findByReference(final String reference) {
-        return uniqueMatch("findByReference", "reference", reference);
+        return referenceDataCache.find(
+                Tax.class, reference,
+                () -> uniqueMatch("findByReference", "reference", reference));
     }
 
     @Programmatic
@@ -77,5 +82,7 @@ public class TaxRepository extends UdoDomainRepositoryAndFactory<Tax> {
         return Collections2.filter(allInstances(), tax -> tax.getApplicationTenancy().equals(applicationTenancy));
     }
 
+    @Inject
+    ReferenceDataCache referenceDataCache;
 
 }
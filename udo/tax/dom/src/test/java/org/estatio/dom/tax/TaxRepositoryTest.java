@@ -28,6 +28,7 @@ import org.apache.isis.applib.query.Query;
 import org.estatio.IsisMatchers;
 import org.estatio.dom.FinderInteraction;
 import org.estatio.dom.FinderInteraction.FinderMethod;
+import org.estatio.services.referencedata.ReferenceDataCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -64,6 +65,7 @@ public class TaxRepositoryTest {
             }
 
         };
+        taxRepository.referenceDataCache = new ReferenceDataCache();
     }
 
     public static class FindByReference extends TaxRepositoryTest {